@@ -18,7 +18,9 @@ package org.springframework.ai.reader.pdf;
 import java.awt.Rectangle;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
 
 import org.apache.pdfbox.pdfparser.PDFParser;
@@ -36,6 +38,8 @@ import org.springframework.core.io.Resource;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
+import reactor.core.publisher.Flux;
+
 /**
  * Groups the parsed PDF pages into {@link Document}s. You can group one or more pages
  * into a single output document. Use {@link PdfDocumentReaderConfig} for customization
@@ -90,86 +94,163 @@ public class PagePdfDocumentReader implements DocumentReader {
 
 	@Override
 	public List<Document> get() {
-
 		List<Document> readDocuments = new ArrayList<>();
-		try {
-			var pdfTextStripper = new PDFLayoutTextStripperByArea();
+		new PageGroupIterator().forEachRemaining(readDocuments::add);
+		return readDocuments;
+	}
 
-			int pageNumber = 0;
-			int pagesPerDocument = 0;
-			int startPageNumber = pageNumber;
+	/**
+	 * Streams the page groups, each document emitted as soon as its pages are extracted
+	 * rather than once the whole PDF is.
+	 * @return the stream of the read documents.
+	 */
+	@Override
+	public Flux<Document> stream() {
+		return Flux.fromIterable(PageGroupIterator::new);
+	}
 
-			List<String> pageTextGroupList = new ArrayList<>();
+	protected Document toDocument(PDPage page, String docText, int startPageNumber, int endPageNumber) {
+		Document doc = new Document(docText);
+		doc.getMetadata().put(METADATA_START_PAGE_NUMBER, startPageNumber);
+		if (startPageNumber != endPageNumber) {
+			doc.getMetadata().put(METADATA_END_PAGE_NUMBER, endPageNumber);
+		}
+		doc.getMetadata().put(METADATA_FILE_NAME, this.resourceFileName);
+		return doc;
+	}
 
-			int totalPages = this.document.getDocumentCatalog().getPages().getCount();
-			int logFrequency = totalPages > 10 ? totalPages / 10 : 1; // if less than 10
-																		// pages, print
-																		// each iteration
-			int counter = 0;
+	/**
+	 * Extracts the text of the pages one after the other, and returns a document each
+	 * time a group of pages is complete.
+	 */
+	private class PageGroupIterator implements Iterator<Document> {
 
-			PDPage lastPage = this.document.getDocumentCatalog().getPages().iterator().next();
-			for (PDPage page : this.document.getDocumentCatalog().getPages()) {
-				lastPage = page;
-				if (counter % logFrequency == 0 && counter / logFrequency < 10) {
-					logger.info("Processing PDF page: {}", (counter + 1));
-				}
-				counter++;
+		private final PDFLayoutTextStripperByArea pdfTextStripper;
 
-				pagesPerDocument++;
+		private final Iterator<PDPage> pages;
 
-				if (this.config.pagesPerDocument != PdfDocumentReaderConfig.ALL_PAGES
-						&& pagesPerDocument >= this.config.pagesPerDocument) {
-					pagesPerDocument = 0;
+		private final int totalPages;
 
-					var aggregatedPageTextGroup = pageTextGroupList.stream().collect(Collectors.joining());
-					if (StringUtils.hasText(aggregatedPageTextGroup)) {
-						readDocuments.add(toDocument(page, aggregatedPageTextGroup, startPageNumber, pageNumber));
-					}
-					pageTextGroupList.clear();
+		private final int logFrequency;
 
-					startPageNumber = pageNumber + 1;
-				}
-				int x0 = (int) page.getMediaBox().getLowerLeftX();
-				int xW = (int) page.getMediaBox().getWidth();
+		private final List<String> pageTextGroupList = new ArrayList<>();
 
-				int y0 = (int) page.getMediaBox().getLowerLeftY() + this.config.pageTopMargin;
-				int yW = (int) page.getMediaBox().getHeight()
-						- (this.config.pageTopMargin + this.config.pageBottomMargin);
+		private int pageNumber = 0;
 
-				pdfTextStripper.addRegion(PDF_PAGE_REGION, new Rectangle(x0, y0, xW, yW));
-				pdfTextStripper.extractRegions(page);
-				var pageText = pdfTextStripper.getTextForRegion(PDF_PAGE_REGION);
+		private int pagesPerDocument = 0;
 
-				if (StringUtils.hasText(pageText)) {
+		private int startPageNumber = 0;
 
-					pageText = this.config.pageExtractedTextFormatter.format(pageText, pageNumber);
+		private int counter = 0;
 
-					pageTextGroupList.add(pageText);
-				}
-				pageNumber++;
-				pdfTextStripper.removeRegion(PDF_PAGE_REGION);
+		private PDPage lastPage;
+
+		private boolean completed;
+
+		private Document next;
+
+		PageGroupIterator() {
+			try {
+				this.pdfTextStripper = new PDFLayoutTextStripperByArea();
 			}
-			if (!CollectionUtils.isEmpty(pageTextGroupList)) {
-				readDocuments.add(toDocument(lastPage, pageTextGroupList.stream().collect(Collectors.joining()),
-						startPageNumber, pageNumber));
+			catch (IOException e) {
+				throw new RuntimeException(e);
 			}
-			logger.info("Processing {} pages", totalPages);
-			return readDocuments;
+			this.totalPages = PagePdfDocumentReader.this.document.getDocumentCatalog().getPages().getCount();
+			// if less than 10 pages, print each iteration
+			this.logFrequency = this.totalPages > 10 ? this.totalPages / 10 : 1;
+			this.lastPage = PagePdfDocumentReader.this.document.getDocumentCatalog().getPages().iterator().next();
+			this.pages = PagePdfDocumentReader.this.document.getDocumentCatalog().getPages().iterator();
+		}
 
+		@Override
+		public boolean hasNext() {
+			if (this.next == null) {
+				this.next = readNext();
+			}
+			return this.next != null;
 		}
-		catch (IOException e) {
-			throw new RuntimeException(e);
+
+		@Override
+		public Document next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Document document = this.next;
+			this.next = null;
+			return document;
 		}
-	}
 
-	protected Document toDocument(PDPage page, String docText, int startPageNumber, int endPageNumber) {
-		Document doc = new Document(docText);
-		doc.getMetadata().put(METADATA_START_PAGE_NUMBER, startPageNumber);
-		if (startPageNumber != endPageNumber) {
-			doc.getMetadata().put(METADATA_END_PAGE_NUMBER, endPageNumber);
+		private Document readNext() {
+			try {
+				while (this.pages.hasNext()) {
+					Document document = readPage(this.pages.next());
+					if (document != null) {
+						return document;
+					}
+				}
+			}
+			catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+			if (this.completed) {
+				return null;
+			}
+			this.completed = true;
+			Document document = null;
+			if (!CollectionUtils.isEmpty(this.pageTextGroupList)) {
+				document = toDocument(this.lastPage, this.pageTextGroupList.stream().collect(Collectors.joining()),
+						this.startPageNumber, this.pageNumber);
+			}
+			logger.info("Processing {} pages", this.totalPages);
+			return document;
 		}
-		doc.getMetadata().put(METADATA_FILE_NAME, this.resourceFileName);
-		return doc;
+
+		private Document readPage(PDPage page) throws IOException {
+			Document document = null;
+			this.lastPage = page;
+			if (this.counter % this.logFrequency == 0 && this.counter / this.logFrequency < 10) {
+				logger.info("Processing PDF page: {}", (this.counter + 1));
+			}
+			this.counter++;
+
+			this.pagesPerDocument++;
+
+			if (PagePdfDocumentReader.this.config.pagesPerDocument != PdfDocumentReaderConfig.ALL_PAGES
+					&& this.pagesPerDocument >= PagePdfDocumentReader.this.config.pagesPerDocument) {
+				this.pagesPerDocument = 0;
+
+				var aggregatedPageTextGroup = this.pageTextGroupList.stream().collect(Collectors.joining());
+				if (StringUtils.hasText(aggregatedPageTextGroup)) {
+					document = toDocument(page, aggregatedPageTextGroup, this.startPageNumber, this.pageNumber);
+				}
+				this.pageTextGroupList.clear();
+
+				this.startPageNumber = this.pageNumber + 1;
+			}
+			int x0 = (int) page.getMediaBox().getLowerLeftX();
+			int xW = (int) page.getMediaBox().getWidth();
+
+			int y0 = (int) page.getMediaBox().getLowerLeftY() + PagePdfDocumentReader.this.config.pageTopMargin;
+			int yW = (int) page.getMediaBox().getHeight() - (PagePdfDocumentReader.this.config.pageTopMargin
+					+ PagePdfDocumentReader.this.config.pageBottomMargin);
+
+			this.pdfTextStripper.addRegion(PDF_PAGE_REGION, new Rectangle(x0, y0, xW, yW));
+			this.pdfTextStripper.extractRegions(page);
+			var pageText = this.pdfTextStripper.getTextForRegion(PDF_PAGE_REGION);
+
+			if (StringUtils.hasText(pageText)) {
+
+				pageText = PagePdfDocumentReader.this.config.pageExtractedTextFormatter.format(pageText,
+						this.pageNumber);
+
+				this.pageTextGroupList.add(pageText);
+			}
+			this.pageNumber++;
+			this.pdfTextStripper.removeRegion(PDF_PAGE_REGION);
+			return document;
+		}
+
 	}
 
 }
@@ -25,6 +25,11 @@ import org.springframework.ai.reader.ExtractedTextFormatter;
 import org.springframework.ai.reader.pdf.config.PdfDocumentReaderConfig;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author Christian Tzolov
@@ -56,4 +61,40 @@ public class PagePdfDocumentReaderTests {
 				List.of("Page  1 of 4", "Page  2 of 4", "Page  3 of 4", "Page  4 of 4", "PDF  Bookmark   Sample"));
 	}
 
+	@Test
+	public void streamEmitsTheDocumentsOfGet() {
+		for (int pagesPerDocument : new int[] { 1, 3, PdfDocumentReaderConfig.ALL_PAGES }) {
+			PdfDocumentReaderConfig config = PdfDocumentReaderConfig.builder()
+				.withPagesPerDocument(pagesPerDocument)
+				.build();
+
+			List<Document> read = new PagePdfDocumentReader("classpath:/sample1.pdf", config).get();
+			List<Document> streamed = new PagePdfDocumentReader("classpath:/sample1.pdf", config).stream()
+				.collectList()
+				.block();
+
+			assertThat(streamed).extracting(Document::getContent)
+				.containsExactlyElementsOf(read.stream().map(Document::getContent).toList());
+			assertThat(streamed).extracting(Document::getMetadata)
+				.containsExactlyElementsOf(read.stream().map(Document::getMetadata).toList());
+		}
+	}
+
+	@Test
+	public void streamExtractsThePagesOnDemand() {
+		ExtractedTextFormatter formatter = spy(ExtractedTextFormatter.defaults());
+		PdfDocumentReaderConfig config = PdfDocumentReaderConfig.builder()
+			.withPageExtractedTextFormatter(formatter)
+			.withPagesPerDocument(1)
+			.build();
+
+		Document first = new PagePdfDocumentReader("classpath:/sample1.pdf", config).stream().blockFirst();
+
+		assertThat(first.getContent())
+			.isEqualTo(new PagePdfDocumentReader("classpath:/sample1.pdf").get().get(0).getContent());
+		// The first document is complete once the second page, which starts the next
+		// group, is extracted. The last two pages are never read.
+		verify(formatter, times(2)).format(anyString(), anyInt());
+	}
+
 }
@@ -198,6 +198,7 @@ public class AnthropicChatModel extends AbstractToolCallSupport implements ChatM
 		this.defaultOptions = defaultOptions;
 		this.retryTemplate = retryTemplate;
 		this.observationRegistry = observationRegistry;
+		setToolCallObservationRegistry(observationRegistry);
 	}
 
 	@Override
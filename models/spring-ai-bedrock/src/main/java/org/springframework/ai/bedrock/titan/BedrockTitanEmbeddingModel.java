@@ -17,7 +17,6 @@ package org.springframework.ai.bedrock.titan;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,7 +26,9 @@ import org.springframework.ai.bedrock.titan.api.TitanEmbeddingBedrockApi.TitanEm
 import org.springframework.ai.bedrock.titan.api.TitanEmbeddingBedrockApi.TitanEmbeddingResponse;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.AbstractEmbeddingModel;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingConcurrency;
 import org.springframework.ai.embedding.EmbeddingOptions;
 import org.springframework.ai.embedding.EmbeddingRequest;
 import org.springframework.ai.embedding.EmbeddingResponse;
@@ -38,7 +39,10 @@ import org.springframework.util.Assert;
  * Bedrock Titan Embedding API. Titan Embedding supports text and image (encoded in
  * base64) inputs.
  *
- * Note: Titan Embedding does not support batch embedding.
+ * Note: Titan Embedding does not support batch embedding. The texts of a request are
+ * embedded with one API call each, keeping up to the
+ * {@link #setEmbeddingConcurrency(EmbeddingConcurrency) embedding concurrency} calls in
+ * flight.
  *
  * @author Christian Tzolov
  * @author Wei Jiang
@@ -82,21 +86,33 @@ public class BedrockTitanEmbeddingModel extends AbstractEmbeddingModel {
 	@Override
 	public EmbeddingResponse call(EmbeddingRequest request) {
 		Assert.notEmpty(request.getInstructions(), "At least one text is required!");
-		if (request.getInstructions().size() != 1) {
+		if (request.getInstructions().size() != 1 && getEmbeddingConcurrency().isSequential()) {
 			logger.warn(
 					"Titan Embedding does not support batch embedding. Will make multiple API calls to embed(Document)");
 		}
 
-		List<Embedding> embeddings = new ArrayList<>();
-		var indexCounter = new AtomicInteger(0);
-		for (String inputContent : request.getInstructions()) {
+		List<float[]> vectors = getEmbeddingConcurrency().invokeAll(request.getInstructions(), inputContent -> {
 			var apiRequest = createTitanEmbeddingRequest(inputContent, request.getOptions());
 			TitanEmbeddingResponse response = this.embeddingApi.embedding(apiRequest);
-			embeddings.add(new Embedding(response.embedding(), indexCounter.getAndIncrement()));
+			return response.embedding();
+		});
+
+		List<Embedding> embeddings = new ArrayList<>(vectors.size());
+		for (int i = 0; i < vectors.size(); i++) {
+			embeddings.add(new Embedding(vectors.get(i), i));
 		}
 		return new EmbeddingResponse(embeddings);
 	}
 
+	/**
+	 * Embeds the batches one after another, as {@link #call(EmbeddingRequest)} already
+	 * sends the texts of every batch concurrently.
+	 */
+	@Override
+	public List<float[]> embed(List<Document> documents, EmbeddingOptions options, BatchingStrategy batchingStrategy) {
+		return embed(documents, options, batchingStrategy, EmbeddingConcurrency.SEQUENTIAL);
+	}
+
 	private TitanEmbeddingRequest createTitanEmbeddingRequest(String inputContent, EmbeddingOptions requestOptions) {
 		InputType inputType = this.inputType;
 
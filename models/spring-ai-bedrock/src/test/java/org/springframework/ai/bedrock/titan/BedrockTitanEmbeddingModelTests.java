@@ -0,0 +1,116 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.bedrock.titan;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.EnvironmentVariableCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+
+import org.springframework.ai.bedrock.titan.api.TitanEmbeddingBedrockApi;
+import org.springframework.ai.bedrock.titan.api.TitanEmbeddingBedrockApi.TitanEmbeddingModel;
+import org.springframework.ai.bedrock.titan.api.TitanEmbeddingBedrockApi.TitanEmbeddingRequest;
+import org.springframework.ai.bedrock.titan.api.TitanEmbeddingBedrockApi.TitanEmbeddingResponse;
+import org.springframework.ai.embedding.BatchEmbeddingException;
+import org.springframework.ai.embedding.EmbeddingConcurrency;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BedrockTitanEmbeddingModelTests {
+
+	private final List<String> texts = IntStream.range(0, 30).mapToObj(String::valueOf).toList();
+
+	@Test
+	void textsAreEmbeddedConcurrentlyInOrder() {
+		StubTitanEmbeddingApi api = new StubTitanEmbeddingApi(null);
+		BedrockTitanEmbeddingModel embeddingModel = new BedrockTitanEmbeddingModel(api);
+		embeddingModel.setEmbeddingConcurrency(EmbeddingConcurrency.of(4));
+
+		EmbeddingResponse response = embeddingModel.embedForResponse(this.texts);
+
+		assertThat(response.getResults()).hasSize(30);
+		for (int i = 0; i < 30; i++) {
+			assertThat(response.getResults().get(i).getIndex()).isEqualTo(i);
+			assertThat(response.getResults().get(i).getOutput()).containsExactly(i);
+		}
+		assertThat(api.maxInFlight.get()).isGreaterThan(1).isLessThanOrEqualTo(4);
+	}
+
+	@Test
+	void failingCallFailsTheRequest() {
+		StubTitanEmbeddingApi api = new StubTitanEmbeddingApi("5");
+		BedrockTitanEmbeddingModel embeddingModel = new BedrockTitanEmbeddingModel(api);
+		embeddingModel.setEmbeddingConcurrency(EmbeddingConcurrency.of(2));
+
+		assertThatThrownBy(() -> embeddingModel.embedForResponse(this.texts))
+			.isInstanceOf(BatchEmbeddingException.class)
+			.hasRootCauseInstanceOf(IllegalStateException.class)
+			.hasRootCauseMessage("Throttled: 5");
+
+		assertThat(api.calls.get()).isLessThan(30);
+	}
+
+	/**
+	 * Embeds every text into a one dimension vector holding the text as a number, after a
+	 * short random delay.
+	 */
+	private static class StubTitanEmbeddingApi extends TitanEmbeddingBedrockApi {
+
+		private final AtomicInteger calls = new AtomicInteger();
+
+		private final AtomicInteger inFlight = new AtomicInteger();
+
+		private final AtomicInteger maxInFlight = new AtomicInteger();
+
+		private final String failingText;
+
+		StubTitanEmbeddingApi(String failingText) {
+			super(TitanEmbeddingModel.TITAN_EMBED_TEXT_V1.id(), EnvironmentVariableCredentialsProvider.create(),
+					Region.US_EAST_1.id(), new ObjectMapper(), Duration.ofMinutes(2));
+			this.failingText = failingText;
+		}
+
+		@Override
+		public TitanEmbeddingResponse embedding(TitanEmbeddingRequest request) {
+			this.calls.incrementAndGet();
+			this.maxInFlight.accumulateAndGet(this.inFlight.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(ThreadLocalRandom.current().nextInt(5, 20));
+				if (request.inputText().equals(this.failingText)) {
+					throw new IllegalStateException("Throttled: " + request.inputText());
+				}
+				return new TitanEmbeddingResponse(new float[] { Float.parseFloat(request.inputText()) }, 1, null);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(ex);
+			}
+			finally {
+				this.inFlight.decrementAndGet();
+			}
+		}
+
+	}
+
+}
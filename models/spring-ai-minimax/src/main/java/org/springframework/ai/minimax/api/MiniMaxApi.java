@@ -18,8 +18,11 @@ package org.springframework.ai.minimax.api;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.annotation.JsonValue;
+import org.springframework.ai.minimax.api.MiniMaxStreamFunctionCallingHelper.ChunkAccumulator;
 import org.springframework.ai.model.ChatModelDescription;
+import org.springframework.ai.model.EmbeddingVectorDeserializer;
 import org.springframework.ai.model.ModelOptionsUtils;
 import org.springframework.ai.retry.RetryUtils;
 import org.springframework.ai.util.api.ApiUtils;
@@ -37,6 +40,7 @@ import reactor.core.publisher.Mono;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 // @formatter:off
@@ -53,6 +57,9 @@ public class MiniMaxApi {
 	public static final String DEFAULT_EMBEDDING_MODEL = EmbeddingModel.Embo_01.getValue();
 	private static final Predicate<String> SSE_DONE_PREDICATE = "[DONE]"::equals;
 
+	private static final Function<String, ChatCompletionChunk> CHUNK_READER = ModelOptionsUtils
+		.jsonToObjectFunction(ChatCompletionChunk.class);
+
 	private final RestClient restClient;
 
 	private final WebClient webClient;
@@ -719,7 +726,7 @@ public class MiniMaxApi {
 				.bodyToFlux(String.class)
 				.takeUntil(SSE_DONE_PREDICATE)
 				.filter(SSE_DONE_PREDICATE.negate())
-				.map(content -> ModelOptionsUtils.jsonToObject(content, ChatCompletionChunk.class))
+				.map(CHUNK_READER)
 				.map(chunk -> {
 					if (this.chunkMerger.isStreamingToolFunctionCall(chunk)) {
 						isInsideTool.set(true);
@@ -733,13 +740,8 @@ public class MiniMaxApi {
 					}
 					return !isInsideTool.get();
 				})
-				.concatMapIterable(window -> {
-					Mono<ChatCompletionChunk> monoChunk = window.reduce(
-							new ChatCompletionChunk(null, null, null, null, null, null),
-							(previous, current) -> this.chunkMerger.merge(previous, current));
-					return List.of(monoChunk);
-				})
-				.flatMap(mono -> mono);
+				.concatMap(window -> window.reduceWith(ChunkAccumulator::new, ChunkAccumulator::add)
+					.map(ChunkAccumulator::build));
 	}
 
 	/**
@@ -875,7 +877,7 @@ public class MiniMaxApi {
 	 */
 	@JsonInclude(Include.NON_NULL)
 	public record EmbeddingList(
-			@JsonProperty("vectors") List<float[]> vectors,
+			@JsonProperty("vectors") @JsonDeserialize(contentUsing = EmbeddingVectorDeserializer.class) List<float[]> vectors,
 			@JsonProperty("model") String model,
 			@JsonProperty("total_tokens") Integer totalTokens) {
 	}
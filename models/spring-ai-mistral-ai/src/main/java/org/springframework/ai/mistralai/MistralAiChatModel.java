@@ -137,6 +137,7 @@ public class MistralAiChatModel extends AbstractToolCallSupport implements ChatM
 		this.defaultOptions = options;
 		this.retryTemplate = retryTemplate;
 		this.observationRegistry = observationRegistry;
+		setToolCallObservationRegistry(observationRegistry);
 	}
 
 	@Override
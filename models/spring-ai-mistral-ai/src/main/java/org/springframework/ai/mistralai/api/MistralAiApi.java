@@ -21,16 +21,20 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.springframework.ai.mistralai.api.MistralAiStreamFunctionCallingHelper.ChunkAccumulator;
 import org.springframework.ai.observation.conventions.AiProvider;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import org.springframework.ai.model.ChatModelDescription;
+import org.springframework.ai.model.EmbeddingVectorDeserializer;
 import org.springframework.ai.model.ModelOptionsUtils;
 import org.springframework.ai.retry.RetryUtils;
 import org.springframework.boot.context.properties.bind.ConstructorBinding;
@@ -68,6 +72,9 @@ public class MistralAiApi {
 
 	private static final Predicate<String> SSE_DONE_PREDICATE = "[DONE]"::equals;
 
+	private static final Function<String, ChatCompletionChunk> CHUNK_READER = ModelOptionsUtils
+		.jsonToObjectFunction(ChatCompletionChunk.class);
+
 	private final RestClient restClient;
 
 	private WebClient webClient;
@@ -201,7 +208,7 @@ public class MistralAiApi {
 	public record Embedding(
 	// @formatter:off
 		 @JsonProperty("index") Integer index,
-		 @JsonProperty("embedding") float[] embedding,
+		 @JsonProperty("embedding") @JsonDeserialize(using = EmbeddingVectorDeserializer.class) float[] embedding,
 		 @JsonProperty("object") String object) {
 		 // @formatter:on
 
@@ -825,7 +832,7 @@ public class MistralAiApi {
 			.bodyToFlux(String.class)
 			.takeUntil(SSE_DONE_PREDICATE)
 			.filter(SSE_DONE_PREDICATE.negate())
-			.map(content -> ModelOptionsUtils.jsonToObject(content, ChatCompletionChunk.class))
+			.map(CHUNK_READER)
 			.map(chunk -> {
 				if (this.chunkMerger.isStreamingToolFunctionCall(chunk)) {
 					isInsideTool.set(true);
@@ -839,12 +846,8 @@ public class MistralAiApi {
 				}
 				return !isInsideTool.get();
 			})
-			.concatMapIterable(window -> {
-				Mono<ChatCompletionChunk> mono1 = window.reduce(new ChatCompletionChunk(null, null, null, null, null),
-						(previous, current) -> this.chunkMerger.merge(previous, current));
-				return List.of(mono1);
-			})
-			.flatMap(mono -> mono);
+			.concatMap(window -> window.reduceWith(ChunkAccumulator::new, ChunkAccumulator::add)
+				.map(ChunkAccumulator::build));
 	}
 
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.mistralai.api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.mistralai.api.MistralAiApi.ChatCompletionChunk;
+import org.springframework.ai.mistralai.api.MistralAiApi.ChatCompletionChunk.ChunkChoice;
+import org.springframework.ai.mistralai.api.MistralAiApi.ChatCompletionFinishReason;
+import org.springframework.ai.mistralai.api.MistralAiApi.ChatCompletionMessage;
+import org.springframework.ai.mistralai.api.MistralAiApi.ChatCompletionMessage.ChatCompletionFunction;
+import org.springframework.ai.mistralai.api.MistralAiApi.ChatCompletionMessage.Role;
+import org.springframework.ai.mistralai.api.MistralAiApi.ChatCompletionMessage.ToolCall;
+import org.springframework.ai.mistralai.api.MistralAiStreamFunctionCallingHelper.ChunkAccumulator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MistralAiStreamFunctionCallingHelperTests {
+
+	private final MistralAiStreamFunctionCallingHelper helper = new MistralAiStreamFunctionCallingHelper();
+
+	@Test
+	void accumulatorMatchesSuccessiveMerges() {
+		List<ChatCompletionChunk> chunks = new ArrayList<>();
+		chunks.add(chunk("id1",
+				new ChatCompletionMessage(null, Role.ASSISTANT, null, List.of(toolCall("call1", "getWeather", ""))),
+				null));
+		chunks.add(chunk(null, delta(toolCall(null, null, "{\"loc")), null));
+		chunks.add(chunk(null, delta(toolCall(null, null, "ation\": \"Paris\"}")), null));
+		chunks.add(chunk(null, delta(toolCall("call2", "getTime", null)), null));
+		chunks.add(chunk(null, delta(toolCall(null, null, null)), null));
+		chunks.add(chunk("id2", new ChatCompletionMessage(null, null), ChatCompletionFinishReason.TOOL_CALLS));
+
+		assertThat(accumulate(chunks)).isEqualTo(merge(chunks));
+
+		ChunkChoice choice = accumulate(chunks).choices().get(0);
+		assertThat(choice.delta().toolCalls()).containsExactly(
+				toolCall("call1", "getWeather", "{\"location\": \"Paris\"}"), toolCall("call2", "getTime", ""));
+		assertThat(choice.finishReason()).isEqualTo(ChatCompletionFinishReason.TOOL_CALLS);
+	}
+
+	@Test
+	void toolCallsWithoutIdGetOneGeneratedIdLikeMerges() {
+		// Mistral AI streams complete tool calls without id in a single chunk
+		List<ChatCompletionChunk> chunks = List.of(chunk("id1", new ChatCompletionMessage(null, null, null,
+				List.of(new ToolCall(null, null, new ChatCompletionFunction("getWeather", "{\"location\": \"Paris\"}")),
+						new ToolCall(null, null, new ChatCompletionFunction("getTime", "{}")))),
+				ChatCompletionFinishReason.TOOL_CALLS));
+
+		ChunkChoice accumulated = accumulate(chunks).choices().get(0);
+		ChunkChoice merged = merge(chunks).choices().get(0);
+
+		assertThat(accumulated.delta().role()).isEqualTo(Role.ASSISTANT).isEqualTo(merged.delta().role());
+		assertThat(accumulated.delta().toolCalls()).hasSize(2).allSatisfy(toolCall -> {
+			assertThat(toolCall.id()).isNotNull().isEqualTo(accumulated.delta().toolCalls().get(0).id());
+			assertThat(toolCall.type()).isEqualTo("function");
+		});
+		assertThat(withoutIds(accumulated.delta().toolCalls())).isEqualTo(withoutIds(merged.delta().toolCalls()));
+	}
+
+	@Test
+	void toolCallsWithoutIdInFollowingChunksAreMergedIntoTheGeneratedOne() {
+		List<ChatCompletionChunk> chunks = List.of(chunk("id1", delta(toolCall(null, "getWeather", "{\"loc")), null),
+				chunk(null, delta(toolCall(null, null, "ation\": \"Paris\"}")), ChatCompletionFinishReason.TOOL_CALLS));
+
+		List<ToolCall> toolCalls = accumulate(chunks).choices().get(0).delta().toolCalls();
+
+		assertThat(toolCalls).singleElement().satisfies(toolCall -> {
+			assertThat(toolCall.id()).isNotNull();
+			assertThat(toolCall.function())
+				.isEqualTo(new ChatCompletionFunction("getWeather", "{\"location\": \"Paris\"}"));
+		});
+		assertThat(withoutIds(toolCalls)).isEqualTo(withoutIds(merge(chunks).choices().get(0).delta().toolCalls()));
+	}
+
+	@Test
+	void singleChunkAndEmptyWindowsMatchMerges() {
+		List<ChatCompletionChunk> chunks = List.of(chunk("id1", delta(toolCall("call1", "getWeather", null)), null));
+
+		assertThat(accumulate(chunks)).isEqualTo(merge(chunks));
+		assertThat(accumulate(List.of())).isEqualTo(merge(List.of()));
+	}
+
+	@Test
+	void severalToolCallsInAFollowingDeltaAreRejected() {
+		ChunkAccumulator accumulator = new ChunkAccumulator()
+			.add(chunk("id1", delta(toolCall("call1", "getWeather", "")), null));
+		ChatCompletionChunk chunk = chunk(null, new ChatCompletionMessage(null, null, null,
+				List.of(toolCall("call2", "a", null), toolCall("call3", "b", null))), null);
+
+		assertThatThrownBy(() -> accumulator.add(chunk)).isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("only one tool call");
+	}
+
+	private ChatCompletionChunk accumulate(List<ChatCompletionChunk> chunks) {
+		ChunkAccumulator accumulator = new ChunkAccumulator();
+		chunks.forEach(accumulator::add);
+		return accumulator.build();
+	}
+
+	private ChatCompletionChunk merge(List<ChatCompletionChunk> chunks) {
+		ChatCompletionChunk merged = new ChatCompletionChunk(null, null, null, null, null);
+		for (ChatCompletionChunk chunk : chunks) {
+			merged = this.helper.merge(merged, chunk);
+		}
+		return merged;
+	}
+
+	private static List<ToolCall> withoutIds(List<ToolCall> toolCalls) {
+		return toolCalls.stream().map(toolCall -> new ToolCall(null, toolCall.type(), toolCall.function())).toList();
+	}
+
+	private static ChatCompletionChunk chunk(String id, ChatCompletionMessage delta,
+			ChatCompletionFinishReason finishReason) {
+		return new ChatCompletionChunk(id, "chat.completion.chunk", 1L, "mistral-small-latest",
+				List.of(new ChunkChoice(0, delta, finishReason, null)));
+	}
+
+	private static ChatCompletionMessage delta(ToolCall toolCall) {
+		return new ChatCompletionMessage(null, null, null, List.of(toolCall));
+	}
+
+	private static ToolCall toolCall(String id, String name, String arguments) {
+		return new ToolCall(id, (id != null ? "function" : null), new ChatCompletionFunction(name, arguments));
+	}
+
+}
@@ -20,6 +20,7 @@ import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.ai.model.ChatModelDescription;
 import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.moonshot.api.MoonshotStreamFunctionCallingHelper.ChunkAccumulator;
 import org.springframework.ai.retry.RetryUtils;
 import org.springframework.boot.context.properties.bind.ConstructorBinding;
 import org.springframework.http.HttpHeaders;
@@ -36,6 +37,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import static org.springframework.ai.moonshot.api.MoonshotConstants.DEFAULT_BASE_URL;
@@ -55,6 +57,9 @@ public class MoonshotApi {
 
 	private static final Predicate<String> SSE_DONE_PREDICATE = "[DONE]"::equals;
 
+	private static final Function<String, ChatCompletionChunk> CHUNK_READER = ModelOptionsUtils
+		.jsonToObjectFunction(ChatCompletionChunk.class);
+
 	private final RestClient restClient;
 
 	private final WebClient webClient;
@@ -604,7 +609,7 @@ public class MoonshotApi {
 			.takeUntil(SSE_DONE_PREDICATE)
 			// filters out the "[DONE]" message.
 			.filter(SSE_DONE_PREDICATE.negate())
-			.map(content -> ModelOptionsUtils.jsonToObject(content, ChatCompletionChunk.class))
+			.map(CHUNK_READER)
 			// Detect is the chunk is part of a streaming function call.
 			.map(chunk -> {
 				if (this.chunkMerger.isStreamingToolFunctionCall(chunk)) {
@@ -622,17 +627,11 @@ public class MoonshotApi {
 				return !isInsideTool.get();
 			})
 			// Merging the window chunks into a single chunk.
-			// Reduce the inner Flux<ChatCompletionChunk> window into a single
-			// Mono<ChatCompletionChunk>,
-			// Flux<Flux<ChatCompletionChunk>> -> Flux<Mono<ChatCompletionChunk>>
-			.concatMapIterable(window -> {
-				Mono<ChatCompletionChunk> monoChunk = window.reduce(
-						new ChatCompletionChunk(null, null, null, null, null),
-						(previous, current) -> this.chunkMerger.merge(previous, current));
-				return List.of(monoChunk);
-			})
-			// Flux<Mono<ChatCompletionChunk>> -> Flux<ChatCompletionChunk>
-			.flatMap(mono -> mono);
+			// Accumulates the inner Flux<ChatCompletionChunk> window into a single
+			// ChatCompletionChunk, appending the tool call arguments to buffers.
+			// Flux<Flux<ChatCompletionChunk>> -> Flux<ChatCompletionChunk>
+			.concatMap(window -> window.reduceWith(ChunkAccumulator::new, ChunkAccumulator::add)
+				.map(ChunkAccumulator::build));
 	}
 
 }
@@ -151,4 +151,169 @@ public class MoonshotStreamFunctionCallingHelper {
 		return choice.finishReason() == ChatCompletionFinishReason.TOOL_CALLS;
 	}
 
+	/**
+	 * Mutable accumulator merging the chunks of a stream window into a single chunk, with
+	 * the same result as successive
+	 * {@link #merge(ChatCompletionChunk, ChatCompletionChunk)} calls. Instead of creating
+	 * new records and copying the tool call arguments for every chunk, it appends the
+	 * arguments to buffers and creates the merged chunk once, so merging takes linear
+	 * time in the streamed arguments. Not thread-safe, an accumulator must be used for a
+	 * single window.
+	 */
+	public static class ChunkAccumulator {
+
+		private int chunkCount;
+
+		private String id;
+
+		private Long created;
+
+		private String model;
+
+		private String object;
+
+		private int choiceCount;
+
+		private ChunkChoice firstChoice;
+
+		private ChatCompletionFinishReason finishReason;
+
+		private Integer index;
+
+		private String content;
+
+		private Role role;
+
+		private String name;
+
+		private String toolCallId;
+
+		private final List<ToolCallAccumulator> toolCalls = new ArrayList<>();
+
+		/**
+		 * Adds the next chunk of the window.
+		 * @param chunk the next chunk.
+		 * @return this accumulator.
+		 */
+		public ChunkAccumulator add(ChatCompletionChunk chunk) {
+			this.chunkCount++;
+			this.id = (chunk.id() != null ? chunk.id() : this.id);
+			this.created = (chunk.created() != null ? chunk.created() : this.created);
+			this.model = (chunk.model() != null ? chunk.model() : this.model);
+			this.object = (chunk.object() != null ? chunk.object() : this.object);
+
+			ChunkChoice choice = (CollectionUtils.isEmpty(chunk.choices()) ? null : chunk.choices().get(0));
+			if (choice != null) {
+				add(choice);
+			}
+			return this;
+		}
+
+		private void add(ChunkChoice choice) {
+			this.choiceCount++;
+			if (this.choiceCount == 1) {
+				this.firstChoice = choice;
+			}
+			this.finishReason = (choice.finishReason() != null ? choice.finishReason() : this.finishReason);
+			this.index = (choice.index() != null ? choice.index() : this.index);
+
+			ChatCompletionMessage delta = choice.delta();
+			if (delta == null) {
+				return;
+			}
+			this.content = (delta.content() != null ? delta.content() : this.content);
+			this.role = (delta.role() != null ? delta.role() : this.role);
+			this.name = (delta.name() != null ? delta.name() : this.name);
+			this.toolCallId = (delta.toolCallId() != null ? delta.toolCallId() : this.toolCallId);
+
+			if (CollectionUtils.isEmpty(delta.toolCalls())) {
+				return;
+			}
+
+			if (this.choiceCount == 1) {
+				for (ToolCall toolCall : delta.toolCalls()) {
+					this.toolCalls.add(new ToolCallAccumulator().add(toolCall));
+				}
+				return;
+			}
+			if (delta.toolCalls().size() > 1) {
+				throw new IllegalStateException("Currently only one tool call is supported per message!");
+			}
+			ToolCall toolCall = delta.toolCalls().iterator().next();
+			if (toolCall.id() != null || this.toolCalls.isEmpty()) {
+				this.toolCalls.add(new ToolCallAccumulator().add(toolCall));
+			}
+			else {
+				this.toolCalls.get(this.toolCalls.size() - 1).add(toolCall);
+			}
+		}
+
+		/**
+		 * @return the chunk merging all the chunks added so far.
+		 */
+		public ChatCompletionChunk build() {
+			if (this.chunkCount == 0) {
+				return new ChatCompletionChunk(null, null, null, null, null);
+			}
+			List<ChunkChoice> chunkChoices = List.of();
+			if (this.choiceCount == 1) {
+				chunkChoices = List.of(this.firstChoice);
+			}
+			else if (this.choiceCount > 1) {
+				List<ToolCall> mergedToolCalls = new ArrayList<>(this.toolCalls.size());
+				for (ToolCallAccumulator toolCall : this.toolCalls) {
+					mergedToolCalls.add(toolCall.build());
+				}
+				ChatCompletionMessage message = new ChatCompletionMessage((this.content != null ? this.content : ""),
+						(this.role != null ? this.role : Role.ASSISTANT), this.name, this.toolCallId, mergedToolCalls);
+				chunkChoices = List.of(new ChunkChoice(this.index, message, this.finishReason, null));
+			}
+			return new ChatCompletionChunk(this.id, this.object, this.created, this.model, chunkChoices);
+		}
+
+	}
+
+	private static class ToolCallAccumulator {
+
+		private String id;
+
+		private String type;
+
+		private int functionCount;
+
+		private String name;
+
+		private StringBuilder arguments;
+
+		ToolCallAccumulator add(ToolCall toolCall) {
+			this.id = (toolCall.id() != null ? toolCall.id() : this.id);
+			this.type = (toolCall.type() != null ? toolCall.type() : this.type);
+			ChatCompletionFunction function = toolCall.function();
+			if (function != null) {
+				this.functionCount++;
+				this.name = (function.name() != null ? function.name() : this.name);
+				if (function.arguments() != null) {
+					if (this.arguments == null) {
+						this.arguments = new StringBuilder(function.arguments());
+					}
+					else {
+						this.arguments.append(function.arguments());
+					}
+				}
+			}
+			return this;
+		}
+
+		ToolCall build() {
+			ChatCompletionFunction function = null;
+			if (this.functionCount > 0) {
+				String mergedArguments = (this.arguments != null ? this.arguments.toString()
+						: (this.functionCount > 1 ? "" : null));
+				function = new ChatCompletionFunction(this.name, mergedArguments);
+			}
+			return new ToolCall(this.id, this.type, function);
+		}
+
+	}
+
 }
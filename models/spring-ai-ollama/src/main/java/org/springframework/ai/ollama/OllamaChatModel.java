@@ -119,6 +119,7 @@ public class OllamaChatModel extends AbstractToolCallSupport implements ChatMode
 		this.chatApi = chatApi;
 		this.defaultOptions = defaultOptions;
 		this.observationRegistry = observationRegistry;
+		setToolCallObservationRegistry(observationRegistry);
 	}
 
 	@Override
@@ -202,6 +202,7 @@ public class OpenAiChatModel extends AbstractToolCallSupport implements ChatMode
 		this.defaultOptions = options;
 		this.retryTemplate = retryTemplate;
 		this.observationRegistry = observationRegistry;
+		setToolCallObservationRegistry(observationRegistry);
 	}
 
 	@Override
@@ -54,6 +54,13 @@ public class OpenAiEmbeddingModel extends AbstractEmbeddingModel {
 
 	private static final EmbeddingModelObservationConvention DEFAULT_OBSERVATION_CONVENTION = new DefaultEmbeddingModelObservationConvention();
 
+	/**
+	 * Encoding format requested when none is set in the options. Base64 embeddings are
+	 * about a quarter of the size of the float lists and are decoded without parsing
+	 * decimal literals.
+	 */
+	private static final String DEFAULT_ENCODING_FORMAT = "base64";
+
 	private final OpenAiEmbeddingOptions defaultOptions;
 
 	private final RetryTemplate retryTemplate;
@@ -183,8 +190,10 @@ public class OpenAiEmbeddingModel extends AbstractEmbeddingModel {
 
 	private OpenAiApi.EmbeddingRequest<List<String>> createRequest(EmbeddingRequest request,
 			OpenAiEmbeddingOptions requestOptions) {
-		return new OpenAiApi.EmbeddingRequest<>(request.getInstructions(), requestOptions.getModel(),
-				requestOptions.getEncodingFormat(), requestOptions.getDimensions(), requestOptions.getUser());
+		String encodingFormat = (requestOptions.getEncodingFormat() != null) ? requestOptions.getEncodingFormat()
+				: DEFAULT_ENCODING_FORMAT;
+		return new OpenAiApi.EmbeddingRequest<>(request.getInstructions(), requestOptions.getModel(), encodingFormat,
+				requestOptions.getDimensions(), requestOptions.getUser());
 	}
 
 	/**
@@ -34,7 +34,8 @@ public class OpenAiEmbeddingOptions implements EmbeddingOptions {
 	 */
 	private @JsonProperty("model") String model;
 	/**
-	 * The format to return the embeddings in. Can be either float or base64.
+	 * The format to return the embeddings in. Can be either float or base64. Defaults to base64, set to float for
+	 * OpenAI compatible servers that do not support base64.
 	 */
 	private @JsonProperty("encoding_format") String encodingFormat;
 	/**
@@ -18,10 +18,13 @@ package org.springframework.ai.openai.api;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import org.springframework.ai.model.ChatModelDescription;
+import org.springframework.ai.model.EmbeddingVectorDeserializer;
 import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.openai.api.OpenAiStreamFunctionCallingHelper.ChunkAccumulator;
 import org.springframework.ai.openai.api.common.OpenAiApiConstants;
 import org.springframework.ai.retry.RetryUtils;
 import org.springframework.boot.context.properties.bind.ConstructorBinding;
@@ -40,6 +43,7 @@ import org.springframework.web.reactive.function.client.WebClient;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -63,6 +67,9 @@ public class OpenAiApi {
 
 	private static final Predicate<String> SSE_DONE_PREDICATE = "[DONE]"::equals;
 
+	private static final Function<String, ChatCompletionChunk> CHUNK_READER = ModelOptionsUtils
+		.jsonToObjectFunction(ChatCompletionChunk.class);
+
 	private final String completionsPath;
 
 	private final String embeddingsPath;
@@ -1031,7 +1038,7 @@ public class OpenAiApi {
 			.takeUntil(SSE_DONE_PREDICATE)
 			// filters out the "[DONE]" message.
 			.filter(SSE_DONE_PREDICATE.negate())
-			.map(content -> ModelOptionsUtils.jsonToObject(content, ChatCompletionChunk.class))
+			.map(CHUNK_READER)
 			// Detect is the chunk is part of a streaming function call.
 			.map(chunk -> {
 				if (this.chunkMerger.isStreamingToolFunctionCall(chunk)) {
@@ -1049,17 +1056,11 @@ public class OpenAiApi {
 				return !isInsideTool.get();
 			})
 			// Merging the window chunks into a single chunk.
-			// Reduce the inner Flux<ChatCompletionChunk> window into a single
-			// Mono<ChatCompletionChunk>,
-			// Flux<Flux<ChatCompletionChunk>> -> Flux<Mono<ChatCompletionChunk>>
-			.concatMapIterable(window -> {
-				Mono<ChatCompletionChunk> monoChunk = window.reduce(
-						new ChatCompletionChunk(null, null, null, null, null, null, null),
-						(previous, current) -> this.chunkMerger.merge(previous, current));
-				return List.of(monoChunk);
-			})
-			// Flux<Mono<ChatCompletionChunk>> -> Flux<ChatCompletionChunk>
-			.flatMap(mono -> mono);
+			// Accumulates the inner Flux<ChatCompletionChunk> window into a single
+			// ChatCompletionChunk, appending the tool call arguments to buffers.
+			// Flux<Flux<ChatCompletionChunk>> -> Flux<ChatCompletionChunk>
+			.concatMap(window -> window.reduceWith(ChunkAccumulator::new, ChunkAccumulator::add)
+				.map(ChunkAccumulator::build));
 	}
 
 	// Embeddings API
@@ -1104,13 +1105,14 @@ public class OpenAiApi {
 	 *
 	 * @param index The index of the embedding in the list of embeddings.
 	 * @param embedding The embedding vector, which is a list of floats. The length of
-	 * vector depends on the model.
+	 * vector depends on the model. Read from either a list of numbers or, when the
+	 * request encoding format is base64, a base64 string of little-endian floats.
 	 * @param object The object type, which is always 'embedding'.
 	 */
 	@JsonInclude(Include.NON_NULL)
 	public record Embedding(// @formatter:off
 			@JsonProperty("index") Integer index,
-			@JsonProperty("embedding") float[] embedding,
+			@JsonProperty("embedding") @JsonDeserialize(using = EmbeddingVectorDeserializer.class) float[] embedding,
 			@JsonProperty("object") String object) {// @formatter:on
 
 		/**
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.openai.embedding;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.openai.OpenAiEmbeddingModel;
+import org.springframework.ai.openai.OpenAiEmbeddingOptions;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@RestClientTest(OpenAiEmbeddingModelTests.Config.class)
+public class OpenAiEmbeddingModelTests {
+
+	private static final String TEST_API_KEY = "sk-1234567890";
+
+	@Autowired
+	private OpenAiEmbeddingModel embeddingModel;
+
+	@Autowired
+	private MockRestServiceServer server;
+
+	@AfterEach
+	void resetMockServer() {
+		this.server.reset();
+	}
+
+	@Test
+	void requestsAndDecodesBase64Embeddings() {
+		float[] first = { 0.0023064255f, -0.009327292f, 1.5e-8f, -0.0f };
+		float[] second = { 0.75f, -1f, 0f, 42.125f };
+
+		this.server.expect(requestTo("/v1/embeddings"))
+			.andExpect(method(HttpMethod.POST))
+			.andExpect(jsonPath("$.encoding_format").value("base64"))
+			.andRespond(withSuccess(embeddingList("\"" + base64(first) + "\"", "\"" + base64(second) + "\""),
+					MediaType.APPLICATION_JSON));
+
+		EmbeddingResponse response = this.embeddingModel.call(new EmbeddingRequest(List.of("a", "b"), null));
+
+		assertThat(response.getResults()).hasSize(2);
+		assertThat(response.getResults().get(0).getOutput()).containsExactly(first);
+		assertThat(response.getResults().get(1).getOutput()).containsExactly(second);
+		this.server.verify();
+	}
+
+	@Test
+	void floatEncodingFormatOption() {
+		this.server.expect(requestTo("/v1/embeddings"))
+			.andExpect(jsonPath("$.encoding_format").value("float"))
+			.andRespond(withSuccess(embeddingList("[0.5, -0.25]", "[1, 2]"), MediaType.APPLICATION_JSON));
+
+		EmbeddingResponse response = this.embeddingModel.call(new EmbeddingRequest(List.of("a", "b"),
+				OpenAiEmbeddingOptions.builder().withEncodingFormat("float").build()));
+
+		assertThat(response.getResults().get(0).getOutput()).containsExactly(0.5f, -0.25f);
+		assertThat(response.getResults().get(1).getOutput()).containsExactly(1f, 2f);
+		this.server.verify();
+	}
+
+	private static String embeddingList(String first, String second) {
+		return """
+				{
+				  "object": "list",
+				  "data": [
+				    { "object": "embedding", "index": 0, "embedding": %s },
+				    { "object": "embedding", "index": 1, "embedding": %s }
+				  ],
+				  "model": "text-embedding-ada-002",
+				  "usage": { "prompt_tokens": 2, "total_tokens": 2 }
+				}
+				""".formatted(first, second);
+	}
+
+	private static String base64(float[] vector) {
+		ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.asFloatBuffer().put(vector);
+		return Base64.getEncoder().encodeToString(buffer.array());
+	}
+
+	@SpringBootConfiguration
+	static class Config {
+
+		@Bean
+		public OpenAiApi openAiApi(RestClient.Builder builder, WebClient.Builder webClientBuilder) {
+			return new OpenAiApi("", TEST_API_KEY, builder, webClientBuilder);
+		}
+
+		@Bean
+		public OpenAiEmbeddingModel openAiEmbeddingModel(OpenAiApi openAiApi) {
+			return new OpenAiEmbeddingModel(openAiApi);
+		}
+
+	}
+
+}
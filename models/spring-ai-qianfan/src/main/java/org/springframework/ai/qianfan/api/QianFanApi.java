@@ -18,6 +18,8 @@ package org.springframework.ai.qianfan.api;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.springframework.ai.model.EmbeddingVectorDeserializer;
 import org.springframework.ai.qianfan.api.auth.AuthApi;
 import org.springframework.ai.retry.RetryUtils;
 import org.springframework.core.ParameterizedTypeReference;
@@ -484,7 +486,7 @@ public class QianFanApi extends AuthApi {
 	public record Embedding(
 			// @formatter:off
 			@JsonProperty("index") Integer index,
-			@JsonProperty("embedding") float[] embedding,
+			@JsonProperty("embedding") @JsonDeserialize(using = EmbeddingVectorDeserializer.class) float[] embedding,
 			@JsonProperty("object") String object) {
 		// @formatter:on
 
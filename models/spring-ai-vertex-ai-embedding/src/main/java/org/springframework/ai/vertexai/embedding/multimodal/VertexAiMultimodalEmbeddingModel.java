@@ -29,6 +29,7 @@ import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.DocumentEmbeddingModel;
 import org.springframework.ai.embedding.DocumentEmbeddingRequest;
 import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingConcurrency;
 import org.springframework.ai.embedding.EmbeddingOptions;
 import org.springframework.ai.embedding.EmbeddingResponse;
 import org.springframework.ai.embedding.EmbeddingResponseMetadata;
@@ -78,6 +79,8 @@ public class VertexAiMultimodalEmbeddingModel implements DocumentEmbeddingModel
 
 	private final VertexAiEmbeddigConnectionDetails connectionDetails;
 
+	private EmbeddingConcurrency embeddingConcurrency = EmbeddingConcurrency.SEQUENTIAL;
+
 	public VertexAiMultimodalEmbeddingModel(VertexAiEmbeddigConnectionDetails connectionDetails,
 			VertexAiMultimodalEmbeddingOptions defaultEmbeddingOptions) {
 
@@ -105,13 +108,26 @@ public class VertexAiMultimodalEmbeddingModel implements DocumentEmbeddingModel
 			.create(this.connectionDetails.getPredictionServiceSettings())) {
 
 			EndpointName endpointName = this.connectionDetails.getEndpointName(mergedOptions.getModel());
-
-			for (Document document : request.getInstructions()) {
-				EmbeddingResponse singleDocResponse = this.doSingleDocumentPrediction(client, endpointName, document,
-						mergedOptions);
-				var mergedEmbeddings = new ArrayList<>(finalResponse.getResults());
-				mergedEmbeddings.addAll(singleDocResponse.getResults());
-				finalResponse = new EmbeddingResponse(mergedEmbeddings, singleDocResponse.getMetadata());
+			VertexAiMultimodalEmbeddingOptions options = mergedOptions;
+
+			// The prediction endpoint embeds a single document per call.
+			List<EmbeddingResponse> documentResponses = this.embeddingConcurrency.invokeAll(request.getInstructions(),
+					document -> {
+						try {
+							return this.doSingleDocumentPrediction(client, endpointName, document, options);
+						}
+						catch (InvalidProtocolBufferException ex) {
+							throw new RuntimeException(ex);
+						}
+					});
+
+			if (!documentResponses.isEmpty()) {
+				List<Embedding> mergedEmbeddings = new ArrayList<>();
+				for (EmbeddingResponse documentResponse : documentResponses) {
+					mergedEmbeddings.addAll(documentResponse.getResults());
+				}
+				EmbeddingResponse lastResponse = documentResponses.get(documentResponses.size() - 1);
+				finalResponse = new EmbeddingResponse(mergedEmbeddings, lastResponse.getMetadata());
 			}
 
 		}
@@ -122,6 +138,21 @@ public class VertexAiMultimodalEmbeddingModel implements DocumentEmbeddingModel
 		return finalResponse;
 	}
 
+	public EmbeddingConcurrency getEmbeddingConcurrency() {
+		return this.embeddingConcurrency;
+	}
+
+	/**
+	 * Set how many prediction calls {@link #call(DocumentEmbeddingRequest)} keeps in
+	 * flight. The prediction endpoint embeds a single document per call. Defaults to
+	 * {@link EmbeddingConcurrency#SEQUENTIAL}.
+	 * @param embeddingConcurrency the concurrency of the prediction calls.
+	 */
+	public void setEmbeddingConcurrency(EmbeddingConcurrency embeddingConcurrency) {
+		Assert.notNull(embeddingConcurrency, "EmbeddingConcurrency must not be null");
+		this.embeddingConcurrency = embeddingConcurrency;
+	}
+
 	record DocumentMetadata(String documentId, MimeType mimeType, Object data) {
 	}
 
@@ -18,10 +18,13 @@ package org.springframework.ai.zhipuai.api;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.springframework.ai.model.ChatModelDescription;
+import org.springframework.ai.model.EmbeddingVectorDeserializer;
 import org.springframework.ai.model.ModelOptionsUtils;
 import org.springframework.ai.retry.RetryUtils;
 import org.springframework.ai.util.api.ApiUtils;
+import org.springframework.ai.zhipuai.api.ZhiPuAiStreamFunctionCallingHelper.ChunkAccumulator;
 import org.springframework.boot.context.properties.bind.ConstructorBinding;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.ResponseEntity;
@@ -38,6 +41,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 // @formatter:off
@@ -54,6 +58,9 @@ public class ZhiPuAiApi {
 	public static final String DEFAULT_EMBEDDING_MODEL = EmbeddingModel.Embedding_2.getValue();
 	private static final Predicate<String> SSE_DONE_PREDICATE = "[DONE]"::equals;
 
+	private static final Function<String, ChatCompletionChunk> CHUNK_READER = ModelOptionsUtils
+		.jsonToObjectFunction(ChatCompletionChunk.class);
+
 	private final RestClient restClient;
 
 	private final WebClient webClient;
@@ -685,7 +692,7 @@ public class ZhiPuAiApi {
 				.bodyToFlux(String.class)
 				.takeUntil(SSE_DONE_PREDICATE)
 				.filter(SSE_DONE_PREDICATE.negate())
-				.map(content -> ModelOptionsUtils.jsonToObject(content, ChatCompletionChunk.class))
+				.map(CHUNK_READER)
 				.map(chunk -> {
 					if (this.chunkMerger.isStreamingToolFunctionCall(chunk)) {
 						isInsideTool.set(true);
@@ -699,13 +706,8 @@ public class ZhiPuAiApi {
 					}
 					return !isInsideTool.get();
 				})
-				.concatMapIterable(window -> {
-					Mono<ChatCompletionChunk> monoChunk = window.reduce(
-							new ChatCompletionChunk(null, null, null, null, null, null),
-							this.chunkMerger::merge);
-					return List.of(monoChunk);
-				})
-				.flatMap(mono -> mono);
+				.concatMap(window -> window.reduceWith(ChunkAccumulator::new, ChunkAccumulator::add)
+					.map(ChunkAccumulator::build));
 	}
 
 	/**
@@ -740,7 +742,7 @@ public class ZhiPuAiApi {
 	@JsonInclude(Include.NON_NULL)
 	public record Embedding(
 			@JsonProperty("index") Integer index,
-			@JsonProperty("embedding") float[] embedding,
+			@JsonProperty("embedding") @JsonDeserialize(using = EmbeddingVectorDeserializer.class) float[] embedding,
 			@JsonProperty("object") String object) {
 
 		/**
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.zhipuai.api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.zhipuai.api.ZhiPuAiApi.ChatCompletionChunk;
+import org.springframework.ai.zhipuai.api.ZhiPuAiApi.ChatCompletionChunk.ChunkChoice;
+import org.springframework.ai.zhipuai.api.ZhiPuAiApi.ChatCompletionFinishReason;
+import org.springframework.ai.zhipuai.api.ZhiPuAiApi.ChatCompletionMessage;
+import org.springframework.ai.zhipuai.api.ZhiPuAiApi.ChatCompletionMessage.ChatCompletionFunction;
+import org.springframework.ai.zhipuai.api.ZhiPuAiApi.ChatCompletionMessage.Role;
+import org.springframework.ai.zhipuai.api.ZhiPuAiApi.ChatCompletionMessage.ToolCall;
+import org.springframework.ai.zhipuai.api.ZhiPuAiStreamFunctionCallingHelper.ChunkAccumulator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ZhiPuAiStreamFunctionCallingHelperTests {
+
+	private final ZhiPuAiStreamFunctionCallingHelper helper = new ZhiPuAiStreamFunctionCallingHelper();
+
+	@Test
+	void accumulatorMatchesSuccessiveMerges() {
+		List<ChatCompletionChunk> chunks = new ArrayList<>();
+		chunks.add(chunk("id1", new ChatCompletionMessage(null, Role.ASSISTANT, null, null,
+				List.of(toolCall("call1", "getWeather", ""))), null));
+		chunks.add(chunk(null, delta(toolCall(null, null, "{\"loc")), null));
+		chunks.add(chunk(null, delta(toolCall(null, null, "ation\": \"Paris\"}")), null));
+		chunks.add(chunk(null, delta(toolCall("call2", "getTime", null)), null));
+		chunks.add(chunk(null, delta(toolCall(null, null, null)), null));
+		chunks.add(chunk("id2", new ChatCompletionMessage(null, null), ChatCompletionFinishReason.TOOL_CALLS));
+
+		assertThat(accumulate(chunks)).isEqualTo(merge(chunks));
+
+		ChunkChoice choice = accumulate(chunks).choices().get(0);
+		assertThat(choice.delta().toolCalls()).containsExactly(
+				toolCall("call1", "getWeather", "{\"location\": \"Paris\"}"), toolCall("call2", "getTime", ""));
+		assertThat(choice.finishReason()).isEqualTo(ChatCompletionFinishReason.TOOL_CALLS);
+	}
+
+	@Test
+	void singleChunkAndEmptyWindowsMatchMerges() {
+		List<ChatCompletionChunk> chunks = List.of(chunk("id1", delta(toolCall("call1", "getWeather", null)), null));
+
+		assertThat(accumulate(chunks)).isEqualTo(merge(chunks));
+		assertThat(accumulate(List.of())).isEqualTo(merge(List.of()));
+	}
+
+	@Test
+	void severalToolCallsInAFollowingDeltaAreRejected() {
+		ChunkAccumulator accumulator = new ChunkAccumulator()
+			.add(chunk("id1", delta(toolCall("call1", "getWeather", "")), null));
+		ChatCompletionChunk chunk = chunk(null, new ChatCompletionMessage(null, null, null, null,
+				List.of(toolCall("call2", "a", null), toolCall("call3", "b", null))), null);
+
+		assertThatThrownBy(() -> accumulator.add(chunk)).isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("only one tool call");
+	}
+
+	private ChatCompletionChunk accumulate(List<ChatCompletionChunk> chunks) {
+		ChunkAccumulator accumulator = new ChunkAccumulator();
+		chunks.forEach(accumulator::add);
+		return accumulator.build();
+	}
+
+	private ChatCompletionChunk merge(List<ChatCompletionChunk> chunks) {
+		ChatCompletionChunk merged = new ChatCompletionChunk(null, null, null, null, null, null);
+		for (ChatCompletionChunk chunk : chunks) {
+			merged = this.helper.merge(merged, chunk);
+		}
+		return merged;
+	}
+
+	private static ChatCompletionChunk chunk(String id, ChatCompletionMessage delta,
+			ChatCompletionFinishReason finishReason) {
+		return new ChatCompletionChunk(id, List.of(new ChunkChoice(finishReason, 0, delta, null)), 1L, "glm-4-air",
+				null, "chat.completion.chunk");
+	}
+
+	private static ChatCompletionMessage delta(ToolCall toolCall) {
+		return new ChatCompletionMessage(null, null, null, null, List.of(toolCall));
+	}
+
+	private static ToolCall toolCall(String id, String name, String arguments) {
+		return new ToolCall(id, (id != null ? "function" : null), new ChatCompletionFunction(name, arguments));
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.springframework.ai.document.Document;
+
+/**
+ * Deterministic synthetic corpora, so that the benchmark results are comparable between
+ * runs and releases.
+ *
+ * @since 1.0.0
+ */
+public final class BenchmarkCorpus {
+
+	private static final String[] WORDS = { "spring", "vector", "embedding", "model", "prompt", "token", "document",
+			"retrieval", "generation", "chat", "advisor", "memory", "function", "metadata", "filter", "similarity",
+			"search", "index", "store", "batch", "stream", "response", "request", "options", "the", "a", "of", "and",
+			"to", "in", "is", "for", "with", "on", "that", "by", "this", "be", "are", "from", "at", "as", "it",
+			"language", "large", "query", "context", "window", "chunk", "split" };
+
+	private static final String[] CATEGORIES = { "news", "sports", "science", "finance", "travel" };
+
+	private BenchmarkCorpus() {
+	}
+
+	/**
+	 * @param random the source of randomness.
+	 * @param words the number of words of the text.
+	 * @return a text of random words, with a sentence break every 12 words and a
+	 * paragraph break every 60 words.
+	 */
+	public static String text(Random random, int words) {
+		StringBuilder text = new StringBuilder(words * 8);
+		for (int i = 0; i < words; i++) {
+			if (i > 0) {
+				text.append((i % 60 == 0) ? ".\n\n" : (i % 12 == 0) ? ". " : " ");
+			}
+			text.append(WORDS[random.nextInt(WORDS.length)]);
+		}
+		return text.append('.').toString();
+	}
+
+	/**
+	 * @param count the number of documents.
+	 * @param words the number of words of every document.
+	 * @param seed the random seed.
+	 * @return documents with random content and {@code category}, {@code year} and
+	 * {@code rating} metadata.
+	 */
+	public static List<Document> documents(int count, int words, long seed) {
+		Random random = new Random(seed);
+		List<Document> documents = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			documents.add(new Document("doc-" + i, text(random, words),
+					Map.of("category", CATEGORIES[random.nextInt(CATEGORIES.length)], "year", 2000 + random.nextInt(25),
+							"rating", random.nextInt(100) / 10.0)));
+		}
+		return documents;
+	}
+
+	/**
+	 * @param random the source of randomness.
+	 * @param dimensions the number of dimensions.
+	 * @return a vector of gaussian components.
+	 */
+	public static float[] vector(Random random, int dimensions) {
+		float[] vector = new float[dimensions];
+		for (int i = 0; i < dimensions; i++) {
+			vector[i] = (float) random.nextGaussian();
+		}
+		return vector;
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionTextParser;
+
+/**
+ * Parsing of textual filter expressions, with and without a hit in the parser cache.
+ *
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterExpressionTextParserBenchmark {
+
+	@Param({ "simple", "compound" })
+	public String expression;
+
+	private String text;
+
+	private FilterExpressionTextParser parser;
+
+	@Setup
+	public void setup() {
+		this.text = switch (this.expression) {
+			case "simple" -> "category == 'news'";
+			case "compound" -> "(category == 'news' || category in ['sports', 'science']) && year >= 2020 "
+					+ "&& rating > 4.5 && NOT (country == 'NL' && city nin ['Amsterdam', 'Rotterdam'])";
+			default -> throw new IllegalArgumentException("Unknown expression: " + this.expression);
+		};
+		this.parser = new FilterExpressionTextParser();
+	}
+
+	@Benchmark
+	public Filter.Expression parse() {
+		this.parser.clearCache();
+		return this.parser.parse(this.text);
+	}
+
+	@Benchmark
+	public Filter.Expression parseCached() {
+		return this.parser.parse(this.text);
+	}
+
+}
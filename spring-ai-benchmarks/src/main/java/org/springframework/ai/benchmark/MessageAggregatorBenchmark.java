@@ -0,0 +1,75 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.MessageAggregator;
+import org.springframework.ai.chat.prompt.Prompt;
+
+/**
+ * Aggregation of a streamed answer of the {@link StubChatModel} into a single response.
+ *
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageAggregatorBenchmark {
+
+	@Param({ "100", "2000" })
+	public int chunks;
+
+	private ChatModel chatModel;
+
+	private Prompt prompt;
+
+	private MessageAggregator aggregator;
+
+	@Setup
+	public void setup() {
+		// About 4 characters per streamed token
+		String answer = BenchmarkCorpus.text(new Random(42), this.chunks);
+		this.chatModel = new StubChatModel(answer, Math.max(1, answer.length() / this.chunks));
+		this.prompt = new Prompt("benchmark");
+		this.aggregator = new MessageAggregator();
+	}
+
+	@Benchmark
+	public ChatResponse aggregate(Blackhole blackhole) {
+		return this.aggregator.aggregate(this.chatModel.stream(this.prompt), blackhole::consume).blockLast();
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.ai.model.ModelOptionsUtils;
+
+/**
+ * Merging of runtime options into default options, as done by the chat models for every
+ * request, on a request type shaped like the chat completion requests.
+ *
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelOptionsUtilsBenchmark {
+
+	private BenchmarkRequest defaultOptions;
+
+	private BenchmarkRequest runtimeOptions;
+
+	@Setup
+	public void setup() {
+		this.defaultOptions = new BenchmarkRequest("default-model", 0.7, 0.9, 1024, List.of("stop"),
+				Map.of("user", "benchmark"), null);
+		this.runtimeOptions = new BenchmarkRequest("runtime-model", 0.2, null, null, null, null, 42);
+	}
+
+	@Benchmark
+	public BenchmarkRequest merge() {
+		return ModelOptionsUtils.merge(this.runtimeOptions, this.defaultOptions, BenchmarkRequest.class);
+	}
+
+	@JsonInclude(Include.NON_NULL)
+	public record BenchmarkRequest(@JsonProperty("model") String model, @JsonProperty("temperature") Double temperature,
+			@JsonProperty("top_p") Double topP, @JsonProperty("max_tokens") Integer maxTokens,
+			@JsonProperty("stop") List<String> stop, @JsonProperty("metadata") Map<String, String> metadata,
+			@JsonProperty("seed") Integer seed) {
+	}
+
+}
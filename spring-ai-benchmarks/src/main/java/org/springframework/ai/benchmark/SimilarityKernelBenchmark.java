@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.ai.vectorstore.simple.SimilarityKernel;
+import org.springframework.ai.vectorstore.simple.SimilarityKernels;
+
+/**
+ * Dot product and cosine similarity of the scalar and the Vector API similarity kernels
+ * at common embedding sizes.
+ *
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class SimilarityKernelBenchmark {
+
+	@Param({ "384", "768", "1536", "3072" })
+	public int dimensions;
+
+	@Param({ "scalar", "vector" })
+	public String kernel;
+
+	private SimilarityKernel similarityKernel;
+
+	private float[] x;
+
+	private float[] y;
+
+	@Setup
+	public void setup() {
+		this.similarityKernel = switch (this.kernel) {
+			case "scalar" -> SimilarityKernels.scalar();
+			case "vector" -> SimilarityKernels.vectorApi();
+			default -> throw new IllegalArgumentException("Unknown kernel: " + this.kernel);
+		};
+		Random random = new Random(42);
+		this.x = BenchmarkCorpus.vector(random, this.dimensions);
+		this.y = BenchmarkCorpus.vector(random, this.dimensions);
+	}
+
+	@Benchmark
+	public float dotProduct() {
+		return this.similarityKernel.dotProduct(this.x, this.y);
+	}
+
+	@Benchmark
+	public double cosineSimilarity() {
+		return this.similarityKernel.cosineSimilarity(this.x, this.y);
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.SimpleVectorStore;
+import org.springframework.ai.vectorstore.SimpleVectorStore.SimpleVectorStoreConfig;
+import org.springframework.ai.vectorstore.SimpleVectorStore.StorageMode;
+import org.springframework.ai.vectorstore.simple.QuantizedVectorStorage.QuantizationConfig;
+
+/**
+ * Similarity search of the {@link SimpleVectorStore} in its different configurations. The
+ * query embedding is computed by the {@link StubEmbeddingModel}, whose cost is negligible
+ * compared to the search.
+ *
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class SimpleVectorStoreBenchmark {
+
+	@Param({ "10000" })
+	public int documents;
+
+	@Param({ "384" })
+	public int dimensions;
+
+	@Param({ "document", "packed", "quantized", "hnsw" })
+	public String configuration;
+
+	private SimpleVectorStore vectorStore;
+
+	private SearchRequest searchRequest;
+
+	private SearchRequest filteredSearchRequest;
+
+	private int query;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.vectorStore = new SimpleVectorStore(new StubEmbeddingModel(this.dimensions), config());
+		List<Document> corpus = BenchmarkCorpus.documents(this.documents, 50, 42);
+		for (int i = 0; i < corpus.size(); i += 1000) {
+			this.vectorStore.add(corpus.subList(i, Math.min(corpus.size(), i + 1000)));
+		}
+		this.searchRequest = SearchRequest.query("vector similarity search").withTopK(10);
+		this.filteredSearchRequest = SearchRequest.query("vector similarity search")
+			.withTopK(10)
+			.withFilterExpression("category == 'news' && year >= 2020");
+	}
+
+	private SimpleVectorStoreConfig config() {
+		return switch (this.configuration) {
+			case "document" -> SimpleVectorStoreConfig.defaultConfig();
+			case "packed" -> SimpleVectorStoreConfig.builder().withStorageMode(StorageMode.PACKED).build();
+			case "quantized" ->
+				SimpleVectorStoreConfig.builder().withQuantization(QuantizationConfig.defaultConfig()).build();
+			case "hnsw" ->
+				SimpleVectorStoreConfig.builder().withHnswIndex().withIndexedMetadataKeys("category", "year").build();
+			default -> throw new IllegalArgumentException("Unknown configuration: " + this.configuration);
+		};
+	}
+
+	@Benchmark
+	public List<Document> search() {
+		return this.vectorStore.similaritySearch(this.searchRequest.withQuery(nextQuery()));
+	}
+
+	@Benchmark
+	public List<Document> filteredSearch() {
+		return this.vectorStore.similaritySearch(this.filteredSearchRequest.withQuery(nextQuery()));
+	}
+
+	/**
+	 * Cycle through a small set of queries, so that the results are not always the same
+	 * documents.
+	 */
+	private String nextQuery() {
+		this.query = (this.query + 1) & 15;
+		return "vector similarity search " + this.query;
+	}
+
+}
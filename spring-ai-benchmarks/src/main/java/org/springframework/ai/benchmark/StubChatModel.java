@@ -0,0 +1,85 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.model.MessageAggregator.DefaultUsage;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.ChatOptionsBuilder;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * {@link ChatModel} replying with a canned answer. The streaming variant emits the answer
+ * as a sequence of chunks, like the streaming APIs of the real models, without any
+ * network or delay.
+ *
+ * @since 1.0.0
+ */
+public class StubChatModel implements ChatModel {
+
+	private final List<ChatResponse> chunks;
+
+	private final ChatResponse response;
+
+	/**
+	 * @param answer the answer of the model.
+	 * @param chunkSize the number of characters of every streamed chunk.
+	 */
+	public StubChatModel(String answer, int chunkSize) {
+		List<ChatResponse> chunks = new ArrayList<>();
+		for (int start = 0; start < answer.length(); start += chunkSize) {
+			String content = answer.substring(start, Math.min(answer.length(), start + chunkSize));
+			chunks.add(response(content, 1));
+		}
+		this.chunks = List.copyOf(chunks);
+		this.response = response(answer, this.chunks.size());
+	}
+
+	@Override
+	public ChatResponse call(Prompt prompt) {
+		return this.response;
+	}
+
+	@Override
+	public Flux<ChatResponse> stream(Prompt prompt) {
+		return Flux.fromIterable(this.chunks);
+	}
+
+	@Override
+	public ChatOptions getDefaultOptions() {
+		return ChatOptionsBuilder.builder().build();
+	}
+
+	private static ChatResponse response(String content, long generationTokens) {
+		ChatResponseMetadata metadata = ChatResponseMetadata.builder()
+			.withId("stub")
+			.withModel("stub-model")
+			.withUsage(new DefaultUsage(0, generationTokens, generationTokens))
+			.build();
+		return new ChatResponse(List.of(new Generation(new AssistantMessage(content, Map.of()))), metadata);
+	}
+
+}
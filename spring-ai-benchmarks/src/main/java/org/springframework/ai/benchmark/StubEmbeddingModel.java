@@ -0,0 +1,67 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+/**
+ * {@link EmbeddingModel} computing the embedding locally from the hash of the text. The
+ * same text always gets the same embedding, and no network is involved.
+ *
+ * @since 1.0.0
+ */
+public class StubEmbeddingModel implements EmbeddingModel {
+
+	private final int dimensions;
+
+	public StubEmbeddingModel(int dimensions) {
+		this.dimensions = dimensions;
+	}
+
+	@Override
+	public EmbeddingResponse call(EmbeddingRequest request) {
+		List<String> texts = request.getInstructions();
+		List<Embedding> embeddings = new ArrayList<>(texts.size());
+		for (int i = 0; i < texts.size(); i++) {
+			embeddings.add(new Embedding(embed(texts.get(i)), i));
+		}
+		return new EmbeddingResponse(embeddings);
+	}
+
+	@Override
+	public float[] embed(String text) {
+		return BenchmarkCorpus.vector(new Random(text.hashCode()), this.dimensions);
+	}
+
+	@Override
+	public float[] embed(Document document) {
+		return embed(document.getContent());
+	}
+
+	@Override
+	public int dimensions() {
+		return this.dimensions;
+	}
+
+}
@@ -32,9 +32,10 @@ import org.springframework.ai.chat.client.advisor.DefaultAroundAdvisorChain;
 import org.springframework.ai.chat.client.advisor.api.Advisor;
 import org.springframework.ai.chat.client.advisor.api.AroundAdvisorChain;
 import org.springframework.ai.chat.client.advisor.api.CallAroundAdvisor;
+import org.springframework.ai.chat.client.advisor.api.PrefetchRequestAdvisor;
+import org.springframework.ai.chat.client.advisor.api.RequestAdvisor;
 import org.springframework.ai.chat.client.advisor.api.ResponseAdvisor;
 import org.springframework.ai.chat.client.advisor.api.ResponseAdvisor.StreamResponseMode;
-import org.springframework.ai.chat.client.advisor.api.RequestAdvisor;
 import org.springframework.ai.chat.client.advisor.api.StreamAroundAdvisor;
 import org.springframework.ai.chat.client.advisor.observation.AdvisorObservableHelper;
 import org.springframework.ai.chat.client.observation.ChatClientObservationContext;
@@ -68,6 +69,7 @@ import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
 import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 /**
@@ -477,7 +479,18 @@ public class DefaultChatClient implements ChatClient {
 
 			var reqWithContext = new AdvisedRequestWithContext(toAdvisedRequest(inputRequest), advisorContext);
 
-			return Flux.fromIterable(AdvisorObservableHelper.extractRequestAdvisors(inputRequest.advisors))
+			List<RequestAdvisor> requestAdvisors = AdvisorObservableHelper
+				.extractRequestAdvisors(inputRequest.advisors);
+
+			// Run the independent prefetches, such as the vector store searches,
+			// concurrently and off the subscribing thread.
+			Mono<Void> prefetches = Flux.fromIterable(requestAdvisors)
+				.filter(PrefetchRequestAdvisor.class::isInstance)
+				.cast(PrefetchRequestAdvisor.class)
+				.flatMap(advisor -> advisor.prefetch(reqWithContext.request, advisorContext))
+				.then();
+
+			return prefetches.thenMany(Flux.fromIterable(requestAdvisors))
 				.transformDeferredContextual((f, ctx) -> f
 					// This allows us to call blocking code in reduce
 					.publishOn(Schedulers.boundedElastic())
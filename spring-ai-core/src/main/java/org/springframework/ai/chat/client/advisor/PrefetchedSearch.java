@@ -0,0 +1,76 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.chat.client.advisor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Similarity search run ahead of the request advising, its documents kept in the advise
+ * context along with the search request they match.
+ *
+ * @since 1.0.0
+ */
+final class PrefetchedSearch {
+
+	private record Result(SearchRequest searchRequest, List<Document> documents) {
+	}
+
+	private static final AtomicLong contextKeyCounter = new AtomicLong();
+
+	private PrefetchedSearch() {
+	}
+
+	/**
+	 * Returns a context key unique to the calling advisor instance, so that several
+	 * advisors of the same type never read each other's prefetched documents.
+	 */
+	static String newContextKey(String prefix) {
+		return prefix + contextKeyCounter.incrementAndGet();
+	}
+
+	/**
+	 * Runs the search on the scheduler and stores its documents into the advise context.
+	 */
+	static Mono<Void> prefetch(VectorStore vectorStore, SearchRequest searchRequest, Scheduler scheduler,
+			Map<String, Object> adviseContext, String contextKey) {
+		return Mono.fromCallable(() -> vectorStore.similaritySearch(searchRequest))
+			.subscribeOn(scheduler)
+			.doOnNext(documents -> adviseContext.put(contextKey, new Result(searchRequest, documents)))
+			.then();
+	}
+
+	/**
+	 * Returns the prefetched documents when they match the search request, or searches
+	 * the vector store on the caller thread.
+	 */
+	static List<Document> search(VectorStore vectorStore, SearchRequest searchRequest,
+			Map<String, Object> adviseContext, String contextKey) {
+		if (adviseContext.remove(contextKey) instanceof Result result && result.searchRequest().equals(searchRequest)) {
+			return result.documents();
+		}
+		return vectorStore.similaritySearch(searchRequest);
+	}
+
+}
@@ -22,7 +22,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.ai.chat.client.AdvisedRequest;
-import org.springframework.ai.chat.client.advisor.api.RequestAdvisor;
+import org.springframework.ai.chat.client.advisor.api.PrefetchRequestAdvisor;
 import org.springframework.ai.chat.client.advisor.api.ResponseAdvisor;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.document.Document;
@@ -34,14 +34,22 @@ import org.springframework.ai.vectorstore.filter.FilterExpressionTextParser;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
 /**
  * Context for the question is retrieved from a Vector Store and added to the prompt's
  * user text.
  *
+ * When streaming, the documents are retrieved on the provided {@link Scheduler},
+ * concurrently with the prefetches of the other advisors, instead of blocking the thread
+ * advising the request.
+ *
  * @author Christian Tzolov
  * @since 1.0.0
  */
-public class QuestionAnswerAdvisor implements RequestAdvisor, ResponseAdvisor {
+public class QuestionAnswerAdvisor implements PrefetchRequestAdvisor, ResponseAdvisor {
 
 	private static final String DEFAULT_USER_TEXT_ADVISE = """
 			Context information is below.
@@ -59,6 +67,10 @@ public class QuestionAnswerAdvisor implements RequestAdvisor, ResponseAdvisor {
 
 	private final SearchRequest searchRequest;
 
+	private final Scheduler scheduler;
+
+	private final String prefetchedDocumentsKey = PrefetchedSearch.newContextKey("qa_prefetched_documents_");
+
 	public static final String RETRIEVED_DOCUMENTS = "qa_retrieved_documents";
 
 	public static final String FILTER_EXPRESSION = "qa_filter_expression";
@@ -82,14 +94,31 @@ public class QuestionAnswerAdvisor implements RequestAdvisor, ResponseAdvisor {
 	 *
 	 */
 	public QuestionAnswerAdvisor(VectorStore vectorStore, SearchRequest searchRequest, String userTextAdvise) {
+		this(vectorStore, searchRequest, userTextAdvise, Schedulers.boundedElastic());
+	}
+
+	/**
+	 * The QuestionAnswerAdvisor retrieves context information from a Vector Store and
+	 * combines it with the user's text.
+	 * @param vectorStore The vector store to use
+	 * @param searchRequest The search request defined using the portable filter
+	 * expression syntax
+	 * @param userTextAdvise the user text to append to the existing user prompt. The text
+	 * should contain a placeholder named "question_answer_context".
+	 * @param scheduler the scheduler the documents are prefetched on when streaming.
+	 */
+	public QuestionAnswerAdvisor(VectorStore vectorStore, SearchRequest searchRequest, String userTextAdvise,
+			Scheduler scheduler) {
 
 		Assert.notNull(vectorStore, "The vectorStore must not be null!");
 		Assert.notNull(searchRequest, "The searchRequest must not be null!");
 		Assert.hasText(userTextAdvise, "The userTextAdvise must not be empty!");
+		Assert.notNull(scheduler, "The scheduler must not be null!");
 
 		this.vectorStore = vectorStore;
 		this.searchRequest = searchRequest;
 		this.userTextAdvise = userTextAdvise;
+		this.scheduler = scheduler;
 	}
 
 	@Override
@@ -97,18 +126,23 @@ public class QuestionAnswerAdvisor implements RequestAdvisor, ResponseAdvisor {
 		return this.getClass().getSimpleName();
 	}
 
+	@Override
+	public Mono<Void> prefetch(AdvisedRequest request, Map<String, Object> context) {
+		return PrefetchedSearch.prefetch(this.vectorStore, doGetSearchRequest(request, context), this.scheduler,
+				context, this.prefetchedDocumentsKey);
+	}
+
 	@Override
 	public AdvisedRequest adviseRequest(AdvisedRequest request, Map<String, Object> context) {
 
 		// 1. Advise the system text.
 		String advisedUserText = request.userText() + System.lineSeparator() + this.userTextAdvise;
 
-		var searchRequestToUse = SearchRequest.from(this.searchRequest)
-			.withQuery(request.userText())
-			.withFilterExpression(doGetFilterExpression(context));
+		var searchRequestToUse = doGetSearchRequest(request, context);
 
-		// 2. Search for similar documents in the vector store.
-		List<Document> documents = this.vectorStore.similaritySearch(searchRequestToUse);
+		// 2. Search for similar documents in the vector store, unless prefetched.
+		List<Document> documents = PrefetchedSearch.search(this.vectorStore, searchRequestToUse, context,
+				this.prefetchedDocumentsKey);
 
 		context.put(RETRIEVED_DOCUMENTS, documents);
 
@@ -141,6 +175,12 @@ public class QuestionAnswerAdvisor implements RequestAdvisor, ResponseAdvisor {
 		return StreamResponseMode.ON_FINISH_ELEMENT;
 	}
 
+	private SearchRequest doGetSearchRequest(AdvisedRequest request, Map<String, Object> context) {
+		return SearchRequest.from(this.searchRequest)
+			.withQuery(request.userText())
+			.withFilterExpression(doGetFilterExpression(context));
+	}
+
 	protected Filter.Expression doGetFilterExpression(Map<String, Object> context) {
 
 		if (!context.containsKey(FILTER_EXPRESSION)
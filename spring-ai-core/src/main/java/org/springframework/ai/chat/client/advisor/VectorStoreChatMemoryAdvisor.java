@@ -22,23 +22,40 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.ai.chat.client.AdvisedRequest;
+import org.springframework.ai.chat.client.advisor.api.PrefetchRequestAdvisor;
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.MessageType;
 import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentWriter;
 import org.springframework.ai.model.Content;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.writer.WriteBehindDocumentWriter;
+import org.springframework.util.Assert;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Memory is retrieved from a VectorStore added into the prompt's system text.
  *
+ * The user and assistant messages are written to the VectorStore, or to the provided
+ * memory writer. A {@link WriteBehindDocumentWriter} takes their embedding and storage
+ * off the request and response paths, at the price of the latest messages not being
+ * retrieved until they are written.
+ *
+ * When streaming, the memory is retrieved on the provided {@link Scheduler}, the bounded
+ * elastic one by default, concurrently with the prefetches of the other advisors.
+ *
  * @author Christian Tzolov
  * @since 1.0.0 M1
  */
-public class VectorStoreChatMemoryAdvisor extends AbstractChatMemoryAdvisor<VectorStore> {
+public class VectorStoreChatMemoryAdvisor extends AbstractChatMemoryAdvisor<VectorStore>
+		implements PrefetchRequestAdvisor {
 
 	private static final String DOCUMENT_METADATA_CONVERSATION_ID = "conversationId";
 
@@ -57,6 +74,12 @@ public class VectorStoreChatMemoryAdvisor extends AbstractChatMemoryAdvisor<Vect
 
 	private final String systemTextAdvise;
 
+	private final DocumentWriter memoryWriter;
+
+	private final Scheduler scheduler;
+
+	private final String prefetchedDocumentsKey = PrefetchedSearch.newContextKey("chat_memory_prefetched_documents_");
+
 	public VectorStoreChatMemoryAdvisor(VectorStore vectorStore) {
 		this(vectorStore, DEFAULT_SYSTEM_TEXT_ADVISE);
 	}
@@ -64,6 +87,8 @@ public class VectorStoreChatMemoryAdvisor extends AbstractChatMemoryAdvisor<Vect
 	public VectorStoreChatMemoryAdvisor(VectorStore vectorStore, String systemTextAdvise) {
 		super(vectorStore);
 		this.systemTextAdvise = systemTextAdvise;
+		this.memoryWriter = vectorStore;
+		this.scheduler = Schedulers.boundedElastic();
 	}
 
 	public VectorStoreChatMemoryAdvisor(VectorStore vectorStore, String defaultConversationId,
@@ -73,8 +98,48 @@ public class VectorStoreChatMemoryAdvisor extends AbstractChatMemoryAdvisor<Vect
 
 	public VectorStoreChatMemoryAdvisor(VectorStore vectorStore, String defaultConversationId,
 			int chatHistoryWindowSize, String systemTextAdvise) {
+		this(vectorStore, defaultConversationId, chatHistoryWindowSize, systemTextAdvise, vectorStore);
+	}
+
+	/**
+	 * @param vectorStore the vector store the memory is retrieved from.
+	 * @param defaultConversationId the conversation id used when the advisor context has
+	 * none.
+	 * @param chatHistoryWindowSize the default number of memory documents retrieved.
+	 * @param systemTextAdvise the system text advising the model to use the memory.
+	 * @param memoryWriter the writer of the memory documents, usually a
+	 * {@link WriteBehindDocumentWriter} writing to the vector store.
+	 */
+	public VectorStoreChatMemoryAdvisor(VectorStore vectorStore, String defaultConversationId,
+			int chatHistoryWindowSize, String systemTextAdvise, DocumentWriter memoryWriter) {
+		this(vectorStore, defaultConversationId, chatHistoryWindowSize, systemTextAdvise, memoryWriter,
+				Schedulers.boundedElastic());
+	}
+
+	/**
+	 * @param vectorStore the vector store the memory is retrieved from.
+	 * @param defaultConversationId the conversation id used when the advisor context has
+	 * none.
+	 * @param chatHistoryWindowSize the default number of memory documents retrieved.
+	 * @param systemTextAdvise the system text advising the model to use the memory.
+	 * @param memoryWriter the writer of the memory documents, usually a
+	 * {@link WriteBehindDocumentWriter} writing to the vector store.
+	 * @param scheduler the scheduler the memory is prefetched on when streaming.
+	 */
+	public VectorStoreChatMemoryAdvisor(VectorStore vectorStore, String defaultConversationId,
+			int chatHistoryWindowSize, String systemTextAdvise, DocumentWriter memoryWriter, Scheduler scheduler) {
 		super(vectorStore, defaultConversationId, chatHistoryWindowSize);
+		Assert.notNull(memoryWriter, "The memoryWriter must not be null!");
+		Assert.notNull(scheduler, "The scheduler must not be null!");
 		this.systemTextAdvise = systemTextAdvise;
+		this.memoryWriter = memoryWriter;
+		this.scheduler = scheduler;
+	}
+
+	@Override
+	public Mono<Void> prefetch(AdvisedRequest request, Map<String, Object> context) {
+		return PrefetchedSearch.prefetch(this.getChatMemoryStore(), doGetSearchRequest(request, context),
+				this.scheduler, context, this.prefetchedDocumentsKey);
 	}
 
 	@Override
@@ -82,11 +147,8 @@ public class VectorStoreChatMemoryAdvisor extends AbstractChatMemoryAdvisor<Vect
 
 		String advisedSystemText = request.systemText() + System.lineSeparator() + this.systemTextAdvise;
 
-		var searchRequest = SearchRequest.query(request.userText())
-			.withTopK(this.doGetChatMemoryRetrieveSize(context))
-			.withFilterExpression(DOCUMENT_METADATA_CONVERSATION_ID + "=='" + this.doGetConversationId(context) + "'");
-
-		List<Document> documents = this.getChatMemoryStore().similaritySearch(searchRequest);
+		List<Document> documents = PrefetchedSearch.search(this.getChatMemoryStore(),
+				doGetSearchRequest(request, context), context, this.prefetchedDocumentsKey);
 
 		String longTermMemory = documents.stream()
 			.map(Content::getContent)
@@ -101,7 +163,7 @@ public class VectorStoreChatMemoryAdvisor extends AbstractChatMemoryAdvisor<Vect
 			.build();
 
 		UserMessage userMessage = new UserMessage(request.userText(), request.media());
-		this.getChatMemoryStore().write(toDocuments(List.of(userMessage), this.doGetConversationId(context)));
+		this.memoryWriter.write(toDocuments(List.of(userMessage), this.doGetConversationId(context)));
 
 		return advisedRequest;
 	}
@@ -111,11 +173,17 @@ public class VectorStoreChatMemoryAdvisor extends AbstractChatMemoryAdvisor<Vect
 
 		List<Message> assistantMessages = chatResponse.getResults().stream().map(g -> (Message) g.getOutput()).toList();
 
-		this.getChatMemoryStore().write(toDocuments(assistantMessages, this.doGetConversationId(context)));
+		this.memoryWriter.write(toDocuments(assistantMessages, this.doGetConversationId(context)));
 
 		return chatResponse;
 	}
 
+	private SearchRequest doGetSearchRequest(AdvisedRequest request, Map<String, Object> context) {
+		return SearchRequest.query(request.userText())
+			.withTopK(this.doGetChatMemoryRetrieveSize(context))
+			.withFilterExpression(DOCUMENT_METADATA_CONVERSATION_ID + "=='" + this.doGetConversationId(context) + "'");
+	}
+
 	private List<Document> toDocuments(List<Message> messages, String conversationId) {
 
 		List<Document> docs = messages.stream()
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.chat.client.advisor.api;
+
+import java.util.Map;
+
+import org.springframework.ai.chat.client.AdvisedRequest;
+import org.springframework.ai.chat.client.ChatClient;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link RequestAdvisor} fetching the data it advises the request with, such as the
+ * documents retrieved from a vector store, before the request is advised. When streaming,
+ * the {@link ChatClient} subscribes to the prefetches of all the advisors concurrently,
+ * then advises the request with every advisor in order.
+ *
+ * The prefetch is based on the request before any advisor has advised it. The advisor is
+ * responsible for fetching the data again when the request it advises no longer matches
+ * the prefetched data.
+ *
+ * @since 1.0.0
+ */
+public interface PrefetchRequestAdvisor extends RequestAdvisor {
+
+	/**
+	 * Fetches the data used to advise the request and stores it into the advise context.
+	 * The returned {@link Mono} must not block the subscribing thread.
+	 * @param request the {@link AdvisedRequest} before it is advised by the advisors in
+	 * the chain.
+	 * @param adviseContext the shared data between the advisors in the chain.
+	 * @return a {@link Mono} completing when the data is fetched.
+	 */
+	Mono<Void> prefetch(AdvisedRequest request, Map<String, Object> adviseContext);
+
+}
@@ -15,6 +15,7 @@
  */
 package org.springframework.ai.chat.model;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -22,17 +23,30 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.observation.DefaultToolCallObservationConvention;
+import org.springframework.ai.chat.observation.ToolCallObservationContext;
+import org.springframework.ai.chat.observation.ToolCallObservationConvention;
+import org.springframework.ai.chat.observation.ToolCallObservationDocumentation;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.model.function.FunctionCallback;
 import org.springframework.ai.model.function.FunctionCallbackContext;
 import org.springframework.ai.model.function.FunctionCallingOptions;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
 /**
  * Abstract base class for tool call support. Provides functionality for handling function
  * callbacks and executing functions.
@@ -46,6 +60,8 @@ public abstract class AbstractToolCallSupport {
 
 	protected final static boolean IS_RUNTIME_CALL = true;
 
+	private static final ToolCallObservationConvention DEFAULT_TOOL_CALL_OBSERVATION_CONVENTION = new DefaultToolCallObservationConvention();
+
 	/**
 	 * The function callback register is used to resolve the function callbacks by name.
 	 */
@@ -58,6 +74,28 @@ public abstract class AbstractToolCallSupport {
 	 */
 	protected final FunctionCallbackContext functionCallbackContext;
 
+	/**
+	 * Executor running the tool calls of an assistant message in parallel. The tool calls
+	 * are executed sequentially on the caller thread when null.
+	 */
+	@Nullable
+	private Executor toolCallExecutor;
+
+	/**
+	 * Maximum duration of the tool calls executed on the tool call executor. No timeout
+	 * when null.
+	 */
+	@Nullable
+	private Duration toolCallTimeout;
+
+	/**
+	 * Observation registry recording a {@link ToolCallObservationDocumentation#TOOL_CALL}
+	 * observation for every tool call.
+	 */
+	private ObservationRegistry toolCallObservationRegistry = ObservationRegistry.NOOP;
+
+	private ToolCallObservationConvention toolCallObservationConvention = DEFAULT_TOOL_CALL_OBSERVATION_CONVENTION;
+
 	protected AbstractToolCallSupport(FunctionCallbackContext functionCallbackContext) {
 		this(functionCallbackContext, FunctionCallingOptions.builder().build(), List.of());
 	}
@@ -184,25 +222,173 @@ public abstract class AbstractToolCallSupport {
 		return retrievedFunctionCallbacks;
 	}
 
+	/**
+	 * Execute the tool calls of the assistant message. When a tool call executor is set,
+	 * the calls are executed in parallel on the executor, with the
+	 * {@link #setToolCallTimeout(Duration) tool call timeout} if any, otherwise
+	 * sequentially on the caller thread. The responses are in the order of the tool calls
+	 * either way. Every tool call is recorded as a
+	 * {@link ToolCallObservationDocumentation#TOOL_CALL} observation, child of the
+	 * observation current on the caller thread.
+	 * @param assistantMessage the assistant message holding the tool calls.
+	 * @return the tool response message.
+	 */
 	protected ToolResponseMessage executeFunctions(AssistantMessage assistantMessage) {
 
-		List<ToolResponseMessage.ToolResponse> toolResponses = new ArrayList<>();
+		List<AssistantMessage.ToolCall> toolCalls = assistantMessage.getToolCalls();
 
-		for (AssistantMessage.ToolCall toolCall : assistantMessage.getToolCalls()) {
+		List<FunctionCallback> functionCallbacks = new ArrayList<>(toolCalls.size());
+		for (AssistantMessage.ToolCall toolCall : toolCalls) {
+			FunctionCallback functionCallback = this.functionCallbackRegister.get(toolCall.name());
+			if (functionCallback == null) {
+				throw new IllegalStateException("No function callback found for function name: " + toolCall.name());
+			}
+			functionCallbacks.add(functionCallback);
+		}
 
-			var functionName = toolCall.name();
-			String functionArguments = toolCall.arguments();
+		// The parent is resolved on the caller thread, as the executor threads have no
+		// current observation.
+		Observation parentObservation = this.toolCallObservationRegistry.getCurrentObservation();
+		List<String> functionResponses = (this.toolCallExecutor != null)
+				? executeInParallel(toolCalls, functionCallbacks, parentObservation, this.toolCallExecutor)
+				: executeSequentially(toolCalls, functionCallbacks, parentObservation);
+
+		List<ToolResponseMessage.ToolResponse> toolResponses = new ArrayList<>(toolCalls.size());
+		for (int i = 0; i < toolCalls.size(); i++) {
+			AssistantMessage.ToolCall toolCall = toolCalls.get(i);
+			toolResponses
+				.add(new ToolResponseMessage.ToolResponse(toolCall.id(), toolCall.name(), functionResponses.get(i)));
+		}
 
-			if (!this.functionCallbackRegister.containsKey(functionName)) {
-				throw new IllegalStateException("No function callback found for function name: " + functionName);
-			}
+		return new ToolResponseMessage(toolResponses, Map.of());
+	}
 
-			String functionResponse = this.functionCallbackRegister.get(functionName).call(functionArguments);
+	private List<String> executeSequentially(List<AssistantMessage.ToolCall> toolCalls,
+			List<FunctionCallback> functionCallbacks, @Nullable Observation parentObservation) {
+		List<String> functionResponses = new ArrayList<>(toolCalls.size());
+		for (int i = 0; i < toolCalls.size(); i++) {
+			functionResponses.add(call(toolCalls.get(i), functionCallbacks.get(i), parentObservation));
+		}
+		return functionResponses;
+	}
 
-			toolResponses.add(new ToolResponseMessage.ToolResponse(toolCall.id(), functionName, functionResponse));
+	private List<String> executeInParallel(List<AssistantMessage.ToolCall> toolCalls,
+			List<FunctionCallback> functionCallbacks, @Nullable Observation parentObservation, Executor executor) {
+		// Unlike a CompletableFuture, a FutureTask interrupts the thread running the call
+		// when cancelled.
+		List<FutureTask<String>> tasks = new ArrayList<>(toolCalls.size());
+		try {
+			for (int i = 0; i < toolCalls.size(); i++) {
+				AssistantMessage.ToolCall toolCall = toolCalls.get(i);
+				FunctionCallback functionCallback = functionCallbacks.get(i);
+				FutureTask<String> task = new FutureTask<>(() -> call(toolCall, functionCallback, parentObservation));
+				tasks.add(task);
+				executor.execute(task);
+			}
+		}
+		catch (RuntimeException ex) {
+			tasks.forEach(task -> task.cancel(true));
+			throw ex;
 		}
 
-		return new ToolResponseMessage(toolResponses, Map.of());
+		long deadline = (this.toolCallTimeout != null) ? System.nanoTime() + this.toolCallTimeout.toNanos() : 0;
+		List<String> functionResponses = new ArrayList<>(toolCalls.size());
+		for (int i = 0; i < tasks.size(); i++) {
+			try {
+				functionResponses.add((this.toolCallTimeout != null)
+						? tasks.get(i).get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS) : tasks.get(i).get());
+			}
+			catch (TimeoutException ex) {
+				tasks.forEach(task -> task.cancel(true));
+				throw new IllegalStateException("Function call [" + toolCalls.get(i).name() + "] timed out after "
+						+ this.toolCallTimeout.toMillis() + " ms", ex);
+			}
+			catch (ExecutionException ex) {
+				tasks.forEach(task -> task.cancel(true));
+				if (ex.getCause() instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				}
+				if (ex.getCause() instanceof Error error) {
+					throw error;
+				}
+				throw new IllegalStateException("Function call [" + toolCalls.get(i).name() + "] failed",
+						ex.getCause());
+			}
+			catch (InterruptedException ex) {
+				tasks.forEach(task -> task.cancel(true));
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(
+						"Interrupted while waiting for the function call [" + toolCalls.get(i).name() + "]", ex);
+			}
+		}
+		return functionResponses;
+	}
+
+	private String call(AssistantMessage.ToolCall toolCall, FunctionCallback functionCallback,
+			@Nullable Observation parentObservation) {
+		ToolCallObservationContext observationContext = new ToolCallObservationContext(toolCall.id(), toolCall.name(),
+				toolCall.arguments());
+		return ToolCallObservationDocumentation.TOOL_CALL
+			.observation(this.toolCallObservationConvention, DEFAULT_TOOL_CALL_OBSERVATION_CONVENTION,
+					() -> observationContext, this.toolCallObservationRegistry)
+			.parentObservation(parentObservation)
+			.observe(() -> {
+				String functionResponse = functionCallback.call(toolCall.arguments());
+				observationContext.setResponse(functionResponse);
+				return functionResponse;
+			});
+	}
+
+	/**
+	 * Set the executor running the tool calls of an assistant message in parallel. The
+	 * calls of I/O bound functions, such as database or HTTP lookups, then take about as
+	 * long as the slowest one instead of the sum of all. A single tool call also runs on
+	 * the executor, so that the {@link #setToolCallTimeout(Duration) timeout} applies to
+	 * it. The function callbacks must be thread-safe, and the executor is responsible for
+	 * propagating any thread-bound context they rely on.
+	 * @param toolCallExecutor the executor, or null to execute the tool calls
+	 * sequentially on the caller thread, which is the default.
+	 */
+	public void setToolCallExecutor(@Nullable Executor toolCallExecutor) {
+		this.toolCallExecutor = toolCallExecutor;
+	}
+
+	/**
+	 * Set the maximum duration of the tool calls of an assistant message, measured from
+	 * their submission to the {@link #setToolCallExecutor(Executor) tool call executor}.
+	 * A tool call running longer fails the whole tool call turn with an
+	 * {@link IllegalStateException}, and the calls still running are cancelled, which
+	 * interrupts their thread. Functions that do not react to the interruption keep
+	 * running in the background. The timeout requires a tool call executor, tool calls
+	 * executed sequentially on the caller thread are not timed out.
+	 * @param toolCallTimeout the timeout, or null for no timeout, which is the default.
+	 */
+	public void setToolCallTimeout(@Nullable Duration toolCallTimeout) {
+		Assert.isTrue(toolCallTimeout == null || (!toolCallTimeout.isNegative() && !toolCallTimeout.isZero()),
+				"toolCallTimeout must be positive");
+		this.toolCallTimeout = toolCallTimeout;
+	}
+
+	/**
+	 * Set the observation registry recording a
+	 * {@link ToolCallObservationDocumentation#TOOL_CALL} observation for every tool call,
+	 * timing the call of its function callback. The chat models observing their requests
+	 * set it to their own registry.
+	 * @param toolCallObservationRegistry the observation registry, defaults to
+	 * {@link ObservationRegistry#NOOP}.
+	 */
+	public void setToolCallObservationRegistry(ObservationRegistry toolCallObservationRegistry) {
+		Assert.notNull(toolCallObservationRegistry, "toolCallObservationRegistry cannot be null");
+		this.toolCallObservationRegistry = toolCallObservationRegistry;
+	}
+
+	/**
+	 * Use the provided convention for reporting the tool call observations.
+	 * @param toolCallObservationConvention the provided convention.
+	 */
+	public void setToolCallObservationConvention(ToolCallObservationConvention toolCallObservationConvention) {
+		Assert.notNull(toolCallObservationConvention, "toolCallObservationConvention cannot be null");
+		this.toolCallObservationConvention = toolCallObservationConvention;
 	}
 
 	protected boolean isToolCall(ChatResponse chatResponse, Set<String> toolCallFinishReasons) {
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.chat.observation;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+
+import org.springframework.ai.chat.observation.ToolCallObservationDocumentation.HighCardinalityKeyNames;
+import org.springframework.ai.chat.observation.ToolCallObservationDocumentation.LowCardinalityKeyNames;
+import org.springframework.ai.observation.conventions.SpringAiKind;
+import org.springframework.util.StringUtils;
+
+/**
+ * Default conventions to populate observations for tool calls.
+ *
+ * @since 1.0.0
+ */
+public class DefaultToolCallObservationConvention implements ToolCallObservationConvention {
+
+	public static final String DEFAULT_NAME = "spring.ai.tool_call";
+
+	private static final KeyValue TOOL_CALL_ID_NONE = KeyValue.of(HighCardinalityKeyNames.TOOL_CALL_ID,
+			KeyValue.NONE_VALUE);
+
+	@Override
+	public String getName() {
+		return DEFAULT_NAME;
+	}
+
+	@Override
+	public String getContextualName(ToolCallObservationContext context) {
+		return "%s %s".formatted(SpringAiKind.TOOL_CALL.value(), context.getToolName());
+	}
+
+	@Override
+	public KeyValues getLowCardinalityKeyValues(ToolCallObservationContext context) {
+		return KeyValues.of(KeyValue.of(LowCardinalityKeyNames.SPRING_AI_KIND, SpringAiKind.TOOL_CALL.value()),
+				KeyValue.of(LowCardinalityKeyNames.TOOL_NAME, context.getToolName()));
+	}
+
+	@Override
+	public KeyValues getHighCardinalityKeyValues(ToolCallObservationContext context) {
+		return KeyValues.of(toolCallId(context));
+	}
+
+	protected KeyValue toolCallId(ToolCallObservationContext context) {
+		if (StringUtils.hasText(context.getToolCallId())) {
+			return KeyValue.of(HighCardinalityKeyNames.TOOL_CALL_ID, context.getToolCallId());
+		}
+		return TOOL_CALL_ID_NONE;
+	}
+
+}
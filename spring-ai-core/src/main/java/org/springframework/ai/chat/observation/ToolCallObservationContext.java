@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.chat.observation;
+
+import io.micrometer.observation.Observation;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Context used to store the data of a tool call requested by a chat model and executed by
+ * the function callback of the tool.
+ *
+ * @since 1.0.0
+ */
+public class ToolCallObservationContext extends Observation.Context {
+
+	@Nullable
+	private final String toolCallId;
+
+	private final String toolName;
+
+	@Nullable
+	private final String arguments;
+
+	@Nullable
+	private String response;
+
+	public ToolCallObservationContext(@Nullable String toolCallId, String toolName, @Nullable String arguments) {
+		Assert.hasText(toolName, "toolName cannot be null or empty");
+		this.toolCallId = toolCallId;
+		this.toolName = toolName;
+		this.arguments = arguments;
+	}
+
+	/**
+	 * @return the identifier the model gave to the tool call, or null if the model gives
+	 * none.
+	 */
+	@Nullable
+	public String getToolCallId() {
+		return this.toolCallId;
+	}
+
+	public String getToolName() {
+		return this.toolName;
+	}
+
+	@Nullable
+	public String getArguments() {
+		return this.arguments;
+	}
+
+	/**
+	 * @return the response of the function callback, or null until the call completes.
+	 */
+	@Nullable
+	public String getResponse() {
+		return this.response;
+	}
+
+	public void setResponse(String response) {
+		this.response = response;
+	}
+
+}
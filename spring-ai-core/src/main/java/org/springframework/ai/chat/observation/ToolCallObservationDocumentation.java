@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.chat.observation;
+
+import io.micrometer.common.docs.KeyName;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationConvention;
+import io.micrometer.observation.docs.ObservationDocumentation;
+
+/**
+ * Documented conventions for tool calls.
+ *
+ * @since 1.0.0
+ */
+public enum ToolCallObservationDocumentation implements ObservationDocumentation {
+
+	TOOL_CALL {
+		@Override
+		public Class<? extends ObservationConvention<? extends Observation.Context>> getDefaultConvention() {
+			return DefaultToolCallObservationConvention.class;
+		}
+
+		@Override
+		public KeyName[] getLowCardinalityKeyNames() {
+			return LowCardinalityKeyNames.values();
+		}
+
+		@Override
+		public KeyName[] getHighCardinalityKeyNames() {
+			return HighCardinalityKeyNames.values();
+		}
+	};
+
+	/**
+	 * Low-cardinality observation key names for tool calls.
+	 */
+	public enum LowCardinalityKeyNames implements KeyName {
+
+		/**
+		 * Spring AI kind.
+		 */
+		SPRING_AI_KIND {
+			@Override
+			public String asString() {
+				return "spring.ai.kind";
+			}
+		},
+
+		/**
+		 * The name of the called tool.
+		 */
+		TOOL_NAME {
+			@Override
+			public String asString() {
+				return "spring.ai.tool_call.name";
+			}
+		}
+
+	}
+
+	/**
+	 * High-cardinality observation key names for tool calls.
+	 */
+	public enum HighCardinalityKeyNames implements KeyName {
+
+		/**
+		 * The identifier the model gave to the tool call.
+		 */
+		TOOL_CALL_ID {
+			@Override
+			public String asString() {
+				return "spring.ai.tool_call.id";
+			}
+		}
+
+	}
+
+}
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 import org.antlr.runtime.Token;
 import org.antlr.runtime.TokenStream;
@@ -34,12 +35,39 @@ import org.springframework.ai.model.Media;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.StreamUtils;
 
+/**
+ * A template rendered into the text of a prompt message. Placeholders are delimited by
+ * curly braces and rendered by StringTemplate.
+ *
+ * Compiled templates are cached by template text, so creating a template from the same
+ * text again only copies the compiled template. Templates without any placeholder are
+ * rendered as is, without StringTemplate.
+ */
 public class PromptTemplate implements PromptTemplateActions, PromptTemplateMessageActions {
 
+	private static final int COMPILED_TEMPLATE_CACHE_SIZE = 256;
+
+	private static final ConcurrentLruCache<String, CompiledTemplate> compiledTemplates = new ConcurrentLruCache<>(
+			COMPILED_TEMPLATE_CACHE_SIZE, PromptTemplate::compile);
+
+	/**
+	 * Characters StringTemplate does not render as is: the delimiters, the escape
+	 * character and carriage returns.
+	 */
+	private static final Pattern TEMPLATE_SYNTAX = Pattern.compile("[{}\\\\\\r]");
+
+	/**
+	 * The template instance, or null if the template has no placeholders.
+	 */
+	@Nullable
 	private ST st;
 
+	private Set<String> inputVariables;
+
 	private Map<String, Object> dynamicModel = new HashMap<>();
 
 	protected String template;
@@ -53,30 +81,20 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 		catch (IOException ex) {
 			throw new RuntimeException("Failed to read resource", ex);
 		}
-		try {
-			this.st = new ST(this.template, '{', '}');
-		}
-		catch (Exception ex) {
-			throw new IllegalArgumentException("The template string is not valid.", ex);
-		}
+		initTemplate();
 	}
 
 	public PromptTemplate(String template) {
 		this.template = template;
 		// If the template string is not valid, an exception will be thrown
-		try {
-			this.st = new ST(this.template, '{', '}');
-		}
-		catch (Exception ex) {
-			throw new IllegalArgumentException("The template string is not valid.", ex);
-		}
+		initTemplate();
 	}
 
 	public PromptTemplate(String template, Map<String, Object> model) {
 		this.template = template;
 		// If the template string is not valid, an exception will be thrown
+		initTemplate();
 		try {
-			this.st = new ST(this.template, '{', '}');
 			for (Entry<String, Object> entry : model.entrySet()) {
 				add(entry.getKey(), entry.getValue());
 			}
@@ -94,8 +112,8 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 			throw new RuntimeException("Failed to read resource", ex);
 		}
 		// If the template string is not valid, an exception will be thrown
+		initTemplate();
 		try {
-			this.st = new ST(this.template, '{', '}');
 			for (Entry<String, Object> entry : model.entrySet()) {
 				this.add(entry.getKey(), entry.getValue());
 			}
@@ -105,11 +123,66 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 		}
 	}
 
+	private void initTemplate() {
+		CompiledTemplate compiledTemplate = compiledTemplates.get(this.template);
+		// Copies share the compiled template, but not the attributes.
+		this.st = (compiledTemplate.prototype() != null) ? new ST(compiledTemplate.prototype()) : null;
+		this.inputVariables = compiledTemplate.inputVariables();
+	}
+
+	private static CompiledTemplate compile(String template) {
+		if (!TEMPLATE_SYNTAX.matcher(template).find()) {
+			return new CompiledTemplate(null, Set.of());
+		}
+		ST prototype = newST(template);
+		Set<String> inputVariables = getInputVariables(prototype);
+		// Adding an attribute to a template without formal arguments defines it in the
+		// compiled template. Defining the input variables upfront keeps the compiled
+		// template shared by the copies unchanged.
+		for (String inputVariable : inputVariables) {
+			prototype.add(inputVariable, null);
+			prototype.remove(inputVariable);
+		}
+		return new CompiledTemplate(prototype, Set.copyOf(inputVariables));
+	}
+
+	private static ST newST(String template) {
+		try {
+			return new ST(template, '{', '}');
+		}
+		catch (Exception ex) {
+			throw new IllegalArgumentException("The template string is not valid.", ex);
+		}
+	}
+
+	private record CompiledTemplate(@Nullable ST prototype, Set<String> inputVariables) {
+	}
+
 	public void add(String name, Object value) {
-		this.st.add(name, value);
+		if (this.st != null) {
+			addAttribute(name, value);
+		}
 		this.dynamicModel.put(name, value);
 	}
 
+	private void addAttribute(String name, Object value) {
+		if (this.st.impl.formalArguments == null || !this.st.impl.formalArguments.containsKey(name)) {
+			// Defining a new attribute changes the compiled template, so it must not be
+			// the shared one.
+			ST st = newST(this.template);
+			Map<String, Object> attributes = this.st.getAttributes();
+			if (attributes != null) {
+				for (Entry<String, Object> attribute : attributes.entrySet()) {
+					if (attribute.getValue() != null) {
+						st.add(attribute.getKey(), attribute.getValue());
+					}
+				}
+			}
+			this.st = st;
+		}
+		this.st.add(name, value);
+	}
+
 	public String getTemplate() {
 		return this.template;
 	}
@@ -122,21 +195,24 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 	@Override
 	public String render() {
 		validate(this.dynamicModel);
-		return st.render();
+		return (this.st != null) ? this.st.render() : this.template;
 	}
 
 	@Override
 	public String render(Map<String, Object> model) {
 		validate(model);
+		if (this.st == null) {
+			return this.template;
+		}
 		for (Entry<String, Object> entry : model.entrySet()) {
 			if (this.st.getAttribute(entry.getKey()) != null) {
 				this.st.remove(entry.getKey());
 			}
 			if (entry.getValue() instanceof Resource) {
-				this.st.add(entry.getKey(), renderResource((Resource) entry.getValue()));
+				addAttribute(entry.getKey(), renderResource((Resource) entry.getValue()));
 			}
 			else {
-				this.st.add(entry.getKey(), entry.getValue());
+				addAttribute(entry.getKey(), entry.getValue());
 			}
 
 		}
@@ -188,7 +264,11 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 	}
 
 	public Set<String> getInputVariables() {
-		TokenStream tokens = this.st.impl.tokens;
+		return new HashSet<>(this.inputVariables);
+	}
+
+	private static Set<String> getInputVariables(ST st) {
+		TokenStream tokens = st.impl.tokens;
 		Set<String> inputVariables = new HashSet<>();
 		boolean isInsideList = false;
 
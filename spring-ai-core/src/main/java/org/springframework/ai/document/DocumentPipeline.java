@@ -0,0 +1,267 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.document;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.util.Assert;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Streaming ETL pipeline, reading the documents, passing them through the transformers
+ * and writing them in batches, without holding the whole corpus in memory.
+ *
+ * Every stage runs on its own worker of the scheduler, so that reading, transforming and
+ * writing overlap, and hands its batches over to the next stage through a buffer of at
+ * most {@link Builder#withBufferSize(int) bufferSize} batches. A full buffer holds the
+ * previous stages back, which bounds the memory of the pipeline to a few batches per
+ * stage whatever the number of sources. The sources are read one after the other, each of
+ * them only when the previous one is read, and the document order is kept.
+ *
+ * The memory is bounded per source, not per document: a reader whose
+ * {@link DocumentReader#stream()} is not overridden reads its whole source at once, which
+ * is then held until it is written. Readers such as the {@code PagePdfDocumentReader}
+ * stream their documents as they are read.
+ *
+ * A {@link org.springframework.ai.transformer.splitter.TextSplitter TextSplitter}, or any
+ * transformer handling its documents independently of one another, is applied batch by
+ * batch. A {@link org.springframework.ai.vectorstore.VectorStore VectorStore} is a
+ * {@link DocumentWriter}, and embeds each written batch with a single request. The first
+ * failure of a stage cancels the pipeline.
+ *
+ * <pre class="code">
+ * long count = DocumentPipeline.builder(resources, PagePdfDocumentReader::new)
+ *     .withTransformer(new TokenTextSplitter())
+ *     .withWriter(vectorStore)
+ *     .build()
+ *     .run();
+ * </pre>
+ *
+ * @since 1.0.0
+ * @see DocumentReader#stream()
+ */
+public final class DocumentPipeline {
+
+	public static final int DEFAULT_BATCH_SIZE = 100;
+
+	public static final int DEFAULT_BUFFER_SIZE = 4;
+
+	private record Stage(DocumentTransformer transformer, int batchSize) {
+	}
+
+	private final Flux<Document> source;
+
+	private final List<Stage> stages;
+
+	private final DocumentWriter writer;
+
+	private final int writeBatchSize;
+
+	private final int writeConcurrency;
+
+	private final int bufferSize;
+
+	private final Scheduler scheduler;
+
+	private DocumentPipeline(Builder builder) {
+		this.source = builder.source;
+		this.stages = List.copyOf(builder.stages);
+		this.writer = builder.writer;
+		this.writeBatchSize = builder.writeBatchSize;
+		this.writeConcurrency = builder.writeConcurrency;
+		this.bufferSize = builder.bufferSize;
+		this.scheduler = builder.scheduler;
+	}
+
+	/**
+	 * Starts a pipeline over the documents of the source.
+	 * @param source the documents to process.
+	 * @return the pipeline builder.
+	 */
+	public static Builder builder(Flux<Document> source) {
+		return new Builder(source);
+	}
+
+	/**
+	 * Starts a pipeline over the documents of the readers, read one after the other.
+	 * @param readers the document readers.
+	 * @return the pipeline builder.
+	 */
+	public static Builder builder(DocumentReader... readers) {
+		Assert.noNullElements(readers, "readers must not contain null elements");
+		return builder(Arrays.asList(readers), Function.identity());
+	}
+
+	/**
+	 * Starts a pipeline over the documents of the sources, such as resources, each source
+	 * read by its own reader. The readers are only created when their source is read, so
+	 * that at most one of them holds its source open.
+	 * @param sources the document sources.
+	 * @param readerFactory the factory creating the reader of a source.
+	 * @return the pipeline builder.
+	 */
+	public static <T> Builder builder(Iterable<T> sources,
+			Function<? super T, ? extends DocumentReader> readerFactory) {
+		Assert.notNull(sources, "sources must not be null");
+		Assert.notNull(readerFactory, "readerFactory must not be null");
+		return builder(Flux.fromIterable(sources)
+			.concatMap(source -> Flux.defer(() -> readerFactory.apply(source).stream()), 1));
+	}
+
+	/**
+	 * Streams the documents through the pipeline, emitting each document once written.
+	 * The pipeline runs when the stream is subscribed to, once per subscription.
+	 * @return the stream of the written documents, or of the transformed documents
+	 * without writer.
+	 */
+	public Flux<Document> stream() {
+		// The reading stage, blocking readers included, runs off the subscriber thread.
+		Flux<Document> documents = this.source.subscribeOn(this.scheduler);
+		for (Stage stage : this.stages) {
+			documents = documents.buffer(stage.batchSize())
+				.publishOn(this.scheduler, this.bufferSize)
+				.concatMapIterable(stage.transformer());
+		}
+		if (this.writer == null) {
+			return documents;
+		}
+		return documents.buffer(this.writeBatchSize).flatMapSequential(batch -> Mono.fromCallable(() -> {
+			this.writer.accept(batch);
+			return batch;
+		}).subscribeOn(this.scheduler), this.writeConcurrency, this.bufferSize).concatMapIterable(Function.identity());
+	}
+
+	/**
+	 * Runs the pipeline, blocking until all the documents are written.
+	 * @return the number of written documents.
+	 */
+	public long run() {
+		Long count = stream().count().block();
+		return (count != null) ? count : 0;
+	}
+
+	public static class Builder {
+
+		private final Flux<Document> source;
+
+		private final List<Stage> stages = new ArrayList<>();
+
+		private DocumentWriter writer;
+
+		private int writeBatchSize = DEFAULT_BATCH_SIZE;
+
+		private int writeConcurrency = 1;
+
+		private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+		private Scheduler scheduler = Schedulers.boundedElastic();
+
+		private Builder(Flux<Document> source) {
+			Assert.notNull(source, "source must not be null");
+			this.source = source;
+		}
+
+		/**
+		 * Adds a transformer stage, applied to batches of
+		 * {@value DocumentPipeline#DEFAULT_BATCH_SIZE} documents.
+		 * @param transformer the document transformer.
+		 * @return this builder.
+		 */
+		public Builder withTransformer(DocumentTransformer transformer) {
+			return withTransformer(transformer, DEFAULT_BATCH_SIZE);
+		}
+
+		/**
+		 * Adds a transformer stage, applied to batches of documents.
+		 * @param transformer the document transformer.
+		 * @param batchSize the maximum number of documents transformed at once.
+		 * @return this builder.
+		 */
+		public Builder withTransformer(DocumentTransformer transformer, int batchSize) {
+			Assert.notNull(transformer, "transformer must not be null");
+			Assert.isTrue(batchSize > 0, "batchSize must be greater than 0");
+			this.stages.add(new Stage(transformer, batchSize));
+			return this;
+		}
+
+		/**
+		 * @param writer the writer of the documents, such as a vector store.
+		 * @return this builder.
+		 */
+		public Builder withWriter(DocumentWriter writer) {
+			Assert.notNull(writer, "writer must not be null");
+			this.writer = writer;
+			return this;
+		}
+
+		/**
+		 * @param writeBatchSize the maximum number of documents written at once. Defaults
+		 * to {@value DocumentPipeline#DEFAULT_BATCH_SIZE}.
+		 * @return this builder.
+		 */
+		public Builder withWriteBatchSize(int writeBatchSize) {
+			Assert.isTrue(writeBatchSize > 0, "writeBatchSize must be greater than 0");
+			this.writeBatchSize = writeBatchSize;
+			return this;
+		}
+
+		/**
+		 * @param writeConcurrency the maximum number of batches written concurrently, for
+		 * writers safe to call from several threads at once. Defaults to 1.
+		 * @return this builder.
+		 */
+		public Builder withWriteConcurrency(int writeConcurrency) {
+			Assert.isTrue(writeConcurrency > 0, "writeConcurrency must be greater than 0");
+			this.writeConcurrency = writeConcurrency;
+			return this;
+		}
+
+		/**
+		 * @param bufferSize the maximum number of batches waiting for each stage.
+		 * Defaults to {@value DocumentPipeline#DEFAULT_BUFFER_SIZE}.
+		 * @return this builder.
+		 */
+		public Builder withBufferSize(int bufferSize) {
+			Assert.isTrue(bufferSize > 0, "bufferSize must be greater than 0");
+			this.bufferSize = bufferSize;
+			return this;
+		}
+
+		/**
+		 * @param scheduler the scheduler running the stages, one worker per stage.
+		 * Defaults to {@link Schedulers#boundedElastic()}.
+		 * @return this builder.
+		 */
+		public Builder withScheduler(Scheduler scheduler) {
+			Assert.notNull(scheduler, "scheduler must not be null");
+			this.scheduler = scheduler;
+			return this;
+		}
+
+		public DocumentPipeline build() {
+			return new DocumentPipeline(this);
+		}
+
+	}
+
+}
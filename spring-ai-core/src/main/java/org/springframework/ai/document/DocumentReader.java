@@ -18,10 +18,23 @@ package org.springframework.ai.document;
 import java.util.List;
 import java.util.function.Supplier;
 
+import reactor.core.publisher.Flux;
+
 public interface DocumentReader extends Supplier<List<Document>> {
 
 	default List<Document> read() {
 		return get();
 	}
 
+	/**
+	 * Streams the documents of the reader, read when the stream is subscribed to. Reads
+	 * all the documents at once by default, readers able to read them incrementally can
+	 * emit each document as soon as it is read.
+	 * @return the stream of the read documents.
+	 * @see DocumentPipeline
+	 */
+	default Flux<Document> stream() {
+		return Flux.defer(() -> Flux.fromIterable(read()));
+	}
+
 }
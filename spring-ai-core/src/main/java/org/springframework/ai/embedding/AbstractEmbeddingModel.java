@@ -16,16 +16,20 @@
 package org.springframework.ai.embedding;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+import org.springframework.ai.document.Document;
 import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.util.Assert;
 
 /**
  * Abstract implementation of the {@link EmbeddingModel} interface that provides
- * dimensions calculation caching.
+ * dimensions calculation caching and a configurable concurrency for the batched embedding
+ * of documents.
  *
  * @author Christian Tzolov
  */
@@ -35,6 +39,8 @@ public abstract class AbstractEmbeddingModel implements EmbeddingModel {
 
 	private static Map<String, Integer> KNOWN_EMBEDDING_DIMENSIONS = loadKnownModelDimensions();
 
+	private EmbeddingConcurrency embeddingConcurrency = EmbeddingConcurrency.SEQUENTIAL;
+
 	/**
 	 * Return the dimension of the requested embedding generative name. If the generative
 	 * name is unknown uses the EmbeddingModel to perform a dummy EmbeddingModel#embed and
@@ -80,4 +86,29 @@ public abstract class AbstractEmbeddingModel implements EmbeddingModel {
 		return this.embeddingDimensions.get();
 	}
 
+	/**
+	 * Embeds the batches of documents with the {@link EmbeddingConcurrency} of this
+	 * model.
+	 * @see #setEmbeddingConcurrency(EmbeddingConcurrency)
+	 */
+	@Override
+	public List<float[]> embed(List<Document> documents, EmbeddingOptions options, BatchingStrategy batchingStrategy) {
+		return embed(documents, options, batchingStrategy, this.embeddingConcurrency);
+	}
+
+	public EmbeddingConcurrency getEmbeddingConcurrency() {
+		return this.embeddingConcurrency;
+	}
+
+	/**
+	 * Set how many batch requests
+	 * {@link #embed(List, EmbeddingOptions, BatchingStrategy)} keeps in flight. Defaults
+	 * to {@link EmbeddingConcurrency#SEQUENTIAL}.
+	 * @param embeddingConcurrency the concurrency of the batched embedding.
+	 */
+	public void setEmbeddingConcurrency(EmbeddingConcurrency embeddingConcurrency) {
+		Assert.notNull(embeddingConcurrency, "EmbeddingConcurrency must not be null");
+		this.embeddingConcurrency = embeddingConcurrency;
+	}
+
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown when some of the batch requests sent concurrently by
+ * {@link EmbeddingConcurrency#invokeAll(List, java.util.function.Function)} or
+ * {@link EmbeddingModel#embed(List, EmbeddingOptions, BatchingStrategy, EmbeddingConcurrency)}
+ * fail. The results of the batches that completed are kept, so only the failed ones need
+ * to be sent again. The cause is the exception of the first failed batch, the exceptions
+ * of the other failed batches are suppressed.
+ *
+ * @since 1.0.0
+ */
+public class BatchEmbeddingException extends RuntimeException {
+
+	private final List<Integer> failedBatches;
+
+	private final List<Integer> unsentBatches;
+
+	private final List<?> results;
+
+	BatchEmbeddingException(List<Integer> failedBatches, List<Integer> unsentBatches, List<?> results,
+			Throwable cause) {
+		super(failedBatches.size() + " of " + results.size() + " embedding batches failed"
+				+ (unsentBatches.isEmpty() ? "" : " and " + unsentBatches.size() + " were not sent") + ": "
+				+ cause.getMessage(), cause);
+		this.failedBatches = Collections.unmodifiableList(failedBatches);
+		this.unsentBatches = Collections.unmodifiableList(unsentBatches);
+		this.results = Collections.unmodifiableList(results);
+	}
+
+	/**
+	 * @return the indices of the batches whose request failed.
+	 */
+	public List<Integer> getFailedBatches() {
+		return this.failedBatches;
+	}
+
+	/**
+	 * @return the indices of the batches that were not sent because of an earlier
+	 * failure.
+	 */
+	public List<Integer> getUnsentBatches() {
+		return this.unsentBatches;
+	}
+
+	/**
+	 * @return the results, in the order of the batches, with {@code null} for the failed
+	 * and unsent batches. The documents of the completed batches also keep their
+	 * embedding.
+	 */
+	public List<?> getResults() {
+		return this.results;
+	}
+
+}
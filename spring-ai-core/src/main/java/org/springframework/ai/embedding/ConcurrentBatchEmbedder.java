@@ -0,0 +1,164 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.springframework.ai.document.Document;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Embeds the batches of documents, or calls an embedding API once per input, with up to
+ * {@link EmbeddingConcurrency#getMaxConcurrency()} requests in flight.
+ *
+ * @since 1.0.0
+ */
+final class ConcurrentBatchEmbedder {
+
+	private ConcurrentBatchEmbedder() {
+	}
+
+	static void embed(EmbeddingModel embeddingModel, List<List<Document>> batches, EmbeddingOptions options,
+			EmbeddingConcurrency concurrency) {
+		invokeAll(batches, batch -> {
+			embedBatch(embeddingModel, batch, options);
+			return null;
+		}, concurrency);
+	}
+
+	/**
+	 * Calls the function for every input with up to
+	 * {@link EmbeddingConcurrency#getMaxConcurrency()} calls in flight.
+	 * @return the results, in the order of the inputs.
+	 */
+	static <T, R> List<R> invokeAll(List<T> inputs, Function<T, R> call, EmbeddingConcurrency concurrency) {
+		if (concurrency.isSequential() || inputs.size() < 2) {
+			List<R> results = new ArrayList<>(inputs.size());
+			for (T input : inputs) {
+				results.add(call.apply(input));
+			}
+			return results;
+		}
+
+		Executor executor = concurrency.getExecutor();
+		return invokeConcurrently(inputs, call, concurrency.getMaxConcurrency(),
+				(executor != null) ? executor : SharedExecutor.INSTANCE);
+	}
+
+	private static <T, R> List<R> invokeConcurrently(List<T> inputs, Function<T, R> call, int maxConcurrency,
+			Executor executor) {
+
+		List<CompletableFuture<R>> futures = new ArrayList<>(inputs.size());
+		AtomicBoolean failed = new AtomicBoolean();
+		// A permit is taken before sending a request and given back when its response
+		// arrives, which bounds the requests in flight.
+		Semaphore inFlight = new Semaphore(maxConcurrency);
+
+		try {
+			for (T input : inputs) {
+				inFlight.acquire();
+				if (failed.get()) {
+					inFlight.release();
+					break;
+				}
+				futures.add(CompletableFuture.supplyAsync(() -> {
+					try {
+						return call.apply(input);
+					}
+					catch (Throwable ex) {
+						failed.set(true);
+						throw ex;
+					}
+					finally {
+						inFlight.release();
+					}
+				}, executor));
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while sending the embedding requests", ex);
+		}
+
+		// Every call sent is awaited, so the results of the completed ones are kept.
+		List<R> results = new ArrayList<>(inputs.size());
+
+		List<Integer> failedBatches = new ArrayList<>();
+		Throwable failure = null;
+		for (int i = 0; i < futures.size(); i++) {
+			try {
+				results.add(futures.get(i).join());
+			}
+			catch (CompletionException ex) {
+				results.add(null);
+				failedBatches.add(i);
+				if (failure == null) {
+					failure = ex.getCause();
+				}
+				else {
+					failure.addSuppressed(ex.getCause());
+				}
+			}
+		}
+		if (failure == null) {
+			return results;
+		}
+		if (failure instanceof Error error) {
+			throw error;
+		}
+		List<Integer> unsentBatches = new ArrayList<>();
+		for (int i = futures.size(); i < inputs.size(); i++) {
+			results.add(null);
+			unsentBatches.add(i);
+		}
+		throw new BatchEmbeddingException(failedBatches, unsentBatches, results, failure);
+	}
+
+	private static void embedBatch(EmbeddingModel embeddingModel, List<Document> batch, EmbeddingOptions options) {
+		List<String> texts = batch.stream().map(Document::getContent).toList();
+		EmbeddingResponse response = embeddingModel.call(new EmbeddingRequest(texts, options));
+		for (int i = 0; i < batch.size(); i++) {
+			batch.get(i).setEmbedding(response.getResults().get(i).getOutput());
+		}
+	}
+
+	/**
+	 * Runs the calls of the configurations without an executor. The threads are created
+	 * on demand and kept for reuse until they are idle for a minute, while the number of
+	 * calls in flight is bounded by the semaphore of each invocation.
+	 */
+	private static final class SharedExecutor {
+
+		private static final ExecutorService INSTANCE = createExecutor();
+
+		private static ExecutorService createExecutor() {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("embedding-batch-");
+			threadFactory.setDaemon(true);
+			return Executors.newCachedThreadPool(threadFactory);
+		}
+
+	}
+
+}
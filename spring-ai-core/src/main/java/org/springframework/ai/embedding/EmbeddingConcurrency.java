@@ -0,0 +1,137 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Controls how many batch requests
+ * {@link EmbeddingModel#embed(java.util.List, EmbeddingOptions, BatchingStrategy, EmbeddingConcurrency)}
+ * keeps in flight. A new batch request is only sent when one of the in-flight requests
+ * completes, so a rate-limited provider never sees more than {@code maxConcurrency}
+ * concurrent requests from one call.
+ *
+ * @since 1.0.0
+ */
+public final class EmbeddingConcurrency {
+
+	/**
+	 * The default configuration, embedding the batches one after another on the calling
+	 * thread.
+	 */
+	public static final EmbeddingConcurrency SEQUENTIAL = builder().build();
+
+	private final int maxConcurrency;
+
+	@Nullable
+	private final Executor executor;
+
+	private EmbeddingConcurrency(Builder builder) {
+		this.maxConcurrency = builder.maxConcurrency;
+		this.executor = builder.executor;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * @param maxConcurrency the maximum number of batch requests in flight.
+	 * @return a configuration running the batch requests on a thread pool shared by the
+	 * configurations without an executor.
+	 */
+	public static EmbeddingConcurrency of(int maxConcurrency) {
+		return builder().withMaxConcurrency(maxConcurrency).build();
+	}
+
+	public int getMaxConcurrency() {
+		return this.maxConcurrency;
+	}
+
+	@Nullable
+	public Executor getExecutor() {
+		return this.executor;
+	}
+
+	public boolean isSequential() {
+		return this.maxConcurrency == 1;
+	}
+
+	/**
+	 * Calls the function for every input with up to {@code maxConcurrency} calls in
+	 * flight. Meant for embedding APIs that take a single input per request. If a call
+	 * fails, no further call is made and, once the in-flight calls complete, a
+	 * {@link BatchEmbeddingException} holding the results of the completed calls and the
+	 * indices of the failed and unsent inputs is thrown. Sequential configurations
+	 * rethrow the exception of the failed call.
+	 * @param <T> the input type.
+	 * @param <R> the result type.
+	 * @param inputs the inputs.
+	 * @param call the function calling the embedding API for one input.
+	 * @return the results, in the order of the inputs.
+	 */
+	public <T, R> List<R> invokeAll(List<T> inputs, Function<T, R> call) {
+		Assert.notNull(inputs, "inputs must not be null");
+		Assert.notNull(call, "call must not be null");
+		return ConcurrentBatchEmbedder.invokeAll(inputs, call, this);
+	}
+
+	public static class Builder {
+
+		private int maxConcurrency = 1;
+
+		@Nullable
+		private Executor executor;
+
+		private Builder() {
+		}
+
+		/**
+		 * @param maxConcurrency the maximum number of batch requests in flight. Defaults
+		 * to 1, embedding the batches one after another.
+		 * @return this builder.
+		 */
+		public Builder withMaxConcurrency(int maxConcurrency) {
+			Assert.isTrue(maxConcurrency > 0, "maxConcurrency must be greater than 0");
+			this.maxConcurrency = maxConcurrency;
+			return this;
+		}
+
+		/**
+		 * @param executor the executor running the batch requests. The executor should be
+		 * able to run {@code maxConcurrency} tasks at the same time. If not set, the
+		 * requests run on a pool of daemon threads shared by all the configurations
+		 * without an executor, which reuses its threads across calls.
+		 * @return this builder.
+		 */
+		public Builder withExecutor(Executor executor) {
+			Assert.notNull(executor, "executor must not be null");
+			this.executor = executor;
+			return this;
+		}
+
+		public EmbeddingConcurrency build() {
+			return new EmbeddingConcurrency(this);
+		}
+
+	}
+
+}
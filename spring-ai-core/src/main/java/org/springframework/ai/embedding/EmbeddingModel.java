@@ -19,7 +19,6 @@ import org.springframework.ai.document.Document;
 import org.springframework.ai.model.Model;
 import org.springframework.util.Assert;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -71,7 +70,7 @@ public interface EmbeddingModel extends Model<EmbeddingRequest, EmbeddingRespons
 
 	/**
 	 * Embeds a batch of {@link Document}s into vectors based on a
-	 * {@link BatchingStrategy}.
+	 * {@link BatchingStrategy}. The batches are embedded one after another.
 	 * @param documents list of {@link Document}s.
 	 * @param options {@link EmbeddingOptions}.
 	 * @param batchingStrategy {@link BatchingStrategy}.
@@ -79,23 +78,34 @@ public interface EmbeddingModel extends Model<EmbeddingRequest, EmbeddingRespons
 	 * {@link Document}s.
 	 */
 	default List<float[]> embed(List<Document> documents, EmbeddingOptions options, BatchingStrategy batchingStrategy) {
-		Assert.notNull(documents, "Documents must not be null");
-		List<float[]> embeddings = new ArrayList<>();
-
-		List<List<Document>> batch = batchingStrategy.batch(documents);
+		return this.embed(documents, options, batchingStrategy, EmbeddingConcurrency.SEQUENTIAL);
+	}
 
-		for (List<Document> subBatch : batch) {
-			List<String> texts = subBatch.stream().map(Document::getContent).toList();
-			EmbeddingRequest request = new EmbeddingRequest(texts, options);
-			EmbeddingResponse response = this.call(request);
-			for (int i = 0; i < subBatch.size(); i++) {
-				Document document = subBatch.get(i);
-				float[] output = response.getResults().get(i).getOutput();
-				embeddings.add(output);
-				document.setEmbedding(output);
-			}
-		}
-		return embeddings;
+	/**
+	 * Embeds a batch of {@link Document}s into vectors based on a
+	 * {@link BatchingStrategy}, keeping up to
+	 * {@link EmbeddingConcurrency#getMaxConcurrency()} batch requests in flight. The
+	 * embeddings are returned in the order of the documents, even if the batching
+	 * strategy reorders them, and every document gets its embedding set. If a batch
+	 * request fails, no further batch is sent and, once the in-flight requests complete,
+	 * a {@link BatchEmbeddingException} with the indices of the failed and unsent batches
+	 * is thrown, while the documents of the completed batches keep their embedding.
+	 * Sequential embedding rethrows the exception of the failed request.
+	 * @param documents list of {@link Document}s.
+	 * @param options {@link EmbeddingOptions}.
+	 * @param batchingStrategy {@link BatchingStrategy}.
+	 * @param concurrency the number of concurrent batch requests.
+	 * @return a list of float[] that represents the vectors for the incoming
+	 * {@link Document}s.
+	 */
+	default List<float[]> embed(List<Document> documents, EmbeddingOptions options, BatchingStrategy batchingStrategy,
+			EmbeddingConcurrency concurrency) {
+		Assert.notNull(documents, "Documents must not be null");
+		Assert.notNull(batchingStrategy, "BatchingStrategy must not be null");
+		Assert.notNull(concurrency, "EmbeddingConcurrency must not be null");
+		ConcurrentBatchEmbedder.embed(this, batchingStrategy.batch(documents), options, concurrency);
+		// The batching strategy may reorder the documents.
+		return documents.stream().map(Document::getEmbedding).toList();
 	}
 
 	/**
@@ -16,15 +16,20 @@
 package org.springframework.ai.embedding;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import org.springframework.ai.document.ContentFormatter;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.document.MetadataMode;
 import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
 import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
 
 import com.knuddels.jtokkit.api.EncodingType;
 
@@ -42,7 +47,14 @@ import com.knuddels.jtokkit.api.EncodingType;
  * token count of 8191, the actual max input token count used will be 7371.
  *
  * The strategy batches documents based on their token counts, ensuring that each batch
- * does not exceed the calculated max input token count.
+ * does not exceed the calculated max input token count, nor the optional max number of
+ * documents per batch. By default the documents are batched in their input order. With
+ * {@link BinPacking#FIRST_FIT_DECREASING} the documents are packed into as few batches as
+ * possible, each batch listing its documents in input order.
+ *
+ * The token count of every document is computed once and cached by the strategy, for as
+ * long as the document is in use. A document whose content or metadata changes is counted
+ * again.
  *
  * @author Soby Chacko
  * @author Mark Pollack
@@ -70,6 +82,12 @@ public class TokenCountBatchingStrategy implements BatchingStrategy {
 
 	private final MetadataMode metadataMode;
 
+	private final int maxBatchSize;
+
+	private final BinPacking binPacking;
+
+	private final Map<Document, Integer> tokenCountCache = new ConcurrentReferenceHashMap<>(16, ReferenceType.WEAK);
+
 	public TokenCountBatchingStrategy() {
 		this(EncodingType.CL100K_BASE, MAX_INPUT_TOKEN_COUNT, DEFAULT_TOKEN_COUNT_RESERVE_PERCENTAGE);
 	}
@@ -96,38 +114,82 @@ public class TokenCountBatchingStrategy implements BatchingStrategy {
 	 */
 	public TokenCountBatchingStrategy(EncodingType encodingType, int maxInputTokenCount, double reservePercentage,
 			ContentFormatter contentFormatter, MetadataMode metadataMode) {
-		this.tokenCountEstimator = new JTokkitTokenCountEstimator(encodingType);
+		this(encodingType, maxInputTokenCount, reservePercentage, contentFormatter, metadataMode, Integer.MAX_VALUE,
+				BinPacking.NEXT_FIT);
+	}
+
+	/**
+	 * @param encodingType The {@link EncodingType} to be used for token counting.
+	 * @param maxInputTokenCount The initial upper limit for input tokens.
+	 * @param reservePercentage The percentage of tokens to reserve from the max input
+	 * token count. This creates a buffer for potential token count increases during
+	 * processing.
+	 * @param contentFormatter the {@link ContentFormatter} to be used for formatting
+	 * content.
+	 * @param metadataMode The {@link MetadataMode} to be used for handling metadata.
+	 * @param maxBatchSize The upper limit for the number of documents in a batch.
+	 * @param binPacking The {@link BinPacking} algorithm assigning the documents to
+	 * batches.
+	 */
+	public TokenCountBatchingStrategy(EncodingType encodingType, int maxInputTokenCount, double reservePercentage,
+			ContentFormatter contentFormatter, MetadataMode metadataMode, int maxBatchSize, BinPacking binPacking) {
+		this(tokenCountEstimator(encodingType), maxInputTokenCount, reservePercentage, contentFormatter, metadataMode,
+				maxBatchSize, binPacking);
+	}
+
+	TokenCountBatchingStrategy(TokenCountEstimator tokenCountEstimator, int maxInputTokenCount,
+			double reservePercentage, ContentFormatter contentFormatter, MetadataMode metadataMode, int maxBatchSize,
+			BinPacking binPacking) {
+		Assert.notNull(contentFormatter, "ContentFormatter must not be null");
+		Assert.notNull(metadataMode, "MetadataMode must not be null");
+		Assert.isTrue(maxBatchSize > 0, "maxBatchSize must be greater than 0");
+		Assert.notNull(binPacking, "BinPacking must not be null");
+		this.tokenCountEstimator = tokenCountEstimator;
 		this.maxInputTokenCount = (int) Math.round(maxInputTokenCount * (1 - reservePercentage));
 		this.contentFormater = contentFormatter;
 		this.metadataMode = metadataMode;
+		this.maxBatchSize = maxBatchSize;
+		this.binPacking = binPacking;
 	}
 
 	@Override
 	public List<List<Document>> batch(List<Document> documents) {
-		List<List<Document>> batches = new ArrayList<>();
-		int currentSize = 0;
-		List<Document> currentBatch = new ArrayList<>();
-		Map<Document, Integer> documentTokens = new HashMap<>();
-
-		for (Document document : documents) {
-			int tokenCount = this.tokenCountEstimator
-				.estimate(document.getFormattedContent(this.contentFormater, this.metadataMode));
-			if (tokenCount > this.maxInputTokenCount) {
+		int[] tokenCounts = new int[documents.size()];
+		for (int i = 0; i < tokenCounts.length; i++) {
+			tokenCounts[i] = this.tokenCountCache.computeIfAbsent(documents.get(i), this::estimateTokenCount);
+			if (tokenCounts[i] > this.maxInputTokenCount) {
 				throw new IllegalArgumentException(
 						"Tokens in a single document exceeds the maximum number of allowed input tokens");
 			}
-			documentTokens.put(document, tokenCount);
 		}
+		return switch (this.binPacking) {
+			case NEXT_FIT -> nextFit(documents, tokenCounts);
+			case FIRST_FIT_DECREASING -> firstFitDecreasing(documents, tokenCounts);
+		};
+	}
+
+	private int estimateTokenCount(Document document) {
+		return this.tokenCountEstimator.estimate(document.getFormattedContent(this.contentFormater, this.metadataMode));
+	}
 
-		for (Document document : documentTokens.keySet()) {
-			Integer tokenCount = documentTokens.get(document);
-			if (currentSize + tokenCount > maxInputTokenCount) {
+	private static TokenCountEstimator tokenCountEstimator(EncodingType encodingType) {
+		Assert.notNull(encodingType, "EncodingType must not be null");
+		return new JTokkitTokenCountEstimator(encodingType);
+	}
+
+	private List<List<Document>> nextFit(List<Document> documents, int[] tokenCounts) {
+		List<List<Document>> batches = new ArrayList<>();
+		List<Document> currentBatch = new ArrayList<>();
+		int currentSize = 0;
+		for (int i = 0; i < tokenCounts.length; i++) {
+			if (!currentBatch.isEmpty() && (currentSize + tokenCounts[i] > this.maxInputTokenCount
+					|| currentBatch.size() == this.maxBatchSize)) {
 				batches.add(currentBatch);
 				currentBatch = new ArrayList<>();
 				currentSize = 0;
 			}
-			currentBatch.add(document);
-			currentSize += tokenCount;
+			currentBatch.add(documents.get(i));
+			currentSize += tokenCounts[i];
 		}
 		if (!currentBatch.isEmpty()) {
 			batches.add(currentBatch);
@@ -135,4 +197,73 @@ public class TokenCountBatchingStrategy implements BatchingStrategy {
 		return batches;
 	}
 
+	/**
+	 * Place the documents, largest first, in the first batch with enough room left. The
+	 * first batch with enough room is found in logarithmic time with a tree holding the
+	 * largest room left of every range of batches, where a full batch has no room left
+	 * and batches not opened yet have all the room.
+	 */
+	private List<List<Document>> firstFitDecreasing(List<Document> documents, int[] tokenCounts) {
+		int count = tokenCounts.length;
+		if (count == 0) {
+			return new ArrayList<>();
+		}
+		int leaves = Integer.highestOneBit(Math.max(1, count - 1)) << 1;
+		int[] room = new int[2 * leaves];
+		Arrays.fill(room, leaves, leaves + count, this.maxInputTokenCount);
+		Arrays.fill(room, leaves + count, 2 * leaves, -1);
+		for (int node = leaves - 1; node > 0; node--) {
+			room[node] = Math.max(room[2 * node], room[2 * node + 1]);
+		}
+
+		int[] batchOfDocument = new int[count];
+		int[] batchSizes = new int[count];
+		int batchCount = 0;
+		Integer[] order = IntStream.range(0, count).boxed().toArray(Integer[]::new);
+		Arrays.sort(order, Comparator.comparingInt((Integer i) -> tokenCounts[i]).reversed());
+		for (int i : order) {
+			int node = 1;
+			while (node < leaves) {
+				node = (room[2 * node] >= tokenCounts[i]) ? 2 * node : 2 * node + 1;
+			}
+			int batch = node - leaves;
+			batchOfDocument[i] = batch;
+			batchCount = Math.max(batchCount, batch + 1);
+			room[node] = (++batchSizes[batch] == this.maxBatchSize) ? -1 : room[node] - tokenCounts[i];
+			for (node >>= 1; node > 0; node >>= 1) {
+				room[node] = Math.max(room[2 * node], room[2 * node + 1]);
+			}
+		}
+
+		List<List<Document>> batches = new ArrayList<>(batchCount);
+		for (int batch = 0; batch < batchCount; batch++) {
+			batches.add(new ArrayList<>(batchSizes[batch]));
+		}
+		for (int i = 0; i < count; i++) {
+			batches.get(batchOfDocument[i]).add(documents.get(i));
+		}
+		return batches;
+	}
+
+	/**
+	 * Algorithms assigning the documents to batches.
+	 */
+	public enum BinPacking {
+
+		/**
+		 * Fill the batches in the input order of the documents, starting a new batch when
+		 * the next document doesn't fit in the current one.
+		 */
+		NEXT_FIT,
+
+		/**
+		 * Sort the documents by decreasing token count, and place each of them in the
+		 * first batch it fits in. This minimizes the number of batches, and thus of
+		 * embedding requests, at the cost of a sort. The documents of every batch keep
+		 * their input order.
+		 */
+		FIRST_FIT_DECREASING
+
+	}
+
 }
@@ -0,0 +1,350 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.observation.ObservationRegistry;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.embedding.EmbeddingResponseMetadata;
+import org.springframework.ai.embedding.observation.DefaultEmbeddingCacheObservationConvention;
+import org.springframework.ai.embedding.observation.EmbeddingCacheObservationContext;
+import org.springframework.ai.embedding.observation.EmbeddingCacheObservationConvention;
+import org.springframework.ai.embedding.observation.EmbeddingCacheObservationDocumentation;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link EmbeddingModel} decorator serving the embeddings of already embedded content
+ * from an {@link EmbeddingCache}, and sending only the cache misses to the delegate
+ * model.
+ *
+ * An embedding is cached under the SHA-256 digest of the model name, the request options
+ * and the embedded content, so changing the model or the options never serves a stale
+ * embedding. The in-heap cache can be backed by a persistent cache, such as a
+ * {@link FileEmbeddingCache}, whose hits are promoted to the in-heap cache.
+ *
+ * The hits and misses of every request are recorded by an
+ * {@link EmbeddingCacheObservationDocumentation#EMBEDDING_CACHE_OPERATION} observation.
+ *
+ * @since 1.0.0
+ */
+public class CachingEmbeddingModel implements EmbeddingModel {
+
+	private static final EmbeddingCacheObservationConvention DEFAULT_OBSERVATION_CONVENTION = new DefaultEmbeddingCacheObservationConvention();
+
+	public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+	private final EmbeddingModel embeddingModel;
+
+	private final String model;
+
+	private final EmbeddingCache cache;
+
+	@Nullable
+	private final EmbeddingCache persistentCache;
+
+	private final MetadataMode metadataMode;
+
+	private final ObservationRegistry observationRegistry;
+
+	private EmbeddingCacheObservationConvention observationConvention = DEFAULT_OBSERVATION_CONVENTION;
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private CachingEmbeddingModel(Builder builder) {
+		this.embeddingModel = builder.embeddingModel;
+		this.model = builder.model;
+		this.cache = (builder.cache != null) ? builder.cache : new InMemoryEmbeddingCache(DEFAULT_MAX_ENTRIES);
+		this.persistentCache = builder.persistentCache;
+		this.metadataMode = builder.metadataMode;
+		this.observationRegistry = builder.observationRegistry;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	@Override
+	public EmbeddingResponse call(EmbeddingRequest request) {
+		Assert.notNull(request, "EmbeddingRequest must not be null");
+
+		var observationContext = new EmbeddingCacheObservationContext(this.model, request.getInstructions().size());
+
+		return EmbeddingCacheObservationDocumentation.EMBEDDING_CACHE_OPERATION
+			.observation(this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext,
+					this.observationRegistry)
+			.observe(() -> doCall(request, observationContext));
+	}
+
+	private EmbeddingResponse doCall(EmbeddingRequest request, EmbeddingCacheObservationContext observationContext) {
+		List<String> texts = request.getInstructions();
+		String options = optionsKey(request.getOptions());
+
+		float[][] vectors = new float[texts.size()][];
+		// Identical texts of a request are sent once.
+		Map<String, List<Integer>> missingPositions = new LinkedHashMap<>();
+		List<String> missingTexts = new ArrayList<>();
+		for (int i = 0; i < texts.size(); i++) {
+			String key = key(options, texts.get(i));
+			List<Integer> positions = missingPositions.get(key);
+			if (positions != null) {
+				positions.add(i);
+				continue;
+			}
+			vectors[i] = lookup(key);
+			if (vectors[i] == null) {
+				positions = new ArrayList<>();
+				positions.add(i);
+				missingPositions.put(key, positions);
+				missingTexts.add(texts.get(i));
+			}
+		}
+		record(observationContext, texts.size() - missingTexts.size(), missingTexts.size());
+
+		EmbeddingResponseMetadata metadata = new EmbeddingResponseMetadata();
+		if (!missingTexts.isEmpty()) {
+			EmbeddingResponse response = this.embeddingModel
+				.call(new EmbeddingRequest(missingTexts, request.getOptions()));
+			Assert.state(response.getResults().size() == missingTexts.size(),
+					"Expected " + missingTexts.size() + " embeddings but got " + response.getResults().size());
+			int result = 0;
+			for (Map.Entry<String, List<Integer>> missing : missingPositions.entrySet()) {
+				float[] vector = response.getResults().get(result++).getOutput();
+				store(missing.getKey(), vector);
+				for (int position : missing.getValue()) {
+					vectors[position] = vector;
+				}
+			}
+			metadata = response.getMetadata();
+		}
+
+		List<Embedding> embeddings = new ArrayList<>(vectors.length);
+		for (int i = 0; i < vectors.length; i++) {
+			embeddings.add(new Embedding(vectors[i], i));
+		}
+		return new EmbeddingResponse(embeddings, metadata);
+	}
+
+	@Override
+	public float[] embed(Document document) {
+		Assert.notNull(document, "Document must not be null");
+
+		var observationContext = new EmbeddingCacheObservationContext(this.model, 1);
+
+		return EmbeddingCacheObservationDocumentation.EMBEDDING_CACHE_OPERATION
+			.observation(this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext,
+					this.observationRegistry)
+			.observe(() -> {
+				String key = key(optionsKey(null), document.getFormattedContent(this.metadataMode));
+				float[] vector = lookup(key);
+				if (vector != null) {
+					record(observationContext, 1, 0);
+					return vector;
+				}
+				record(observationContext, 0, 1);
+				vector = this.embeddingModel.embed(document);
+				store(key, vector);
+				return vector;
+			});
+	}
+
+	@Override
+	public int dimensions() {
+		return this.embeddingModel.dimensions();
+	}
+
+	@Nullable
+	private float[] lookup(String key) {
+		float[] vector = this.cache.get(key);
+		if (vector == null && this.persistentCache != null) {
+			vector = this.persistentCache.get(key);
+			if (vector != null) {
+				this.cache.put(key, vector);
+			}
+		}
+		return vector;
+	}
+
+	private void store(String key, float[] vector) {
+		this.cache.put(key, vector);
+		if (this.persistentCache != null) {
+			this.persistentCache.put(key, vector);
+		}
+	}
+
+	private void record(EmbeddingCacheObservationContext observationContext, int hits, int misses) {
+		observationContext.setHits(hits);
+		observationContext.setMisses(misses);
+		this.hitCount.addAndGet(hits);
+		this.missCount.addAndGet(misses);
+	}
+
+	private static String optionsKey(@Nullable EmbeddingOptions options) {
+		return (options != null) ? ModelOptionsUtils.toJsonString(options) : "";
+	}
+
+	private String key(String options, String content) {
+		MessageDigest digest = sha256();
+		digest.update(this.model.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		digest.update(options.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		digest.update(content.getBytes(StandardCharsets.UTF_8));
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available", ex);
+		}
+	}
+
+	/**
+	 * @return the number of inputs served from the cache since this model was created.
+	 */
+	public long getHitCount() {
+		return this.hitCount.get();
+	}
+
+	/**
+	 * @return the number of inputs sent to the delegate model since this model was
+	 * created.
+	 */
+	public long getMissCount() {
+		return this.missCount.get();
+	}
+
+	/**
+	 * Use the provided convention for reporting observation data
+	 * @param observationConvention The provided convention
+	 */
+	public void setObservationConvention(EmbeddingCacheObservationConvention observationConvention) {
+		Assert.notNull(observationConvention, "observationConvention cannot be null");
+		this.observationConvention = observationConvention;
+	}
+
+	public static class Builder {
+
+		private EmbeddingModel embeddingModel;
+
+		private String model;
+
+		@Nullable
+		private EmbeddingCache cache;
+
+		@Nullable
+		private EmbeddingCache persistentCache;
+
+		private MetadataMode metadataMode = MetadataMode.EMBED;
+
+		private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+		private Builder() {
+		}
+
+		/**
+		 * @param embeddingModel the model computing the embeddings of the cache misses.
+		 * @return this builder.
+		 */
+		public Builder withEmbeddingModel(EmbeddingModel embeddingModel) {
+			Assert.notNull(embeddingModel, "embeddingModel must not be null");
+			this.embeddingModel = embeddingModel;
+			return this;
+		}
+
+		/**
+		 * @param model the name of the model configured on the delegate, part of every
+		 * cache key. Must change whenever the delegate embeds the same content
+		 * differently.
+		 * @return this builder.
+		 */
+		public Builder withModel(String model) {
+			Assert.hasText(model, "model must not be empty");
+			this.model = model;
+			return this;
+		}
+
+		/**
+		 * @param cache the in-heap cache. Defaults to an {@link InMemoryEmbeddingCache}
+		 * of {@value CachingEmbeddingModel#DEFAULT_MAX_ENTRIES} entries.
+		 * @return this builder.
+		 */
+		public Builder withCache(EmbeddingCache cache) {
+			Assert.notNull(cache, "cache must not be null");
+			this.cache = cache;
+			return this;
+		}
+
+		/**
+		 * @param persistentCache the cache looked up on in-heap cache misses, and storing
+		 * every new embedding. Not set by default.
+		 * @return this builder.
+		 */
+		public Builder withPersistentCache(EmbeddingCache persistentCache) {
+			Assert.notNull(persistentCache, "persistentCache must not be null");
+			this.persistentCache = persistentCache;
+			return this;
+		}
+
+		/**
+		 * @param metadataMode the metadata mode formatting the content of the documents
+		 * embedded with {@link CachingEmbeddingModel#embed(Document)}. Should match the
+		 * metadata mode of the delegate. Defaults to {@link MetadataMode#EMBED}.
+		 * @return this builder.
+		 */
+		public Builder withMetadataMode(MetadataMode metadataMode) {
+			Assert.notNull(metadataMode, "metadataMode must not be null");
+			this.metadataMode = metadataMode;
+			return this;
+		}
+
+		public Builder withObservationRegistry(ObservationRegistry observationRegistry) {
+			Assert.notNull(observationRegistry, "observationRegistry must not be null");
+			this.observationRegistry = observationRegistry;
+			return this;
+		}
+
+		public CachingEmbeddingModel build() {
+			Assert.notNull(this.embeddingModel, "embeddingModel must not be null");
+			Assert.hasText(this.model, "model must not be empty");
+			return new CachingEmbeddingModel(this);
+		}
+
+	}
+
+}
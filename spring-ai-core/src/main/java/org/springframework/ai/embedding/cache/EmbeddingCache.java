@@ -0,0 +1,44 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding.cache;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Stores embeddings by a key identifying the embedded content, the model and the options
+ * used to embed it. Implementations must be thread-safe.
+ *
+ * @since 1.0.0
+ * @see CachingEmbeddingModel
+ */
+public interface EmbeddingCache {
+
+	/**
+	 * @param key the cache key.
+	 * @return the embedding stored for the key, or null if there is none.
+	 */
+	@Nullable
+	float[] get(String key);
+
+	/**
+	 * Stores the embedding for the key, replacing or keeping any embedding already stored
+	 * for it.
+	 * @param key the cache key.
+	 * @param embedding the embedding.
+	 */
+	void put(String key, float[] embedding);
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding.cache;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Persistent {@link EmbeddingCache} storing the embeddings in a local append-only file,
+ * so that they survive restarts. Only the keys and the file offsets are kept on the heap;
+ * embeddings are read with positional reads, which are served from the page cache for
+ * recently used entries.
+ *
+ * The file is a header followed by one record per embedding: the length and the UTF-8
+ * bytes of the key, the number of dimensions and the little-endian float32 components. A
+ * record truncated by a crash is dropped when the file is opened. Entries are never
+ * evicted.
+ *
+ * @since 1.0.0
+ */
+public class FileEmbeddingCache implements EmbeddingCache, Closeable {
+
+	private static final Logger logger = LoggerFactory.getLogger(FileEmbeddingCache.class);
+
+	private static final int MAGIC = 0x53414543;
+
+	private static final int VERSION = 1;
+
+	private static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+	private final Path file;
+
+	private final FileChannel channel;
+
+	private final Map<String, Entry> index = new ConcurrentHashMap<>();
+
+	private long end;
+
+	private record Entry(long offset, int dimensions) {
+	}
+
+	/**
+	 * Opens the cache file, creating it if it does not exist.
+	 * @param file the cache file.
+	 */
+	public FileEmbeddingCache(Path file) {
+		Assert.notNull(file, "file must not be null");
+		this.file = file;
+		try {
+			if (file.getParent() != null) {
+				Files.createDirectories(file.getParent());
+			}
+			this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			if (this.channel.size() == 0) {
+				writeFully(ByteBuffer.allocate(HEADER_BYTES)
+					.order(ByteOrder.LITTLE_ENDIAN)
+					.putInt(MAGIC)
+					.putInt(VERSION)
+					.flip(), 0);
+				this.end = HEADER_BYTES;
+			}
+			else {
+				this.end = loadIndex();
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to open the embedding cache file " + file, ex);
+		}
+	}
+
+	private long loadIndex() throws IOException {
+		InputStream input = new BufferedInputStream(Channels.newInputStream(this.channel.position(0)), 64 * 1024);
+		if (readInt(input) != MAGIC || readInt(input) != VERSION) {
+			throw new IllegalStateException("Not an embedding cache file: " + this.file);
+		}
+		long position = HEADER_BYTES;
+		try {
+			while (true) {
+				int keyLength = readInt(input);
+				long offset = position + Integer.BYTES + keyLength + Integer.BYTES;
+				if (keyLength < 0 || offset > this.channel.size()) {
+					break;
+				}
+				String key = new String(input.readNBytes(keyLength), StandardCharsets.UTF_8);
+				int dimensions = readInt(input);
+				long vectorBytes = (long) dimensions * Float.BYTES;
+				if (dimensions < 0 || offset + vectorBytes > this.channel.size()) {
+					break;
+				}
+				input.skipNBytes(vectorBytes);
+				this.index.put(key, new Entry(offset, dimensions));
+				position = offset + vectorBytes;
+			}
+		}
+		catch (EOFException ex) {
+			// End of the last complete record.
+		}
+		if (position < this.channel.size()) {
+			logger.warn("Dropping the truncated last record of the embedding cache file {}", this.file);
+			this.channel.truncate(position);
+		}
+		return position;
+	}
+
+	private static int readInt(InputStream input) throws IOException {
+		byte[] bytes = input.readNBytes(Integer.BYTES);
+		if (bytes.length < Integer.BYTES) {
+			throw new EOFException();
+		}
+		return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).getInt();
+	}
+
+	@Override
+	@Nullable
+	public float[] get(String key) {
+		Entry entry = this.index.get(key);
+		if (entry == null) {
+			return null;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(entry.dimensions() * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		try {
+			long position = entry.offset();
+			while (buffer.hasRemaining()) {
+				int read = this.channel.read(buffer, position);
+				if (read < 0) {
+					throw new EOFException("Unexpected end of the embedding cache file " + this.file);
+				}
+				position += read;
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to read from the embedding cache file " + this.file, ex);
+		}
+		float[] embedding = new float[entry.dimensions()];
+		buffer.flip().asFloatBuffer().get(embedding);
+		return embedding;
+	}
+
+	/**
+	 * Appends the embedding to the file, unless the key is already stored. As the keys
+	 * address the embedded content, the stored embedding is kept.
+	 */
+	@Override
+	public synchronized void put(String key, float[] embedding) {
+		Assert.notNull(key, "key must not be null");
+		Assert.notNull(embedding, "embedding must not be null");
+		if (this.index.containsKey(key)) {
+			return;
+		}
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		ByteBuffer record = ByteBuffer
+			.allocate(Integer.BYTES + keyBytes.length + Integer.BYTES + embedding.length * Float.BYTES)
+			.order(ByteOrder.LITTLE_ENDIAN);
+		record.putInt(keyBytes.length).put(keyBytes).putInt(embedding.length);
+		record.asFloatBuffer().put(embedding);
+		record.rewind();
+		try {
+			writeFully(record, this.end);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to write to the embedding cache file " + this.file, ex);
+		}
+		this.index.put(key, new Entry(this.end + Integer.BYTES + keyBytes.length + Integer.BYTES, embedding.length));
+		this.end += record.capacity();
+	}
+
+	private void writeFully(ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			position += this.channel.write(buffer, position);
+		}
+	}
+
+	public int size() {
+		return this.index.size();
+	}
+
+	/**
+	 * Forces the appended embeddings to the storage device.
+	 */
+	public void flush() {
+		try {
+			this.channel.force(false);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to flush the embedding cache file " + this.file, ex);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (this.channel.isOpen()) {
+			this.channel.force(false);
+			this.channel.close();
+		}
+	}
+
+}
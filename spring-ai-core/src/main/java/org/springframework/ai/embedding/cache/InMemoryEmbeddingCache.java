@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link EmbeddingCache} keeping the most recently used embeddings on the heap, up to a
+ * maximum number of entries. A 1536 dimensions embedding takes about 6 KB.
+ *
+ * @since 1.0.0
+ */
+public class InMemoryEmbeddingCache implements EmbeddingCache {
+
+	private final int maxEntries;
+
+	private final LinkedHashMap<String, float[]> entries;
+
+	/**
+	 * @param maxEntries the maximum number of embeddings kept. The least recently used
+	 * embedding is evicted when the cache is full.
+	 */
+	public InMemoryEmbeddingCache(int maxEntries) {
+		Assert.isTrue(maxEntries > 0, "maxEntries must be greater than 0");
+		this.maxEntries = maxEntries;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, float[]> eldest) {
+				return size() > InMemoryEmbeddingCache.this.maxEntries;
+			}
+
+		};
+	}
+
+	@Override
+	@Nullable
+	public float[] get(String key) {
+		float[] embedding;
+		synchronized (this.entries) {
+			embedding = this.entries.get(key);
+		}
+		// Copies keep the cached embeddings safe from changes by the callers.
+		return (embedding != null) ? embedding.clone() : null;
+	}
+
+	@Override
+	public void put(String key, float[] embedding) {
+		Assert.notNull(key, "key must not be null");
+		Assert.notNull(embedding, "embedding must not be null");
+		float[] copy = embedding.clone();
+		synchronized (this.entries) {
+			this.entries.put(key, copy);
+		}
+	}
+
+	public int size() {
+		synchronized (this.entries) {
+			return this.entries.size();
+		}
+	}
+
+	public int getMaxEntries() {
+		return this.maxEntries;
+	}
+
+}
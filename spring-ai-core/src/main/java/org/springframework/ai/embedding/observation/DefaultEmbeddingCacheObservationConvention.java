@@ -0,0 +1,56 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding.observation;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+
+import org.springframework.ai.embedding.observation.EmbeddingCacheObservationDocumentation.HighCardinalityKeyNames;
+import org.springframework.ai.embedding.observation.EmbeddingCacheObservationDocumentation.LowCardinalityKeyNames;
+import org.springframework.ai.observation.conventions.SpringAiKind;
+
+/**
+ * Default conventions to populate observations for cached embedding requests.
+ *
+ * @since 1.0.0
+ */
+public class DefaultEmbeddingCacheObservationConvention implements EmbeddingCacheObservationConvention {
+
+	public static final String DEFAULT_NAME = "spring.ai.embedding.cache";
+
+	@Override
+	public String getName() {
+		return DEFAULT_NAME;
+	}
+
+	@Override
+	public String getContextualName(EmbeddingCacheObservationContext context) {
+		return "%s %s".formatted(SpringAiKind.EMBEDDING_CACHE.value(), context.getModel());
+	}
+
+	@Override
+	public KeyValues getLowCardinalityKeyValues(EmbeddingCacheObservationContext context) {
+		return KeyValues.of(KeyValue.of(LowCardinalityKeyNames.SPRING_AI_KIND, SpringAiKind.EMBEDDING_CACHE.value()),
+				KeyValue.of(LowCardinalityKeyNames.REQUEST_MODEL, context.getModel()));
+	}
+
+	@Override
+	public KeyValues getHighCardinalityKeyValues(EmbeddingCacheObservationContext context) {
+		return KeyValues.of(KeyValue.of(HighCardinalityKeyNames.CACHE_HITS, String.valueOf(context.getHits())),
+				KeyValue.of(HighCardinalityKeyNames.CACHE_MISSES, String.valueOf(context.getMisses())));
+	}
+
+}
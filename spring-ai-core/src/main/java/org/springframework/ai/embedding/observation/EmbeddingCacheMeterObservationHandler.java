@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding.observation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+
+/**
+ * Handler counting the embedding cache hits and misses, as the
+ * {@value #LOOKUPS_METRIC_NAME} metric with a {@code result} tag of {@code hit} or
+ * {@code miss}.
+ *
+ * @since 1.0.0
+ */
+public class EmbeddingCacheMeterObservationHandler implements ObservationHandler<EmbeddingCacheObservationContext> {
+
+	public static final String LOOKUPS_METRIC_NAME = "spring.ai.embedding.cache.lookups";
+
+	private static final String DESCRIPTION = "Measures number of embedding cache lookups";
+
+	private final MeterRegistry meterRegistry;
+
+	public EmbeddingCacheMeterObservationHandler(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public void onStop(EmbeddingCacheObservationContext context) {
+		List<Tag> tags = new ArrayList<>();
+		for (KeyValue keyValue : context.getLowCardinalityKeyValues()) {
+			tags.add(Tag.of(keyValue.getKey(), keyValue.getValue()));
+		}
+		count("hit", context.getHits(), tags);
+		count("miss", context.getMisses(), tags);
+	}
+
+	private void count(String result, int lookups, List<Tag> tags) {
+		Counter.builder(LOOKUPS_METRIC_NAME)
+			.tag("result", result)
+			.description(DESCRIPTION)
+			.tags(tags)
+			.register(this.meterRegistry)
+			.increment(lookups);
+	}
+
+	@Override
+	public boolean supportsContext(Observation.Context context) {
+		return context instanceof EmbeddingCacheObservationContext;
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding.observation;
+
+import io.micrometer.observation.Observation;
+
+import org.springframework.util.Assert;
+
+/**
+ * Context used to store the cache hits and misses of an embedding request served by a
+ * {@link org.springframework.ai.embedding.cache.CachingEmbeddingModel}.
+ *
+ * @since 1.0.0
+ */
+public class EmbeddingCacheObservationContext extends Observation.Context {
+
+	private final String model;
+
+	private final int requestSize;
+
+	private int hits;
+
+	private int misses;
+
+	public EmbeddingCacheObservationContext(String model, int requestSize) {
+		Assert.hasText(model, "model cannot be null or empty");
+		this.model = model;
+		this.requestSize = requestSize;
+	}
+
+	public String getModel() {
+		return this.model;
+	}
+
+	public int getRequestSize() {
+		return this.requestSize;
+	}
+
+	public int getHits() {
+		return this.hits;
+	}
+
+	public void setHits(int hits) {
+		this.hits = hits;
+	}
+
+	public int getMisses() {
+		return this.misses;
+	}
+
+	public void setMisses(int misses) {
+		this.misses = misses;
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding.observation;
+
+import io.micrometer.common.docs.KeyName;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationConvention;
+import io.micrometer.observation.docs.ObservationDocumentation;
+
+import org.springframework.ai.observation.conventions.AiObservationAttributes;
+
+/**
+ * Documented conventions for cached embedding requests.
+ *
+ * @since 1.0.0
+ */
+public enum EmbeddingCacheObservationDocumentation implements ObservationDocumentation {
+
+	EMBEDDING_CACHE_OPERATION {
+		@Override
+		public Class<? extends ObservationConvention<? extends Observation.Context>> getDefaultConvention() {
+			return DefaultEmbeddingCacheObservationConvention.class;
+		}
+
+		@Override
+		public KeyName[] getLowCardinalityKeyNames() {
+			return LowCardinalityKeyNames.values();
+		}
+
+		@Override
+		public KeyName[] getHighCardinalityKeyNames() {
+			return HighCardinalityKeyNames.values();
+		}
+	};
+
+	/**
+	 * Low-cardinality observation key names for cached embedding requests.
+	 */
+	public enum LowCardinalityKeyNames implements KeyName {
+
+		/**
+		 * Spring AI kind.
+		 */
+		SPRING_AI_KIND {
+			@Override
+			public String asString() {
+				return "spring.ai.kind";
+			}
+		},
+
+		/**
+		 * The name of the model the cached embeddings were computed with.
+		 */
+		REQUEST_MODEL {
+			@Override
+			public String asString() {
+				return AiObservationAttributes.REQUEST_MODEL.value();
+			}
+		}
+
+	}
+
+	/**
+	 * High-cardinality observation key names for cached embedding requests.
+	 */
+	public enum HighCardinalityKeyNames implements KeyName {
+
+		/**
+		 * The number of inputs served from the cache.
+		 */
+		CACHE_HITS {
+			@Override
+			public String asString() {
+				return "spring.ai.embedding.cache.hits";
+			}
+		},
+
+		/**
+		 * The number of inputs sent to the embedding model.
+		 */
+		CACHE_MISSES {
+			@Override
+			public String asString() {
+				return "spring.ai.embedding.cache.misses";
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+/**
+ * Deserializes an embedding vector into a {@code float[]}, from either of the two
+ * encodings of the OpenAI compatible embedding APIs:
+ * <ul>
+ * <li>{@code float}: a JSON array of numbers.</li>
+ * <li>{@code base64}: a base64 string of the little-endian IEEE 754 floats of the vector.
+ * The payload is about a quarter of the size of the number array, and is decoded without
+ * parsing decimal literals.</li>
+ * </ul>
+ *
+ * Use it on the embedding property of the API response model with
+ * {@code @JsonDeserialize(using = EmbeddingVectorDeserializer.class)}.
+ *
+ * @since 1.0.0
+ */
+public class EmbeddingVectorDeserializer extends StdDeserializer<float[]> {
+
+	private static final Base64Variant BASE64 = Base64Variants.MIME_NO_LINEFEEDS
+		.withReadPadding(Base64Variant.PaddingReadBehaviour.PADDING_ALLOWED);
+
+	private static final int INITIAL_CAPACITY = 256;
+
+	public EmbeddingVectorDeserializer() {
+		super(float[].class);
+	}
+
+	@Override
+	public float[] deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+		JsonToken token = parser.currentToken();
+		if (token == JsonToken.VALUE_STRING) {
+			byte[] bytes = parser.getBinaryValue(BASE64);
+			if (bytes.length % Float.BYTES != 0) {
+				return (float[]) context.handleWeirdStringValue(float[].class, parser.getText(),
+						"base64 embedding of %d bytes is not a sequence of 4 byte floats", bytes.length);
+			}
+			return fromLittleEndianBytes(bytes);
+		}
+		if (token == JsonToken.START_ARRAY) {
+			return readFloatArray(parser, context);
+		}
+		return (float[]) context.handleUnexpectedToken(float[].class, parser);
+	}
+
+	/**
+	 * @param bytes the little-endian IEEE 754 floats of a vector.
+	 * @return the vector.
+	 */
+	public static float[] fromLittleEndianBytes(byte[] bytes) {
+		float[] vector = new float[bytes.length / Float.BYTES];
+		ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+		return vector;
+	}
+
+	private float[] readFloatArray(JsonParser parser, DeserializationContext context) throws IOException {
+		float[] vector = new float[INITIAL_CAPACITY];
+		int size = 0;
+		JsonToken token;
+		while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+			if (token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_NUMBER_INT) {
+				return (float[]) context.handleUnexpectedToken(float[].class, parser);
+			}
+			if (size == vector.length) {
+				vector = Arrays.copyOf(vector, size * 2);
+			}
+			vector[size++] = parser.getFloatValue();
+		}
+		return (size == vector.length) ? vector : Arrays.copyOf(vector, size);
+	}
+
+}
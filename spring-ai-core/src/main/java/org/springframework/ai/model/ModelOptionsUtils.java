@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -32,6 +33,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -105,6 +107,26 @@ public abstract class ModelOptionsUtils {
 		}
 	}
 
+	/**
+	 * Returns a function converting JSON strings into objects of the given type, like
+	 * {@link #jsonToObject(String, Class)}. The function reuses a single
+	 * {@link ObjectReader}, which suits converting the many chunks of a stream.
+	 * @param <T> the type of the object to convert to.
+	 * @param type the class of the object to convert to.
+	 * @return the JSON to object function.
+	 */
+	public static <T> Function<String, T> jsonToObjectFunction(Class<T> type) {
+		ObjectReader reader = OBJECT_MAPPER.readerFor(type);
+		return json -> {
+			try {
+				return reader.readValue(json);
+			}
+			catch (Exception e) {
+				throw new RuntimeException("Failed to json: " + json, e);
+			}
+		};
+	}
+
 	/**
 	 * Converts the given object to a JSON string.
 	 * @param object the object to convert to a JSON string.
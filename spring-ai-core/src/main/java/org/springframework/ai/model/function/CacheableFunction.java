@@ -0,0 +1,52 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.model.function;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Declares a function bean as deterministic, so that the {@link FunctionCallbackContext}
+ * caches its responses in a {@link FunctionResultCache} shared by all the chat models
+ * calling it.
+ *
+ * @since 1.0.0
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CacheableFunction {
+
+	/**
+	 * @return the duration a response is served from the cache, in {@link #timeUnit()}.
+	 */
+	long timeToLive() default 300;
+
+	/**
+	 * @return the time unit of the {@link #timeToLive()}.
+	 */
+	TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+	/**
+	 * @return the maximum number of cached responses.
+	 */
+	int maxEntries() default FunctionResultCache.DEFAULT_MAX_ENTRIES;
+
+}
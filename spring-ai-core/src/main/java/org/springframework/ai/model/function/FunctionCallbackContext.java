@@ -16,6 +16,9 @@
 package org.springframework.ai.model.function;
 
 import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import com.fasterxml.jackson.annotation.JsonClassDescription;
@@ -54,6 +57,12 @@ public class FunctionCallbackContext implements ApplicationContextAware {
 
 	private SchemaType schemaType = SchemaType.JSON_SCHEMA;
 
+	/**
+	 * Result caches of the {@link CacheableFunction} beans, shared by all the callbacks
+	 * resolved for the same bean.
+	 */
+	private final Map<String, FunctionResultCache> resultCaches = new ConcurrentHashMap<>();
+
 	public void setSchemaType(SchemaType schemaType) {
 		this.schemaType = schemaType;
 	}
@@ -111,12 +120,23 @@ public class FunctionCallbackContext implements ApplicationContextAware {
 		Object bean = this.applicationContext.getBean(beanName);
 
 		if (bean instanceof Function<?, ?> function) {
-			return FunctionCallbackWrapper.builder(function)
+			FunctionCallbackWrapper.Builder builder = FunctionCallbackWrapper.builder(function)
 				.withName(functionName)
 				.withSchemaType(this.schemaType)
 				.withDescription(functionDescription)
-				.withInputType(functionInputClass)
-				.build();
+				.withInputType(functionInputClass);
+
+			CacheableFunction cacheableFunction = this.applicationContext.findAnnotationOnBean(beanName,
+					CacheableFunction.class);
+			if (cacheableFunction != null) {
+				builder
+					.withResultCache(this.resultCaches.computeIfAbsent(beanName,
+							name -> new FunctionResultCache(
+									Duration.of(cacheableFunction.timeToLive(),
+											cacheableFunction.timeUnit().toChronoUnit()),
+									cacheableFunction.maxEntries())));
+			}
+			return builder.build();
 		}
 		else {
 			throw new IllegalArgumentException("Bean must be of type Function");
@@ -23,6 +23,7 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -36,11 +37,16 @@ public class FunctionCallbackWrapper<I, O> extends AbstractFunctionCallback<I, O
 
 	private final Function<I, O> function;
 
+	@Nullable
+	private final FunctionResultCache resultCache;
+
 	private FunctionCallbackWrapper(String name, String description, String inputTypeSchema, Class<I> inputType,
-			Function<O, String> responseConverter, ObjectMapper objectMapper, Function<I, O> function) {
+			Function<O, String> responseConverter, ObjectMapper objectMapper, Function<I, O> function,
+			@Nullable FunctionResultCache resultCache) {
 		super(name, description, inputTypeSchema, inputType, responseConverter, objectMapper);
 		Assert.notNull(function, "Function must not be null");
 		this.function = function;
+		this.resultCache = resultCache;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -53,6 +59,14 @@ public class FunctionCallbackWrapper<I, O> extends AbstractFunctionCallback<I, O
 		return this.function.apply(input);
 	}
 
+	@Override
+	public String call(String functionArguments) {
+		if (this.resultCache == null) {
+			return super.call(functionArguments);
+		}
+		return this.resultCache.call(getName(), functionArguments, super::call);
+	}
+
 	public static <I, O> Builder<I, O> builder(Function<I, O> function) {
 		return new Builder<>(function);
 	}
@@ -75,6 +89,8 @@ public class FunctionCallbackWrapper<I, O> extends AbstractFunctionCallback<I, O
 
 		private SchemaType schemaType = SchemaType.JSON_SCHEMA;
 
+		private FunctionResultCache resultCache;
+
 		public Builder(Function<I, O> function) {
 			Assert.notNull(function, "Function must not be null");
 			this.function = function;
@@ -132,6 +148,20 @@ public class FunctionCallbackWrapper<I, O> extends AbstractFunctionCallback<I, O
 			return this;
 		}
 
+		/**
+		 * Cache the responses of a deterministic function. Calls with the same JSON
+		 * arguments are then served from the cache, and concurrent calls with the same
+		 * arguments execute the function once. Not cached by default.
+		 * @param resultCache the cache, which can be shared by several functions, the
+		 * responses being keyed on the function name and arguments.
+		 * @return this builder.
+		 */
+		public Builder<I, O> withResultCache(FunctionResultCache resultCache) {
+			Assert.notNull(resultCache, "ResultCache must not be null");
+			this.resultCache = resultCache;
+			return this;
+		}
+
 		public FunctionCallbackWrapper<I, O> build() {
 
 			Assert.hasText(this.name, "Name must not be empty");
@@ -150,7 +180,7 @@ public class FunctionCallbackWrapper<I, O> extends AbstractFunctionCallback<I, O
 			}
 
 			return new FunctionCallbackWrapper<>(this.name, this.description, this.inputTypeSchema, this.inputType,
-					this.responseConverter, this.objectMapper, this.function);
+					this.responseConverter, this.objectMapper, this.function, this.resultCache);
 		}
 
 	}
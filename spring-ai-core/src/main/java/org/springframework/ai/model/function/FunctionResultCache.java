@@ -0,0 +1,253 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.model.function;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import org.springframework.util.Assert;
+
+/**
+ * Cache of the responses of deterministic functions, keyed on the function name and its
+ * canonical JSON arguments. Arguments differing only by the order of their properties or
+ * by whitespace share the same response.
+ *
+ * Responses expire after a time to live, and the least recently used response is evicted
+ * when the cache is full. Concurrent calls with the same arguments are coalesced: the
+ * function is executed once and every caller receives its response. The callers waiting
+ * for the call in flight can be interrupted, for instance by a tool call timeout. A
+ * failed execution is not cached.
+ *
+ * @since 1.0.0
+ * @see FunctionCallbackWrapper.Builder#withResultCache(FunctionResultCache)
+ * @see CacheableFunction
+ */
+public class FunctionResultCache {
+
+	public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+	// Big decimals keep distinct numbers from sharing a key.
+	private static final ObjectMapper CANONICAL_OBJECT_MAPPER = JsonMapper.builder()
+		.enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+		.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+		.build();
+
+	private final Duration timeToLive;
+
+	private final int maxEntries;
+
+	private final Clock clock;
+
+	private final LinkedHashMap<Key, Entry> entries;
+
+	private final Map<Key, CompletableFuture<String>> inFlightCalls = new ConcurrentHashMap<>();
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private record Key(String functionName, String functionArguments) {
+	}
+
+	private record Entry(String response, long expiresAt) {
+	}
+
+	/**
+	 * @param timeToLive the duration a response is served from the cache.
+	 * @param maxEntries the maximum number of cached responses.
+	 */
+	public FunctionResultCache(Duration timeToLive, int maxEntries) {
+		this(timeToLive, maxEntries, Clock.systemUTC());
+	}
+
+	FunctionResultCache(Duration timeToLive, int maxEntries, Clock clock) {
+		Assert.notNull(timeToLive, "timeToLive must not be null");
+		Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "timeToLive must be positive");
+		Assert.isTrue(maxEntries > 0, "maxEntries must be greater than 0");
+		Assert.notNull(clock, "clock must not be null");
+		this.timeToLive = timeToLive;
+		this.maxEntries = maxEntries;
+		this.clock = clock;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				return size() > FunctionResultCache.this.maxEntries;
+			}
+
+		};
+	}
+
+	/**
+	 * Returns the cached response for the arguments, or the response of the function,
+	 * executed once for all the concurrent callers with the same arguments.
+	 * @param functionName the name of the function, so that several functions can share
+	 * the cache.
+	 * @param functionArguments the JSON arguments of the function.
+	 * @param function the function computing the response on a cache miss.
+	 * @return the function response.
+	 */
+	public String call(String functionName, String functionArguments, Function<String, String> function) {
+		Assert.notNull(functionName, "functionName must not be null");
+		Key key = new Key(functionName, canonicalize(functionArguments));
+
+		String response = lookup(key);
+		if (response != null) {
+			this.hitCount.incrementAndGet();
+			return response;
+		}
+
+		CompletableFuture<String> call = new CompletableFuture<>();
+		CompletableFuture<String> inFlightCall = this.inFlightCalls.putIfAbsent(key, call);
+		if (inFlightCall != null) {
+			this.hitCount.incrementAndGet();
+			return join(inFlightCall);
+		}
+
+		try {
+			// The call in flight may have completed since the lookup.
+			response = lookup(key);
+			if (response != null) {
+				this.hitCount.incrementAndGet();
+			}
+			else {
+				this.missCount.incrementAndGet();
+				response = function.apply(functionArguments);
+				store(key, response);
+			}
+			call.complete(response);
+			return response;
+		}
+		catch (Throwable ex) {
+			// Also releases the waiting callers on checked exceptions thrown sneakily.
+			call.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.inFlightCalls.remove(key, call);
+		}
+	}
+
+	private String lookup(Key key) {
+		synchronized (this.entries) {
+			Entry entry = this.entries.get(key);
+			if (entry == null) {
+				return null;
+			}
+			if (entry.expiresAt() <= this.clock.millis()) {
+				this.entries.remove(key);
+				return null;
+			}
+			return entry.response();
+		}
+	}
+
+	private void store(Key key, String response) {
+		if (response == null) {
+			return;
+		}
+		long expiresAt = this.clock.millis() + this.timeToLive.toMillis();
+		synchronized (this.entries) {
+			this.entries.put(key, new Entry(response, expiresAt));
+		}
+	}
+
+	private static String join(CompletableFuture<String> call) {
+		try {
+			// Unlike join(), get() returns when the waiting thread is interrupted.
+			return call.get();
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (ex.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException("Function call failed", ex.getCause());
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for the function call in flight", ex);
+		}
+	}
+
+	/**
+	 * Serializes the JSON arguments with sorted object properties and no whitespace. The
+	 * arguments are used as is when they are not valid JSON.
+	 */
+	static String canonicalize(String functionArguments) {
+		if (functionArguments == null) {
+			return "";
+		}
+		try {
+			Object arguments = CANONICAL_OBJECT_MAPPER.readValue(functionArguments, Object.class);
+			return CANONICAL_OBJECT_MAPPER.writeValueAsString(arguments);
+		}
+		catch (JsonProcessingException ex) {
+			return functionArguments;
+		}
+	}
+
+	public void clear() {
+		synchronized (this.entries) {
+			this.entries.clear();
+		}
+	}
+
+	public int size() {
+		synchronized (this.entries) {
+			return this.entries.size();
+		}
+	}
+
+	/**
+	 * @return the number of calls served from the cache or coalesced with a call in
+	 * flight.
+	 */
+	public long getHitCount() {
+		return this.hitCount.get();
+	}
+
+	/**
+	 * @return the number of calls executing the function.
+	 */
+	public long getMissCount() {
+		return this.missCount.get();
+	}
+
+	public Duration getTimeToLive() {
+		return this.timeToLive;
+	}
+
+	public int getMaxEntries() {
+		return this.maxEntries;
+	}
+
+}
@@ -27,6 +27,8 @@ public enum SpringAiKind {
 
 	CHAT_CLIENT("chat_client"),
 	CHAT_CLIENT_ADVISOR("chat_client_advisor"),
+	EMBEDDING_CACHE("embedding_cache"),
+	TOOL_CALL("tool_call"),
 	VECTOR_STORE("vector_store");
 
 	private final String value;
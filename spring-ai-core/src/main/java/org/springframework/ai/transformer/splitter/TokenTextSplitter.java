@@ -15,8 +15,15 @@
  */
 package org.springframework.ai.transformer.splitter;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import com.knuddels.jtokkit.Encodings;
 import com.knuddels.jtokkit.api.Encoding;
@@ -24,14 +31,29 @@ import com.knuddels.jtokkit.api.EncodingRegistry;
 import com.knuddels.jtokkit.api.EncodingType;
 import com.knuddels.jtokkit.api.IntArrayList;
 
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
+ * Splits text into chunks of up to {@code defaultChunkSize} tokens, cut after the last
+ * sentence end or line break of the chunk if it leaves at least {@code minChunkSizeChars}
+ * characters.
+ *
+ * The text is encoded once into a token array, and every chunk is decoded once from the
+ * bytes of its tokens. {@link #chunkIterator(Reader)} splits a text of any size with
+ * bounded memory, by encoding it one window at a time.
+ *
  * @author Raphael Yu
  * @author Christian Tzolov
  */
 public class TokenTextSplitter extends TextSplitter {
 
+	/**
+	 * The number of characters read and encoded at once by
+	 * {@link #chunkIterator(Reader)}.
+	 */
+	private static final int READ_WINDOW_CHARS = 64 * 1024;
+
 	private final EncodingRegistry registry = Encodings.newLazyEncodingRegistry();
 
 	private final Encoding encoding = registry.getEncoding(EncodingType.CL100K_BASE);
@@ -75,62 +97,277 @@ public class TokenTextSplitter extends TextSplitter {
 		if (text == null || text.trim().isEmpty()) {
 			return new ArrayList<>();
 		}
-
-		List<Integer> tokens = getEncodedTokens(text);
 		List<String> chunks = new ArrayList<>();
-		int num_chunks = 0;
-		while (!tokens.isEmpty() && num_chunks < this.maxNumChunks) {
-			List<Integer> chunk = tokens.subList(0, Math.min(chunkSize, tokens.size()));
-			String chunkText = decodeTokens(chunk);
-
-			// Skip the chunk if it is empty or whitespace
-			if (chunkText.trim().isEmpty()) {
-				tokens = tokens.subList(chunk.size(), tokens.size());
-				continue;
+		new ChunkIterator(this.encoding.encode(text), null, chunkSize).forEachRemaining(chunks::add);
+		return chunks;
+	}
+
+	/**
+	 * Split the text read from the reader lazily. The text is read and encoded one window
+	 * at a time, so that only the tokens of the current window are held in memory. The
+	 * windows are cut between two words, which yields the same chunks as
+	 * {@link #split(org.springframework.ai.document.Document)} for usual texts. Once
+	 * {@code maxNumChunks} chunks are returned, the other split methods return the rest
+	 * of the text as a single last chunk. This iterator returns it as one chunk per read
+	 * window instead, to keep the memory bounded.
+	 * @param reader the reader of the text to split. It is closed neither by the
+	 * iterator, nor on exhaustion.
+	 * @return an iterator over the text chunks.
+	 */
+	public Iterator<String> chunkIterator(Reader reader) {
+		Assert.notNull(reader, "Reader must not be null");
+		return new ChunkIterator(new IntArrayList(), reader, this.defaultChunkSize);
+	}
+
+	private static int lastSeparator(byte[] bytes, int length) {
+		for (int i = length - 1; i >= 0; i--) {
+			byte b = bytes[i];
+			if (b == '.' || b == '?' || b == '!' || b == '\n') {
+				return i;
 			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Iterates over the chunks of a token buffer, refilled from an optional reader. An
+	 * iterator is used by a single thread.
+	 */
+	private final class ChunkIterator implements Iterator<String> {
+
+		private final int chunkSize;
 
-			// Find the last period or punctuation mark in the chunk
-			int lastPunctuation = Math.max(chunkText.lastIndexOf('.'), Math.max(chunkText.lastIndexOf('?'),
-					Math.max(chunkText.lastIndexOf('!'), chunkText.lastIndexOf('\n'))));
+		@Nullable
+		private final Reader reader;
+
+		/**
+		 * Text read but not encoded yet, because it follows the last word break of the
+		 * read window.
+		 */
+		private final StringBuilder pendingText = new StringBuilder();
+
+		private final char[] readBuffer;
+
+		private int[] tokens;
+
+		private int start;
+
+		private int end;
+
+		private boolean endOfInput;
+
+		private int chunkCount;
+
+		private byte[] chunkBytes = new byte[0];
+
+		private int[] tokenByteEnds;
+
+		/**
+		 * The UTF-8 bytes of every token decoded so far, indexed by token.
+		 */
+		private byte[][] tokenBytes = new byte[0][];
+
+		@Nullable
+		private String next;
+
+		ChunkIterator(IntArrayList tokens, @Nullable Reader reader, int chunkSize) {
+			Assert.isTrue(chunkSize > 0, "chunkSize must be greater than 0");
+			this.chunkSize = chunkSize;
+			this.reader = reader;
+			this.tokens = tokens.toArray();
+			this.end = this.tokens.length;
+			this.endOfInput = (reader == null);
+			this.readBuffer = (reader != null) ? new char[READ_WINDOW_CHARS] : new char[0];
+			this.tokenByteEnds = new int[chunkSize];
+		}
 
-			if (lastPunctuation != -1 && lastPunctuation > this.minChunkSizeChars) {
-				// Truncate the chunk text at the punctuation mark
-				chunkText = chunkText.substring(0, lastPunctuation + 1);
+		@Override
+		public boolean hasNext() {
+			if (this.next == null) {
+				this.next = computeNext();
 			}
+			return this.next != null;
+		}
 
-			String chunkTextToAppend = (this.keepSeparator) ? chunkText.trim()
-					: chunkText.replace(System.lineSeparator(), " ").trim();
-			if (chunkTextToAppend.length() > this.minChunkLengthToEmbed) {
-				chunks.add(chunkTextToAppend);
+		@Override
+		public String next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
 			}
+			String chunk = this.next;
+			this.next = null;
+			return chunk;
+		}
+
+		@Nullable
+		private String computeNext() {
+			while (this.chunkCount < TokenTextSplitter.this.maxNumChunks) {
+				fill(this.chunkSize);
+				if (this.start == this.end) {
+					return null;
+				}
+				int chunkTokens = Math.min(this.chunkSize, this.end - this.start);
+				int byteLength = decode(chunkTokens);
+				String chunkText = new String(this.chunkBytes, 0, byteLength, StandardCharsets.UTF_8);
+
+				// Skip the chunk if it is empty or whitespace
+				if (chunkText.trim().isEmpty()) {
+					this.start += chunkTokens;
+					continue;
+				}
 
-			// Remove the tokens corresponding to the chunk text from the remaining tokens
-			tokens = tokens.subList(getEncodedTokens(chunkText).size(), tokens.size());
+				// Find the last period or punctuation mark in the chunk. The marks are
+				// ASCII characters, whose bytes never occur inside other characters.
+				int lastPunctuation = Math.max(chunkText.lastIndexOf('.'), Math.max(chunkText.lastIndexOf('?'),
+						Math.max(chunkText.lastIndexOf('!'), chunkText.lastIndexOf('\n'))));
+
+				int consumedTokens = chunkTokens;
+				if (lastPunctuation != -1 && lastPunctuation > TokenTextSplitter.this.minChunkSizeChars) {
+					// Truncate the chunk text at the punctuation mark, and only
+					// consume the tokens up to the one holding the punctuation mark.
+					chunkText = chunkText.substring(0, lastPunctuation + 1);
+					int lastPunctuationByte = lastSeparator(this.chunkBytes, byteLength);
+					consumedTokens = 1;
+					while (this.tokenByteEnds[consumedTokens - 1] <= lastPunctuationByte) {
+						consumedTokens++;
+					}
+				}
+				this.start += consumedTokens;
+				this.chunkCount++;
+
+				String chunkTextToAppend = (TokenTextSplitter.this.keepSeparator) ? chunkText.trim()
+						: chunkText.replace(System.lineSeparator(), " ").trim();
+				if (chunkTextToAppend.length() > TokenTextSplitter.this.minChunkLengthToEmbed) {
+					return chunkTextToAppend;
+				}
+			}
 
-			num_chunks++;
+			// Handle the remaining tokens. A reader is consumed one window at a time,
+			// so that the rest of an arbitrarily long text is never buffered at once.
+			while (true) {
+				fill(this.chunkSize);
+				if (this.start == this.end) {
+					return null;
+				}
+				int byteLength = decode(this.end - this.start);
+				this.start = this.end;
+				String remainingText = new String(this.chunkBytes, 0, byteLength, StandardCharsets.UTF_8)
+					.replace(System.lineSeparator(), " ")
+					.trim();
+				if (remainingText.length() > TokenTextSplitter.this.minChunkLengthToEmbed) {
+					return remainingText;
+				}
+			}
 		}
 
-		// Handle the remaining tokens
-		if (!tokens.isEmpty()) {
-			String remaining_text = decodeTokens(tokens).replace(System.lineSeparator(), " ").trim();
-			if (remaining_text.length() > this.minChunkLengthToEmbed) {
-				chunks.add(remaining_text);
+		private byte[] tokenBytes(int token) {
+			if (token < this.tokenBytes.length && this.tokenBytes[token] != null) {
+				return this.tokenBytes[token];
+			}
+			IntArrayList singleToken = new IntArrayList(1);
+			singleToken.add(token);
+			byte[] bytes = TokenTextSplitter.this.encoding.decodeBytes(singleToken);
+			if (token >= this.tokenBytes.length) {
+				this.tokenBytes = Arrays.copyOf(this.tokenBytes, Math.max(token + 1, this.tokenBytes.length * 2));
 			}
+			this.tokenBytes[token] = bytes;
+			return bytes;
 		}
 
-		return chunks;
-	}
+		/**
+		 * Concatenate the bytes of the next tokens into {@link #chunkBytes}, and record
+		 * the end offset of every token in {@link #tokenByteEnds}.
+		 * @return the number of bytes of the tokens.
+		 */
+		private int decode(int tokenCount) {
+			if (this.tokenByteEnds.length < tokenCount) {
+				this.tokenByteEnds = new int[tokenCount];
+			}
+			int length = 0;
+			for (int i = 0; i < tokenCount; i++) {
+				byte[] bytes = tokenBytes(this.tokens[this.start + i]);
+				if (length + bytes.length > this.chunkBytes.length) {
+					this.chunkBytes = Arrays.copyOf(this.chunkBytes,
+							Math.max(length + bytes.length, 2 * this.chunkBytes.length));
+				}
+				System.arraycopy(bytes, 0, this.chunkBytes, length, bytes.length);
+				length += bytes.length;
+				this.tokenByteEnds[i] = length;
+			}
+			return length;
+		}
 
-	private List<Integer> getEncodedTokens(String text) {
-		Assert.notNull(text, "Text must not be null");
-		return this.encoding.encode(text).boxed();
-	}
+		/**
+		 * Read and encode windows of text until at least {@code minTokens} tokens are
+		 * buffered, or the input is exhausted.
+		 */
+		private void fill(int minTokens) {
+			while (!this.endOfInput && this.end - this.start < minTokens) {
+				String text = readWindow();
+				if (text.isEmpty()) {
+					continue;
+				}
+				IntArrayList encoded = TokenTextSplitter.this.encoding.encode(text);
+				// Move the buffered tokens to the front, growing the buffer if needed
+				int buffered = this.end - this.start;
+				int[] tokens = (buffered + encoded.size() > this.tokens.length)
+						? new int[Math.max(2 * this.tokens.length, buffered + encoded.size())] : this.tokens;
+				System.arraycopy(this.tokens, this.start, tokens, 0, buffered);
+				this.tokens = tokens;
+				this.start = 0;
+				this.end = buffered;
+				for (int i = 0; i < encoded.size(); i++) {
+					this.tokens[this.end++] = encoded.get(i);
+				}
+			}
+		}
+
+		/**
+		 * Read the next window of text, cut before the last space between two letters,
+		 * where the encoding of the text starts a new token anyway.
+		 */
+		private String readWindow() {
+			try {
+				int read = this.reader.read(this.readBuffer);
+				if (read < 0) {
+					this.endOfInput = true;
+					String text = this.pendingText.toString();
+					this.pendingText.setLength(0);
+					return text;
+				}
+				this.pendingText.append(this.readBuffer, 0, read);
+				int cut = wordBreak(this.pendingText);
+				if (cut <= 0) {
+					return "";
+				}
+				String text = this.pendingText.substring(0, cut);
+				this.pendingText.delete(0, cut);
+				return text;
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException("Failed to read the text to split", ex);
+			}
+		}
+
+		/**
+		 * @return the index of the last space between two letters, or 0 if the text has
+		 * none. Texts without any word break are cut at their end once they exceed a few
+		 * windows.
+		 */
+		private int wordBreak(CharSequence text) {
+			for (int i = text.length() - 2; i > 0; i--) {
+				if (text.charAt(i) == ' ' && Character.isLetter(text.charAt(i - 1))
+						&& Character.isLetter(text.charAt(i + 1))) {
+					return i;
+				}
+			}
+			if (text.length() < 4 * READ_WINDOW_CHARS) {
+				return 0;
+			}
+			// Don't separate the two halves of a surrogate pair
+			return Character.isHighSurrogate(text.charAt(text.length() - 1)) ? text.length() - 1 : text.length();
+		}
 
-	private String decodeTokens(List<Integer> tokens) {
-		Assert.notNull(tokens, "Tokens must not be null");
-		var tokensIntArray = new IntArrayList(tokens.size());
-		tokens.forEach(tokensIntArray::add);
-		return this.encoding.decode(tokensIntArray);
 	}
 
 }
@@ -44,12 +44,26 @@ public class SearchRequest {
 	 */
 	public static final int DEFAULT_TOP_K = 4;
 
+	/**
+	 * Keyword weight of a pure similarity search, without keyword matching.
+	 */
+	public static final double KEYWORD_WEIGHT_NONE = 0.0;
+
+	/**
+	 * Search effort of the vector store defaults.
+	 */
+	public static final double DEFAULT_SEARCH_EFFORT = 1.0;
+
 	public String query;
 
 	private int topK = DEFAULT_TOP_K;
 
 	private double similarityThreshold = SIMILARITY_THRESHOLD_ACCEPT_ALL;
 
+	private double keywordWeight = KEYWORD_WEIGHT_NONE;
+
+	private double searchEffort = DEFAULT_SEARCH_EFFORT;
+
 	private Filter.Expression filterExpression;
 
 	private SearchRequest(String query) {
@@ -85,6 +99,8 @@ public class SearchRequest {
 	public static SearchRequest from(SearchRequest originalSearchRequest) {
 		return new SearchRequest(originalSearchRequest.getQuery()).withTopK(originalSearchRequest.getTopK())
 			.withSimilarityThreshold(originalSearchRequest.getSimilarityThreshold())
+			.withKeywordWeight(originalSearchRequest.getKeywordWeight())
+			.withSearchEffort(originalSearchRequest.getSearchEffort())
 			.withFilterExpression(originalSearchRequest.getFilterExpression());
 	}
 
@@ -132,6 +148,37 @@ public class SearchRequest {
 		return withSimilarityThreshold(SIMILARITY_THRESHOLD_ACCEPT_ALL);
 	}
 
+	/**
+	 * Weight of the full-text keyword matching of the query, relative to the embedding
+	 * similarity, for the vector stores supporting hybrid search. Keyword matching
+	 * improves the recall of queries such as part numbers or error codes. A weight of 0.0
+	 * means a pure similarity search, a weight of 1.0 means a pure keyword search. The
+	 * vector stores without hybrid search ignore the keyword weight.
+	 * @param keywordWeight the weight of the keyword matching, in the [0,1] range.
+	 * @return this builder.
+	 */
+	public SearchRequest withKeywordWeight(double keywordWeight) {
+		Assert.isTrue(keywordWeight >= 0 && keywordWeight <= 1, "Keyword weight must be in [0,1] range.");
+		this.keywordWeight = keywordWeight;
+		return this;
+	}
+
+	/**
+	 * Hint scaling the effort the approximate nearest neighbor index of the vector store
+	 * spends on the search, relative to the default effort of the store. An effort of 0.5
+	 * halves, for example, the HNSW search candidate list size or the number of IVF lists
+	 * probed, trading recall for latency, while an effort of 4.0 quadruples it. The
+	 * vector stores map the effort to their native search parameter, and ignore it when
+	 * they do not support it.
+	 * @param searchEffort the positive search effort, 1.0 for the store defaults.
+	 * @return this builder.
+	 */
+	public SearchRequest withSearchEffort(double searchEffort) {
+		Assert.isTrue(searchEffort > 0, "Search effort must be positive.");
+		this.searchEffort = searchEffort;
+		return this;
+	}
+
 	/**
 	 * Retrieves documents by query embedding similarity and matching the filters. Value
 	 * of 'null' means that no metadata filters will be applied to the search.
@@ -242,6 +289,30 @@ public class SearchRequest {
 		return similarityThreshold;
 	}
 
+	public double getKeywordWeight() {
+		return keywordWeight;
+	}
+
+	public double getSearchEffort() {
+		return searchEffort;
+	}
+
+	/**
+	 * @return whether the search effort differs from the vector store defaults.
+	 */
+	public boolean hasSearchEffort() {
+		return Double.compare(this.searchEffort, DEFAULT_SEARCH_EFFORT) != 0;
+	}
+
+	/**
+	 * Scales a native search parameter, such as the HNSW ef_search, by the search effort.
+	 * @param defaultValue the value of the parameter for the default search effort.
+	 * @return the scaled value, at least 1.
+	 */
+	public int scaleBySearchEffort(int defaultValue) {
+		return (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.round(defaultValue * this.searchEffort)));
+	}
+
 	public Filter.Expression getFilterExpression() {
 		return filterExpression;
 	}
@@ -253,7 +324,8 @@ public class SearchRequest {
 	@Override
 	public String toString() {
 		return "SearchRequest{" + "query='" + query + '\'' + ", topK=" + topK + ", similarityThreshold="
-				+ similarityThreshold + ", filterExpression=" + filterExpression + '}';
+				+ similarityThreshold + ", keywordWeight=" + keywordWeight + ", searchEffort=" + searchEffort
+				+ ", filterExpression=" + filterExpression + '}';
 	}
 
 	@Override
@@ -264,12 +336,14 @@ public class SearchRequest {
 			return false;
 		SearchRequest that = (SearchRequest) o;
 		return topK == that.topK && Double.compare(that.similarityThreshold, similarityThreshold) == 0
-				&& Objects.equals(query, that.query) && Objects.equals(filterExpression, that.filterExpression);
+				&& Double.compare(that.keywordWeight, keywordWeight) == 0
+				&& Double.compare(that.searchEffort, searchEffort) == 0 && Objects.equals(query, that.query)
+				&& Objects.equals(filterExpression, that.filterExpression);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(query, topK, similarityThreshold, filterExpression);
+		return Objects.hash(query, topK, similarityThreshold, keywordWeight, searchEffort, filterExpression);
 	}
 
 }
\ No newline at end of file
@@ -15,22 +15,32 @@
  */
 package org.springframework.ai.vectorstore;
 
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,10 +48,26 @@ import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.observation.conventions.VectorStoreProvider;
 import org.springframework.ai.observation.conventions.VectorStoreSimilarityMetric;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionEvaluator;
 import org.springframework.ai.vectorstore.observation.AbstractObservationVectorStore;
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationContext;
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationConvention;
+import org.springframework.ai.vectorstore.simple.HnswIndex;
+import org.springframework.ai.vectorstore.simple.HnswIndex.HnswIndexConfig;
+import org.springframework.ai.vectorstore.simple.MetadataIndex;
+import org.springframework.ai.vectorstore.simple.PackedVectorStorage;
+import org.springframework.ai.vectorstore.simple.QuantizedVectorStorage;
+import org.springframework.ai.vectorstore.simple.QuantizedVectorStorage.QuantizationConfig;
+import org.springframework.ai.vectorstore.simple.SimilarityKernel;
+import org.springframework.ai.vectorstore.simple.SimilarityKernels;
+import org.springframework.ai.vectorstore.simple.SimilarityMatch;
+import org.springframework.ai.vectorstore.simple.SimpleVectorStoreSnapshot;
+import org.springframework.ai.vectorstore.simple.SnapshotDocumentMap;
+import org.springframework.ai.vectorstore.simple.VectorStorage;
 import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -60,30 +86,99 @@ import io.micrometer.observation.ObservationRegistry;
  * calculating similarity scores among vectors, refer to this
  * [resource](https://docs.spring.io/spring-ai/reference/api/vectordbs.html#_understanding_vectors).
  *
+ * By default every search scores all stored documents. Larger stores can opt into an
+ * approximate {@link HnswIndex} through the {@link SimpleVectorStoreConfig}, trading a
+ * small loss of recall for sub-linear search time, into the {@link StorageMode#PACKED
+ * packed} storage mode that keeps all embeddings in one contiguous array, or into the
+ * {@link StorageMode#QUANTIZED quantized} storage mode that keeps only compressed
+ * embeddings on the heap. The HNSW index holds its own copy of the embeddings and is only
+ * available with the default {@link StorageMode#DOCUMENT document} storage mode.
+ *
+ * The packed and quantized storage modes may hold resources off the heap, such as the
+ * temporary file of the quantized embeddings. {@link #close()} releases them.
+ *
+ * Searches with a filter expression evaluate the expression on the document metadata
+ * before any similarity is computed. Metadata keys that are filtered on frequently can be
+ * indexed with {@link SimpleVectorStoreConfig.Builder#withIndexedMetadataKeys}, so that
+ * only the documents matching the indexed part of the expression are considered.
+ *
  * @author Raphael Yu
  * @author Dingmeng Xue
  * @author Mark Pollack
  * @author Christian Tzolov
  */
-public class SimpleVectorStore extends AbstractObservationVectorStore {
+public class SimpleVectorStore extends AbstractObservationVectorStore implements AutoCloseable {
 
 	private static final Logger logger = LoggerFactory.getLogger(SimpleVectorStore.class);
 
+	/**
+	 * With an {@link HnswIndex}, filtered searches score the index candidates exactly if
+	 * they make up at most this fraction of the store, and use the graph otherwise.
+	 */
+	private static final double EXACT_SEARCH_CANDIDATE_RATIO = 0.1;
+
 	protected Map<String, Document> store = new ConcurrentHashMap<>();
 
 	protected EmbeddingModel embeddingModel;
 
+	@Nullable
+	private final HnswIndex hnswIndex;
+
+	@Nullable
+	private final VectorStorage vectorStorage;
+
+	private final PersistenceFormat persistenceFormat;
+
+	@Nullable
+	private final MetadataIndex metadataIndex;
+
+	private final FilterExpressionEvaluator filterExpressionEvaluator = new FilterExpressionEvaluator();
+
+	/**
+	 * The loaded snapshot, kept open until another content is loaded or the store is
+	 * closed.
+	 */
+	@Nullable
+	private SimpleVectorStoreSnapshot snapshot;
+
+	private final SimilarityKernel similarityKernel = SimilarityKernels.getDefault();
+
+	/**
+	 * Norms of the document embeddings in {@link StorageMode#DOCUMENT document} mode, so
+	 * that an exhaustive search computes one dot product per document.
+	 */
+	private final Map<String, StoredNorm> storedNorms = new ConcurrentHashMap<>();
+
 	public SimpleVectorStore(EmbeddingModel embeddingModel) {
 		this(embeddingModel, ObservationRegistry.NOOP, null);
 	}
 
 	public SimpleVectorStore(EmbeddingModel embeddingModel, ObservationRegistry observationRegistry,
 			VectorStoreObservationConvention customObservationConvention) {
+		this(embeddingModel, SimpleVectorStoreConfig.defaultConfig(), observationRegistry, customObservationConvention);
+	}
+
+	public SimpleVectorStore(EmbeddingModel embeddingModel, SimpleVectorStoreConfig config) {
+		this(embeddingModel, config, ObservationRegistry.NOOP, null);
+	}
+
+	public SimpleVectorStore(EmbeddingModel embeddingModel, SimpleVectorStoreConfig config,
+			ObservationRegistry observationRegistry, VectorStoreObservationConvention customObservationConvention) {
 
 		super(observationRegistry, customObservationConvention);
 
 		Objects.requireNonNull(embeddingModel, "EmbeddingModel must not be null");
+		Objects.requireNonNull(config, "SimpleVectorStoreConfig must not be null");
 		this.embeddingModel = embeddingModel;
+		this.hnswIndex = (config.hnswIndexConfig != null) ? new HnswIndex(config.hnswIndexConfig) : null;
+		this.vectorStorage = switch (config.storageMode) {
+			case DOCUMENT -> null;
+			case PACKED -> new PackedVectorStorage();
+			case QUANTIZED -> new QuantizedVectorStorage(config.quantizationConfig);
+		};
+		this.persistenceFormat = config.persistenceFormat;
+		this.metadataIndex = config.indexedMetadataKeys.isEmpty() ? null
+				: new MetadataIndex(config.indexedMetadataKeys);
 	}
 
 	@Override
@@ -92,30 +187,105 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 			logger.info("Calling EmbeddingModel for document id = {}", document.getId());
 			float[] embedding = this.embeddingModel.embed(document);
 			document.setEmbedding(embedding);
-			this.store.put(document.getId(), document);
+			index(document);
 		}
 	}
 
 	@Override
 	public Optional<Boolean> doDelete(List<String> idList) {
 		for (String id : idList) {
+			Map<String, Object> metadata = (this.metadataIndex != null) ? getMetadata(id) : null;
 			this.store.remove(id);
+			this.storedNorms.remove(id);
+			if (metadata != null) {
+				this.metadataIndex.remove(id, metadata);
+			}
+
+			if (this.hnswIndex != null) {
+				this.hnswIndex.remove(id);
+			}
+			if (this.vectorStorage != null) {
+				this.vectorStorage.remove(id);
+			}
 		}
 		return Optional.of(true);
 	}
 
 	@Override
 	public List<Document> doSimilaritySearch(SearchRequest request) {
-		if (request.getFilterExpression() != null) {
-			throw new UnsupportedOperationException(
-					"The [" + this.getClass() + "] doesn't support metadata filtering!");
-		}
+		Filter.Expression filterExpression = request.getFilterExpression();
+		Predicate<String> filter = (filterExpression != null) ? id -> matches(id, filterExpression) : null;
+		Set<String> candidates = (filterExpression != null && this.metadataIndex != null)
+				? this.metadataIndex.candidates(filterExpression) : null;
 
 		float[] userQueryEmbedding = getUserQueryEmbedding(request.getQuery());
+
+		if (candidates != null
+				&& (this.hnswIndex == null || candidates.size() <= this.store.size() * EXACT_SEARCH_CANDIDATE_RATIO)) {
+			return searchCandidates(userQueryEmbedding, candidates, filter, request);
+		}
+		if (this.hnswIndex != null) {
+			int efSearch = request.scaleBySearchEffort(this.hnswIndex.getConfig().getEfSearch());
+			if (filter == null) {
+				return getDocuments(this.hnswIndex.search(userQueryEmbedding, request.getTopK(),
+						request.getSimilarityThreshold(), efSearch, id -> true));
+			}
+			Predicate<String> hnswFilter = (candidates != null) ? id -> candidates.contains(id) && filter.test(id)
+					: filter;
+			AtomicBoolean rejected = new AtomicBoolean();
+			List<SimilarityMatch> matches = this.hnswIndex.search(userQueryEmbedding, request.getTopK(),
+					request.getSimilarityThreshold(), efSearch, id -> {
+						boolean accepted = hnswFilter.test(id);
+						if (!accepted) {
+							rejected.set(true);
+						}
+						return accepted;
+					});
+			if (matches.size() == request.getTopK() || !rejected.get()) {
+				return getDocuments(matches);
+			}
+			// A selective filter can reject most of the explored graph neighbourhood, so
+			// fall back to the exact search to not miss matching documents.
+			return searchExhaustively(userQueryEmbedding, hnswFilter, request);
+		}
+		return searchExhaustively(userQueryEmbedding, filter, request);
+	}
+
+	private List<Document> searchExhaustively(float[] userQueryEmbedding, @Nullable Predicate<String> filter,
+			SearchRequest request) {
+		if (this.vectorStorage != null) {
+			return getDocuments(this.vectorStorage.search(userQueryEmbedding, request.getTopK(),
+					request.getSimilarityThreshold(), filter));
+		}
+
+		float queryNorm = this.similarityKernel.norm(userQueryEmbedding);
 		return this.store.values()
 			.stream()
-			.map(entry -> new Similarity(entry.getId(),
-					EmbeddingMath.cosineSimilarity(userQueryEmbedding, entry.getEmbedding())))
+			.filter(entry -> filter == null || filter.test(entry.getId()))
+			.map(entry -> new Similarity(entry.getId(), similarity(userQueryEmbedding, queryNorm, entry)))
+			.filter(s -> s.score >= request.getSimilarityThreshold())
+			.sorted(Comparator.<Similarity>comparingDouble(s -> s.score).reversed())
+			.limit(request.getTopK())
+			.map(s -> this.store.get(s.key))
+			.toList();
+	}
+
+	/**
+	 * Exact search over the candidates resolved from the {@link MetadataIndex}. Only the
+	 * candidates accepted by the filter are scored.
+	 */
+	private List<Document> searchCandidates(float[] userQueryEmbedding, Set<String> candidates,
+			Predicate<String> filter, SearchRequest request) {
+		if (this.vectorStorage != null) {
+			return getDocuments(this.vectorStorage.searchCandidates(userQueryEmbedding, request.getTopK(),
+					request.getSimilarityThreshold(), candidates, filter));
+		}
+
+		float queryNorm = this.similarityKernel.norm(userQueryEmbedding);
+		return candidates.stream()
+			.map(this.store::get)
+			.filter(document -> document != null && filter.test(document.getId()))
+			.map(document -> new Similarity(document.getId(), similarity(userQueryEmbedding, queryNorm, document)))
 			.filter(s -> s.score >= request.getSimilarityThreshold())
 			.sorted(Comparator.<Similarity>comparingDouble(s -> s.score).reversed())
 			.limit(request.getTopK())
@@ -124,11 +294,64 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 	}
 
 	/**
-	 * Serialize the vector store content into a file in JSON format.
+	 * Cosine similarity of the query with a stored document. The norm of the stored
+	 * embedding is computed once and cached for as long as the document holds the same
+	 * embedding array.
+	 */
+	private double similarity(float[] query, float queryNorm, Document document) {
+		float[] embedding = document.getEmbedding();
+		if (embedding == null) {
+			throw new RuntimeException("Vectors must not be null");
+		}
+		if (embedding.length != query.length) {
+			throw new IllegalArgumentException("Vectors lengths must be equal");
+		}
+		StoredNorm storedNorm = this.storedNorms.get(document.getId());
+		if (storedNorm == null || storedNorm.embedding() != embedding) {
+			storedNorm = new StoredNorm(embedding, this.similarityKernel.norm(embedding));
+			this.storedNorms.put(document.getId(), storedNorm);
+		}
+		if (queryNorm == 0 || storedNorm.norm() == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+		return this.similarityKernel.dotProduct(query, 0, embedding, 0, embedding.length)
+				/ ((double) queryNorm * storedNorm.norm());
+	}
+
+	private boolean matches(String id, Filter.Expression filterExpression) {
+		Map<String, Object> metadata = getMetadata(id);
+		return metadata != null && this.filterExpressionEvaluator.evaluate(filterExpression, metadata);
+	}
+
+	/**
+	 * @return the metadata of the stored document, or null if the id is unknown. The
+	 * metadata of documents served from a snapshot is decoded without their content.
+	 */
+	@Nullable
+	private Map<String, Object> getMetadata(String id) {
+		if (this.store instanceof SnapshotDocumentMap snapshotDocuments) {
+			return snapshotDocuments.getMetadata(id);
+		}
+		Document document = this.store.get(id);
+		return (document != null) ? document.getMetadata() : null;
+	}
+
+	/**
+	 * Serialize the vector store content into a file in the configured
+	 * {@link PersistenceFormat}, JSON by default.
 	 * @param file the file to save the vector store content
 	 */
 	public void save(File file) {
+		if (this.persistenceFormat == PersistenceFormat.BINARY) {
+			saveSnapshot(file);
+			return;
+		}
 		String json = getVectorDbAsJson();
+		if (this.snapshot != null) {
+			// the file may be the mapped snapshot, which must not be truncated
+			saveJsonToNewFile(file, json);
+			return;
+		}
 		try {
 			if (!file.exists()) {
 				logger.info("Creating new vector store file: {}", file);
@@ -166,7 +389,10 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 	}
 
 	/**
-	 * Deserialize the vector store content from a file in JSON format into memory.
+	 * Deserialize the vector store content from a file in JSON or binary format into
+	 * memory. The format is detected from the file content. Binary snapshots are memory
+	 * mapped, see {@link SimpleVectorStoreSnapshot}. Loading a snapshot still takes time
+	 * linear in the number of documents, as every document id is decoded.
 	 * @param file the file to load the vector store content
 	 */
 	public void load(File file) {
@@ -174,8 +400,15 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 		};
 		ObjectMapper objectMapper = new ObjectMapper();
 		try {
+			if (isSnapshot(file)) {
+				loadSnapshot(SimpleVectorStoreSnapshot.open(file.toPath()));
+				return;
+			}
 			Map<String, Document> deserializedMap = objectMapper.readValue(file, typeRef);
 			this.store = deserializedMap;
+			this.storedNorms.clear();
+			rebuildIndex();
+			closeSnapshot();
 		}
 		catch (IOException ex) {
 			throw new RuntimeException(ex);
@@ -183,28 +416,244 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 	}
 
 	/**
-	 * Deserialize the vector store content from a resource in JSON format into memory.
+	 * Deserialize the vector store content from a resource in JSON or binary format into
+	 * memory. The format is detected from the resource content. Binary snapshots that are
+	 * not a file are copied to a temporary file, which is deleted when another content is
+	 * loaded or the store is closed.
 	 * @param resource the resource to load the vector store content
+	 *
 	 */
 	public void load(Resource resource) {
 		TypeReference<HashMap<String, Document>> typeRef = new TypeReference<>() {
 		};
 		ObjectMapper objectMapper = new ObjectMapper();
 		try {
-			Map<String, Document> deserializedMap = objectMapper.readValue(resource.getInputStream(), typeRef);
-			this.store = deserializedMap;
+			if (resource.isFile()) {
+				load(resource.getFile());
+				return;
+			}
+			try (InputStream inputStream = new BufferedInputStream(resource.getInputStream())) {
+				inputStream.mark(Integer.BYTES);
+				byte[] header = inputStream.readNBytes(Integer.BYTES);
+				inputStream.reset();
+				if (SimpleVectorStoreSnapshot.isSnapshot(header)) {
+					loadSnapshot(SimpleVectorStoreSnapshot.read(inputStream));
+					return;
+				}
+				Map<String, Document> deserializedMap = objectMapper.readValue(inputStream, typeRef);
+				this.store = deserializedMap;
+				this.storedNorms.clear();
+				rebuildIndex();
+				closeSnapshot();
+			}
+		}
+		catch (IOException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 * Remove all documents and release the resources held by the vector storage and the
+	 * loaded snapshot, such as the temporary file of the {@link StorageMode#QUANTIZED
+	 * quantized} embeddings or of a snapshot loaded from a stream.
+	 */
+	@Override
+	public void close() {
+		this.store = new ConcurrentHashMap<>();
+		this.storedNorms.clear();
+		if (this.hnswIndex != null) {
+			this.hnswIndex.clear();
+		}
+		if (this.metadataIndex != null) {
+			this.metadataIndex.clear();
+		}
+		if (this.vectorStorage != null) {
+			this.vectorStorage.close();
+		}
+		closeSnapshot();
+	}
+
+	private void closeSnapshot() {
+		if (this.snapshot != null) {
+			this.snapshot.close();
+			this.snapshot = null;
+		}
+	}
+
+	private void saveJsonToNewFile(File file, String json) {
+		logger.info("Writing vector store file: {}", file);
+		try {
+			Path target = file.toPath();
+			Path tempFile = Files.createTempFile(target.toAbsolutePath().getParent(), file.getName(), ".tmp");
+			try {
+				Files.writeString(tempFile, json, StandardCharsets.UTF_8);
+				SimpleVectorStoreSnapshot.moveIntoPlace(tempFile, target);
+			}
+			finally {
+				Files.deleteIfExists(tempFile);
+			}
 		}
 		catch (IOException ex) {
+			logger.error("IOException occurred while saving vector store file.", ex);
 			throw new RuntimeException(ex);
 		}
 	}
 
+	private void saveSnapshot(File file) {
+		logger.info("Writing vector store snapshot: {}", file);
+		SimpleVectorStoreSnapshot.write(file.toPath(), List.copyOf(this.store.keySet()), this.store::get,
+				this::getEmbedding, (this.metadataIndex != null) ? this.metadataIndex.getKeys() : Set.of());
+	}
+
+	/**
+	 * Replace the store content with the snapshot content. In {@link StorageMode#PACKED
+	 * packed} and {@link StorageMode#QUANTIZED quantized} mode the vectors are served
+	 * from the mapped snapshot and the documents are decoded on demand, so the snapshot
+	 * is kept open until another content is loaded or the store is closed. In
+	 * {@link StorageMode#DOCUMENT document} mode all documents are decoded with their
+	 * embedding and the snapshot is closed right away.
+	 */
+	private void loadSnapshot(SimpleVectorStoreSnapshot snapshot) {
+		SimpleVectorStoreSnapshot previous = this.snapshot;
+		this.snapshot = null;
+		this.storedNorms.clear();
+		if (this.vectorStorage != null) {
+			this.vectorStorage.load(snapshot);
+			this.store = new SnapshotDocumentMap(snapshot);
+			this.snapshot = snapshot;
+		}
+		else {
+			Map<String, Document> documents = new ConcurrentHashMap<>();
+			for (int row = 0; row < snapshot.size(); row++) {
+				Document document = snapshot.document(row);
+				document.setEmbedding(snapshot.embedding(row));
+				documents.put(document.getId(), document);
+			}
+			this.store = documents;
+		}
+		if (this.metadataIndex != null) {
+			this.metadataIndex.load(snapshot);
+		}
+		if (this.hnswIndex != null) {
+			this.hnswIndex.clear();
+			for (int row = 0; row < snapshot.size(); row++) {
+				this.hnswIndex.add(snapshot.id(row), snapshot.embedding(row));
+			}
+		}
+		if (previous != null) {
+			previous.close();
+		}
+		if (this.snapshot == null) {
+			snapshot.close();
+		}
+	}
+
+	private static boolean isSnapshot(File file) throws IOException {
+		try (InputStream inputStream = new FileInputStream(file)) {
+			return SimpleVectorStoreSnapshot.isSnapshot(inputStream.readNBytes(Integer.BYTES));
+		}
+	}
+
+	@Nullable
+	private float[] getEmbedding(String id) {
+		if (this.vectorStorage != null) {
+			return this.vectorStorage.get(id);
+		}
+		Document document = this.store.get(id);
+		return (document != null) ? document.getEmbedding() : null;
+	}
+
+	/**
+	 * Add the document to the store and to the configured index and storage. In
+	 * {@link StorageMode#PACKED packed} and {@link StorageMode#QUANTIZED quantized} mode
+	 * the embedding is moved into the vector storage and the stored document doesn't
+	 * retain it.
+	 */
+	private void index(Document document) {
+		float[] embedding = document.getEmbedding();
+		if (this.metadataIndex != null) {
+			Map<String, Object> previous = getMetadata(document.getId());
+			if (previous != null) {
+				this.metadataIndex.remove(document.getId(), previous);
+			}
+			this.metadataIndex.add(document.getId(), document.getMetadata());
+		}
+
+		if (this.vectorStorage != null) {
+			this.vectorStorage.add(document.getId(), embedding);
+			this.store.put(document.getId(), copyOf(document, new float[0]));
+		}
+		else {
+			this.store.put(document.getId(), document);
+		}
+		if (this.hnswIndex != null) {
+			this.hnswIndex.add(document.getId(), embedding);
+		}
+	}
+
+	private void rebuildIndex() {
+		if (this.hnswIndex != null) {
+			this.hnswIndex.clear();
+		}
+		if (this.vectorStorage != null) {
+			this.vectorStorage.clear();
+		}
+		if (this.metadataIndex != null) {
+			this.metadataIndex.clear();
+		}
+		if (this.hnswIndex != null || this.vectorStorage != null || this.metadataIndex != null) {
+			List.copyOf(this.store.values()).forEach(this::index);
+		}
+	}
+
+	private List<Document> getDocuments(List<SimilarityMatch> matches) {
+		List<Document> documents = new ArrayList<>(matches.size());
+		for (SimilarityMatch match : matches) {
+			Document document = getDocument(match.id());
+			if (document != null) {
+				documents.add(document);
+			}
+		}
+		return documents;
+	}
+
+	/**
+	 * @return the stored document including its embedding, or null if the id is unknown.
+	 */
+	@Nullable
+	private Document getDocument(String id) {
+		Document document = this.store.get(id);
+		if (document == null || this.vectorStorage == null) {
+			return document;
+		}
+		float[] embedding = this.vectorStorage.get(id);
+		return copyOf(document, (embedding != null) ? embedding : new float[0]);
+	}
+
+	private static Document copyOf(Document document, float[] embedding) {
+		Document copy = new Document(document.getId(), document.getContent(), document.getMedia(),
+				document.getMetadata());
+		copy.setContentFormatter(document.getContentFormatter());
+		copy.setEmbedding(embedding);
+		return copy;
+	}
+
 	private String getVectorDbAsJson() {
 		ObjectMapper objectMapper = new ObjectMapper();
 		ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
+		Map<String, Document> documents = this.store;
+		if (this.vectorStorage != null) {
+			documents = new LinkedHashMap<>();
+			for (String id : this.store.keySet()) {
+				Document document = getDocument(id);
+				if (document != null) {
+					documents.put(id, document);
+				}
+			}
+		}
 		String json;
 		try {
-			json = objectWriter.writeValueAsString(this.store);
+			json = objectWriter.writeValueAsString(documents);
 		}
 		catch (JsonProcessingException e) {
 			throw new RuntimeException("Error serializing documentMap to JSON.", e);
@@ -216,6 +665,9 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 		return this.embeddingModel.embed(query);
 	}
 
+	private record StoredNorm(float[] embedding, float norm) {
+	}
+
 	public static class Similarity {
 
 		private String key;
@@ -259,12 +711,7 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 				throw new IllegalArgumentException("Vectors lengths must be equal");
 			}
 
-			float result = 0;
-			for (int i = 0; i < vectorX.length; ++i) {
-				result += vectorX[i] * vectorY[i];
-			}
-
-			return result;
+			return SimilarityKernels.getDefault().dotProduct(vectorX, 0, vectorY, 0, vectorX.length);
 		}
 
 		public static float norm(float[] vector) {
@@ -282,4 +729,216 @@ public class SimpleVectorStore extends AbstractObservationVectorStore {
 			.withSimilarityMetric(VectorStoreSimilarityMetric.COSINE.value());
 	}
 
+	/**
+	 * Defines where the {@link SimpleVectorStore} keeps the document embeddings.
+	 */
+	public enum StorageMode {
+
+		/**
+		 * Every stored {@link Document} holds its own embedding array.
+		 */
+		DOCUMENT,
+
+		/**
+		 * All embeddings are packed into a single row-major array with precomputed norms,
+		 * see {@link PackedVectorStorage}. The stored documents don't retain their
+		 * embeddings; documents returned by a search carry a copy of it.
+		 */
+		PACKED,
+
+		/**
+		 * Only quantized codes of the embeddings are kept on the heap, the full precision
+		 * embeddings are kept on disk or in the mapped snapshot and only read to re-rank
+		 * the search candidates, see {@link QuantizedVectorStorage}. Configured with
+		 * {@link SimpleVectorStoreConfig.Builder#withQuantization(QuantizationConfig)}.
+		 */
+		QUANTIZED
+
+	}
+
+	/**
+	 * Defines the file format written by {@link SimpleVectorStore#save(File)}. Both
+	 * formats can be loaded regardless of the configured format.
+	 */
+	public enum PersistenceFormat {
+
+		/**
+		 * Pretty-printed JSON map of the documents, including their embeddings.
+		 */
+		JSON,
+
+		/**
+		 * Versioned binary snapshot that can be memory mapped, see
+		 * {@link SimpleVectorStoreSnapshot}. Combined with {@link StorageMode#PACKED} or
+		 * {@link StorageMode#QUANTIZED} the vectors of a loaded snapshot are served from
+		 * the page cache rather than copied onto the heap.
+		 */
+		BINARY
+
+	}
+
+	/**
+	 * Configuration for the {@link SimpleVectorStore}.
+	 */
+	public static final class SimpleVectorStoreConfig {
+
+		@Nullable
+		private final HnswIndexConfig hnswIndexConfig;
+
+		private final StorageMode storageMode;
+
+		private final PersistenceFormat persistenceFormat;
+
+		private final Set<String> indexedMetadataKeys;
+
+		private final QuantizationConfig quantizationConfig;
+
+		private SimpleVectorStoreConfig(Builder builder) {
+			this.hnswIndexConfig = builder.hnswIndexConfig;
+			this.storageMode = builder.storageMode;
+			this.persistenceFormat = builder.persistenceFormat;
+			this.indexedMetadataKeys = Set.copyOf(builder.indexedMetadataKeys);
+			this.quantizationConfig = builder.quantizationConfig;
+		}
+
+		/**
+		 * Start building a new configuration.
+		 * @return The entry point for creating a new configuration.
+		 */
+		public static Builder builder() {
+			return new Builder();
+		}
+
+		/**
+		 * {@return the default config}
+		 */
+		public static SimpleVectorStoreConfig defaultConfig() {
+			return builder().build();
+		}
+
+		@Nullable
+		public HnswIndexConfig getHnswIndexConfig() {
+			return this.hnswIndexConfig;
+		}
+
+		public StorageMode getStorageMode() {
+			return this.storageMode;
+		}
+
+		public PersistenceFormat getPersistenceFormat() {
+			return this.persistenceFormat;
+		}
+
+		public Set<String> getIndexedMetadataKeys() {
+			return this.indexedMetadataKeys;
+		}
+
+		public QuantizationConfig getQuantizationConfig() {
+			return this.quantizationConfig;
+		}
+
+		public static class Builder {
+
+			@Nullable
+			private HnswIndexConfig hnswIndexConfig;
+
+			private StorageMode storageMode = StorageMode.DOCUMENT;
+
+			private PersistenceFormat persistenceFormat = PersistenceFormat.JSON;
+
+			private Set<String> indexedMetadataKeys = Set.of();
+
+			private QuantizationConfig quantizationConfig = QuantizationConfig.defaultConfig();
+
+			private Builder() {
+			}
+
+			/**
+			 * Enables the approximate {@link HnswIndex} with the default configuration.
+			 * @return this builder
+			 */
+			public Builder withHnswIndex() {
+				return withHnswIndex(HnswIndexConfig.defaultConfig());
+			}
+
+			/**
+			 * Enables the approximate {@link HnswIndex}. The index is kept up to date on
+			 * every add and delete, and is used instead of the exhaustive scan to answer
+			 * similarity searches. Disabled by default.
+			 * <p>
+			 * The index keeps a normalized float32 copy of every embedding, so it can
+			 * only be combined with the {@link StorageMode#DOCUMENT document} storage
+			 * mode.
+			 * @param hnswIndexConfig the index configuration
+			 * @return this builder
+			 */
+			public Builder withHnswIndex(HnswIndexConfig hnswIndexConfig) {
+				Assert.notNull(hnswIndexConfig, "HnswIndexConfig must not be null");
+				this.hnswIndexConfig = hnswIndexConfig;
+				return this;
+			}
+
+			/**
+			 * Configures where the embeddings are kept. Defaults to
+			 * {@link StorageMode#DOCUMENT}.
+			 * @param storageMode the storage mode
+			 * @return this builder
+			 */
+			public Builder withStorageMode(StorageMode storageMode) {
+				Assert.notNull(storageMode, "StorageMode must not be null");
+				this.storageMode = storageMode;
+				return this;
+			}
+
+			/**
+			 * Configures the file format written by {@link SimpleVectorStore#save(File)}.
+			 * Defaults to {@link PersistenceFormat#JSON}.
+			 * @param persistenceFormat the persistence format
+			 * @return this builder
+			 */
+			public Builder withPersistenceFormat(PersistenceFormat persistenceFormat) {
+				Assert.notNull(persistenceFormat, "PersistenceFormat must not be null");
+				this.persistenceFormat = persistenceFormat;
+				return this;
+			}
+
+			/**
+			 * Configures the metadata keys kept in a {@link MetadataIndex}. Filter
+			 * expressions using {@code ==}, {@code IN} or range comparisons on these keys
+			 * are resolved from the index before any similarity is computed. No keys are
+			 * indexed by default.
+			 * @param indexedMetadataKeys the metadata keys to index
+			 * @return this builder
+			 */
+			public Builder withIndexedMetadataKeys(String... indexedMetadataKeys) {
+				Assert.notNull(indexedMetadataKeys, "indexedMetadataKeys must not be null");
+				Assert.noNullElements(indexedMetadataKeys, "indexedMetadataKeys must not contain null elements");
+				this.indexedMetadataKeys = Set.copyOf(Arrays.asList(indexedMetadataKeys));
+				return this;
+			}
+
+			/**
+			 * Selects the {@link StorageMode#QUANTIZED quantized} storage mode with the
+			 * given quantization.
+			 * @param quantizationConfig the quantization configuration
+			 * @return this builder
+			 */
+			public Builder withQuantization(QuantizationConfig quantizationConfig) {
+				Assert.notNull(quantizationConfig, "QuantizationConfig must not be null");
+				this.quantizationConfig = quantizationConfig;
+				this.storageMode = StorageMode.QUANTIZED;
+				return this;
+			}
+
+			public SimpleVectorStoreConfig build() {
+				Assert.isTrue(this.hnswIndexConfig == null || this.storageMode == StorageMode.DOCUMENT,
+						() -> "The HNSW index keeps its own copy of the embeddings and cannot be combined with the "
+								+ this.storageMode + " storage mode");
+				return new SimpleVectorStoreConfig(this);
+			}
+
+		}
+
+	}
+
 }
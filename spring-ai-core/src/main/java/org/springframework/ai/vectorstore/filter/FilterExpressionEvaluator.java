@@ -0,0 +1,177 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.filter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Map;
+
+import org.springframework.ai.vectorstore.filter.Filter.Expression;
+import org.springframework.ai.vectorstore.filter.Filter.ExpressionType;
+import org.springframework.ai.vectorstore.filter.Filter.Operand;
+import org.springframework.util.Assert;
+
+/**
+ * Evaluates a portable {@link Filter.Expression} against a document metadata map in
+ * memory, for vector stores that filter on the client side.
+ *
+ * Comparison semantics:
+ * <ul>
+ * <li>Numbers are compared by value regardless of their type, so {@code 2020} matches
+ * {@code 2020L} and {@code 2020.0}.</li>
+ * <li>{@code GT}, {@code GTE}, {@code LT} and {@code LTE} compare numbers numerically and
+ * strings lexicographically. Values of different types never match.</li>
+ * <li>A metadata key that is absent never matches {@code EQ}, {@code IN} and the range
+ * operators, and always matches {@code NE} and {@code NIN}, so that {@code NE} is
+ * equivalent to {@code NOT EQ}.</li>
+ * <li>Quoted keys, such as {@code "country 1"}, are matched without their quotes.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ */
+public class FilterExpressionEvaluator {
+
+	/**
+	 * @param expression the filter expression.
+	 * @param metadata the document metadata.
+	 * @return true if the metadata satisfies the expression.
+	 */
+	public boolean evaluate(Filter.Expression expression, Map<String, Object> metadata) {
+		Assert.notNull(expression, "expression must not be null");
+		Assert.notNull(metadata, "metadata must not be null");
+		return evaluateOperand(expression, metadata);
+	}
+
+	private boolean evaluateOperand(Operand operand, Map<String, Object> metadata) {
+		if (operand instanceof Filter.Group group) {
+			return evaluateOperand(group.content(), metadata);
+		}
+		if (!(operand instanceof Expression expression)) {
+			throw new IllegalArgumentException("Expected a filter expression or group but got: " + operand);
+		}
+		switch (expression.type()) {
+			case AND:
+				return evaluateOperand(expression.left(), metadata) && evaluateOperand(expression.right(), metadata);
+			case OR:
+				return evaluateOperand(expression.left(), metadata) || evaluateOperand(expression.right(), metadata);
+			case NOT:
+				return !evaluateOperand(expression.left(), metadata);
+			default:
+				return evaluateComparison(expression, metadata);
+		}
+	}
+
+	private boolean evaluateComparison(Expression expression, Map<String, Object> metadata) {
+		if (!(expression.left() instanceof Filter.Key key) || !(expression.right() instanceof Filter.Value value)) {
+			throw new IllegalArgumentException(
+					"Comparison expression must have a Key left and a Value right argument: " + expression);
+		}
+		Object actual = metadata.get(keyName(key));
+		ExpressionType type = expression.type();
+		if (actual == null) {
+			return type == ExpressionType.NE || type == ExpressionType.NIN;
+		}
+		Object expected = value.value();
+		switch (type) {
+			case EQ:
+				return valueEquals(actual, expected);
+			case NE:
+				return !valueEquals(actual, expected);
+			case IN:
+				return contains(expected, actual);
+			case NIN:
+				return !contains(expected, actual);
+			case GT:
+			case GTE:
+			case LT:
+			case LTE:
+				Integer comparison = compare(actual, expected);
+				if (comparison == null) {
+					return false;
+				}
+				return switch (type) {
+					case GT -> comparison > 0;
+					case GTE -> comparison >= 0;
+					case LT -> comparison < 0;
+					default -> comparison <= 0;
+				};
+			default:
+				throw new IllegalArgumentException("Unsupported filter expression type: " + type);
+		}
+	}
+
+	/**
+	 * @param key the filter key.
+	 * @return the metadata key name, without surrounding quotes.
+	 */
+	public static String keyName(Filter.Key key) {
+		String name = key.key();
+		if (name.length() >= 2 && (name.charAt(0) == '"' || name.charAt(0) == '\'')
+				&& name.charAt(name.length() - 1) == name.charAt(0)) {
+			return name.substring(1, name.length() - 1);
+		}
+		return name;
+	}
+
+	private static boolean contains(Object values, Object actual) {
+		if (!(values instanceof Collection<?> collection)) {
+			throw new IllegalArgumentException("IN and NIN expressions require a list value but got: " + values);
+		}
+		for (Object expected : collection) {
+			if (valueEquals(actual, expected)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean valueEquals(Object actual, Object expected) {
+		if (actual instanceof Number actualNumber && expected instanceof Number expectedNumber) {
+			return compareNumbers(actualNumber, expectedNumber) == 0;
+		}
+		return actual.equals(expected);
+	}
+
+	/**
+	 * @return the comparison result, or null if the values are not comparable.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Integer compare(Object actual, Object expected) {
+		if (actual instanceof Number actualNumber && expected instanceof Number expectedNumber) {
+			return compareNumbers(actualNumber, expectedNumber);
+		}
+		if (actual instanceof Comparable comparable && actual.getClass().equals(expected.getClass())) {
+			return comparable.compareTo(expected);
+		}
+		return null;
+	}
+
+	private static int compareNumbers(Number x, Number y) {
+		if (isIntegral(x) && isIntegral(y)) {
+			return Long.compare(x.longValue(), y.longValue());
+		}
+		if (x instanceof BigDecimal || y instanceof BigDecimal || x instanceof BigInteger || y instanceof BigInteger) {
+			return new BigDecimal(x.toString()).compareTo(new BigDecimal(y.toString()));
+		}
+		return Double.compare(x.doubleValue(), y.doubleValue());
+	}
+
+	private static boolean isIntegral(Number number) {
+		return number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte;
+	}
+
+}
@@ -0,0 +1,668 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import org.springframework.util.Assert;
+
+/**
+ * In-process approximate nearest neighbour index based on Hierarchical Navigable Small
+ * World graphs (Malkov and Yashunin, <a href="https://arxiv.org/abs/1603.09320">Efficient
+ * and robust approximate nearest neighbor search using Hierarchical Navigable Small World
+ * graphs</a>).
+ *
+ * The index scores vectors with cosine similarity. Vectors are normalized once on
+ * insertion, so every comparison during search is a single dot product.
+ *
+ * Additions are inserted into the graph incrementally. Removals mark the node as deleted:
+ * the node keeps serving as a routing point during traversal but is never returned. Once
+ * more than half of the nodes are deleted the graph is rebuilt from the live nodes.
+ *
+ * The index is thread safe. Searches run concurrently, mutations are exclusive.
+ *
+ * @since 1.0.0
+ */
+public class HnswIndex {
+
+	private static final Comparator<Candidate> NEAREST_FIRST = Comparator.comparingDouble((Candidate c) -> c.similarity)
+		.reversed();
+
+	private static final Comparator<Candidate> FURTHEST_FIRST = Comparator.comparingDouble(c -> c.similarity);
+
+	private static final int MIN_DELETED_BEFORE_REBUILD = 64;
+
+	private final HnswIndexConfig config;
+
+	private final double levelMultiplier;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final SimilarityKernel kernel;
+
+	private final ConcurrentLinkedQueue<VisitedSet> visitedSetPool = new ConcurrentLinkedQueue<>();
+
+	private final Map<String, Integer> nodeIdsByDocumentId = new HashMap<>();
+
+	private Node[] nodes = new Node[64];
+
+	private int nodeCount;
+
+	private int deletedCount;
+
+	private int entryPoint = -1;
+
+	private int maxLevel = -1;
+
+	public HnswIndex() {
+		this(HnswIndexConfig.defaultConfig());
+	}
+
+	public HnswIndex(HnswIndexConfig config) {
+		this(config, SimilarityKernels.getDefault());
+	}
+
+	/**
+	 * @param config the index configuration.
+	 * @param kernel the kernel used to compare the vectors.
+	 */
+	public HnswIndex(HnswIndexConfig config, SimilarityKernel kernel) {
+		Assert.notNull(config, "HnswIndexConfig must not be null");
+		Assert.notNull(kernel, "kernel must not be null");
+		this.config = config;
+		this.kernel = kernel;
+		this.levelMultiplier = 1 / Math.log(config.getM());
+	}
+
+	public HnswIndexConfig getConfig() {
+		return this.config;
+	}
+
+	/**
+	 * Add a vector to the index. An existing vector with the same id is replaced.
+	 * @param id the document id.
+	 * @param embedding the document embedding.
+	 */
+	public void add(String id, float[] embedding) {
+		Assert.hasText(id, "id must not be null or empty");
+		Assert.notNull(embedding, "embedding must not be null");
+		float[] vector = normalize(embedding);
+
+		this.lock.writeLock().lock();
+		try {
+			markDeleted(id);
+			insert(id, vector);
+			rebuildIfMostlyDeleted();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove the vector with the given id from the index.
+	 * @param id the document id.
+	 * @return true if the index contained the id.
+	 */
+	public boolean remove(String id) {
+		this.lock.writeLock().lock();
+		try {
+			boolean removed = markDeleted(id);
+			rebuildIfMostlyDeleted();
+			return removed;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove all vectors from the index.
+	 */
+	public void clear() {
+		this.lock.writeLock().lock();
+		try {
+			reset(64);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @return the number of live vectors in the index.
+	 */
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.nodeIdsByDocumentId.size();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Search for the approximate nearest neighbours of the query vector using the
+	 * configured ef search value.
+	 * @param query the query vector.
+	 * @param topK the maximum number of matches to return.
+	 * @param similarityThreshold the minimum similarity score of the returned matches.
+	 * @return the matches ordered by descending similarity.
+	 */
+	public List<SimilarityMatch> search(float[] query, int topK, double similarityThreshold) {
+		return search(query, topK, similarityThreshold, this.config.getEfSearch(), id -> true);
+	}
+
+	/**
+	 * Search for the approximate nearest neighbours of the query vector.
+	 * @param query the query vector.
+	 * @param topK the maximum number of matches to return.
+	 * @param similarityThreshold the minimum similarity score of the returned matches.
+	 * @param efSearch the size of the dynamic candidate list. Larger values improve
+	 * recall at the cost of latency. Values smaller than topK are raised to topK.
+	 * @param filter only ids accepted by the filter are returned. Rejected nodes are
+	 * still used to navigate the graph.
+	 * @return the matches ordered by descending similarity.
+	 */
+	public List<SimilarityMatch> search(float[] query, int topK, double similarityThreshold, int efSearch,
+			Predicate<String> filter) {
+		Assert.notNull(query, "query must not be null");
+		Assert.notNull(filter, "filter must not be null");
+		if (topK <= 0) {
+			return List.of();
+		}
+		float[] normalizedQuery = normalize(query);
+
+		this.lock.readLock().lock();
+		VisitedSet visited = acquireVisitedSet();
+		try {
+			if (this.entryPoint < 0) {
+				return List.of();
+			}
+			if (this.nodes[this.entryPoint].vector.length != normalizedQuery.length) {
+				throw new IllegalArgumentException("Vectors lengths must be equal");
+			}
+
+			Candidate entry = new Candidate(this.entryPoint,
+					dotProduct(normalizedQuery, this.nodes[this.entryPoint].vector));
+			for (int level = this.maxLevel; level > 0; level--) {
+				entry = greedySearch(normalizedQuery, entry, level);
+			}
+
+			PriorityQueue<Candidate> results = searchLayer(normalizedQuery, List.of(entry), Math.max(efSearch, topK), 0,
+					visited, node -> !node.deleted && filter.test(node.id));
+
+			List<Candidate> ordered = new ArrayList<>(results);
+			ordered.sort(NEAREST_FIRST);
+			List<SimilarityMatch> matches = new ArrayList<>(Math.min(topK, ordered.size()));
+			for (Candidate candidate : ordered) {
+				if (matches.size() == topK || candidate.similarity < similarityThreshold) {
+					break;
+				}
+				matches.add(new SimilarityMatch(this.nodes[candidate.node].id, candidate.similarity));
+			}
+			return matches;
+		}
+		finally {
+			this.visitedSetPool.offer(visited);
+			this.lock.readLock().unlock();
+		}
+	}
+
+	private void insert(String id, float[] vector) {
+		if (this.entryPoint >= 0 && this.nodes[this.entryPoint].vector.length != vector.length) {
+			throw new IllegalArgumentException("Vectors lengths must be equal");
+		}
+		int nodeId = this.nodeCount;
+		int level = randomLevel();
+		Node node = new Node(id, vector, level, this.config.getM());
+
+		if (nodeId == this.nodes.length) {
+			this.nodes = Arrays.copyOf(this.nodes, this.nodes.length * 2);
+		}
+		this.nodes[nodeId] = node;
+		this.nodeCount++;
+		this.nodeIdsByDocumentId.put(id, nodeId);
+
+		if (this.entryPoint < 0) {
+			this.entryPoint = nodeId;
+			this.maxLevel = level;
+			return;
+		}
+
+		Candidate entry = new Candidate(this.entryPoint, dotProduct(vector, this.nodes[this.entryPoint].vector));
+		for (int currentLevel = this.maxLevel; currentLevel > level; currentLevel--) {
+			entry = greedySearch(vector, entry, currentLevel);
+		}
+
+		VisitedSet visited = acquireVisitedSet();
+		try {
+			List<Candidate> entryPoints = List.of(entry);
+			for (int currentLevel = Math.min(level, this.maxLevel); currentLevel >= 0; currentLevel--) {
+				PriorityQueue<Candidate> candidates = searchLayer(vector, entryPoints, this.config.getEfConstruction(),
+						currentLevel, visited, n -> true);
+				List<Candidate> nearest = new ArrayList<>(candidates);
+				nearest.sort(NEAREST_FIRST);
+
+				List<Candidate> neighbours = selectNeighbours(nearest, this.config.getM());
+				for (Candidate neighbour : neighbours) {
+					node.addNeighbour(currentLevel, neighbour.node);
+					connect(neighbour.node, nodeId, neighbour.similarity, currentLevel);
+				}
+				entryPoints = nearest;
+			}
+		}
+		finally {
+			this.visitedSetPool.offer(visited);
+		}
+
+		if (level > this.maxLevel) {
+			this.entryPoint = nodeId;
+			this.maxLevel = level;
+		}
+	}
+
+	/**
+	 * Add the new node to the neighbour list of an existing node, shrinking the list with
+	 * the neighbour selection heuristic when it overflows.
+	 */
+	private void connect(int nodeId, int newNeighbour, double similarity, int level) {
+		Node node = this.nodes[nodeId];
+		int maxConnections = maxConnections(level);
+		if (node.neighbourCount(level) < maxConnections) {
+			node.addNeighbour(level, newNeighbour);
+			return;
+		}
+
+		List<Candidate> candidates = new ArrayList<>(maxConnections + 1);
+		candidates.add(new Candidate(newNeighbour, similarity));
+		int[] neighbours = node.neighbours[level];
+		for (int i = 0; i < node.neighbourCount(level); i++) {
+			candidates.add(new Candidate(neighbours[i], dotProduct(node.vector, this.nodes[neighbours[i]].vector)));
+		}
+		candidates.sort(NEAREST_FIRST);
+
+		node.clearNeighbours(level);
+		for (Candidate selected : selectNeighbours(candidates, maxConnections)) {
+			node.addNeighbour(level, selected.node);
+		}
+	}
+
+	/**
+	 * Neighbour selection heuristic (algorithm 4 of the HNSW paper). A candidate is kept
+	 * only if it is closer to the base element than to any already selected neighbour,
+	 * which favours links spread across clusters over redundant links within a cluster.
+	 * @param candidates candidates sorted by descending similarity to the base element.
+	 * @param maxNeighbours the maximum number of neighbours to select.
+	 */
+	private List<Candidate> selectNeighbours(List<Candidate> candidates, int maxNeighbours) {
+		List<Candidate> selected = new ArrayList<>(maxNeighbours);
+		for (Candidate candidate : candidates) {
+			if (selected.size() >= maxNeighbours) {
+				break;
+			}
+			float[] candidateVector = this.nodes[candidate.node].vector;
+			boolean diverse = true;
+			for (Candidate other : selected) {
+				if (dotProduct(candidateVector, this.nodes[other.node].vector) > candidate.similarity) {
+					diverse = false;
+					break;
+				}
+			}
+			if (diverse) {
+				selected.add(candidate);
+			}
+		}
+		return selected;
+	}
+
+	private Candidate greedySearch(float[] query, Candidate entry, int level) {
+		Candidate current = entry;
+		boolean improved = true;
+		while (improved) {
+			improved = false;
+			Node node = this.nodes[current.node];
+			int[] neighbours = node.neighbours[level];
+			for (int i = 0; i < node.neighbourCount(level); i++) {
+				double similarity = dotProduct(query, this.nodes[neighbours[i]].vector);
+				if (similarity > current.similarity) {
+					current = new Candidate(neighbours[i], similarity);
+					improved = true;
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Best-first search of a single graph layer (algorithm 2 of the HNSW paper).
+	 * @return the (at most) ef nearest nodes accepted by the predicate, as a min-heap on
+	 * similarity.
+	 */
+	private PriorityQueue<Candidate> searchLayer(float[] query, List<Candidate> entryPoints, int ef, int level,
+			VisitedSet visited, Predicate<Node> accept) {
+
+		PriorityQueue<Candidate> candidates = new PriorityQueue<>(NEAREST_FIRST);
+		PriorityQueue<Candidate> results = new PriorityQueue<>(FURTHEST_FIRST);
+
+		visited.reset(this.nodeCount);
+		for (Candidate entry : entryPoints) {
+			if (visited.add(entry.node)) {
+				candidates.add(entry);
+				if (accept.test(this.nodes[entry.node])) {
+					results.add(entry);
+				}
+			}
+		}
+		while (results.size() > ef) {
+			results.poll();
+		}
+
+		while (!candidates.isEmpty()) {
+			Candidate current = candidates.poll();
+			if (results.size() >= ef && current.similarity < results.peek().similarity) {
+				break;
+			}
+			Node node = this.nodes[current.node];
+			int[] neighbours = node.neighbours[level];
+			for (int i = 0; i < node.neighbourCount(level); i++) {
+				int neighbour = neighbours[i];
+				if (!visited.add(neighbour)) {
+					continue;
+				}
+				Node neighbourNode = this.nodes[neighbour];
+				double similarity = dotProduct(query, neighbourNode.vector);
+				if (results.size() < ef || similarity > results.peek().similarity) {
+					Candidate candidate = new Candidate(neighbour, similarity);
+					candidates.add(candidate);
+					if (accept.test(neighbourNode)) {
+						results.add(candidate);
+						if (results.size() > ef) {
+							results.poll();
+						}
+					}
+				}
+			}
+		}
+		return results;
+	}
+
+	private boolean markDeleted(String id) {
+		Integer nodeId = this.nodeIdsByDocumentId.remove(id);
+		if (nodeId == null) {
+			return false;
+		}
+		this.nodes[nodeId].deleted = true;
+		this.deletedCount++;
+		return true;
+	}
+
+	private void rebuildIfMostlyDeleted() {
+		if (this.deletedCount <= MIN_DELETED_BEFORE_REBUILD || this.deletedCount * 2 <= this.nodeCount) {
+			return;
+		}
+		Node[] oldNodes = this.nodes;
+		int oldCount = this.nodeCount;
+		reset(Math.max(64, this.nodeIdsByDocumentId.size()));
+		for (int i = 0; i < oldCount; i++) {
+			if (!oldNodes[i].deleted) {
+				insert(oldNodes[i].id, oldNodes[i].vector);
+			}
+		}
+	}
+
+	private void reset(int capacity) {
+		this.nodes = new Node[capacity];
+		this.nodeCount = 0;
+		this.deletedCount = 0;
+		this.entryPoint = -1;
+		this.maxLevel = -1;
+		this.nodeIdsByDocumentId.clear();
+	}
+
+	private int randomLevel() {
+		double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+		return (int) (-Math.log(random) * this.levelMultiplier);
+	}
+
+	private int maxConnections(int level) {
+		return (level == 0) ? this.config.getM() * 2 : this.config.getM();
+	}
+
+	private VisitedSet acquireVisitedSet() {
+		VisitedSet visited = this.visitedSetPool.poll();
+		return (visited != null) ? visited : new VisitedSet();
+	}
+
+	private float[] normalize(float[] vector) {
+		return this.kernel.normalize(vector);
+	}
+
+	private float dotProduct(float[] vectorX, float[] vectorY) {
+		return this.kernel.dotProduct(vectorX, 0, vectorY, 0, vectorX.length);
+	}
+
+	private static final class Candidate {
+
+		private final int node;
+
+		private final double similarity;
+
+		private Candidate(int node, double similarity) {
+			this.node = node;
+			this.similarity = similarity;
+		}
+
+	}
+
+	private static final class Node {
+
+		private final String id;
+
+		private final float[] vector;
+
+		private final int[][] neighbours;
+
+		private final int[] neighbourCounts;
+
+		private boolean deleted;
+
+		private Node(String id, float[] vector, int level, int m) {
+			this.id = id;
+			this.vector = vector;
+			this.neighbours = new int[level + 1][];
+			this.neighbourCounts = new int[level + 1];
+			for (int i = 0; i <= level; i++) {
+				this.neighbours[i] = new int[(i == 0) ? m * 2 : m];
+			}
+		}
+
+		private int neighbourCount(int level) {
+			return (level < this.neighbourCounts.length) ? this.neighbourCounts[level] : 0;
+		}
+
+		private void addNeighbour(int level, int neighbour) {
+			this.neighbours[level][this.neighbourCounts[level]++] = neighbour;
+		}
+
+		private void clearNeighbours(int level) {
+			this.neighbourCounts[level] = 0;
+		}
+
+	}
+
+	/**
+	 * Generation-stamped visited marker, reused across searches to avoid allocating a
+	 * store-sized bit set for every query.
+	 */
+	private static final class VisitedSet {
+
+		private int[] marks = new int[0];
+
+		private int generation;
+
+		private void reset(int size) {
+			if (this.marks.length < size) {
+				this.marks = new int[Math.max(size, this.marks.length * 2)];
+				this.generation = 0;
+			}
+			this.generation++;
+			if (this.generation == Integer.MAX_VALUE) {
+				Arrays.fill(this.marks, 0);
+				this.generation = 1;
+			}
+		}
+
+		private boolean add(int node) {
+			if (this.marks[node] == this.generation) {
+				return false;
+			}
+			this.marks[node] = this.generation;
+			return true;
+		}
+
+	}
+
+	/**
+	 * Configuration for the {@link HnswIndex}.
+	 */
+	public static final class HnswIndexConfig {
+
+		/**
+		 * Default number of bi-directional links created for every new element.
+		 */
+		public static final int DEFAULT_M = 16;
+
+		/**
+		 * Default size of the dynamic candidate list used while building the graph.
+		 */
+		public static final int DEFAULT_EF_CONSTRUCTION = 200;
+
+		/**
+		 * Default size of the dynamic candidate list used while searching the graph.
+		 */
+		public static final int DEFAULT_EF_SEARCH = 64;
+
+		private final int m;
+
+		private final int efConstruction;
+
+		private final int efSearch;
+
+		private HnswIndexConfig(Builder builder) {
+			this.m = builder.m;
+			this.efConstruction = builder.efConstruction;
+			this.efSearch = builder.efSearch;
+		}
+
+		/**
+		 * Start building a new configuration.
+		 * @return The entry point for creating a new configuration.
+		 */
+		public static Builder builder() {
+			return new Builder();
+		}
+
+		/**
+		 * {@return the default config}
+		 */
+		public static HnswIndexConfig defaultConfig() {
+			return builder().build();
+		}
+
+		public int getM() {
+			return this.m;
+		}
+
+		public int getEfConstruction() {
+			return this.efConstruction;
+		}
+
+		public int getEfSearch() {
+			return this.efSearch;
+		}
+
+		public static class Builder {
+
+			private int m = DEFAULT_M;
+
+			private int efConstruction = DEFAULT_EF_CONSTRUCTION;
+
+			private int efSearch = DEFAULT_EF_SEARCH;
+
+			private Builder() {
+			}
+
+			/**
+			 * Configures the number of bi-directional links created for every new
+			 * element. The bottom layer keeps up to twice as many links. Higher values
+			 * improve recall on high dimensional data at the cost of memory and insertion
+			 * time. Defaults to {@literal 16}.
+			 * @param m the number of links per element
+			 * @return this builder
+			 */
+			public Builder withM(int m) {
+				Assert.isTrue(m >= 2, "M must be greater than or equal to 2");
+				this.m = m;
+				return this;
+			}
+
+			/**
+			 * Configures the size of the dynamic candidate list used while inserting
+			 * elements. Higher values build a better graph at the cost of insertion time.
+			 * Defaults to {@literal 200}.
+			 * @param efConstruction the construction time candidate list size
+			 * @return this builder
+			 */
+			public Builder withEfConstruction(int efConstruction) {
+				Assert.isTrue(efConstruction >= 1, "efConstruction must be positive");
+				this.efConstruction = efConstruction;
+				return this;
+			}
+
+			/**
+			 * Configures the size of the dynamic candidate list used while searching.
+			 * Higher values improve recall at the cost of latency. Values smaller than
+			 * the requested top 'k' are raised to top 'k'. Defaults to {@literal 64}.
+			 * @param efSearch the search time candidate list size
+			 * @return this builder
+			 */
+			public Builder withEfSearch(int efSearch) {
+				Assert.isTrue(efSearch >= 1, "efSearch must be positive");
+				this.efSearch = efSearch;
+				return this;
+			}
+
+			public HnswIndexConfig build() {
+				return new HnswIndexConfig(this);
+			}
+
+		}
+
+	}
+
+}
@@ -0,0 +1,349 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionEvaluator;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Inverted index from metadata values to document ids, for a configured set of metadata
+ * keys. It narrows a filtered search down to a candidate set before any similarity is
+ * computed.
+ *
+ * The candidate set of an expression is a superset of the matching documents: {@code EQ},
+ * {@code IN} and the range operators on indexed keys are resolved from the index, an
+ * {@code AND} intersects the resolvable operands and an {@code OR} is resolved only if
+ * both operands are. {@code NE}, {@code NIN}, {@code NOT} and expressions on keys that
+ * are not indexed can't be resolved. The filter expression must still be evaluated on
+ * every candidate, see {@link FilterExpressionEvaluator}.
+ *
+ * Numbers are indexed by their double value, strings and booleans by their value. Other
+ * value types are not indexed and their documents are part of every candidate set of the
+ * key.
+ *
+ * The index is thread safe.
+ *
+ * @since 1.0.0
+ */
+public class MetadataIndex {
+
+	private static final Comparator<Object> VALUE_ORDER = Comparator.comparingInt(MetadataIndex::rank)
+		.thenComparing((x, y) -> compareSameRank(x, y));
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Map<String, NavigableMap<Object, Set<String>>> postings = new HashMap<>();
+
+	private final Map<String, Set<String>> unindexed = new HashMap<>();
+
+	/**
+	 * @param keys the metadata keys to index.
+	 */
+	public MetadataIndex(Collection<String> keys) {
+		Assert.notEmpty(keys, "keys must not be empty");
+		for (String key : keys) {
+			Assert.hasText(key, "key must not be null or empty");
+			this.postings.put(key, new TreeMap<>(VALUE_ORDER));
+			this.unindexed.put(key, new HashSet<>());
+		}
+	}
+
+	/**
+	 * @return the indexed metadata keys.
+	 */
+	public Set<String> getKeys() {
+		return Set.copyOf(this.postings.keySet());
+	}
+
+	/**
+	 * Index the metadata of a document.
+	 * @param id the document id.
+	 * @param metadata the document metadata.
+	 */
+	public void add(String id, Map<String, Object> metadata) {
+		this.lock.writeLock().lock();
+		try {
+			for (String key : this.postings.keySet()) {
+				add(key, id, metadata.get(key));
+			}
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	private void add(String key, String id, @Nullable Object value) {
+		if (value == null) {
+			return;
+		}
+		Object normalized = normalize(value);
+		if (normalized == null) {
+			this.unindexed.get(key).add(id);
+		}
+		else {
+			this.postings.get(key).computeIfAbsent(normalized, v -> new HashSet<>()).add(id);
+		}
+	}
+
+	/**
+	 * Remove a document from the index.
+	 * @param id the document id.
+	 * @param metadata the metadata the document was indexed with.
+	 */
+	public void remove(String id, Map<String, Object> metadata) {
+		this.lock.writeLock().lock();
+		try {
+			for (Map.Entry<String, NavigableMap<Object, Set<String>>> entry : this.postings.entrySet()) {
+				Object value = metadata.get(entry.getKey());
+				if (value == null) {
+					continue;
+				}
+				Object normalized = normalize(value);
+				if (normalized == null) {
+					this.unindexed.get(entry.getKey()).remove(id);
+					continue;
+				}
+				Set<String> ids = entry.getValue().get(normalized);
+				if (ids != null && ids.remove(id) && ids.isEmpty()) {
+					entry.getValue().remove(normalized);
+				}
+			}
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Replace the content of the index with the documents of the snapshot. The postings
+	 * of keys indexed when the snapshot was written are restored as stored, only the
+	 * metadata of the documents is decoded for the other keys.
+	 * @param snapshot the snapshot to index.
+	 */
+	public void load(SimpleVectorStoreSnapshot snapshot) {
+		Assert.notNull(snapshot, "snapshot must not be null");
+		this.lock.writeLock().lock();
+		try {
+			this.postings.values().forEach(Map::clear);
+			this.unindexed.values().forEach(Set::clear);
+			Set<String> missingKeys = new HashSet<>();
+			for (Map.Entry<String, NavigableMap<Object, Set<String>>> entry : this.postings.entrySet()) {
+				SimpleVectorStoreSnapshot.IndexedKey indexedKey = snapshot.indexedKey(entry.getKey());
+				if (indexedKey == null) {
+					missingKeys.add(entry.getKey());
+					continue;
+				}
+				indexedKey.rowsByValue().forEach((value, rows) -> entry.getValue().put(value, ids(snapshot, rows)));
+				this.unindexed.get(entry.getKey()).addAll(ids(snapshot, indexedKey.unindexedRows()));
+			}
+			if (missingKeys.isEmpty()) {
+				return;
+			}
+			for (int row = 0; row < snapshot.size(); row++) {
+				Map<String, Object> metadata = snapshot.metadata(row);
+				for (String key : missingKeys) {
+					add(key, snapshot.id(row), metadata.get(key));
+				}
+			}
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove all documents from the index.
+	 */
+	public void clear() {
+		this.lock.writeLock().lock();
+		try {
+			this.postings.values().forEach(Map::clear);
+			this.unindexed.values().forEach(Set::clear);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Resolve the ids of the documents that may match the filter expression.
+	 * @param expression the filter expression.
+	 * @return a superset of the matching document ids, or null if the expression can't be
+	 * resolved from the index.
+	 */
+	@Nullable
+	public Set<String> candidates(Filter.Expression expression) {
+		Assert.notNull(expression, "expression must not be null");
+		this.lock.readLock().lock();
+		try {
+			return resolve(expression);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	@Nullable
+	private Set<String> resolve(Filter.Operand operand) {
+		if (operand instanceof Filter.Group group) {
+			return resolve(group.content());
+		}
+		if (!(operand instanceof Filter.Expression expression)) {
+			return null;
+		}
+		switch (expression.type()) {
+			case AND: {
+				Set<String> left = resolve(expression.left());
+				Set<String> right = resolve(expression.right());
+				if (left == null || right == null) {
+					return (left != null) ? left : right;
+				}
+				Set<String> smaller = (left.size() <= right.size()) ? left : right;
+				Set<String> larger = (smaller == left) ? right : left;
+				smaller.retainAll(larger);
+				return smaller;
+			}
+			case OR: {
+				Set<String> left = resolve(expression.left());
+				if (left == null) {
+					return null;
+				}
+				Set<String> right = resolve(expression.right());
+				if (right == null) {
+					return null;
+				}
+				left.addAll(right);
+				return left;
+			}
+			case EQ:
+			case IN:
+			case GT:
+			case GTE:
+			case LT:
+			case LTE:
+				return resolveComparison(expression);
+			default:
+				return null;
+		}
+	}
+
+	@Nullable
+	private Set<String> resolveComparison(Filter.Expression expression) {
+		if (!(expression.left() instanceof Filter.Key key) || !(expression.right() instanceof Filter.Value value)) {
+			return null;
+		}
+		String keyName = FilterExpressionEvaluator.keyName(key);
+		NavigableMap<Object, Set<String>> values = this.postings.get(keyName);
+		if (values == null) {
+			return null;
+		}
+		Set<String> result = new HashSet<>(this.unindexed.get(keyName));
+		if (expression.type() == Filter.ExpressionType.IN) {
+			if (!(value.value() instanceof Collection<?> collection)) {
+				return null;
+			}
+			for (Object element : collection) {
+				Object normalized = normalize(element);
+				if (normalized == null) {
+					return null;
+				}
+				addAll(result, values.get(normalized));
+			}
+			return result;
+		}
+
+		Object normalized = normalize(value.value());
+		if (normalized == null) {
+			return null;
+		}
+		switch (expression.type()) {
+			case EQ:
+				addAll(result, values.get(normalized));
+				break;
+			case GT:
+			case GTE:
+				// Bounds are inclusive because distinct numbers can share a double value.
+				for (Map.Entry<Object, Set<String>> entry : values.tailMap(normalized, true).entrySet()) {
+					if (rank(entry.getKey()) != rank(normalized)) {
+						break;
+					}
+					result.addAll(entry.getValue());
+				}
+				break;
+			default:
+				for (Map.Entry<Object, Set<String>> entry : values.headMap(normalized, true)
+					.descendingMap()
+					.entrySet()) {
+					if (rank(entry.getKey()) != rank(normalized)) {
+						break;
+					}
+					result.addAll(entry.getValue());
+				}
+		}
+		return result;
+	}
+
+	private static Set<String> ids(SimpleVectorStoreSnapshot snapshot, int[] rows) {
+		Set<String> ids = new HashSet<>(Math.max(16, (int) (rows.length / 0.75f) + 1));
+		for (int row : rows) {
+			ids.add(snapshot.id(row));
+		}
+		return ids;
+	}
+
+	private static void addAll(Set<String> result, @Nullable Set<String> ids) {
+
+		if (ids != null) {
+			result.addAll(ids);
+		}
+	}
+
+	@Nullable
+	static Object normalize(@Nullable Object value) {
+		if (value instanceof Number number) {
+			return number.doubleValue();
+		}
+		if (value instanceof String || value instanceof Boolean) {
+			return value;
+		}
+		return null;
+	}
+
+	private static int rank(Object value) {
+		if (value instanceof Double) {
+			return 0;
+		}
+		return (value instanceof String) ? 1 : 2;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static int compareSameRank(Object x, Object y) {
+		return ((Comparable) x).compareTo(y);
+	}
+
+}
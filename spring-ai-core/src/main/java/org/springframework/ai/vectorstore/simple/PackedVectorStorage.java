@@ -0,0 +1,404 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Stores all embeddings in a single row-major {@code float[]}, one row per document,
+ * together with the precomputed norm of every row.
+ *
+ * Compared to one {@code float[]} per document this keeps the scanned data contiguous in
+ * memory, and the exhaustive cosine similarity search only computes one dot product per
+ * row. The top 'k' rows are collected in a fixed capacity heap, so a search allocates
+ * memory proportional to 'k' rather than to the number of stored vectors.
+ *
+ * Removing a row moves the last row into its place, keeping the rows dense.
+ *
+ * The storage can be initialized from a memory mapped {@link SimpleVectorStoreSnapshot}.
+ * The snapshot rows are then scanned in place, without being copied onto the heap. They
+ * are read-only: removing a snapshot row marks it as deleted and overwriting it appends a
+ * new heap row.
+ *
+ * The storage is thread safe. Searches run concurrently, mutations are exclusive.
+ *
+ * @since 1.0.0
+ */
+public class PackedVectorStorage implements VectorStorage {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final SimilarityKernel kernel;
+
+	private final Map<String, Integer> rowsById = new HashMap<>();
+
+	private int dimensions = -1;
+
+	private float[] vectors = new float[0];
+
+	private float[] norms = new float[0];
+
+	private String[] ids = new String[0];
+
+	private int size;
+
+	@Nullable
+	private SimpleVectorStoreSnapshot snapshot;
+
+	private final BitSet deletedSnapshotRows = new BitSet();
+
+	/**
+	 * Number of snapshot rows. Row numbers below this value refer to the snapshot, row
+	 * numbers from this value on refer to the heap rows.
+	 */
+	private int snapshotRows;
+
+	private int deletedSnapshotRowCount;
+
+	public PackedVectorStorage() {
+		this(SimilarityKernels.getDefault());
+	}
+
+	/**
+	 * @param kernel the kernel used to compute the similarity scores.
+	 */
+	public PackedVectorStorage(SimilarityKernel kernel) {
+		Assert.notNull(kernel, "kernel must not be null");
+		this.kernel = kernel;
+	}
+
+	/**
+	 * Add a vector to the storage. An existing vector with the same id is overwritten in
+	 * place.
+	 * @param id the document id.
+	 * @param embedding the document embedding.
+	 */
+	@Override
+	public void add(String id, float[] embedding) {
+		Assert.hasText(id, "id must not be null or empty");
+		Assert.notNull(embedding, "embedding must not be null");
+		float norm = this.kernel.norm(embedding);
+		if (norm == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+
+		this.lock.writeLock().lock();
+		try {
+			if (this.dimensions < 0) {
+				this.dimensions = embedding.length;
+			}
+			else if (this.dimensions != embedding.length) {
+				throw new IllegalArgumentException("Vectors lengths must be equal");
+			}
+
+			Integer row = this.rowsById.get(id);
+			if (row != null && row < this.snapshotRows) {
+				deleteSnapshotRow(row);
+				row = null;
+			}
+			int heapRow;
+			if (row == null) {
+				ensureCapacity(this.size + 1);
+				heapRow = this.size++;
+				this.rowsById.put(id, this.snapshotRows + heapRow);
+				this.ids[heapRow] = id;
+			}
+			else {
+				heapRow = row - this.snapshotRows;
+			}
+			System.arraycopy(embedding, 0, this.vectors, heapRow * this.dimensions, this.dimensions);
+			this.norms[heapRow] = norm;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove the vector with the given id.
+	 * @param id the document id.
+	 * @return true if the storage contained the id.
+	 */
+	@Override
+	public boolean remove(String id) {
+		this.lock.writeLock().lock();
+		try {
+			Integer row = this.rowsById.remove(id);
+			if (row == null) {
+				return false;
+			}
+			if (row < this.snapshotRows) {
+				deleteSnapshotRow(row);
+				return true;
+			}
+			int heapRow = row - this.snapshotRows;
+			int last = --this.size;
+			if (heapRow != last) {
+				System.arraycopy(this.vectors, last * this.dimensions, this.vectors, heapRow * this.dimensions,
+						this.dimensions);
+				this.norms[heapRow] = this.norms[last];
+				this.ids[heapRow] = this.ids[last];
+				this.rowsById.put(this.ids[heapRow], row);
+			}
+			this.ids[last] = null;
+			return true;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove all vectors.
+	 */
+	@Override
+	public void clear() {
+		this.lock.writeLock().lock();
+		try {
+			reset();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Replace the content of the storage with the rows of the snapshot. The snapshot
+	 * vectors are not copied.
+	 * @param snapshot the snapshot to serve the vectors from.
+	 */
+	@Override
+	public void load(SimpleVectorStoreSnapshot snapshot) {
+		Assert.notNull(snapshot, "snapshot must not be null");
+		this.lock.writeLock().lock();
+		try {
+			reset();
+			if (snapshot.size() > 0) {
+				this.snapshot = snapshot;
+				this.snapshotRows = snapshot.size();
+				this.dimensions = snapshot.dimensions();
+				this.rowsById.putAll(snapshot.rowsById());
+			}
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @return the number of stored vectors.
+	 */
+	@Override
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.snapshotRows - this.deletedSnapshotRowCount + this.size;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @param id the document id.
+	 * @return a copy of the stored vector, or null if the id is unknown.
+	 */
+	@Override
+	@Nullable
+	public float[] get(String id) {
+		this.lock.readLock().lock();
+		try {
+			Integer row = this.rowsById.get(id);
+			if (row == null) {
+				return null;
+			}
+			if (row < this.snapshotRows) {
+				return this.snapshot.embedding(row);
+			}
+			int offset = (row - this.snapshotRows) * this.dimensions;
+			return Arrays.copyOfRange(this.vectors, offset, offset + this.dimensions);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Exhaustive cosine similarity search over the stored vectors accepted by the filter.
+	 * The filter is applied before the similarity of a row is computed.
+	 * @param query the query vector.
+	 * @param topK the maximum number of matches to return.
+	 * @param similarityThreshold the minimum similarity score of the returned matches.
+	 * @param filter only ids accepted by the filter are scored, null accepts all ids.
+	 * @return the matches ordered by descending similarity.
+	 */
+	@Override
+	public List<SimilarityMatch> search(float[] query, int topK, double similarityThreshold,
+			@Nullable Predicate<String> filter) {
+		float queryNorm = queryNorm(query);
+		if (topK <= 0) {
+			return List.of();
+		}
+
+		this.lock.readLock().lock();
+		try {
+			int liveRows = this.snapshotRows - this.deletedSnapshotRowCount + this.size;
+			if (liveRows == 0) {
+				return List.of();
+			}
+			if (query.length != this.dimensions) {
+				throw new IllegalArgumentException("Vectors lengths must be equal");
+			}
+
+			TopKHeap heap = new TopKHeap(Math.min(topK, liveRows));
+			for (int row = this.deletedSnapshotRows
+				.nextClearBit(0); row < this.snapshotRows; row = this.deletedSnapshotRows.nextClearBit(row + 1)) {
+				if (filter == null || filter.test(this.snapshot.id(row))) {
+					offer(heap, row, query, queryNorm, similarityThreshold);
+				}
+			}
+			for (int row = 0; row < this.size; row++) {
+				if (filter == null || filter.test(this.ids[row])) {
+					offer(heap, this.snapshotRows + row, query, queryNorm, similarityThreshold);
+				}
+			}
+			return drain(heap);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Cosine similarity search restricted to the given candidate ids, for searches whose
+	 * candidates were narrowed down upfront. Only the candidate rows are scored.
+	 * @param query the query vector.
+	 * @param topK the maximum number of matches to return.
+	 * @param similarityThreshold the minimum similarity score of the returned matches.
+	 * @param candidateIds the ids to score, unknown ids are ignored.
+	 * @param filter only candidates accepted by the filter are scored, null accepts all
+	 * candidates.
+	 * @return the matches ordered by descending similarity.
+	 */
+	@Override
+	public List<SimilarityMatch> searchCandidates(float[] query, int topK, double similarityThreshold,
+			Collection<String> candidateIds, @Nullable Predicate<String> filter) {
+		Assert.notNull(candidateIds, "candidateIds must not be null");
+		float queryNorm = queryNorm(query);
+		if (topK <= 0 || candidateIds.isEmpty()) {
+			return List.of();
+		}
+
+		this.lock.readLock().lock();
+		try {
+			if (this.dimensions >= 0 && query.length != this.dimensions) {
+				throw new IllegalArgumentException("Vectors lengths must be equal");
+			}
+			TopKHeap heap = new TopKHeap(Math.min(topK, candidateIds.size()));
+			for (String id : candidateIds) {
+				Integer row = this.rowsById.get(id);
+				if (row != null && (filter == null || filter.test(id))) {
+					offer(heap, row, query, queryNorm, similarityThreshold);
+				}
+			}
+			return drain(heap);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	private void offer(TopKHeap heap, int row, float[] query, float queryNorm, double similarityThreshold) {
+		double similarity;
+		if (row < this.snapshotRows) {
+			similarity = this.snapshot.dotProduct(row, query, this.kernel) / (queryNorm * this.snapshot.norm(row));
+		}
+		else {
+			int heapRow = row - this.snapshotRows;
+			similarity = this.kernel.dotProduct(query, 0, this.vectors, heapRow * this.dimensions, this.dimensions)
+					/ (queryNorm * this.norms[heapRow]);
+		}
+		if (similarity >= similarityThreshold) {
+			heap.offer(row, similarity);
+		}
+	}
+
+	private List<SimilarityMatch> drain(TopKHeap heap) {
+		int[] rows = new int[heap.size()];
+		double[] scores = new double[heap.size()];
+		int count = heap.drainDescending(rows, scores);
+		List<SimilarityMatch> matches = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			matches.add(new SimilarityMatch(id(rows[i]), scores[i]));
+		}
+		return matches;
+	}
+
+	private float queryNorm(float[] query) {
+		Assert.notNull(query, "query must not be null");
+		float queryNorm = this.kernel.norm(query);
+		if (queryNorm == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+		return queryNorm;
+	}
+
+	private String id(int row) {
+		return (row < this.snapshotRows) ? this.snapshot.id(row) : this.ids[row - this.snapshotRows];
+	}
+
+	private void deleteSnapshotRow(int row) {
+		this.deletedSnapshotRows.set(row);
+		this.deletedSnapshotRowCount++;
+	}
+
+	private void reset() {
+		this.rowsById.clear();
+		this.dimensions = -1;
+		this.vectors = new float[0];
+		this.norms = new float[0];
+		this.ids = new String[0];
+		this.size = 0;
+		this.snapshot = null;
+		this.snapshotRows = 0;
+		this.deletedSnapshotRows.clear();
+		this.deletedSnapshotRowCount = 0;
+	}
+
+	private void ensureCapacity(int rows) {
+		if (rows <= this.ids.length) {
+			return;
+		}
+		int capacity = Math.max(INITIAL_CAPACITY, Math.max(rows, this.ids.length + (this.ids.length >> 1)));
+		this.vectors = Arrays.copyOf(this.vectors, Math.multiplyExact(capacity, this.dimensions));
+		this.norms = Arrays.copyOf(this.norms, capacity);
+		this.ids = Arrays.copyOf(this.ids, capacity);
+	}
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.util.Assert;
+
+/**
+ * Product quantization: the vector is split into {@code m} contiguous sub-vectors, and
+ * every sub-vector is replaced by the index of its nearest centroid in a codebook of up
+ * to 256 centroids learned with k-means. A code takes {@code m} bytes.
+ *
+ * The similarity to a query is estimated with asymmetric distance computation: the dot
+ * products of the query sub-vectors with all centroids are computed once per query, and
+ * the score of a code is the sum of {@code m} table lookups.
+ *
+ * @since 1.0.0
+ */
+final class ProductQuantizer implements VectorQuantizer {
+
+	private static final int MAX_CENTROIDS = 256;
+
+	private static final int KMEANS_ITERATIONS = 10;
+
+	private final int subspaces;
+
+	private final int trainingSize;
+
+	private final SimilarityKernel kernel;
+
+	/**
+	 * Start offset of every sub-vector, followed by the number of dimensions.
+	 */
+	private final int[] boundaries;
+
+	private int centroids;
+
+	/**
+	 * Row-major centroids of every subspace, null until trained.
+	 */
+	private float[][] codebooks;
+
+	ProductQuantizer(int dimensions, int subspaces, int trainingSize, SimilarityKernel kernel) {
+		Assert.isTrue(subspaces <= dimensions,
+				"The number of subspaces " + subspaces + " exceeds the number of dimensions " + dimensions);
+		this.subspaces = subspaces;
+		this.trainingSize = trainingSize;
+		this.kernel = kernel;
+		this.boundaries = new int[subspaces + 1];
+		for (int m = 0; m <= subspaces; m++) {
+			this.boundaries[m] = (int) ((long) m * dimensions / subspaces);
+		}
+	}
+
+	@Override
+	public int codeSize() {
+		return this.subspaces;
+	}
+
+	@Override
+	public int trainingSize() {
+		return this.trainingSize;
+	}
+
+	@Override
+	public boolean isTrained() {
+		return this.codebooks != null;
+	}
+
+	@Override
+	public void train(List<float[]> vectors) {
+		Assert.notEmpty(vectors, "vectors must not be empty");
+		List<float[]> samples = new ArrayList<>(vectors);
+		Collections.shuffle(samples, new Random(42));
+		int centroids = Math.min(MAX_CENTROIDS, samples.size());
+		float[][] codebooks = new float[this.subspaces][];
+		for (int m = 0; m < this.subspaces; m++) {
+			codebooks[m] = kMeans(samples, this.boundaries[m], this.boundaries[m + 1] - this.boundaries[m], centroids);
+		}
+		this.centroids = centroids;
+		this.codebooks = codebooks;
+	}
+
+	@Override
+	public void encode(float[] vector, byte[] codes, int offset) {
+		Assert.state(isTrained(), "The product quantizer is not trained");
+		for (int m = 0; m < this.subspaces; m++) {
+			int start = this.boundaries[m];
+			int length = this.boundaries[m + 1] - start;
+			codes[offset + m] = (byte) nearestCentroid(this.codebooks[m], this.centroids, vector, start, length);
+		}
+	}
+
+	@Override
+	public Scorer scorer(float[] query) {
+		Assert.state(isTrained(), "The product quantizer is not trained");
+		int centroids = this.centroids;
+		float[] table = new float[this.subspaces * centroids];
+		for (int m = 0; m < this.subspaces; m++) {
+			int start = this.boundaries[m];
+			int length = this.boundaries[m + 1] - start;
+			for (int c = 0; c < centroids; c++) {
+				table[m * centroids + c] = this.kernel.dotProduct(query, start, this.codebooks[m], c * length, length);
+			}
+		}
+		int subspaces = this.subspaces;
+		return (codes, offset) -> {
+			float score = 0;
+			for (int m = 0, base = 0; m < subspaces; m++, base += centroids) {
+				score += table[base + (codes[offset + m] & 0xFF)];
+			}
+			return score;
+		};
+	}
+
+	/**
+	 * Lloyd's k-means over one subspace, initialized with the first samples.
+	 */
+	private float[] kMeans(List<float[]> samples, int start, int length, int centroids) {
+		float[] codebook = new float[centroids * length];
+		for (int c = 0; c < centroids; c++) {
+			System.arraycopy(samples.get(c), start, codebook, c * length, length);
+		}
+		int[] assignments = new int[samples.size()];
+		float[] sums = new float[centroids * length];
+		int[] counts = new int[centroids];
+		for (int iteration = 0; iteration < KMEANS_ITERATIONS; iteration++) {
+			boolean changed = false;
+			for (int i = 0; i < samples.size(); i++) {
+				int nearest = nearestCentroid(codebook, centroids, samples.get(i), start, length);
+				changed |= (iteration == 0 || nearest != assignments[i]);
+				assignments[i] = nearest;
+			}
+			if (!changed) {
+				break;
+			}
+			Arrays.fill(sums, 0);
+			Arrays.fill(counts, 0);
+			for (int i = 0; i < samples.size(); i++) {
+				float[] sample = samples.get(i);
+				int base = assignments[i] * length;
+				for (int d = 0; d < length; d++) {
+					sums[base + d] += sample[start + d];
+				}
+				counts[assignments[i]]++;
+			}
+			for (int c = 0; c < centroids; c++) {
+				// Empty clusters keep their previous centroid.
+				if (counts[c] > 0) {
+					for (int d = 0; d < length; d++) {
+						codebook[c * length + d] = sums[c * length + d] / counts[c];
+					}
+				}
+			}
+		}
+		return codebook;
+	}
+
+	private int nearestCentroid(float[] codebook, int centroids, float[] vector, int start, int length) {
+		int nearest = 0;
+		float nearestDistance = Float.POSITIVE_INFINITY;
+		for (int c = 0; c < centroids; c++) {
+			float distance = this.kernel.squaredEuclideanDistance(vector, start, codebook, c * length, length);
+			if (distance < nearestDistance) {
+				nearestDistance = distance;
+				nearest = c;
+			}
+		}
+		return nearest;
+	}
+
+}
@@ -0,0 +1,757 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Keeps compact quantized codes of the embeddings on the heap and the full precision
+ * embeddings off the heap, either in a temporary {@link VectorFile} or in the memory
+ * mapped {@link SimpleVectorStoreSnapshot} the storage was loaded from.
+ *
+ * Searches run in two phases. The quantized codes of all rows are scored against the
+ * query to select {@code topK * rerankFactor} candidates, then the candidates are
+ * re-ranked with the exact cosine similarity of their full precision embeddings. Only the
+ * candidates are read from disk.
+ *
+ * Two quantizations are supported, see {@link QuantizationType}. The
+ * {@link QuantizationType#PRODUCT product} quantizer learns its codebooks from the first
+ * {@link QuantizationConfig#getTrainingSize() training size} vectors; until then searches
+ * score the full precision embeddings.
+ *
+ * Replacing or removing a vector leaves its full precision row in the vector file. Once
+ * these dead rows outnumber the live rows of the file, the live rows are copied to a new
+ * file and the old file is deleted, see {@link #compact()}. The file is deleted when the
+ * storage is cleared, loaded or closed.
+ *
+ * The storage is thread safe. Searches run concurrently, mutations are exclusive.
+ *
+ * @since 1.0.0
+ */
+public class QuantizedVectorStorage implements VectorStorage {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * Minimum number of dead rows in the vector file before it is compacted
+	 * automatically.
+	 */
+	private static final int MIN_COMPACTION_ROWS = 1024;
+
+	private final QuantizationConfig config;
+
+	private final SimilarityKernel kernel;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Map<String, Integer> rowsById = new HashMap<>();
+
+	private int dimensions = -1;
+
+	@Nullable
+	private VectorQuantizer quantizer;
+
+	private int codeSize;
+
+	private byte[] codes = new byte[0];
+
+	/**
+	 * Norms of the full precision embeddings.
+	 */
+	private float[] norms = new float[0];
+
+	/**
+	 * Row of the full precision embedding, snapshot rows first, followed by the rows of
+	 * the vector file.
+	 */
+	private int[] sourceRows = new int[0];
+
+	private String[] ids = new String[0];
+
+	private int size;
+
+	@Nullable
+	private SimpleVectorStoreSnapshot snapshot;
+
+	private int snapshotRows;
+
+	@Nullable
+	private VectorFile vectorFile;
+
+	/**
+	 * Number of rows of the vector file referenced by a stored vector.
+	 */
+	private int liveFileRows;
+
+	public QuantizedVectorStorage() {
+		this(QuantizationConfig.defaultConfig());
+	}
+
+	public QuantizedVectorStorage(QuantizationConfig config) {
+		this(config, SimilarityKernels.getDefault());
+	}
+
+	/**
+	 * @param config the quantization configuration.
+	 * @param kernel the kernel used to compute the similarity scores.
+	 */
+	public QuantizedVectorStorage(QuantizationConfig config, SimilarityKernel kernel) {
+		Assert.notNull(config, "QuantizationConfig must not be null");
+		Assert.notNull(kernel, "kernel must not be null");
+		this.config = config;
+		this.kernel = kernel;
+	}
+
+	public QuantizationConfig getConfig() {
+		return this.config;
+	}
+
+	@Override
+	public void add(String id, float[] embedding) {
+		Assert.hasText(id, "id must not be null or empty");
+		Assert.notNull(embedding, "embedding must not be null");
+		float norm = this.kernel.norm(embedding);
+		if (norm == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+
+		this.lock.writeLock().lock();
+		try {
+			if (this.dimensions < 0) {
+				initialize(embedding.length);
+			}
+			else if (this.dimensions != embedding.length) {
+				throw new IllegalArgumentException("Vectors lengths must be equal");
+			}
+			Integer existing = this.rowsById.get(id);
+			if (existing != null) {
+				removeRow(existing);
+			}
+			if (this.vectorFile == null) {
+				this.vectorFile = new VectorFile(this.config.getDirectory(), this.dimensions);
+			}
+			int sourceRow = this.snapshotRows + this.vectorFile.append(embedding);
+			this.liveFileRows++;
+			int row = appendRow(id, norm, sourceRow);
+			if (this.quantizer.isTrained()) {
+				encodeRow(row, embedding, norm);
+			}
+			else if (this.size >= this.quantizer.trainingSize()) {
+				train();
+			}
+			if (existing != null) {
+				compactIfNeeded();
+			}
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean remove(String id) {
+		this.lock.writeLock().lock();
+		try {
+			Integer row = this.rowsById.get(id);
+			if (row == null) {
+				return false;
+			}
+			removeRow(row);
+			compactIfNeeded();
+			return true;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void clear() {
+		this.lock.writeLock().lock();
+		try {
+			reset();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove all vectors and delete the vector file.
+	 */
+	@Override
+	public void close() {
+		clear();
+	}
+
+	/**
+	 * Reclaim the rows of replaced and removed vectors by copying the live rows of the
+	 * vector file to a new file and deleting the old one. Runs automatically once the
+	 * dead rows outnumber the live rows.
+	 */
+	public void compact() {
+		this.lock.writeLock().lock();
+		try {
+			if (this.vectorFile != null && this.vectorFile.rows() > this.liveFileRows) {
+				compactVectorFile();
+			}
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @return the number of rows in the vector file, including the dead rows of replaced
+	 * and removed vectors.
+	 */
+	public int getVectorFileRows() {
+		this.lock.readLock().lock();
+		try {
+			return (this.vectorFile != null) ? this.vectorFile.rows() : 0;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Replace the content of the storage with the rows of the snapshot. The full
+	 * precision embeddings are served from the mapped snapshot, only the codes are kept
+	 * on the heap.
+	 * @param snapshot the snapshot to serve the vectors from.
+	 */
+	@Override
+	public void load(SimpleVectorStoreSnapshot snapshot) {
+		Assert.notNull(snapshot, "snapshot must not be null");
+		this.lock.writeLock().lock();
+		try {
+			reset();
+			if (snapshot.size() == 0) {
+				return;
+			}
+			this.snapshot = snapshot;
+			this.snapshotRows = snapshot.size();
+			initialize(snapshot.dimensions());
+			ensureCapacity(snapshot.size());
+			for (int row = 0; row < snapshot.size(); row++) {
+				appendRow(snapshot.id(row), snapshot.norm(row), row);
+			}
+			if (this.quantizer.isTrained()) {
+				for (int row = 0; row < this.size; row++) {
+					encodeRow(row, snapshot.embedding(row), this.norms[row]);
+				}
+			}
+			else if (this.size >= this.quantizer.trainingSize()) {
+				train();
+			}
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.size;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	@Nullable
+	public float[] get(String id) {
+		this.lock.readLock().lock();
+		try {
+			Integer row = this.rowsById.get(id);
+			return (row != null) ? readSource(this.sourceRows[row]) : null;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return the number of heap bytes used per stored vector for the code, the norm and
+	 * the location of the full precision embedding. The id and its map entry are not
+	 * included.
+	 */
+	public int getHeapBytesPerVector() {
+		this.lock.readLock().lock();
+		try {
+			return this.codeSize + Float.BYTES + Integer.BYTES;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public List<SimilarityMatch> search(float[] query, int topK, double similarityThreshold,
+			@Nullable Predicate<String> filter) {
+		float queryNorm = queryNorm(query);
+		if (topK <= 0) {
+			return List.of();
+		}
+		this.lock.readLock().lock();
+		try {
+			if (this.size == 0) {
+				return List.of();
+			}
+			checkDimensions(query);
+			return twoPhaseSearch(query, queryNorm, topK, similarityThreshold, this.size, consumer -> {
+				for (int row = 0; row < this.size; row++) {
+					if (filter == null || filter.test(this.ids[row])) {
+						consumer.accept(row);
+					}
+				}
+			});
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public List<SimilarityMatch> searchCandidates(float[] query, int topK, double similarityThreshold,
+			Collection<String> candidateIds, @Nullable Predicate<String> filter) {
+		Assert.notNull(candidateIds, "candidateIds must not be null");
+		float queryNorm = queryNorm(query);
+		if (topK <= 0 || candidateIds.isEmpty()) {
+			return List.of();
+		}
+		this.lock.readLock().lock();
+		try {
+			if (this.size == 0) {
+				return List.of();
+			}
+			checkDimensions(query);
+			return twoPhaseSearch(query, queryNorm, topK, similarityThreshold, candidateIds.size(), consumer -> {
+				for (String id : candidateIds) {
+					Integer row = this.rowsById.get(id);
+					if (row != null && (filter == null || filter.test(id))) {
+						consumer.accept(row);
+					}
+				}
+			});
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Score the rows produced by the row source with the quantized codes, then re-rank
+	 * the best candidates with the full precision embeddings.
+	 */
+	private List<SimilarityMatch> twoPhaseSearch(float[] query, float queryNorm, int topK, double similarityThreshold,
+			int maxRows, RowSource rows) {
+		TopKHeap exact = new TopKHeap(Math.min(topK, maxRows));
+		if (!this.quantizer.isTrained()) {
+			rows.forEach(row -> offerExact(exact, row, query, queryNorm, similarityThreshold));
+			return drain(exact);
+		}
+
+		float[] normalizedQuery = new float[query.length];
+		for (int i = 0; i < query.length; i++) {
+			normalizedQuery[i] = query[i] / queryNorm;
+		}
+		VectorQuantizer.Scorer scorer = this.quantizer.scorer(normalizedQuery);
+		int candidateCount = (int) Math.min(maxRows, (long) topK * this.config.getRerankFactor());
+		TopKHeap approximate = new TopKHeap(candidateCount);
+		byte[] codes = this.codes;
+		int codeSize = this.codeSize;
+		rows.forEach(row -> approximate.offer(row, scorer.score(codes, row * codeSize)));
+
+		int[] candidates = new int[approximate.size()];
+		approximate.drainDescending(candidates, new double[candidates.length]);
+		for (int row : candidates) {
+			offerExact(exact, row, query, queryNorm, similarityThreshold);
+		}
+		return drain(exact);
+	}
+
+	private void offerExact(TopKHeap heap, int row, float[] query, float queryNorm, double similarityThreshold) {
+		int sourceRow = this.sourceRows[row];
+		float dotProduct = (sourceRow < this.snapshotRows) ? this.snapshot.dotProduct(sourceRow, query, this.kernel)
+				: this.vectorFile.dotProduct(sourceRow - this.snapshotRows, query, this.kernel);
+		double similarity = dotProduct / ((double) queryNorm * this.norms[row]);
+		if (similarity >= similarityThreshold) {
+			heap.offer(row, similarity);
+		}
+	}
+
+	private List<SimilarityMatch> drain(TopKHeap heap) {
+		int[] rows = new int[heap.size()];
+		double[] scores = new double[heap.size()];
+		int count = heap.drainDescending(rows, scores);
+		List<SimilarityMatch> matches = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			matches.add(new SimilarityMatch(this.ids[rows[i]], scores[i]));
+		}
+		return matches;
+	}
+
+	private void initialize(int dimensions) {
+		this.dimensions = dimensions;
+		this.quantizer = switch (this.config.getType()) {
+			case SCALAR_INT8 -> new ScalarQuantizer(dimensions, this.kernel);
+			case PRODUCT -> new ProductQuantizer(dimensions, Math.min(this.config.getSubspaces(), dimensions),
+					this.config.getTrainingSize(), this.kernel);
+		};
+		this.codeSize = this.quantizer.codeSize();
+	}
+
+	/**
+	 * Train the quantizer on the stored vectors and encode all of them.
+	 */
+	private void train() {
+		List<float[]> vectors = new ArrayList<>(this.size);
+		for (int row = 0; row < this.size; row++) {
+			vectors.add(normalize(readSource(this.sourceRows[row]), this.norms[row]));
+		}
+		this.quantizer.train(vectors);
+		for (int row = 0; row < this.size; row++) {
+			this.quantizer.encode(vectors.get(row), this.codes, row * this.codeSize);
+		}
+	}
+
+	private void encodeRow(int row, float[] embedding, float norm) {
+		this.quantizer.encode(normalize(embedding, norm), this.codes, row * this.codeSize);
+	}
+
+	private int appendRow(String id, float norm, int sourceRow) {
+		ensureCapacity(this.size + 1);
+		int row = this.size++;
+		this.ids[row] = id;
+		this.norms[row] = norm;
+		this.sourceRows[row] = sourceRow;
+		this.rowsById.put(id, row);
+		return row;
+	}
+
+	/**
+	 * Remove the row by moving the last row into its place.
+	 */
+	private void removeRow(int row) {
+		this.rowsById.remove(this.ids[row]);
+		if (this.sourceRows[row] >= this.snapshotRows) {
+			this.liveFileRows--;
+		}
+		int last = --this.size;
+		if (row != last) {
+			System.arraycopy(this.codes, last * this.codeSize, this.codes, row * this.codeSize, this.codeSize);
+			this.norms[row] = this.norms[last];
+			this.sourceRows[row] = this.sourceRows[last];
+			this.ids[row] = this.ids[last];
+			this.rowsById.put(this.ids[row], row);
+		}
+		this.ids[last] = null;
+	}
+
+	private void compactIfNeeded() {
+		if (this.vectorFile != null
+				&& this.vectorFile.rows() - this.liveFileRows > Math.max(this.liveFileRows, MIN_COMPACTION_ROWS)) {
+			compactVectorFile();
+		}
+	}
+
+	/**
+	 * Copy the live rows of the vector file to a new file. The row locations are only
+	 * updated once all rows were copied, so a failure leaves the storage unchanged.
+	 */
+	private void compactVectorFile() {
+		VectorFile compacted = new VectorFile(this.config.getDirectory(), this.dimensions);
+		int[] sourceRows = Arrays.copyOf(this.sourceRows, this.size);
+		try {
+			for (int row = 0; row < this.size; row++) {
+				if (sourceRows[row] >= this.snapshotRows) {
+					float[] embedding = this.vectorFile.read(sourceRows[row] - this.snapshotRows);
+					sourceRows[row] = this.snapshotRows + compacted.append(embedding);
+				}
+			}
+		}
+		catch (RuntimeException ex) {
+			compacted.close();
+			throw ex;
+		}
+		System.arraycopy(sourceRows, 0, this.sourceRows, 0, this.size);
+		this.vectorFile.close();
+		this.vectorFile = compacted;
+	}
+
+	private float[] readSource(int sourceRow) {
+		return (sourceRow < this.snapshotRows) ? this.snapshot.embedding(sourceRow)
+				: this.vectorFile.read(sourceRow - this.snapshotRows);
+	}
+
+	private void reset() {
+		this.rowsById.clear();
+		this.dimensions = -1;
+		this.quantizer = null;
+		this.codeSize = 0;
+		this.codes = new byte[0];
+		this.norms = new float[0];
+		this.sourceRows = new int[0];
+		this.ids = new String[0];
+		this.size = 0;
+		this.snapshot = null;
+		this.snapshotRows = 0;
+		this.liveFileRows = 0;
+		if (this.vectorFile != null) {
+			this.vectorFile.close();
+			this.vectorFile = null;
+		}
+	}
+
+	private void ensureCapacity(int rows) {
+		if (rows <= this.ids.length) {
+			return;
+		}
+		int capacity = Math.max(INITIAL_CAPACITY, Math.max(rows, this.ids.length + (this.ids.length >> 1)));
+		this.codes = Arrays.copyOf(this.codes, Math.multiplyExact(capacity, this.codeSize));
+		this.norms = Arrays.copyOf(this.norms, capacity);
+		this.sourceRows = Arrays.copyOf(this.sourceRows, capacity);
+		this.ids = Arrays.copyOf(this.ids, capacity);
+	}
+
+	private void checkDimensions(float[] query) {
+		if (query.length != this.dimensions) {
+			throw new IllegalArgumentException("Vectors lengths must be equal");
+		}
+	}
+
+	private float queryNorm(float[] query) {
+		Assert.notNull(query, "query must not be null");
+		float queryNorm = this.kernel.norm(query);
+		if (queryNorm == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+		return queryNorm;
+	}
+
+	private static float[] normalize(float[] vector, float norm) {
+		float[] normalized = new float[vector.length];
+		for (int i = 0; i < vector.length; i++) {
+			normalized[i] = vector[i] / norm;
+		}
+		return normalized;
+	}
+
+	/**
+	 * Produces the rows to score.
+	 */
+	@FunctionalInterface
+	private interface RowSource {
+
+		void forEach(IntConsumer consumer);
+
+	}
+
+	/**
+	 * The quantization applied to the stored embeddings.
+	 */
+	public enum QuantizationType {
+
+		/**
+		 * Every dimension is stored as a signed byte with one scale per vector, about 4x
+		 * smaller than float32. See {@link ScalarQuantizer}.
+		 */
+		SCALAR_INT8,
+
+		/**
+		 * Every group of dimensions is stored as the one byte index of its nearest
+		 * learned centroid. With {@code m} subspaces a vector takes {@code m} bytes, for
+		 * example 8x smaller than float32 with one subspace per pair of dimensions. See
+		 *
+		 * {@link ProductQuantizer}.
+		 */
+		PRODUCT
+
+	}
+
+	/**
+	 * Configuration for the {@link QuantizedVectorStorage}.
+	 */
+	public static final class QuantizationConfig {
+
+		/**
+		 * Default number of candidates re-ranked per requested result.
+		 */
+		public static final int DEFAULT_RERANK_FACTOR = 4;
+
+		/**
+		 * Default number of vectors the product quantizer is trained on.
+		 */
+		public static final int DEFAULT_TRAINING_SIZE = 2048;
+
+		private final QuantizationType type;
+
+		private final int subspaces;
+
+		private final int trainingSize;
+
+		private final int rerankFactor;
+
+		private final Path directory;
+
+		private QuantizationConfig(Builder builder) {
+			this.type = builder.type;
+			this.subspaces = builder.subspaces;
+			this.trainingSize = builder.trainingSize;
+			this.rerankFactor = builder.rerankFactor;
+			this.directory = builder.directory;
+		}
+
+		/**
+		 * Start building a new configuration.
+		 * @return The entry point for creating a new configuration.
+		 */
+		public static Builder builder() {
+			return new Builder();
+		}
+
+		/**
+		 * {@return the default config}
+		 */
+		public static QuantizationConfig defaultConfig() {
+			return builder().build();
+		}
+
+		public QuantizationType getType() {
+			return this.type;
+		}
+
+		public int getSubspaces() {
+			return this.subspaces;
+		}
+
+		public int getTrainingSize() {
+			return this.trainingSize;
+		}
+
+		public int getRerankFactor() {
+			return this.rerankFactor;
+		}
+
+		public Path getDirectory() {
+			return this.directory;
+		}
+
+		public static class Builder {
+
+			private QuantizationType type = QuantizationType.SCALAR_INT8;
+
+			private int subspaces = 96;
+
+			private int trainingSize = DEFAULT_TRAINING_SIZE;
+
+			private int rerankFactor = DEFAULT_RERANK_FACTOR;
+
+			private Path directory = Path.of(System.getProperty("java.io.tmpdir"));
+
+			private Builder() {
+			}
+
+			/**
+			 * Configures the quantization. Defaults to
+			 * {@link QuantizationType#SCALAR_INT8}.
+			 * @param type the quantization type
+			 * @return this builder
+			 */
+			public Builder withType(QuantizationType type) {
+				Assert.notNull(type, "QuantizationType must not be null");
+				this.type = type;
+				return this;
+			}
+
+			/**
+			 * Configures the number of subspaces of the {@link QuantizationType#PRODUCT
+			 * product} quantization, which is the number of bytes per vector. Defaults to
+			 * 96, 16 dimensions per subspace for 1536 dimensional embeddings.
+			 * @param subspaces the number of subspaces
+			 * @return this builder
+			 */
+			public Builder withSubspaces(int subspaces) {
+				Assert.isTrue(subspaces >= 1, "subspaces must be positive");
+				this.subspaces = subspaces;
+				return this;
+			}
+
+			/**
+			 * Configures the number of vectors the {@link QuantizationType#PRODUCT
+			 * product} quantizer is trained on. Defaults to
+			 * {@value QuantizationConfig#DEFAULT_TRAINING_SIZE}.
+			 * @param trainingSize the number of training vectors
+			 * @return this builder
+			 */
+			public Builder withTrainingSize(int trainingSize) {
+				Assert.isTrue(trainingSize >= 1, "trainingSize must be positive");
+				this.trainingSize = trainingSize;
+				return this;
+			}
+
+			/**
+			 * Configures how many candidates per requested result are selected with the
+			 * quantized codes and re-ranked with the full precision embeddings. Higher
+			 * values improve recall at the cost of more disk reads. Defaults to
+			 * {@value QuantizationConfig#DEFAULT_RERANK_FACTOR}.
+			 * @param rerankFactor the re-rank factor
+			 * @return this builder
+			 */
+			public Builder withRerankFactor(int rerankFactor) {
+				Assert.isTrue(rerankFactor >= 1, "rerankFactor must be positive");
+				this.rerankFactor = rerankFactor;
+				return this;
+			}
+
+			/**
+			 * Configures the directory of the temporary file holding the full precision
+			 * embeddings. Defaults to the {@code java.io.tmpdir} directory.
+			 * @param directory the directory
+			 * @return this builder
+			 */
+			public Builder withDirectory(Path directory) {
+				Assert.notNull(directory, "directory must not be null");
+				this.directory = directory;
+				return this;
+			}
+
+			public QuantizationConfig build() {
+				return new QuantizationConfig(this);
+			}
+
+		}
+
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+import java.util.List;
+
+/**
+ * Quantizes every dimension of a vector to a signed 8-bit integer. Each vector is scaled
+ * so that its largest absolute component maps to 127, and the scale is stored as a float
+ * after the components. A code takes {@code dimensions + 4} bytes, about a quarter of the
+ * float32 vector.
+ *
+ * The query is not quantized, the estimated dot product is the float query times the
+ * integer components, multiplied by the scale of the vector.
+ *
+ * @since 1.0.0
+ */
+final class ScalarQuantizer implements VectorQuantizer {
+
+	private static final int SCALE_BYTES = Float.BYTES;
+
+	private final int dimensions;
+
+	private final SimilarityKernel kernel;
+
+	ScalarQuantizer(int dimensions, SimilarityKernel kernel) {
+		this.dimensions = dimensions;
+		this.kernel = kernel;
+	}
+
+	@Override
+	public int codeSize() {
+		return this.dimensions + SCALE_BYTES;
+	}
+
+	@Override
+	public int trainingSize() {
+		return 0;
+	}
+
+	@Override
+	public boolean isTrained() {
+		return true;
+	}
+
+	@Override
+	public void train(List<float[]> vectors) {
+	}
+
+	@Override
+	public void encode(float[] vector, byte[] codes, int offset) {
+		float maxAbs = 0;
+		for (int i = 0; i < this.dimensions; i++) {
+			maxAbs = Math.max(maxAbs, Math.abs(vector[i]));
+		}
+		float scale = (maxAbs == 0) ? 1 : maxAbs / Byte.MAX_VALUE;
+		for (int i = 0; i < this.dimensions; i++) {
+			codes[offset + i] = (byte) Math.round(vector[i] / scale);
+		}
+		int bits = Float.floatToRawIntBits(scale);
+		int scaleOffset = offset + this.dimensions;
+		codes[scaleOffset] = (byte) bits;
+		codes[scaleOffset + 1] = (byte) (bits >>> 8);
+		codes[scaleOffset + 2] = (byte) (bits >>> 16);
+		codes[scaleOffset + 3] = (byte) (bits >>> 24);
+	}
+
+	@Override
+	public Scorer scorer(float[] query) {
+		return (codes, offset) -> this.kernel.dotProduct(query, codes, offset, this.dimensions)
+				* scale(codes, offset + this.dimensions);
+	}
+
+	private static float scale(byte[] codes, int offset) {
+		return Float.intBitsToFloat((codes[offset] & 0xFF) | (codes[offset + 1] & 0xFF) << 8
+				| (codes[offset + 2] & 0xFF) << 16 | (codes[offset + 3] & 0xFF) << 24);
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Portable {@link SimilarityKernel} written in plain Java. The loops keep four
+ * independent accumulators, which breaks the dependency chain of a single running sum and
+ * lets the CPU overlap the multiplications.
+ *
+ * @since 1.0.0
+ */
+public final class ScalarSimilarityKernel implements SimilarityKernel {
+
+	/**
+	 * Shared instance, the kernel is stateless.
+	 */
+	public static final ScalarSimilarityKernel INSTANCE = new ScalarSimilarityKernel();
+
+	private ScalarSimilarityKernel() {
+	}
+
+	@Override
+	public float dotProduct(float[] x, int xOffset, float[] y, int yOffset, int length) {
+		float sum0 = 0;
+		float sum1 = 0;
+		float sum2 = 0;
+		float sum3 = 0;
+		int i = 0;
+		for (int bound = length & ~3; i < bound; i += 4) {
+			sum0 += x[xOffset + i] * y[yOffset + i];
+			sum1 += x[xOffset + i + 1] * y[yOffset + i + 1];
+			sum2 += x[xOffset + i + 2] * y[yOffset + i + 2];
+			sum3 += x[xOffset + i + 3] * y[yOffset + i + 3];
+		}
+		for (; i < length; i++) {
+			sum0 += x[xOffset + i] * y[yOffset + i];
+		}
+		return (sum0 + sum1) + (sum2 + sum3);
+	}
+
+	@Override
+	public float dotProduct(float[] x, ByteBuffer y, int yByteOffset, int length) {
+		ByteBuffer buffer = (y.order() == ByteOrder.LITTLE_ENDIAN) ? y : y.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		float sum0 = 0;
+		float sum1 = 0;
+		int i = 0;
+		for (int bound = length & ~1; i < bound; i += 2) {
+			sum0 += x[i] * buffer.getFloat(yByteOffset + i * Float.BYTES);
+			sum1 += x[i + 1] * buffer.getFloat(yByteOffset + (i + 1) * Float.BYTES);
+		}
+		if (i < length) {
+			sum0 += x[i] * buffer.getFloat(yByteOffset + i * Float.BYTES);
+		}
+		return sum0 + sum1;
+	}
+
+	@Override
+	public float squaredEuclideanDistance(float[] x, int xOffset, float[] y, int yOffset, int length) {
+		float sum0 = 0;
+		float sum1 = 0;
+		float sum2 = 0;
+		float sum3 = 0;
+		int i = 0;
+		for (int bound = length & ~3; i < bound; i += 4) {
+			float d0 = x[xOffset + i] - y[yOffset + i];
+			float d1 = x[xOffset + i + 1] - y[yOffset + i + 1];
+			float d2 = x[xOffset + i + 2] - y[yOffset + i + 2];
+			float d3 = x[xOffset + i + 3] - y[yOffset + i + 3];
+			sum0 += d0 * d0;
+			sum1 += d1 * d1;
+			sum2 += d2 * d2;
+			sum3 += d3 * d3;
+		}
+		for (; i < length; i++) {
+			float d = x[xOffset + i] - y[yOffset + i];
+			sum0 += d * d;
+		}
+		return (sum0 + sum1) + (sum2 + sum3);
+	}
+
+	@Override
+	public String toString() {
+		return "ScalarSimilarityKernel";
+	}
+
+}
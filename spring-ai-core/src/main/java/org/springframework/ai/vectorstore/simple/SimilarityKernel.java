@@ -0,0 +1,163 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Vector arithmetic used to score embeddings in process.
+ *
+ * The primitive operations work on a range of a {@code float[]}, so that rows of a packed
+ * row-major array can be scored without copying them, or on little-endian floats in a
+ * {@link ByteBuffer}, such as a memory mapped file.
+ *
+ * Scorers that compare one query against many stored vectors should normalize the stored
+ * vectors once with {@link #normalize(float[])}. For unit vectors the cosine similarity
+ * is the dot product, and the squared euclidean distance is {@code 2 - 2 * dotProduct},
+ * so a single dot product per stored vector is enough for all three metrics.
+ *
+ * Implementations are stateless and thread safe. Use
+ * {@link SimilarityKernels#getDefault()} to obtain the best kernel for the running JVM.
+ *
+ * @since 1.0.0
+ * @see SimilarityKernels
+ */
+public interface SimilarityKernel {
+
+	/**
+	 * @param x the first array.
+	 * @param xOffset the index of the first element of the first vector.
+	 * @param y the second array.
+	 * @param yOffset the index of the first element of the second vector.
+	 * @param length the number of dimensions.
+	 * @return the dot product of the two vectors.
+	 */
+	float dotProduct(float[] x, int xOffset, float[] y, int yOffset, int length);
+
+	/**
+	 * @param x the first vector, starting at index 0.
+	 * @param y buffer holding the second vector as little-endian floats.
+	 * @param yByteOffset the absolute byte offset of the second vector in the buffer.
+	 * @param length the number of dimensions.
+	 * @return the dot product of the two vectors.
+	 */
+	float dotProduct(float[] x, ByteBuffer y, int yByteOffset, int length);
+
+	/**
+	 * Dot product of a float vector with a vector of signed 8-bit integers, as used to
+	 * score scalar quantized vectors.
+	 * @param x the first vector, starting at index 0.
+	 * @param y the array holding the quantized second vector.
+	 * @param yOffset the index of the first element of the second vector.
+	 * @param length the number of dimensions.
+	 * @return the dot product of the two vectors.
+	 */
+	default float dotProduct(float[] x, byte[] y, int yOffset, int length) {
+		float sum0 = 0;
+		float sum1 = 0;
+		int i = 0;
+		for (int bound = length & ~1; i < bound; i += 2) {
+			sum0 += x[i] * y[yOffset + i];
+			sum1 += x[i + 1] * y[yOffset + i + 1];
+		}
+		if (i < length) {
+			sum0 += x[i] * y[yOffset + i];
+		}
+		return sum0 + sum1;
+	}
+
+	/**
+	 * @param x the first array.
+	 * @param xOffset the index of the first element of the first vector.
+	 * @param y the second array.
+	 * @param yOffset the index of the first element of the second vector.
+	 * @param length the number of dimensions.
+	 * @return the squared euclidean distance between the two vectors.
+	 */
+	float squaredEuclideanDistance(float[] x, int xOffset, float[] y, int yOffset, int length);
+
+	/**
+	 * @param x the first vector.
+	 * @param y the second vector.
+	 * @return the dot product of the two vectors.
+	 */
+	default float dotProduct(float[] x, float[] y) {
+		checkLengths(x, y);
+		return dotProduct(x, 0, y, 0, x.length);
+	}
+
+	/**
+	 * @param x the first vector.
+	 * @param y the second vector.
+	 * @return the euclidean distance between the two vectors.
+	 */
+	default float euclideanDistance(float[] x, float[] y) {
+		checkLengths(x, y);
+		return (float) Math.sqrt(squaredEuclideanDistance(x, 0, y, 0, x.length));
+	}
+
+	/**
+	 * Cosine similarity of two vectors of arbitrary length. Prefer the
+	 * {@link #dotProduct(float[], float[]) dot product} of normalized vectors when one of
+	 * the vectors is scored repeatedly.
+	 * @param x the first vector.
+	 * @param y the second vector.
+	 * @return the cosine similarity of the two vectors.
+	 */
+	default double cosineSimilarity(float[] x, float[] y) {
+		checkLengths(x, y);
+		float normX = norm(x);
+		float normY = norm(y);
+		if (normX == 0 || normY == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+		return dotProduct(x, 0, y, 0, x.length) / ((double) normX * normY);
+	}
+
+	/**
+	 * @param vector the vector.
+	 * @return the L2 norm of the vector.
+	 */
+	default float norm(float[] vector) {
+		return (float) Math.sqrt(dotProduct(vector, 0, vector, 0, vector.length));
+	}
+
+	/**
+	 * @param vector the vector.
+	 * @return a new unit length vector with the direction of the given vector.
+	 */
+	default float[] normalize(float[] vector) {
+		float norm = norm(vector);
+		if (norm == 0) {
+			throw new IllegalArgumentException("Vectors cannot have zero norm");
+		}
+		float[] normalized = new float[vector.length];
+		for (int i = 0; i < vector.length; i++) {
+			normalized[i] = vector[i] / norm;
+		}
+		return normalized;
+	}
+
+	private static void checkLengths(float[] x, float[] y) {
+		if (x == null || y == null) {
+			throw new IllegalArgumentException("Vectors must not be null");
+		}
+		if (x.length != y.length) {
+			throw new IllegalArgumentException("Vectors lengths must be equal");
+		}
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Selects the {@link SimilarityKernel} implementation for the running JVM.
+ *
+ * The {@link VectorApiSimilarityKernel} is used when the {@code jdk.incubator.vector}
+ * module is present, that is when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}. Otherwise, or when the
+ * {@value #KERNEL_PROPERTY} system property is set to {@code scalar}, the
+ * {@link ScalarSimilarityKernel} is used.
+ *
+ * @since 1.0.0
+ */
+public final class SimilarityKernels {
+
+	/**
+	 * System property forcing the {@code scalar} or the {@code vector} kernel.
+	 */
+	public static final String KERNEL_PROPERTY = "spring.ai.vectorstore.similarity-kernel";
+
+	private static final Logger logger = LoggerFactory.getLogger(SimilarityKernels.class);
+
+	private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+	@Nullable
+	private static final SimilarityKernel VECTOR_API_KERNEL = createVectorApiKernel();
+
+	private static final SimilarityKernel DEFAULT_KERNEL = selectDefaultKernel();
+
+	private SimilarityKernels() {
+	}
+
+	/**
+	 * @return the kernel used by the in-process vector stores and indexes.
+	 */
+	public static SimilarityKernel getDefault() {
+		return DEFAULT_KERNEL;
+	}
+
+	/**
+	 * @return the portable scalar kernel.
+	 */
+	public static SimilarityKernel scalar() {
+		return ScalarSimilarityKernel.INSTANCE;
+	}
+
+	/**
+	 * @return true if the Vector API kernel can be used in this JVM.
+	 */
+	public static boolean isVectorApiAvailable() {
+		return VECTOR_API_KERNEL != null;
+	}
+
+	/**
+	 * @return the Vector API kernel.
+	 * @throws IllegalStateException if the {@code jdk.incubator.vector} module is not
+	 * available.
+	 */
+	public static SimilarityKernel vectorApi() {
+		if (VECTOR_API_KERNEL == null) {
+			throw new IllegalStateException(
+					"The Vector API kernel requires the JVM option --add-modules " + VECTOR_MODULE);
+		}
+		return VECTOR_API_KERNEL;
+	}
+
+	private static SimilarityKernel selectDefaultKernel() {
+		String requested = System.getProperty(KERNEL_PROPERTY, "");
+		SimilarityKernel kernel;
+		if ("scalar".equalsIgnoreCase(requested)) {
+			kernel = scalar();
+		}
+		else if ("vector".equalsIgnoreCase(requested)) {
+			kernel = vectorApi();
+		}
+		else {
+			kernel = (VECTOR_API_KERNEL != null) ? VECTOR_API_KERNEL : scalar();
+		}
+		logger.debug("Using similarity kernel: {}", kernel);
+		return kernel;
+	}
+
+	@Nullable
+	private static SimilarityKernel createVectorApiKernel() {
+		if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+			return null;
+		}
+		try {
+			// Loaded by name so that this class links without the incubator module.
+			return (SimilarityKernel) Class
+				.forName(SimilarityKernels.class.getPackageName() + ".VectorApiSimilarityKernel")
+				.getDeclaredConstructor()
+				.newInstance();
+		}
+		catch (ReflectiveOperationException | LinkageError ex) {
+			logger.debug("The Vector API similarity kernel is not available", ex);
+			return null;
+		}
+	}
+
+}
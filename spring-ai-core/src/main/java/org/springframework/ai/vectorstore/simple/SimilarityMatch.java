@@ -0,0 +1,29 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+/**
+ * A document id paired with its similarity score to a query vector, as produced by the
+ * in-process indexes backing the
+ * {@link org.springframework.ai.vectorstore.SimpleVectorStore}.
+ *
+ * @param id the document id.
+ * @param score the similarity score, higher is more similar.
+ * @since 1.0.0
+ */
+public record SimilarityMatch(String id, double score) {
+
+}
@@ -0,0 +1,880 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+import org.springframework.ai.document.Document;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Versioned binary snapshot of the
+ * {@link org.springframework.ai.vectorstore.SimpleVectorStore} content, designed to be
+ * memory mapped.
+ *
+ * The file starts with a fixed size header followed by a vector block, a document block
+ * and a metadata index block. All numbers are little-endian.
+ *
+ * <pre>
+ * header (64 bytes)  : magic, version, dimensions, count and the offsets of the blocks below
+ * vectors            : count * dimensions float32, row-major
+ * norms              : count float32, the L2 norm of every row
+ * ids                : count * (int32 length, UTF-8 bytes)
+ * documents          : count * (int32 length, metadata JSON bytes, int32 length, JSON bytes),
+ *                      the metadata followed by the document without embedding and metadata
+ * document offsets   : count int64, absolute file offset of every document record
+ * metadata index     : int32 key count, then per key the UTF-8 key, the indexed values with
+ *                      the rows holding them and the rows holding values that can't be indexed
+ * </pre>
+ *
+ * Opening a snapshot maps the file read-only through {@link FileChannel#map}. The vectors
+ * are read straight from the mapped pages and the documents are decoded on demand, so
+ * opening a snapshot doesn't copy the vectors onto the heap nor parse the document
+ * content. The metadata of a document can be decoded without its content, see
+ * {@link #metadata(int)}, and the {@link MetadataIndex} of the keys indexed when the
+ * snapshot was written is restored without decoding any metadata.
+ *
+ * Opening is still linear in the number of documents: every id is decoded onto the heap,
+ * and the stores serving the snapshot build an id to row map from them. Loading into a
+ * store that keeps its own copy of the vectors, such as the quantized codes or an HNSW
+ * index, additionally reads every vector once.
+ *
+ * A mapping stays valid for as long as the snapshot is referenced, even after the file
+ * was replaced or deleted. Some platforms, such as Windows, refuse to replace or delete a
+ * file while it is mapped. Snapshots are therefore written to a new file which is then
+ * moved into place, see {@link #moveIntoPlace(Path, Path)}, and the temporary file of a
+ * snapshot read from a stream is only deleted when the snapshot is closed.
+ *
+ * @since 1.0.0
+ */
+public final class SimpleVectorStoreSnapshot implements AutoCloseable {
+
+	/**
+	 * Magic number identifying the snapshot format: "SAIV" in ASCII.
+	 */
+	static final int MAGIC = 0x56494153;
+
+	static final int VERSION = 2;
+
+	/**
+	 * Version without the metadata index, whose document records hold the document JSON
+	 * including its metadata.
+	 */
+	private static final int VERSION_WITHOUT_METADATA_INDEX = 1;
+
+	private static final byte NUMBER_VALUE = 0;
+
+	private static final byte STRING_VALUE = 1;
+
+	private static final byte BOOLEAN_VALUE = 2;
+
+	private static final int HEADER_SIZE = 64;
+
+	/**
+	 * Upper bound of a single mapped window. Mappings are limited to 2GB, so larger
+	 * blocks are mapped as several windows.
+	 */
+	private static final long MAX_WINDOW_SIZE = 1L << 30;
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private static final ObjectWriter DOCUMENT_WRITER = OBJECT_MAPPER.writerFor(Document.class);
+
+	private static final ObjectWriter METADATA_WRITER = OBJECT_MAPPER.writer();
+
+	private static final ObjectReader DOCUMENT_READER = OBJECT_MAPPER.readerFor(Document.class);
+
+	private static final ObjectReader METADATA_READER = OBJECT_MAPPER
+		.readerFor(new TypeReference<Map<String, Object>>() {
+		});
+
+	private final int version;
+
+	private final int dimensions;
+
+	private final int count;
+
+	private final ByteBuffer[] vectorWindows;
+
+	private final int rowsPerWindow;
+
+	private final FloatBuffer norms;
+
+	private final String[] ids;
+
+	private final MappedRegion documents;
+
+	private final long documentsOffset;
+
+	private final MappedRegion documentOffsets;
+
+	private final MappedRegion metadataIndex;
+
+	/**
+	 * Metadata decoded for filter evaluation, by row. Entries are decoded on first use
+	 * and are unmodifiable.
+	 */
+	private final AtomicReferenceArray<Map<String, Object>> metadataColumn;
+
+	/**
+	 * Temporary file owned by the snapshot, deleted when the snapshot is closed.
+	 */
+	@Nullable
+	private volatile Path temporaryFile;
+
+	private SimpleVectorStoreSnapshot(FileChannel channel) throws IOException {
+		ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		if (header.getInt(0) != MAGIC) {
+			throw new IllegalArgumentException("Not a SimpleVectorStore snapshot file");
+		}
+		this.version = header.getInt(4);
+		if (this.version != VERSION && this.version != VERSION_WITHOUT_METADATA_INDEX) {
+			throw new IllegalStateException("Unsupported SimpleVectorStore snapshot version: " + this.version);
+		}
+		this.dimensions = header.getInt(8);
+		this.count = header.getInt(12);
+		long idsOffset = header.getLong(16);
+		this.documentsOffset = header.getLong(24);
+		long documentOffsetsOffset = header.getLong(32);
+
+		long rowBytes = Math.max(1, (long) this.dimensions * Float.BYTES);
+		this.rowsPerWindow = (int) Math.max(1, MAX_WINDOW_SIZE / rowBytes);
+		int windowCount = (this.count == 0) ? 0 : (this.count - 1) / this.rowsPerWindow + 1;
+		this.vectorWindows = new ByteBuffer[windowCount];
+		for (int i = 0; i < windowCount; i++) {
+			long firstRow = (long) i * this.rowsPerWindow;
+			long rows = Math.min(this.rowsPerWindow, this.count - firstRow);
+			this.vectorWindows[i] = channel
+				.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + firstRow * rowBytes, rows * rowBytes)
+				.order(ByteOrder.LITTLE_ENDIAN);
+		}
+		long normsOffset = HEADER_SIZE + (long) this.count * this.dimensions * Float.BYTES;
+		this.norms = channel.map(FileChannel.MapMode.READ_ONLY, normsOffset, (long) this.count * Float.BYTES)
+			.order(ByteOrder.LITTLE_ENDIAN)
+			.asFloatBuffer();
+
+		MappedRegion idRegion = new MappedRegion(channel, idsOffset, this.documentsOffset - idsOffset);
+		this.ids = new String[this.count];
+		long position = 0;
+		for (int i = 0; i < this.count; i++) {
+			byte[] bytes = new byte[idRegion.getInt(position)];
+			idRegion.get(position + Integer.BYTES, bytes);
+			this.ids[i] = new String(bytes, StandardCharsets.UTF_8);
+			position += Integer.BYTES + bytes.length;
+		}
+
+		this.documents = new MappedRegion(channel, this.documentsOffset, documentOffsetsOffset - this.documentsOffset);
+		this.documentOffsets = new MappedRegion(channel, documentOffsetsOffset, (long) this.count * Long.BYTES);
+		long metadataIndexOffset = (this.version == VERSION) ? header.getLong(40) : channel.size();
+		this.metadataIndex = new MappedRegion(channel, metadataIndexOffset, channel.size() - metadataIndexOffset);
+		this.metadataColumn = new AtomicReferenceArray<>(this.count);
+	}
+
+	/**
+	 * Map a snapshot file. The mapping stays valid after the file is replaced or deleted.
+	 * @param file the snapshot file.
+	 * @return the mapped snapshot.
+	 */
+	public static SimpleVectorStoreSnapshot open(Path file) {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return new SimpleVectorStoreSnapshot(channel);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to open vector store snapshot: " + file, ex);
+		}
+	}
+
+	/**
+	 * Read a snapshot from a stream. The content is spooled to a temporary file which is
+	 * then mapped, and deleted when the snapshot is closed.
+	 * @param inputStream the snapshot content.
+	 * @return the mapped snapshot.
+	 */
+	public static SimpleVectorStoreSnapshot read(InputStream inputStream) {
+		Path file;
+		try {
+			file = Files.createTempFile("spring-ai-vector-store", ".snapshot");
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to read vector store snapshot", ex);
+		}
+		try {
+			Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+			SimpleVectorStoreSnapshot snapshot = open(file);
+			snapshot.temporaryFile = file;
+			return snapshot;
+		}
+		catch (IOException | RuntimeException ex) {
+			delete(file);
+			if (ex instanceof IOException ioException) {
+				throw new UncheckedIOException("Failed to read vector store snapshot", ioException);
+			}
+			throw (RuntimeException) ex;
+		}
+	}
+
+	/**
+	 * Delete the temporary file of a snapshot read from a stream. The file is deleted
+	 * when the JVM exits if the platform refuses to delete it while it is still mapped.
+	 * The snapshot must not be used afterwards.
+	 */
+	@Override
+	public void close() {
+		Path file = this.temporaryFile;
+		if (file != null) {
+			this.temporaryFile = null;
+			delete(file);
+		}
+	}
+
+	private static void delete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		}
+		catch (IOException ex) {
+			file.toFile().deleteOnExit();
+		}
+	}
+
+	/**
+	 * @param header the first bytes of a file.
+	 * @return true if the bytes start with the snapshot magic number.
+	 */
+	public static boolean isSnapshot(byte[] header) {
+		return header.length >= Integer.BYTES
+				&& ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN).getInt(0) == MAGIC;
+	}
+
+	/**
+	 * Write a snapshot. The content is written to a new file in the target directory
+	 * which is then moved into place, see {@link #moveIntoPlace(Path, Path)}, so a
+	 * snapshot that is currently mapped is never overwritten.
+	 * @param file the target file.
+	 * @param ids the ids of the documents to write.
+	 * @param documents resolves the document for an id. The document embedding is
+	 * ignored.
+	 * @param embeddings resolves the embedding for an id.
+	 */
+	public static void write(Path file, List<String> ids, Function<String, Document> documents,
+			Function<String, float[]> embeddings) {
+		write(file, ids, documents, embeddings, Set.of());
+	}
+
+	/**
+	 * Write a snapshot including a {@link MetadataIndex} of the given metadata keys, see
+	 * {@link #write(Path, List, Function, Function)}.
+	 * @param file the target file.
+	 * @param ids the ids of the documents to write.
+	 * @param documents resolves the document for an id. The document embedding is
+	 * ignored.
+	 * @param embeddings resolves the embedding for an id.
+	 * @param indexedMetadataKeys the metadata keys to index.
+	 */
+	public static void write(Path file, List<String> ids, Function<String, Document> documents,
+			Function<String, float[]> embeddings, Collection<String> indexedMetadataKeys) {
+		Assert.notNull(file, "file must not be null");
+		Assert.notNull(ids, "ids must not be null");
+		Assert.notNull(indexedMetadataKeys, "indexedMetadataKeys must not be null");
+		Path directory = file.toAbsolutePath().getParent();
+		try {
+			Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+			try {
+				try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE,
+						StandardOpenOption.TRUNCATE_EXISTING)) {
+					writeContent(channel, ids, documents, embeddings, indexedMetadataKeys);
+				}
+				moveIntoPlace(tempFile, file);
+			}
+			finally {
+				Files.deleteIfExists(tempFile);
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to write vector store snapshot: " + file, ex);
+		}
+	}
+
+	/**
+	 * Move a newly written file to the target, atomically replacing an existing target
+	 * where the platform allows it. Platforms such as Windows refuse to replace a file
+	 * that is memory mapped but allow to rename it, so such a target is first renamed to
+	 * a new file name next to it. The renamed file is deleted when the JVM exits and
+	 * stays valid for the snapshots still mapping it. The target is briefly missing in
+	 * that case.
+	 * @param source the newly written file, in the target directory.
+	 * @param target the target file.
+	 * @throws IOException if the file can't be moved.
+	 */
+	public static void moveIntoPlace(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (AtomicMoveNotSupportedException ex) {
+			throw ex;
+		}
+		catch (FileSystemException ex) {
+			if (!Files.exists(target)) {
+				throw ex;
+			}
+			Path replaced = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(),
+					".replaced");
+			Files.move(target, replaced, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			replaced.toFile().deleteOnExit();
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+		}
+	}
+
+	private static void writeContent(FileChannel channel, List<String> ids, Function<String, Document> documents,
+			Function<String, float[]> embeddings, Collection<String> indexedMetadataKeys) throws IOException {
+
+		BlockWriter writer = new BlockWriter(channel, HEADER_SIZE);
+
+		int dimensions = -1;
+		float[] norms = new float[ids.size()];
+		for (int row = 0; row < ids.size(); row++) {
+			String id = ids.get(row);
+			float[] embedding = embeddings.apply(id);
+			if (embedding == null) {
+				throw new ConcurrentModificationException("Document " + id + " was removed while saving");
+			}
+			if (dimensions < 0) {
+				dimensions = embedding.length;
+			}
+			else if (embedding.length != dimensions) {
+				throw new IllegalArgumentException("Vectors lengths must be equal");
+			}
+			float norm = 0;
+			for (float value : embedding) {
+				writer.putFloat(value);
+				norm += value * value;
+			}
+			norms[row] = (float) Math.sqrt(norm);
+		}
+		for (float norm : norms) {
+			writer.putFloat(norm);
+		}
+
+		long idsOffset = writer.position();
+		for (String id : ids) {
+			writer.putBytes(id.getBytes(StandardCharsets.UTF_8));
+		}
+
+		long documentsOffset = writer.position();
+		long[] documentOffsets = new long[ids.size()];
+		Map<String, IndexedKeyWriter> index = new LinkedHashMap<>();
+		indexedMetadataKeys.forEach(key -> index.put(key, new IndexedKeyWriter()));
+		for (int row = 0; row < ids.size(); row++) {
+			Document document = documents.apply(ids.get(row));
+			if (document == null) {
+				throw new ConcurrentModificationException("Document " + ids.get(row) + " was removed while saving");
+			}
+			documentOffsets[row] = writer.position();
+			writer.putBytes(METADATA_WRITER.writeValueAsBytes(document.getMetadata()));
+			writer.putBytes(DOCUMENT_WRITER.writeValueAsBytes(withoutEmbeddingAndMetadata(document)));
+			for (Map.Entry<String, IndexedKeyWriter> entry : index.entrySet()) {
+				entry.getValue().add(row, document.getMetadata().get(entry.getKey()));
+			}
+		}
+
+		long documentOffsetsOffset = writer.position();
+		for (long offset : documentOffsets) {
+			writer.putLong(offset);
+		}
+
+		long metadataIndexOffset = writer.position();
+		writer.putInt(index.size());
+		for (Map.Entry<String, IndexedKeyWriter> entry : index.entrySet()) {
+			writer.putBytes(entry.getKey().getBytes(StandardCharsets.UTF_8));
+			entry.getValue().write(writer);
+		}
+		writer.flush();
+
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(MAGIC)
+			.putInt(VERSION)
+			.putInt(Math.max(dimensions, 0))
+			.putInt(ids.size())
+			.putLong(idsOffset)
+			.putLong(documentsOffset)
+			.putLong(documentOffsetsOffset)
+			.putLong(metadataIndexOffset);
+		header.clear();
+		while (header.hasRemaining()) {
+			channel.write(header, header.position());
+		}
+	}
+
+	private static Document withoutEmbeddingAndMetadata(Document document) {
+		return new Document(document.getId(), document.getContent(), document.getMedia(), Map.of());
+	}
+
+	/**
+	 * @return the number of documents in the snapshot.
+	 */
+	public int size() {
+		return this.count;
+	}
+
+	/**
+	 * @return the embedding dimensions.
+	 */
+	public int dimensions() {
+		return this.dimensions;
+	}
+
+	/**
+	 * @param row the row index.
+	 * @return the id of the document stored in the row.
+	 */
+	public String id(int row) {
+		return this.ids[row];
+	}
+
+	/**
+	 * @param row the row index.
+	 * @return the L2 norm of the row vector.
+	 */
+	public float norm(int row) {
+		return this.norms.get(row);
+	}
+
+	/**
+	 * @param row the row index.
+	 * @param query the query vector.
+	 * @return the dot product of the query and the row vector.
+	 */
+	public float dotProduct(int row, float[] query) {
+		return dotProduct(row, query, SimilarityKernels.getDefault());
+	}
+
+	/**
+	 * @param row the row index.
+	 * @param query the query vector.
+	 * @param kernel the kernel computing the dot product.
+	 * @return the dot product of the query and the row vector.
+	 */
+	public float dotProduct(int row, float[] query, SimilarityKernel kernel) {
+		ByteBuffer window = this.vectorWindows[row / this.rowsPerWindow];
+		int offset = (row % this.rowsPerWindow) * this.dimensions * Float.BYTES;
+		return kernel.dotProduct(query, window, offset, this.dimensions);
+	}
+
+	/**
+	 * @param row the row index.
+	 * @return a heap copy of the row vector.
+	 */
+	public float[] embedding(int row) {
+		ByteBuffer window = this.vectorWindows[row / this.rowsPerWindow];
+		float[] embedding = new float[this.dimensions];
+		window.slice((row % this.rowsPerWindow) * this.dimensions * Float.BYTES, this.dimensions * Float.BYTES)
+			.order(ByteOrder.LITTLE_ENDIAN)
+			.asFloatBuffer()
+			.get(embedding);
+		return embedding;
+	}
+
+	/**
+	 * Decode the document stored in the row. The returned document has no embedding.
+	 * @param row the row index.
+	 * @return the decoded document.
+	 */
+	public Document document(int row) {
+		long offset = this.documentOffsets.getLong((long) row * Long.BYTES) - this.documentsOffset;
+		try {
+			if (this.version == VERSION_WITHOUT_METADATA_INDEX) {
+				return DOCUMENT_READER.readValue(this.documents.getBytes(offset));
+			}
+			byte[] metadata = this.documents.getBytes(offset);
+			Document document = DOCUMENT_READER
+				.readValue(this.documents.getBytes(offset + Integer.BYTES + metadata.length));
+			return new Document(document.getId(), document.getContent(), document.getMedia(),
+					METADATA_READER.readValue(metadata));
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to decode document " + this.ids[row], ex);
+		}
+	}
+
+	/**
+	 * Decode the metadata of the document stored in the row, without decoding the
+	 * document content. The metadata is decoded once and kept on the heap, so that
+	 * repeated filter evaluations don't parse it again.
+	 * @param row the row index.
+	 * @return the unmodifiable metadata.
+	 */
+	public Map<String, Object> metadata(int row) {
+		Map<String, Object> metadata = this.metadataColumn.get(row);
+		if (metadata != null) {
+			return metadata;
+		}
+		if (this.version == VERSION_WITHOUT_METADATA_INDEX) {
+			metadata = document(row).getMetadata();
+		}
+		else {
+			long offset = this.documentOffsets.getLong((long) row * Long.BYTES) - this.documentsOffset;
+			try {
+				metadata = METADATA_READER.readValue(this.documents.getBytes(offset));
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException("Failed to decode the metadata of document " + this.ids[row], ex);
+			}
+		}
+		metadata = Collections.unmodifiableMap(metadata);
+		this.metadataColumn.set(row, metadata);
+		return metadata;
+	}
+
+	/**
+	 * Decode the metadata index stored for the key.
+	 * @param key the metadata key.
+	 * @return the rows by normalized metadata value, with the rows holding values that
+	 * can't be indexed under {@link IndexedKey#unindexedRows()}, or null if the key was
+	 * not indexed when the snapshot was written.
+	 */
+	@Nullable
+	IndexedKey indexedKey(String key) {
+		if (this.metadataIndex.length() == 0) {
+			return null;
+		}
+		RegionReader reader = new RegionReader(this.metadataIndex);
+		int keyCount = reader.getInt();
+		for (int i = 0; i < keyCount; i++) {
+			String indexedKey = reader.getString();
+			if (indexedKey.equals(key)) {
+				return IndexedKey.read(reader);
+			}
+			IndexedKey.skip(reader);
+		}
+		return null;
+	}
+
+	/**
+	 * @return the row of every document id.
+	 */
+	public Map<String, Integer> rowsById() {
+		Map<String, Integer> rows = new HashMap<>(Math.max(16, (int) (this.count / 0.75f) + 1));
+		for (int row = 0; row < this.count; row++) {
+			rows.put(this.ids[row], row);
+		}
+		return rows;
+	}
+
+	/**
+	 * Rows of the documents holding each value of an indexed metadata key.
+	 *
+	 * @param rowsByValue the rows by normalized value.
+	 * @param unindexedRows the rows holding a value that can't be indexed.
+	 */
+	record IndexedKey(Map<Object, int[]> rowsByValue, int[] unindexedRows) {
+
+		private static IndexedKey read(RegionReader reader) {
+			int valueCount = reader.getInt();
+			Map<Object, int[]> rowsByValue = new HashMap<>(Math.max(16, (int) (valueCount / 0.75f) + 1));
+			for (int i = 0; i < valueCount; i++) {
+				Object value = switch (reader.getByte()) {
+					case NUMBER_VALUE -> reader.getDouble();
+					case STRING_VALUE -> reader.getString();
+					case BOOLEAN_VALUE -> reader.getByte() != 0;
+					default -> throw new IllegalStateException("Corrupt metadata index");
+				};
+				rowsByValue.put(value, readRows(reader));
+			}
+			return new IndexedKey(rowsByValue, readRows(reader));
+		}
+
+		private static void skip(RegionReader reader) {
+			int valueCount = reader.getInt();
+			for (int i = 0; i < valueCount; i++) {
+				switch (reader.getByte()) {
+					case NUMBER_VALUE -> reader.skip(Double.BYTES);
+					case STRING_VALUE -> reader.skip(reader.getInt());
+					default -> reader.skip(1);
+				}
+				reader.skip((long) reader.getInt() * Integer.BYTES);
+			}
+			reader.skip((long) reader.getInt() * Integer.BYTES);
+		}
+
+		private static int[] readRows(RegionReader reader) {
+			int[] rows = new int[reader.getInt()];
+			for (int i = 0; i < rows.length; i++) {
+				rows[i] = reader.getInt();
+			}
+			return rows;
+		}
+
+	}
+
+	/**
+	 * Collects the rows holding each value of an indexed metadata key while a snapshot is
+	 * written.
+	 */
+	private static final class IndexedKeyWriter {
+
+		private final Map<Object, List<Integer>> rowsByValue = new LinkedHashMap<>();
+
+		private final List<Integer> unindexedRows = new ArrayList<>();
+
+		private void add(int row, @Nullable Object value) {
+			if (value == null) {
+				return;
+			}
+			Object normalized = MetadataIndex.normalize(value);
+			if (normalized == null) {
+				this.unindexedRows.add(row);
+			}
+			else {
+				this.rowsByValue.computeIfAbsent(normalized, v -> new ArrayList<>()).add(row);
+			}
+		}
+
+		private void write(BlockWriter writer) throws IOException {
+			writer.putInt(this.rowsByValue.size());
+			for (Map.Entry<Object, List<Integer>> entry : this.rowsByValue.entrySet()) {
+				if (entry.getKey() instanceof Double number) {
+					writer.putByte(NUMBER_VALUE);
+					writer.putDouble(number);
+				}
+				else if (entry.getKey() instanceof String string) {
+					writer.putByte(STRING_VALUE);
+					writer.putBytes(string.getBytes(StandardCharsets.UTF_8));
+				}
+				else {
+					writer.putByte(BOOLEAN_VALUE);
+					writer.putByte((byte) (Boolean.TRUE.equals(entry.getKey()) ? 1 : 0));
+				}
+				writeRows(writer, entry.getValue());
+			}
+			writeRows(writer, this.unindexedRows);
+		}
+
+		private static void writeRows(BlockWriter writer, List<Integer> rows) throws IOException {
+			writer.putInt(rows.size());
+			for (int row : rows) {
+				writer.putInt(row);
+			}
+		}
+
+	}
+
+	/**
+	 * Sequential reader over a {@link MappedRegion}.
+	 */
+	private static final class RegionReader {
+
+		private final MappedRegion region;
+
+		private long position;
+
+		private RegionReader(MappedRegion region) {
+			this.region = region;
+		}
+
+		private byte getByte() {
+			byte[] bytes = new byte[1];
+			this.region.get(this.position++, bytes);
+			return bytes[0];
+		}
+
+		private int getInt() {
+			int value = this.region.getInt(this.position);
+			this.position += Integer.BYTES;
+			return value;
+		}
+
+		private double getDouble() {
+			double value = Double.longBitsToDouble(this.region.getLong(this.position));
+			this.position += Double.BYTES;
+			return value;
+		}
+
+		private String getString() {
+			byte[] bytes = this.region.getBytes(this.position);
+			this.position += Integer.BYTES + bytes.length;
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		private void skip(long bytes) {
+			this.position += bytes;
+		}
+
+	}
+
+	/**
+	 * Read-only view over a file region of arbitrary length, mapped as a sequence of
+	 * fixed size windows.
+	 */
+	private static final class MappedRegion {
+
+		private final ByteBuffer[] windows;
+
+		private final long length;
+
+		private MappedRegion(FileChannel channel, long offset, long length) throws IOException {
+			this.length = length;
+			int windowCount = (int) ((length + MAX_WINDOW_SIZE - 1) / MAX_WINDOW_SIZE);
+			this.windows = new ByteBuffer[windowCount];
+			for (int i = 0; i < windowCount; i++) {
+				long start = i * MAX_WINDOW_SIZE;
+				this.windows[i] = channel
+					.map(FileChannel.MapMode.READ_ONLY, offset + start, Math.min(MAX_WINDOW_SIZE, length - start))
+					.order(ByteOrder.LITTLE_ENDIAN);
+			}
+		}
+
+		private int getInt(long position) {
+			byte[] bytes = new byte[Integer.BYTES];
+			get(position, bytes);
+			return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).getInt();
+		}
+
+		private long getLong(long position) {
+			byte[] bytes = new byte[Long.BYTES];
+			get(position, bytes);
+			return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).getLong();
+		}
+
+		private long length() {
+			return this.length;
+		}
+
+		/**
+		 * Read a record of an int32 length followed by as many bytes.
+		 */
+		private byte[] getBytes(long position) {
+			byte[] bytes = new byte[getInt(position)];
+			get(position + Integer.BYTES, bytes);
+			return bytes;
+		}
+
+		private void get(long position, byte[] destination) {
+			int copied = 0;
+			while (copied < destination.length) {
+				long current = position + copied;
+				ByteBuffer window = this.windows[(int) (current / MAX_WINDOW_SIZE)];
+				int windowOffset = (int) (current % MAX_WINDOW_SIZE);
+				int length = Math.min(destination.length - copied, window.limit() - windowOffset);
+				window.get(windowOffset, destination, copied, length);
+				copied += length;
+			}
+		}
+
+	}
+
+	/**
+	 * Sequential little-endian writer buffering the blocks in front of a file channel.
+	 */
+	private static final class BlockWriter {
+
+		private final FileChannel channel;
+
+		private final ByteBuffer buffer = ByteBuffer.allocate(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+
+		private long position;
+
+		private BlockWriter(FileChannel channel, long position) {
+			this.channel = channel;
+			this.position = position;
+		}
+
+		private long position() {
+			return this.position + this.buffer.position();
+		}
+
+		private void putFloat(float value) throws IOException {
+			ensureRemaining(Float.BYTES);
+			this.buffer.putFloat(value);
+		}
+
+		private void putByte(byte value) throws IOException {
+			ensureRemaining(1);
+			this.buffer.put(value);
+		}
+
+		private void putInt(int value) throws IOException {
+			ensureRemaining(Integer.BYTES);
+			this.buffer.putInt(value);
+		}
+
+		private void putDouble(double value) throws IOException {
+			ensureRemaining(Double.BYTES);
+			this.buffer.putDouble(value);
+		}
+
+		private void putLong(long value) throws IOException {
+			ensureRemaining(Long.BYTES);
+			this.buffer.putLong(value);
+		}
+
+		private void putBytes(byte[] bytes) throws IOException {
+			ensureRemaining(Integer.BYTES);
+			this.buffer.putInt(bytes.length);
+			int written = 0;
+			while (written < bytes.length) {
+				ensureRemaining(1);
+				int length = Math.min(bytes.length - written, this.buffer.remaining());
+				this.buffer.put(bytes, written, length);
+				written += length;
+			}
+		}
+
+		private void ensureRemaining(int bytes) throws IOException {
+			if (this.buffer.remaining() < bytes) {
+				flush();
+			}
+		}
+
+		private void flush() throws IOException {
+			this.buffer.flip();
+			while (this.buffer.hasRemaining()) {
+				this.position += this.channel.write(this.buffer, this.position);
+			}
+			this.buffer.clear();
+		}
+
+	}
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.ai.document.Document;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Document map backed by a memory mapped {@link SimpleVectorStoreSnapshot}. Snapshot
+ * documents are decoded on every access rather than held on the heap, documents added
+ * after the snapshot was opened are held on the heap. The returned snapshot documents
+ * have no embedding.
+ *
+ * The map is thread safe. Its views are weakly consistent and don't support removal.
+ *
+ * @since 1.0.0
+ */
+public class SnapshotDocumentMap extends AbstractMap<String, Document> {
+
+	private final SimpleVectorStoreSnapshot snapshot;
+
+	private final Map<String, Integer> snapshotRows;
+
+	private final Map<String, Document> documents = new ConcurrentHashMap<>();
+
+	public SnapshotDocumentMap(SimpleVectorStoreSnapshot snapshot) {
+		Assert.notNull(snapshot, "snapshot must not be null");
+		this.snapshot = snapshot;
+		this.snapshotRows = new ConcurrentHashMap<>(snapshot.rowsById());
+	}
+
+	@Override
+	public Document get(Object key) {
+		Document document = this.documents.get(key);
+		if (document != null) {
+			return document;
+		}
+		Integer row = this.snapshotRows.get(key);
+		return (row != null) ? this.snapshot.document(row) : null;
+	}
+
+	/**
+	 * Resolve the metadata of a document without decoding the document content. The
+	 * metadata of snapshot documents is decoded once, see
+	 * {@link SimpleVectorStoreSnapshot#metadata(int)}, and must not be modified.
+	 * @param id the document id.
+	 * @return the document metadata, or null if the id is unknown.
+	 */
+	@Nullable
+	public Map<String, Object> getMetadata(String id) {
+		Document document = this.documents.get(id);
+		if (document != null) {
+			return document.getMetadata();
+		}
+		Integer row = this.snapshotRows.get(id);
+		return (row != null) ? this.snapshot.metadata(row) : null;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return this.documents.containsKey(key) || this.snapshotRows.containsKey(key);
+	}
+
+	@Override
+	public Document put(String key, Document value) {
+		Document previous = this.documents.put(key, value);
+		Integer row = this.snapshotRows.remove(key);
+		return (previous == null && row != null) ? this.snapshot.document(row) : previous;
+	}
+
+	@Override
+	public Document remove(Object key) {
+		Document previous = this.documents.remove(key);
+		Integer row = this.snapshotRows.remove(key);
+		return (previous == null && row != null) ? this.snapshot.document(row) : previous;
+	}
+
+	@Override
+	public int size() {
+		return this.documents.size() + this.snapshotRows.size();
+	}
+
+	@Override
+	public void clear() {
+		this.documents.clear();
+		this.snapshotRows.clear();
+	}
+
+	@Override
+	public Set<String> keySet() {
+		return new AbstractSet<>() {
+
+			@Override
+			public Iterator<String> iterator() {
+				Iterator<String> heapKeys = SnapshotDocumentMap.this.documents.keySet().iterator();
+				Iterator<String> snapshotKeys = SnapshotDocumentMap.this.snapshotRows.keySet().iterator();
+				return new Iterator<>() {
+
+					@Override
+					public boolean hasNext() {
+						return heapKeys.hasNext() || snapshotKeys.hasNext();
+					}
+
+					@Override
+					public String next() {
+						return heapKeys.hasNext() ? heapKeys.next() : snapshotKeys.next();
+					}
+
+				};
+			}
+
+			@Override
+			public boolean contains(Object key) {
+				return containsKey(key);
+			}
+
+			@Override
+			public int size() {
+				return SnapshotDocumentMap.this.size();
+			}
+
+		};
+	}
+
+	@Override
+	public Set<Entry<String, Document>> entrySet() {
+		return new AbstractSet<>() {
+
+			@Override
+			public Iterator<Entry<String, Document>> iterator() {
+				Iterator<Entry<String, Document>> heapEntries = SnapshotDocumentMap.this.documents.entrySet()
+					.iterator();
+				Iterator<Entry<String, Integer>> snapshotEntries = SnapshotDocumentMap.this.snapshotRows.entrySet()
+					.iterator();
+				return new Iterator<>() {
+
+					@Override
+					public boolean hasNext() {
+						return heapEntries.hasNext() || snapshotEntries.hasNext();
+					}
+
+					@Override
+					public Entry<String, Document> next() {
+						if (heapEntries.hasNext()) {
+							Entry<String, Document> entry = heapEntries.next();
+							return new SimpleImmutableEntry<>(entry.getKey(), entry.getValue());
+						}
+						Entry<String, Integer> entry = snapshotEntries.next();
+						return new SimpleImmutableEntry<>(entry.getKey(),
+								SnapshotDocumentMap.this.snapshot.document(entry.getValue()));
+					}
+
+				};
+			}
+
+			@Override
+			public int size() {
+				return SnapshotDocumentMap.this.size();
+			}
+
+		};
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+/**
+ * Fixed capacity min-heap of (row, score) pairs on primitive arrays, used to keep the top
+ * 'k' scores of a scan without boxing or sorting the whole candidate set. The root holds
+ * the lowest retained score, so a new score only enters the heap if it beats the root.
+ *
+ * @since 1.0.0
+ */
+final class TopKHeap {
+
+	private final int[] rows;
+
+	private final double[] scores;
+
+	private int size;
+
+	TopKHeap(int capacity) {
+		this.rows = new int[capacity];
+		this.scores = new double[capacity];
+	}
+
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Offer a candidate to the heap.
+	 * @return true if the candidate was retained.
+	 */
+	boolean offer(int row, double score) {
+		if (this.size < this.rows.length) {
+			this.rows[this.size] = row;
+			this.scores[this.size] = score;
+			siftUp(this.size++);
+			return true;
+		}
+		if (this.size == 0 || score <= this.scores[0]) {
+			return false;
+		}
+		this.rows[0] = row;
+		this.scores[0] = score;
+		siftDown(0);
+		return true;
+	}
+
+	/**
+	 * Drain the heap into the given arrays, ordered by descending score.
+	 * @return the number of drained entries.
+	 */
+	int drainDescending(int[] rowsOut, double[] scoresOut) {
+		int count = this.size;
+		for (int i = count - 1; i >= 0; i--) {
+			rowsOut[i] = this.rows[0];
+			scoresOut[i] = this.scores[0];
+			this.size--;
+			if (this.size > 0) {
+				this.rows[0] = this.rows[this.size];
+				this.scores[0] = this.scores[this.size];
+				siftDown(0);
+			}
+		}
+		return count;
+	}
+
+	private void siftUp(int index) {
+		int row = this.rows[index];
+		double score = this.scores[index];
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			if (this.scores[parent] <= score) {
+				break;
+			}
+			this.rows[index] = this.rows[parent];
+			this.scores[index] = this.scores[parent];
+			index = parent;
+		}
+		this.rows[index] = row;
+		this.scores[index] = score;
+	}
+
+	private void siftDown(int index) {
+		int row = this.rows[index];
+		double score = this.scores[index];
+		int half = this.size >>> 1;
+		while (index < half) {
+			int child = 2 * index + 1;
+			int right = child + 1;
+			if (right < this.size && this.scores[right] < this.scores[child]) {
+				child = right;
+			}
+			if (score <= this.scores[child]) {
+				break;
+			}
+			this.rows[index] = this.rows[child];
+			this.scores[index] = this.scores[child];
+			index = child;
+		}
+		this.rows[index] = row;
+		this.scores[index] = score;
+	}
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link SimilarityKernel} using the SIMD instructions of the CPU through the incubating
+ * {@code jdk.incubator.vector} API. Vectors are processed in chunks of the preferred
+ * species width with fused multiply-add, and the remaining tail elements with scalar
+ * code.
+ *
+ * The class can only be loaded when the JVM runs with
+ * {@code --add-modules jdk.incubator.vector}. Obtain it through
+ * {@link SimilarityKernels#getDefault()}, which falls back to the
+ * {@link ScalarSimilarityKernel} when the module is not available.
+ *
+ * @since 1.0.0
+ */
+public final class VectorApiSimilarityKernel implements SimilarityKernel {
+
+	private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+	/**
+	 * Byte species with as many lanes as the float species, used to widen quantized
+	 * vectors. Null if there is no vector shape that small, in which case quantized
+	 * vectors are scored with scalar code.
+	 */
+	@Nullable
+	private static final VectorSpecies<Byte> BYTE_SPECIES = (SPECIES.length() * Byte.SIZE >= 64)
+			? VectorSpecies.of(byte.class, VectorShape.forBitSize(SPECIES.length() * Byte.SIZE)) : null;
+
+	VectorApiSimilarityKernel() {
+	}
+
+	@Override
+	public float dotProduct(float[] x, int xOffset, float[] y, int yOffset, int length) {
+		int i = 0;
+		float result = 0;
+		int bound = SPECIES.loopBound(length);
+		if (bound > 0) {
+			FloatVector sum = FloatVector.zero(SPECIES);
+			for (; i < bound; i += SPECIES.length()) {
+				FloatVector vx = FloatVector.fromArray(SPECIES, x, xOffset + i);
+				FloatVector vy = FloatVector.fromArray(SPECIES, y, yOffset + i);
+				sum = vx.fma(vy, sum);
+			}
+			result = sum.reduceLanes(VectorOperators.ADD);
+		}
+		for (; i < length; i++) {
+			result += x[xOffset + i] * y[yOffset + i];
+		}
+		return result;
+	}
+
+	@Override
+	public float dotProduct(float[] x, ByteBuffer y, int yByteOffset, int length) {
+		int i = 0;
+		float result = 0;
+		int bound = SPECIES.loopBound(length);
+		if (bound > 0) {
+			FloatVector sum = FloatVector.zero(SPECIES);
+			for (; i < bound; i += SPECIES.length()) {
+				FloatVector vx = FloatVector.fromArray(SPECIES, x, i);
+				FloatVector vy = FloatVector.fromByteBuffer(SPECIES, y, yByteOffset + i * Float.BYTES,
+						ByteOrder.LITTLE_ENDIAN);
+				sum = vx.fma(vy, sum);
+			}
+			result = sum.reduceLanes(VectorOperators.ADD);
+		}
+		ByteBuffer buffer = (y.order() == ByteOrder.LITTLE_ENDIAN) ? y : y.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		for (; i < length; i++) {
+			result += x[i] * buffer.getFloat(yByteOffset + i * Float.BYTES);
+		}
+		return result;
+	}
+
+	@Override
+	public float dotProduct(float[] x, byte[] y, int yOffset, int length) {
+		if (BYTE_SPECIES == null) {
+			return SimilarityKernel.super.dotProduct(x, y, yOffset, length);
+		}
+		int i = 0;
+		float result = 0;
+		int bound = SPECIES.loopBound(length);
+		if (bound > 0) {
+			FloatVector sum = FloatVector.zero(SPECIES);
+			for (; i < bound; i += SPECIES.length()) {
+				FloatVector vx = FloatVector.fromArray(SPECIES, x, i);
+				FloatVector vy = (FloatVector) ByteVector.fromArray(BYTE_SPECIES, y, yOffset + i)
+					.convertShape(VectorOperators.B2F, SPECIES, 0);
+				sum = vx.fma(vy, sum);
+			}
+			result = sum.reduceLanes(VectorOperators.ADD);
+		}
+		for (; i < length; i++) {
+			result += x[i] * y[yOffset + i];
+		}
+		return result;
+	}
+
+	@Override
+	public float squaredEuclideanDistance(float[] x, int xOffset, float[] y, int yOffset, int length) {
+		int i = 0;
+		float result = 0;
+		int bound = SPECIES.loopBound(length);
+		if (bound > 0) {
+			FloatVector sum = FloatVector.zero(SPECIES);
+			for (; i < bound; i += SPECIES.length()) {
+				FloatVector diff = FloatVector.fromArray(SPECIES, x, xOffset + i)
+					.sub(FloatVector.fromArray(SPECIES, y, yOffset + i));
+				sum = diff.fma(diff, sum);
+			}
+			result = sum.reduceLanes(VectorOperators.ADD);
+		}
+		for (; i < length; i++) {
+			float diff = x[xOffset + i] - y[yOffset + i];
+			result += diff * diff;
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return "VectorApiSimilarityKernel[" + SPECIES + "]";
+	}
+
+}
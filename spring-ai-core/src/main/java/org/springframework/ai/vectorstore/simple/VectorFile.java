@@ -0,0 +1,166 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only file of fixed size float32 rows in little-endian byte order, holding the
+ * full precision vectors of a {@link QuantizedVectorStorage} off the heap. Rows are read
+ * with positional reads, which are served from the page cache for recently used rows.
+ *
+ * The file is deleted when the JVM exits. Appends must be serialized by the caller, reads
+ * may run concurrently.
+ *
+ * @since 1.0.0
+ */
+final class VectorFile {
+
+	private final FileChannel channel;
+
+	private final int dimensions;
+
+	private final int rowBytes;
+
+	private final ThreadLocal<ByteBuffer> rowBuffers;
+
+	private int rows;
+
+	VectorFile(Path directory, int dimensions) {
+		this.dimensions = dimensions;
+		this.rowBytes = dimensions * Float.BYTES;
+		this.rowBuffers = ThreadLocal
+			.withInitial(() -> ByteBuffer.allocateDirect(this.rowBytes).order(ByteOrder.LITTLE_ENDIAN));
+		try {
+			Files.createDirectories(directory);
+			Path file = Files.createTempFile(directory, "vectors-", ".f32");
+			this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+					StandardOpenOption.DELETE_ON_CLOSE);
+			file.toFile().deleteOnExit();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to create the vector file in " + directory, ex);
+		}
+	}
+
+	int dimensions() {
+		return this.dimensions;
+	}
+
+	int rows() {
+		return this.rows;
+	}
+
+	/**
+	 * @return the size of the file in bytes.
+	 */
+	long sizeInBytes() {
+		return (long) this.rows * this.rowBytes;
+	}
+
+	/**
+	 * Append a row to the file.
+	 * @return the row index.
+	 */
+	int append(float[] vector) {
+		ByteBuffer buffer = ByteBuffer.allocate(this.rowBytes).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.asFloatBuffer().put(vector, 0, this.dimensions);
+		try {
+			long position = (long) this.rows * this.rowBytes;
+			while (buffer.hasRemaining()) {
+				position += this.channel.write(buffer, position);
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to write to the vector file", ex);
+		}
+		return this.rows++;
+	}
+
+	/**
+	 * @param row the row index.
+	 * @return a heap copy of the row.
+	 */
+	float[] read(int row) {
+		ByteBuffer buffer = readRow(row);
+		float[] vector = new float[this.dimensions];
+		buffer.asFloatBuffer().get(vector);
+		return vector;
+	}
+
+	/**
+	 * @param row the row index.
+	 * @param query the query vector.
+	 * @param kernel the kernel computing the dot product.
+	 * @return the dot product of the query and the row.
+	 */
+	float dotProduct(int row, float[] query, SimilarityKernel kernel) {
+		return kernel.dotProduct(query, readRow(row), 0, this.dimensions);
+	}
+
+	/**
+	 * Remove all rows.
+	 */
+	void truncate() {
+		try {
+			this.channel.truncate(0);
+			this.rows = 0;
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to truncate the vector file", ex);
+		}
+	}
+
+	/**
+	 * Close and delete the file.
+	 */
+	void close() {
+		try {
+			this.channel.close();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to close the vector file", ex);
+		}
+	}
+
+	private ByteBuffer readRow(int row) {
+		ByteBuffer buffer = this.rowBuffers.get();
+		buffer.clear();
+		try {
+			long position = (long) row * this.rowBytes;
+			while (buffer.hasRemaining()) {
+				int read = this.channel.read(buffer, position);
+				if (read < 0) {
+					throw new IllegalStateException("Row " + row + " is beyond the end of the vector file");
+				}
+				position += read;
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to read from the vector file", ex);
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+import java.util.List;
+
+/**
+ * Lossy compression of unit length vectors into fixed size byte codes, whose similarity
+ * to a query can be estimated without decoding them.
+ *
+ * @since 1.0.0
+ * @see ScalarQuantizer
+ * @see ProductQuantizer
+ */
+interface VectorQuantizer {
+
+	/**
+	 * @return the number of bytes of the code of one vector.
+	 */
+	int codeSize();
+
+	/**
+	 * @return the number of vectors {@link #train(List)} needs, zero if the quantizer
+	 * doesn't need training.
+	 */
+	int trainingSize();
+
+	/**
+	 * @return true if vectors can be encoded.
+	 */
+	boolean isTrained();
+
+	/**
+	 * Fit the quantizer to the distribution of the given vectors.
+	 * @param vectors unit length training vectors.
+	 */
+	void train(List<float[]> vectors);
+
+	/**
+	 * @param vector the unit length vector to encode.
+	 * @param codes the array receiving the code.
+	 * @param offset the index of the first byte of the code.
+	 */
+	void encode(float[] vector, byte[] codes, int offset);
+
+	/**
+	 * @param query the unit length query vector.
+	 * @return a scorer estimating the dot product of the query with encoded vectors.
+	 */
+	Scorer scorer(float[] query);
+
+	/**
+	 * Estimates the dot product of one query with encoded vectors.
+	 */
+	interface Scorer {
+
+		/**
+		 * @param codes the array holding the code.
+		 * @param offset the index of the first byte of the code.
+		 * @return the estimated dot product.
+		 */
+		float score(byte[] codes, int offset);
+
+	}
+
+}
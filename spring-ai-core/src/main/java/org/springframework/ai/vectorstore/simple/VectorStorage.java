@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Holds the embeddings of an in-process vector store outside of the stored documents and
+ * answers cosine similarity searches over them.
+ *
+ * Implementations are thread safe.
+ *
+ * @since 1.0.0
+ * @see PackedVectorStorage
+ * @see QuantizedVectorStorage
+ */
+public interface VectorStorage extends AutoCloseable {
+
+	/**
+	 * Add a vector to the storage. An existing vector with the same id is replaced.
+	 * @param id the document id.
+	 * @param embedding the document embedding.
+	 */
+	void add(String id, float[] embedding);
+
+	/**
+	 * Remove the vector with the given id.
+	 * @param id the document id.
+	 * @return true if the storage contained the id.
+	 */
+	boolean remove(String id);
+
+	/**
+	 * Remove all vectors.
+	 */
+	void clear();
+
+	/**
+	 * Replace the content of the storage with the rows of the snapshot.
+	 * @param snapshot the snapshot to serve the vectors from.
+	 */
+	void load(SimpleVectorStoreSnapshot snapshot);
+
+	/**
+	 * @return the number of stored vectors.
+	 */
+	int size();
+
+	/**
+	 * @param id the document id.
+	 * @return a copy of the stored full precision vector, or null if the id is unknown.
+	 */
+	@Nullable
+	float[] get(String id);
+
+	/**
+	 * Cosine similarity search over the stored vectors accepted by the filter. The filter
+	 * is applied before the similarity of a vector is computed.
+	 * @param query the query vector.
+	 * @param topK the maximum number of matches to return.
+	 * @param similarityThreshold the minimum similarity score of the returned matches.
+	 * @param filter only ids accepted by the filter are scored, null accepts all ids.
+	 * @return the matches ordered by descending similarity.
+	 */
+	List<SimilarityMatch> search(float[] query, int topK, double similarityThreshold,
+			@Nullable Predicate<String> filter);
+
+	/**
+	 * Cosine similarity search restricted to the given candidate ids, for searches whose
+	 * candidates were narrowed down upfront.
+	 * @param query the query vector.
+	 * @param topK the maximum number of matches to return.
+	 * @param similarityThreshold the minimum similarity score of the returned matches.
+	 * @param candidateIds the ids to score, unknown ids are ignored.
+	 * @param filter only candidates accepted by the filter are scored, null accepts all
+	 * candidates.
+	 * @return the matches ordered by descending similarity.
+	 */
+	List<SimilarityMatch> searchCandidates(float[] query, int topK, double similarityThreshold,
+			Collection<String> candidateIds, @Nullable Predicate<String> filter);
+
+	/**
+	 * Exhaustive cosine similarity search over all stored vectors.
+	 * @param query the query vector.
+	 * @param topK the maximum number of matches to return.
+	 * @param similarityThreshold the minimum similarity score of the returned matches.
+	 * @return the matches ordered by descending similarity.
+	 */
+	default List<SimilarityMatch> search(float[] query, int topK, double similarityThreshold) {
+		return search(query, topK, similarityThreshold, null);
+	}
+
+	/**
+	 * Remove all vectors and release the resources held outside of the heap, such as
+	 * temporary files. Does nothing by default.
+	 */
+	@Override
+	default void close() {
+	}
+
+}
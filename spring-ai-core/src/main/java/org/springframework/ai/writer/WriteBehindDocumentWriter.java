@@ -0,0 +1,371 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.writer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentWriter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * {@link DocumentWriter} queueing the documents and writing them to the delegate writer
+ * in batches, from a background thread. Writing to a vector store then embeds a whole
+ * batch with one embedding request and stores it with one bulk write, off the thread of
+ * the caller.
+ *
+ * The queue is flushed every flush interval, and as soon as it holds a full batch. When
+ * the queue is full, the {@link OverflowPolicy} decides whether the caller waits, the
+ * document is discarded or the caller writes it. The queued documents are written when
+ * the writer is closed. A failed batch write, even with an {@link Error}, is logged and
+ * its documents are lost.
+ *
+ * Documents are not visible in the delegate until their batch is written.
+ *
+ * @since 1.0.0
+ */
+public class WriteBehindDocumentWriter implements DocumentWriter, AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(WriteBehindDocumentWriter.class);
+
+	public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1);
+
+	public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+
+	public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+	public static final Duration DEFAULT_SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+	/**
+	 * What to do with a document when the queue is full.
+	 */
+	public enum OverflowPolicy {
+
+		/**
+		 * Wait for the queue to have room for the document.
+		 */
+		BLOCK,
+
+		/**
+		 * Discard the document, logging a warning.
+		 */
+		DISCARD,
+
+		/**
+		 * Write the document to the delegate on the caller thread.
+		 */
+		CALLER_RUNS
+
+	}
+
+	private final DocumentWriter delegate;
+
+	private final BlockingQueue<Document> queue;
+
+	private final int maxBatchSize;
+
+	private final OverflowPolicy overflowPolicy;
+
+	private final Duration shutdownTimeout;
+
+	private final ScheduledExecutorService executor;
+
+	private final Object flushMonitor = new Object();
+
+	private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+	private final AtomicBoolean closed = new AtomicBoolean();
+
+	private final AtomicLong writtenCount = new AtomicLong();
+
+	private final AtomicLong discardedCount = new AtomicLong();
+
+	private final AtomicLong failedCount = new AtomicLong();
+
+	private WriteBehindDocumentWriter(Builder builder) {
+		this.delegate = builder.delegate;
+		this.queue = new ArrayBlockingQueue<>(builder.queueCapacity);
+		this.maxBatchSize = builder.maxBatchSize;
+		this.overflowPolicy = builder.overflowPolicy;
+		this.shutdownTimeout = builder.shutdownTimeout;
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("write-behind-document-writer-");
+		threadFactory.setDaemon(true);
+		ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, threadFactory);
+		executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+		this.executor = executor;
+		long flushIntervalMillis = builder.flushInterval.toMillis();
+		this.executor.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+				TimeUnit.MILLISECONDS);
+	}
+
+	public static Builder builder(DocumentWriter delegate) {
+		return new Builder(delegate);
+	}
+
+	/**
+	 * Queues the documents to be written by the background thread.
+	 */
+	@Override
+	public void accept(List<Document> documents) {
+		Assert.notNull(documents, "documents must not be null");
+		Assert.state(!this.closed.get(), "The writer is closed");
+		for (Document document : documents) {
+			enqueue(document);
+		}
+		if (this.queue.size() >= this.maxBatchSize) {
+			scheduleFlush();
+		}
+	}
+
+	private void enqueue(Document document) {
+		if (this.queue.offer(document)) {
+			return;
+		}
+		switch (this.overflowPolicy) {
+			case BLOCK -> {
+				scheduleFlush();
+				try {
+					this.queue.put(document);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted while waiting for room in the queue", ex);
+				}
+			}
+			case DISCARD -> {
+				this.discardedCount.incrementAndGet();
+				logger.warn("Discarding document {} as the write-behind queue is full", document.getId());
+			}
+			case CALLER_RUNS -> {
+				this.delegate.accept(List.of(document));
+				this.writtenCount.incrementAndGet();
+			}
+		}
+	}
+
+	private void scheduleFlush() {
+		if (this.flushScheduled.compareAndSet(false, true)) {
+			try {
+				this.executor.execute(this::flushQuietly);
+			}
+			catch (RejectedExecutionException ex) {
+				// Closing, the queue is flushed by close().
+				this.flushScheduled.set(false);
+			}
+		}
+	}
+
+	private void flushQuietly() {
+		this.flushScheduled.set(false);
+		try {
+			flush();
+		}
+		catch (RuntimeException ex) {
+			// Already logged by flush(), the worker carries on with the next batches.
+		}
+		catch (Error ex) {
+			// Thrown out of the scheduled flush, it would cancel the next ones.
+			logger.error("Failed to write the queued documents", ex);
+		}
+	}
+
+	/**
+	 * Writes the queued documents on the caller thread, in batches.
+	 * @throws RuntimeException the exception of the first failed batch write, after all
+	 * the batches are written.
+	 */
+	public void flush() {
+		RuntimeException failure = null;
+		synchronized (this.flushMonitor) {
+			List<Document> batch = new ArrayList<>(this.maxBatchSize);
+			while (this.queue.drainTo(batch, this.maxBatchSize) > 0) {
+				try {
+					this.delegate.accept(batch);
+					this.writtenCount.addAndGet(batch.size());
+				}
+				catch (RuntimeException ex) {
+					this.failedCount.addAndGet(batch.size());
+					logger.error("Failed to write a batch of {} documents", batch.size(), ex);
+					if (failure == null) {
+						failure = ex;
+					}
+				}
+				catch (Error ex) {
+					this.failedCount.addAndGet(batch.size());
+					throw ex;
+				}
+				batch = new ArrayList<>(this.maxBatchSize);
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	/**
+	 * Stops the background thread and writes the queued documents, waiting at most the
+	 * shutdown timeout for the batch being written.
+	 */
+	@Override
+	public void close() {
+		if (!this.closed.compareAndSet(false, true)) {
+			return;
+		}
+		this.executor.shutdown();
+		try {
+			if (!this.executor.awaitTermination(this.shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+				logger.warn("Timed out waiting for the write-behind writer to complete its batch");
+				this.executor.shutdownNow();
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			this.executor.shutdownNow();
+		}
+		flushQuietly();
+		int remaining = this.queue.size();
+		if (remaining > 0) {
+			logger.warn("{} documents were not written by the closed write-behind writer", remaining);
+		}
+	}
+
+	/**
+	 * @return the number of documents queued and not written yet.
+	 */
+	public int getPendingCount() {
+		return this.queue.size();
+	}
+
+	/**
+	 * @return the number of documents written to the delegate.
+	 */
+	public long getWrittenCount() {
+		return this.writtenCount.get();
+	}
+
+	/**
+	 * @return the number of documents discarded as the queue was full.
+	 */
+	public long getDiscardedCount() {
+		return this.discardedCount.get();
+	}
+
+	/**
+	 * @return the number of documents of the failed batch writes.
+	 */
+	public long getFailedCount() {
+		return this.failedCount.get();
+	}
+
+	public static class Builder {
+
+		private final DocumentWriter delegate;
+
+		private Duration flushInterval = DEFAULT_FLUSH_INTERVAL;
+
+		private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+		private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+		private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+		private Duration shutdownTimeout = DEFAULT_SHUTDOWN_TIMEOUT;
+
+		private Builder(DocumentWriter delegate) {
+			Assert.notNull(delegate, "delegate must not be null");
+			this.delegate = delegate;
+		}
+
+		/**
+		 * @param flushInterval the maximum time a document waits in the queue before its
+		 * batch is written. Defaults to 1 second.
+		 * @return this builder.
+		 */
+		public Builder withFlushInterval(Duration flushInterval) {
+			Assert.notNull(flushInterval, "flushInterval must not be null");
+			Assert.isTrue(flushInterval.toMillis() > 0, "flushInterval must be at least 1 ms");
+			this.flushInterval = flushInterval;
+			return this;
+		}
+
+		/**
+		 * @param queueCapacity the maximum number of queued documents. Defaults to
+		 * {@value WriteBehindDocumentWriter#DEFAULT_QUEUE_CAPACITY}.
+		 * @return this builder.
+		 */
+		public Builder withQueueCapacity(int queueCapacity) {
+			Assert.isTrue(queueCapacity > 0, "queueCapacity must be greater than 0");
+			this.queueCapacity = queueCapacity;
+			return this;
+		}
+
+		/**
+		 * @param maxBatchSize the maximum number of documents written to the delegate at
+		 * once. Defaults to {@value WriteBehindDocumentWriter#DEFAULT_MAX_BATCH_SIZE}.
+		 * @return this builder.
+		 */
+		public Builder withMaxBatchSize(int maxBatchSize) {
+			Assert.isTrue(maxBatchSize > 0, "maxBatchSize must be greater than 0");
+			this.maxBatchSize = maxBatchSize;
+			return this;
+		}
+
+		/**
+		 * @param overflowPolicy what to do with a document when the queue is full.
+		 * Defaults to {@link OverflowPolicy#BLOCK}.
+		 * @return this builder.
+		 */
+		public Builder withOverflowPolicy(OverflowPolicy overflowPolicy) {
+			Assert.notNull(overflowPolicy, "overflowPolicy must not be null");
+			this.overflowPolicy = overflowPolicy;
+			return this;
+		}
+
+		/**
+		 * @param shutdownTimeout the maximum time
+		 * {@link WriteBehindDocumentWriter#close()} waits for the batch being written,
+		 * before writing the queued documents. Defaults to 30 seconds.
+		 * @return this builder.
+		 */
+		public Builder withShutdownTimeout(Duration shutdownTimeout) {
+			Assert.notNull(shutdownTimeout, "shutdownTimeout must not be null");
+			Assert.isTrue(!shutdownTimeout.isNegative(), "shutdownTimeout must not be negative");
+			this.shutdownTimeout = shutdownTimeout;
+			return this;
+		}
+
+		public WriteBehindDocumentWriter build() {
+			return new WriteBehindDocumentWriter(this);
+		}
+
+	}
+
+}
@@ -17,9 +17,18 @@
 package org.springframework.ai.chat.client.advisor;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,6 +36,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.chat.client.AdvisedRequest;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.MessageType;
@@ -39,6 +49,10 @@ import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
 
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
 /**
  * @author Christian Tzolov
  */
@@ -57,6 +71,9 @@ public class QuestionAnswerAdvisorTests {
 	@Mock
 	VectorStore vectorStore;
 
+	@Mock
+	VectorStore memoryVectorStore;
+
 	@Test
 	public void qaAdvisorWithDynamicFilterExpressions() {
 
@@ -111,4 +128,149 @@ public class QuestionAnswerAdvisorTests {
 		assertThat(vectorSearchCaptor.getValue().getSimilarityThreshold()).isEqualTo(0.99d);
 		assertThat(vectorSearchCaptor.getValue().getTopK()).isEqualTo(6);
 	}
+
+	@Test
+	public void streamingRetrievesConcurrentlyWithTheChatMemory() {
+
+		when(chatModel.stream(promptCaptor.capture()))
+			.thenReturn(Flux.just(new ChatResponse(List.of(new Generation("Your answer is ZXY")))));
+
+		// Every search waits for the other one to start, so they can only complete
+		// concurrently.
+		CountDownLatch searches = new CountDownLatch(2);
+		List<String> searchThreads = new CopyOnWriteArrayList<>();
+		when(vectorStore.similaritySearch(any(SearchRequest.class))).thenAnswer(invocation -> {
+			searchThreads.add(Thread.currentThread().getName());
+			searches.countDown();
+			assertThat(searches.await(10, TimeUnit.SECONDS)).isTrue();
+			return List.of(new Document("doc1"));
+		});
+		when(memoryVectorStore.similaritySearch(any(SearchRequest.class))).thenAnswer(invocation -> {
+			searchThreads.add(Thread.currentThread().getName());
+			searches.countDown();
+			assertThat(searches.await(10, TimeUnit.SECONDS)).isTrue();
+			return List.of(new Document("memory1"));
+		});
+
+		var chatClient = ChatClient.builder(chatModel)
+			.defaultAdvisors(new VectorStoreChatMemoryAdvisor(memoryVectorStore, "default", 10, "Memory: {long_term_memory}",
+					documents -> {
+					}), new QuestionAnswerAdvisor(vectorStore))
+			.build();
+
+		// @formatter:off
+		var content = chatClient.prompt()
+			.user("Please answer my question XYZ")
+			.stream()
+			.content()
+			.collectList()
+			.block();
+		// @formatter:on
+
+		assertThat(content).containsExactly("Your answer is ZXY");
+		assertThat(searchThreads).hasSize(2).doesNotContain(Thread.currentThread().getName());
+		verify(vectorStore, times(1)).similaritySearch(any(SearchRequest.class));
+		verify(memoryVectorStore, times(1)).similaritySearch(any(SearchRequest.class));
+
+		assertThat(promptCaptor.getValue().getContents()).contains("doc1").contains("memory1");
+	}
+
+	@Test
+	public void prefetchedDocumentsAreOnlyUsedForTheSameSearch() {
+
+		when(vectorStore.similaritySearch(vectorSearchCaptor.capture())).thenReturn(List.of(new Document("doc1")));
+
+		var qaAdvisor = new QuestionAnswerAdvisor(vectorStore);
+		var request = AdvisedRequest.builder().withChatModel(chatModel).withUserText("question").build();
+		Map<String, Object> context = new HashMap<>();
+
+		qaAdvisor.prefetch(request, context).block();
+		qaAdvisor.adviseRequest(request, context);
+
+		verify(vectorStore, times(1)).similaritySearch(any(SearchRequest.class));
+
+		qaAdvisor.prefetch(request, context).block();
+		qaAdvisor.adviseRequest(AdvisedRequest.from(request).withUserText("rephrased question").build(), context);
+
+		verify(vectorStore, times(3)).similaritySearch(any(SearchRequest.class));
+		assertThat(vectorSearchCaptor.getValue().getQuery()).isEqualTo("rephrased question");
+	}
+
+	@Test
+	public void advisorsOfTheSameTypeKeepTheirOwnPrefetchedDocuments() {
+
+		when(vectorStore.similaritySearch(any(SearchRequest.class))).thenReturn(List.of(new Document("doc1")));
+		when(memoryVectorStore.similaritySearch(any(SearchRequest.class))).thenReturn(List.of(new Document("doc2")));
+
+		var qaAdvisor1 = new QuestionAnswerAdvisor(vectorStore);
+		var qaAdvisor2 = new QuestionAnswerAdvisor(memoryVectorStore);
+		var request = AdvisedRequest.builder().withChatModel(chatModel).withUserText("question").build();
+		Map<String, Object> context = new HashMap<>();
+
+		qaAdvisor1.prefetch(request, context).block();
+		qaAdvisor2.prefetch(request, context).block();
+
+		assertThat(qaAdvisor1.adviseRequest(request, context).userParams()).containsEntry("question_answer_context",
+				"doc1");
+		assertThat(qaAdvisor2.adviseRequest(request, context).userParams()).containsEntry("question_answer_context",
+				"doc2");
+		verify(vectorStore, times(1)).similaritySearch(any(SearchRequest.class));
+		verify(memoryVectorStore, times(1)).similaritySearch(any(SearchRequest.class));
+	}
+
+	@Test
+	public void chatMemoryIsWrittenThroughTheProvidedMemoryWriter() {
+
+		when(chatModel.call(any(Prompt.class)))
+			.thenReturn(new ChatResponse(List.of(new Generation("Your answer is ZXY"))));
+
+		List<Document> writtenDocuments = new CopyOnWriteArrayList<>();
+		var memoryAdvisor = new VectorStoreChatMemoryAdvisor(memoryVectorStore, "conversation-1", 10,
+				"Memory: {long_term_memory}", writtenDocuments::addAll);
+
+		var content = ChatClient.builder(chatModel)
+			.defaultAdvisors(memoryAdvisor)
+			.build()
+			.prompt()
+			.user("Please answer my question XYZ")
+			.call()
+			.content();
+
+		assertThat(content).isEqualTo("Your answer is ZXY");
+		assertThat(writtenDocuments).extracting(Document::getContent)
+			.containsExactly("Please answer my question XYZ", "Your answer is ZXY");
+		assertThat(writtenDocuments)
+			.allSatisfy(document -> assertThat(document.getMetadata()).containsEntry("conversationId", "conversation-1"));
+		verify(memoryVectorStore, never()).add(any());
+		verify(memoryVectorStore, never()).accept(any());
+	}
+
+	@Test
+	public void chatMemoryIsPrefetchedOnTheProvidedScheduler() {
+
+		List<String> searchThreads = new CopyOnWriteArrayList<>();
+		when(memoryVectorStore.similaritySearch(any(SearchRequest.class))).thenAnswer(invocation -> {
+			searchThreads.add(Thread.currentThread().getName());
+			return List.of(new Document("memory1"));
+		});
+
+		Scheduler scheduler = Schedulers.newSingle("memory-prefetch");
+		try {
+			var memoryAdvisor = new VectorStoreChatMemoryAdvisor(memoryVectorStore, "default", 10,
+					"Memory: {long_term_memory}", documents -> {
+					}, scheduler);
+			var request = AdvisedRequest.builder().withChatModel(chatModel).withUserText("question").build();
+			Map<String, Object> context = new HashMap<>();
+
+			memoryAdvisor.prefetch(request, context).block();
+			var advisedRequest = memoryAdvisor.adviseRequest(request, context);
+
+			assertThat(searchThreads).singleElement().asString().startsWith("memory-prefetch");
+			assertThat(advisedRequest.systemParams()).containsEntry("long_term_memory", "memory1");
+		}
+		finally {
+			scheduler.dispose();
+		}
+	}
+
 }
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.chat.model;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.observation.DefaultToolCallObservationConvention;
+import org.springframework.ai.chat.observation.ToolCallObservationContext;
+import org.springframework.ai.chat.observation.ToolCallObservationDocumentation;
+import org.springframework.ai.model.function.FunctionCallback;
+import org.springframework.ai.model.function.FunctionCallingOptions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AbstractToolCallSupportTests {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	@AfterEach
+	void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+	@Test
+	void toolCallsAreExecutedSequentiallyByDefault() {
+		TestToolCallSupport toolCallSupport = new TestToolCallSupport(
+				List.of(new TestFunctionCallback("upper", String::toUpperCase)));
+
+		ToolResponseMessage toolResponseMessage = toolCallSupport
+			.executeFunctions(assistantMessage("upper", "a", "upper", "b"));
+
+		assertThat(toolResponseMessage.getResponses()).extracting(ToolResponseMessage.ToolResponse::responseData)
+			.containsExactly("A", "B");
+	}
+
+	@Test
+	void toolCallsAreExecutedInParallelInTheirOrder() {
+		// Every call waits for all the calls to start, so it can only complete in
+		// parallel.
+		CountDownLatch started = new CountDownLatch(3);
+		TestFunctionCallback slow = new TestFunctionCallback("slow", input -> {
+			started.countDown();
+			await(started);
+			return "slow " + input;
+		});
+		TestToolCallSupport toolCallSupport = new TestToolCallSupport(List.of(slow));
+		toolCallSupport.setToolCallExecutor(this.executor);
+		toolCallSupport.setToolCallTimeout(Duration.ofSeconds(10));
+
+		ToolResponseMessage toolResponseMessage = toolCallSupport
+			.executeFunctions(assistantMessage("slow", "1", "slow", "2", "slow", "3"));
+
+		assertThat(toolResponseMessage.getResponses()).extracting(ToolResponseMessage.ToolResponse::id)
+			.containsExactly("id0", "id1", "id2");
+		assertThat(toolResponseMessage.getResponses()).extracting(ToolResponseMessage.ToolResponse::responseData)
+			.containsExactly("slow 1", "slow 2", "slow 3");
+	}
+
+	@Test
+	void slowParallelToolCallsTimeOut() {
+		CountDownLatch never = new CountDownLatch(1);
+		TestToolCallSupport toolCallSupport = new TestToolCallSupport(
+				List.of(new TestFunctionCallback("fast", input -> input), new TestFunctionCallback("stuck", input -> {
+					await(never);
+					return input;
+				})));
+		toolCallSupport.setToolCallExecutor(this.executor);
+		toolCallSupport.setToolCallTimeout(Duration.ofMillis(100));
+
+		// The stuck call comes first, so that it is the one timing out even when the
+		// fast call is slow to start.
+		assertThatThrownBy(() -> toolCallSupport.executeFunctions(assistantMessage("stuck", "b", "fast", "a")))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("[stuck] timed out");
+	}
+
+	@Test
+	void timedOutToolCallsAreInterrupted() throws InterruptedException {
+		CountDownLatch never = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		TestToolCallSupport toolCallSupport = new TestToolCallSupport(
+				List.of(new TestFunctionCallback("stuck", input -> {
+					try {
+						never.await();
+					}
+					catch (InterruptedException ex) {
+						interrupted.countDown();
+					}
+					return input;
+				})));
+		toolCallSupport.setToolCallExecutor(this.executor);
+		toolCallSupport.setToolCallTimeout(Duration.ofMillis(100));
+
+		// A single tool call also runs on the executor, with the timeout.
+		assertThatThrownBy(() -> toolCallSupport.executeFunctions(assistantMessage("stuck", "a")))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("[stuck] timed out");
+		assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void parallelToolCallFailuresArePropagated() {
+		TestToolCallSupport toolCallSupport = new TestToolCallSupport(
+				List.of(new TestFunctionCallback("fast", input -> input), new TestFunctionCallback("failing", input -> {
+					throw new IllegalArgumentException("Invalid input " + input);
+				})));
+		toolCallSupport.setToolCallExecutor(this.executor);
+
+		assertThatThrownBy(() -> toolCallSupport.executeFunctions(assistantMessage("fast", "a", "failing", "b")))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Invalid input b");
+	}
+
+	@Test
+	void unknownFunctionsAreRejectedBeforeAnyCall() {
+		TestFunctionCallback upper = new TestFunctionCallback("upper", String::toUpperCase);
+		TestToolCallSupport toolCallSupport = new TestToolCallSupport(List.of(upper));
+		toolCallSupport.setToolCallExecutor(this.executor);
+
+		assertThatThrownBy(() -> toolCallSupport.executeFunctions(assistantMessage("upper", "a", "unknown", "b")))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("unknown");
+		assertThat(upper.calls).isZero();
+	}
+
+	@Test
+	void everyToolCallIsObservedAsAChildOfTheCurrentObservation() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		List<ToolCallObservationContext> observedToolCalls = new CopyOnWriteArrayList<>();
+		ObservationRegistry observationRegistry = ObservationRegistry.create();
+		observationRegistry.observationConfig()
+			.observationHandler(new DefaultMeterObservationHandler(meterRegistry))
+			.observationHandler(new ObservationHandler<ToolCallObservationContext>() {
+
+				@Override
+				public void onStop(ToolCallObservationContext context) {
+					observedToolCalls.add(context);
+				}
+
+				@Override
+				public boolean supportsContext(Observation.Context context) {
+					return context instanceof ToolCallObservationContext;
+				}
+
+			});
+		TestToolCallSupport toolCallSupport = new TestToolCallSupport(
+				List.of(new TestFunctionCallback("upper", String::toUpperCase)));
+		toolCallSupport.setToolCallExecutor(this.executor);
+		toolCallSupport.setToolCallObservationRegistry(observationRegistry);
+
+		Observation parent = Observation.start("parent", observationRegistry);
+		try (Observation.Scope scope = parent.openScope()) {
+			toolCallSupport.executeFunctions(assistantMessage("upper", "a", "upper", "b"));
+		}
+		finally {
+			parent.stop();
+		}
+
+		assertThat(observedToolCalls).hasSize(2).allSatisfy(context -> {
+			assertThat(context.getToolName()).isEqualTo("upper");
+			assertThat(context.getParentObservation()).isSameAs(parent);
+		});
+		assertThat(observedToolCalls).extracting(ToolCallObservationContext::getToolCallId)
+			.containsExactlyInAnyOrder("id0", "id1");
+		assertThat(observedToolCalls).extracting(ToolCallObservationContext::getResponse)
+			.containsExactlyInAnyOrder("A", "B");
+		assertThat(meterRegistry.get(DefaultToolCallObservationConvention.DEFAULT_NAME)
+			.tag(ToolCallObservationDocumentation.LowCardinalityKeyNames.TOOL_NAME.asString(), "upper")
+			.timer()
+			.count()).isEqualTo(2);
+	}
+
+	private static AssistantMessage assistantMessage(String... namesAndArguments) {
+		List<AssistantMessage.ToolCall> toolCalls = new ArrayList<>();
+		for (int i = 0; i < namesAndArguments.length; i += 2) {
+			toolCalls.add(new AssistantMessage.ToolCall("id" + (i / 2), "function", namesAndArguments[i],
+					namesAndArguments[i + 1]));
+		}
+		return new AssistantMessage("", Map.of(), toolCalls);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			if (!latch.await(10, TimeUnit.SECONDS)) {
+				throw new IllegalStateException("Timed out waiting for the other calls");
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static class TestToolCallSupport extends AbstractToolCallSupport {
+
+		TestToolCallSupport(List<FunctionCallback> functionCallbacks) {
+			super(null, FunctionCallingOptions.builder().build(), functionCallbacks);
+		}
+
+	}
+
+	private static class TestFunctionCallback implements FunctionCallback {
+
+		private final String name;
+
+		private final Function<String, String> function;
+
+		private volatile int calls;
+
+		TestFunctionCallback(String name, Function<String, String> function) {
+			this.name = name;
+			this.function = function;
+		}
+
+		@Override
+		public String getName() {
+			return this.name;
+		}
+
+		@Override
+		public String getDescription() {
+			return this.name;
+		}
+
+		@Override
+		public String getInputTypeSchema() {
+			return "{}";
+		}
+
+		@Override
+		public String call(String functionInput) {
+			this.calls++;
+			return this.function.apply(functionInput);
+		}
+
+	}
+
+}
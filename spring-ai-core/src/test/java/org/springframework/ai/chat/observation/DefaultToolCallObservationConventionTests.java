@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.chat.observation;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.chat.observation.ToolCallObservationDocumentation.HighCardinalityKeyNames;
+import org.springframework.ai.chat.observation.ToolCallObservationDocumentation.LowCardinalityKeyNames;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link DefaultToolCallObservationConvention}.
+ */
+class DefaultToolCallObservationConventionTests {
+
+	private final DefaultToolCallObservationConvention observationConvention = new DefaultToolCallObservationConvention();
+
+	@Test
+	void shouldHaveName() {
+		assertThat(this.observationConvention.getName()).isEqualTo(DefaultToolCallObservationConvention.DEFAULT_NAME);
+	}
+
+	@Test
+	void contextualName() {
+		ToolCallObservationContext observationContext = new ToolCallObservationContext("call_1", "getWeather",
+				"{\"city\":\"Paris\"}");
+		assertThat(this.observationConvention.getContextualName(observationContext)).isEqualTo("tool_call getWeather");
+	}
+
+	@Test
+	void supportsOnlyToolCallObservationContext() {
+		ToolCallObservationContext observationContext = new ToolCallObservationContext("call_1", "getWeather", "{}");
+		assertThat(this.observationConvention.supportsContext(observationContext)).isTrue();
+		assertThat(this.observationConvention.supportsContext(new Observation.Context())).isFalse();
+	}
+
+	@Test
+	void shouldHaveKeyValues() {
+		ToolCallObservationContext observationContext = new ToolCallObservationContext("call_1", "getWeather", "{}");
+		assertThat(this.observationConvention.getLowCardinalityKeyValues(observationContext)).containsExactlyInAnyOrder(
+				KeyValue.of(LowCardinalityKeyNames.SPRING_AI_KIND.asString(), "tool_call"),
+				KeyValue.of(LowCardinalityKeyNames.TOOL_NAME.asString(), "getWeather"));
+		assertThat(this.observationConvention.getHighCardinalityKeyValues(observationContext))
+			.containsExactly(KeyValue.of(HighCardinalityKeyNames.TOOL_CALL_ID.asString(), "call_1"));
+	}
+
+	@Test
+	void shouldHaveNoneToolCallIdWhenTheModelGivesNone() {
+		ToolCallObservationContext observationContext = new ToolCallObservationContext("", "getWeather", "{}");
+		assertThat(this.observationConvention.getHighCardinalityKeyValues(observationContext))
+			.containsExactly(KeyValue.of(HighCardinalityKeyNames.TOOL_CALL_ID.asString(), KeyValue.NONE_VALUE));
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.document;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DocumentPipelineTests {
+
+	private static final DocumentTransformer WORD_SPLITTER = documents -> documents.stream()
+		.flatMap(document -> Arrays.stream(document.getContent().split(" ")).map(Document::new))
+		.toList();
+
+	@Test
+	void documentsAreReadTransformedAndWrittenInBatches() {
+		List<List<String>> batches = new CopyOnWriteArrayList<>();
+		List<String> readers = new CopyOnWriteArrayList<>();
+
+		long count = DocumentPipeline.builder(List.of("a b c", "d e"), text -> () -> {
+			readers.add(text);
+			return List.of(new Document(text));
+		})
+			.withTransformer(WORD_SPLITTER, 1)
+			.withWriter(documents -> batches.add(documents.stream().map(Document::getContent).toList()))
+			.withWriteBatchSize(2)
+			.build()
+			.run();
+
+		assertThat(count).isEqualTo(5);
+		assertThat(readers).containsExactly("a b c", "d e");
+		assertThat(batches).containsExactly(List.of("a", "b"), List.of("c", "d"), List.of("e"));
+	}
+
+	@Test
+	void pipelineWithoutWriterStreamsTheTransformedDocuments() {
+		DocumentReader reader = () -> List.of(new Document("a b"), new Document("c"));
+
+		List<String> contents = DocumentPipeline.builder(reader)
+			.withTransformer(WORD_SPLITTER)
+			.build()
+			.stream()
+			.map(Document::getContent)
+			.collectList()
+			.block();
+
+		assertThat(contents).containsExactly("a", "b", "c");
+	}
+
+	@Test
+	void documentsInFlightAreBoundedByTheBuffers() {
+		int documentCount = 100_000;
+		AtomicLong read = new AtomicLong();
+		AtomicLong written = new AtomicLong();
+		AtomicLong maxInFlight = new AtomicLong();
+
+		Flux<Document> source = Flux.range(0, documentCount)
+			.map(i -> new Document("doc " + i))
+			.doOnNext(document -> read.incrementAndGet());
+
+		long count = DocumentPipeline.builder(source)
+			.withTransformer(documents -> documents, 10)
+			.withWriter(documents -> {
+				maxInFlight.accumulateAndGet(read.get() - written.get(), Math::max);
+				written.addAndGet(documents.size());
+			})
+			.withWriteBatchSize(10)
+			.withBufferSize(2)
+			.build()
+			.run();
+
+		assertThat(count).isEqualTo(documentCount);
+		assertThat(maxInFlight.get()).isLessThan(1_000);
+	}
+
+	@Test
+	void batchesAreWrittenConcurrently() {
+		CountDownLatch concurrentWrites = new CountDownLatch(2);
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			documents.add(new Document("doc " + i));
+		}
+
+		long count = DocumentPipeline.builder(Flux.fromIterable(documents)).withWriter(batch -> {
+			concurrentWrites.countDown();
+			try {
+				assertThat(concurrentWrites.await(10, TimeUnit.SECONDS)).isTrue();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}).withWriteBatchSize(1).withWriteConcurrency(2).build().run();
+
+		assertThat(count).isEqualTo(4);
+	}
+
+	@Test
+	void failuresCancelThePipeline() {
+		AtomicLong read = new AtomicLong();
+		Flux<Document> source = Flux.range(0, 10_000)
+			.map(i -> new Document("doc " + i))
+			.doOnNext(document -> read.incrementAndGet());
+
+		DocumentPipeline pipeline = DocumentPipeline.builder(source).withWriter(documents -> {
+			throw new IllegalStateException("Store unavailable");
+		}).build();
+
+		assertThatThrownBy(pipeline::run).isInstanceOf(IllegalStateException.class).hasMessage("Store unavailable");
+		assertThat(read.get()).isLessThan(10_000);
+	}
+
+}
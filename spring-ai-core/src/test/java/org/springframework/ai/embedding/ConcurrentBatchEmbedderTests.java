@@ -0,0 +1,260 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.Document;
+
+public class ConcurrentBatchEmbedderTests {
+
+	private static final BatchingStrategy BATCHES_OF_THREE = documents -> {
+		List<List<Document>> batches = new ArrayList<>();
+		for (int i = 0; i < documents.size(); i += 3) {
+			batches.add(documents.subList(i, Math.min(documents.size(), i + 3)));
+		}
+		return batches;
+	};
+
+	@Test
+	void embeddingsKeepTheDocumentOrder() {
+		SlowEmbeddingModel embeddingModel = new SlowEmbeddingModel(-1);
+		List<Document> documents = documents(50);
+
+		List<float[]> embeddings = embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(),
+				BATCHES_OF_THREE, EmbeddingConcurrency.of(4));
+
+		assertThat(embeddings).hasSize(50);
+		for (int i = 0; i < 50; i++) {
+			assertThat(embeddings.get(i)).containsExactly(i);
+			assertThat(documents.get(i).getEmbedding()).containsExactly(i);
+		}
+		assertThat(embeddingModel.calls.get()).isEqualTo(17);
+		assertThat(embeddingModel.maxInFlight.get()).isGreaterThan(1).isLessThanOrEqualTo(4);
+	}
+
+	@Test
+	void sequentialByDefault() {
+		SlowEmbeddingModel embeddingModel = new SlowEmbeddingModel(-1);
+
+		List<float[]> embeddings = embeddingModel.embed(documents(10), EmbeddingOptionsBuilder.builder().build(),
+				BATCHES_OF_THREE);
+
+		assertThat(embeddings).hasSize(10);
+		assertThat(embeddingModel.maxInFlight.get()).isEqualTo(1);
+	}
+
+	@Test
+	void inFlightRequestsAreBoundedOnSharedExecutor() {
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		try {
+			SlowEmbeddingModel embeddingModel = new SlowEmbeddingModel(-1);
+			EmbeddingConcurrency concurrency = EmbeddingConcurrency.builder()
+				.withMaxConcurrency(3)
+				.withExecutor(executor)
+				.build();
+
+			List<float[]> embeddings = embeddingModel.embed(documents(60), EmbeddingOptionsBuilder.builder().build(),
+					BATCHES_OF_THREE, concurrency);
+
+			assertThat(embeddings).hasSize(60);
+			assertThat(embeddingModel.maxInFlight.get()).isLessThanOrEqualTo(3);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void failingBatchStopsTheEmbeddingAndKeepsTheCompletedBatches() {
+		SlowEmbeddingModel embeddingModel = new SlowEmbeddingModel(2);
+		List<Document> documents = documents(90);
+
+		assertThatThrownBy(() -> embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(),
+				BATCHES_OF_THREE, EmbeddingConcurrency.of(2)))
+			.isInstanceOfSatisfying(BatchEmbeddingException.class, ex -> {
+				assertThat(ex).hasCauseInstanceOf(IllegalStateException.class).hasRootCauseMessage("Batch 2 failed");
+				assertThat(ex.getResults()).hasSize(30);
+				assertThat(ex.getFailedBatches()).hasSize(1);
+				int failedBatch = ex.getFailedBatches().get(0);
+				assertThat(ex.getUnsentBatches()).isNotEmpty()
+					.doesNotContain(failedBatch)
+					.containsExactlyElementsOf(IntStream.range(30 - ex.getUnsentBatches().size(), 30).boxed().toList());
+				for (int batch = 0; batch < 30; batch++) {
+					boolean embedded = batch != failedBatch && !ex.getUnsentBatches().contains(batch);
+					for (int i = batch * 3; i < batch * 3 + 3; i++) {
+						assertThat(documents.get(i).getEmbedding())
+							.isEqualTo(embedded ? new float[] { i } : new float[0]);
+					}
+				}
+			});
+		assertThat(embeddingModel.calls.get()).isLessThan(30);
+	}
+
+	@Test
+	void concurrentCallsWithoutExecutorReuseTheSharedThreads() {
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		for (int i = 0; i < 5; i++) {
+			EmbeddingConcurrency.of(3).invokeAll(IntStream.range(0, 6).boxed().toList(), input -> {
+				threads.add(Thread.currentThread());
+				return input;
+			});
+		}
+
+		assertThat(threads).allSatisfy(thread -> {
+			assertThat(thread.getName()).startsWith("embedding-batch-");
+			assertThat(thread.isDaemon()).isTrue();
+		});
+		// A pool per call would have started 15 threads.
+		assertThat(threads).hasSizeLessThan(15);
+	}
+
+	@Test
+	void embeddingsFollowTheDocumentsWhenBatchingReordersThem() {
+		SlowEmbeddingModel embeddingModel = new SlowEmbeddingModel(-1);
+		List<Document> documents = documents(20);
+		BatchingStrategy reversed = docs -> List.of(docs.subList(10, 20), docs.subList(0, 10));
+
+		List<float[]> embeddings = embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), reversed,
+				EmbeddingConcurrency.of(2));
+
+		for (int i = 0; i < 20; i++) {
+			assertThat(embeddings.get(i)).containsExactly(i);
+		}
+	}
+
+	@Test
+	void invokeAllKeepsTheInputOrder() {
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+
+		List<Integer> results = EmbeddingConcurrency.of(5).invokeAll(IntStream.range(0, 40).boxed().toList(), i -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(ThreadLocalRandom.current().nextInt(1, 10));
+				return i * 2;
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(ex);
+			}
+			finally {
+				inFlight.decrementAndGet();
+			}
+		});
+
+		assertThat(results).containsExactlyElementsOf(IntStream.range(0, 40).map(i -> i * 2).boxed().toList());
+		assertThat(maxInFlight.get()).isGreaterThan(1).isLessThanOrEqualTo(5);
+	}
+
+	@Test
+	void invokeAllStopsAtTheFirstFailure() {
+		AtomicInteger calls = new AtomicInteger();
+
+		assertThatThrownBy(() -> EmbeddingConcurrency.of(2).invokeAll(IntStream.range(0, 100).boxed().toList(), i -> {
+			calls.incrementAndGet();
+			if (i == 3) {
+				throw new IllegalArgumentException("Input 3 failed");
+			}
+			return i;
+		})).isInstanceOfSatisfying(BatchEmbeddingException.class, ex -> {
+			assertThat(ex).hasCauseInstanceOf(IllegalArgumentException.class).hasRootCauseMessage("Input 3 failed");
+			assertThat(ex.getFailedBatches()).containsExactly(3);
+			assertThat(ex.getResults()).hasSize(100);
+			assertThat(ex.getResults().subList(0, 4)).isEqualTo(Arrays.asList(0, 1, 2, null));
+		});
+		assertThat(calls.get()).isLessThan(100);
+	}
+
+	@Test
+	void sequentialInvokeAllRethrowsTheFailure() {
+		assertThatThrownBy(() -> EmbeddingConcurrency.SEQUENTIAL.invokeAll(List.of(1, 2, 3), i -> {
+			if (i == 2) {
+				throw new IllegalArgumentException("Input 2 failed");
+			}
+			return i;
+		})).isInstanceOf(IllegalArgumentException.class).hasMessage("Input 2 failed");
+	}
+
+	private static List<Document> documents(int count) {
+		return IntStream.range(0, count).mapToObj(i -> new Document(String.valueOf(i))).toList();
+	}
+
+	/**
+	 * Embeds every text into a one dimension vector holding the text as a number, after a
+	 * short random delay.
+	 */
+	private static class SlowEmbeddingModel implements EmbeddingModel {
+
+		private final AtomicInteger calls = new AtomicInteger();
+
+		private final AtomicInteger inFlight = new AtomicInteger();
+
+		private final AtomicInteger maxInFlight = new AtomicInteger();
+
+		private final int failingCall;
+
+		SlowEmbeddingModel(int failingCall) {
+			this.failingCall = failingCall;
+		}
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			int call = this.calls.getAndIncrement();
+			int current = this.inFlight.incrementAndGet();
+			this.maxInFlight.accumulateAndGet(current, Math::max);
+			try {
+				Thread.sleep(ThreadLocalRandom.current().nextInt(5, 20));
+				if (call == this.failingCall) {
+					throw new IllegalStateException("Batch " + call + " failed");
+				}
+				List<Embedding> embeddings = new ArrayList<>();
+				for (String text : request.getInstructions()) {
+					embeddings.add(new Embedding(new float[] { Float.parseFloat(text) }, embeddings.size()));
+				}
+				return new EmbeddingResponse(embeddings);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(ex);
+			}
+			finally {
+				this.inFlight.decrementAndGet();
+			}
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+}
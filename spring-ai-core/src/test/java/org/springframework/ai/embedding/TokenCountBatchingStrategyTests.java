@@ -21,13 +21,20 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
 import org.springframework.ai.document.Document;
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy.BinPacking;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 
+import com.knuddels.jtokkit.api.EncodingType;
+
 /**
  * Basic unit test for {@link TokenCountBatchingStrategy}.
  *
@@ -54,4 +61,82 @@ public class TokenCountBatchingStrategyTests {
 		}).isInstanceOf(IllegalArgumentException.class);
 	}
 
+	@Test
+	void batchesPreserveTheInputOrder() {
+		List<Document> documents = IntStream.range(0, 100).mapToObj(i -> new Document("Document number " + i)).toList();
+		TokenCountBatchingStrategy tokenCountBatchingStrategy = new TokenCountBatchingStrategy(EncodingType.CL100K_BASE,
+				40, 0, Document.DEFAULT_CONTENT_FORMATTER, MetadataMode.NONE);
+
+		List<List<Document>> batches = tokenCountBatchingStrategy.batch(documents);
+
+		assertThat(batches).hasSizeGreaterThan(1);
+		assertThat(batches.stream().flatMap(List::stream).toList()).containsExactlyElementsOf(documents);
+	}
+
+	@Test
+	void batchesAreLimitedByDocumentCount() {
+		List<Document> documents = IntStream.range(0, 10).mapToObj(i -> new Document("Hello " + i)).toList();
+		for (BinPacking binPacking : BinPacking.values()) {
+			TokenCountBatchingStrategy tokenCountBatchingStrategy = new TokenCountBatchingStrategy(
+					EncodingType.CL100K_BASE, 8191, 0.1, Document.DEFAULT_CONTENT_FORMATTER, MetadataMode.NONE, 4,
+					binPacking);
+
+			List<List<Document>> batches = tokenCountBatchingStrategy.batch(documents);
+
+			assertThat(batches).extracting(List::size).containsExactly(4, 4, 2);
+		}
+	}
+
+	@Test
+	void firstFitDecreasingMinimizesTheNumberOfBatches() {
+		// Two large documents followed by two small ones: next fit leaves the last small
+		// document alone, while first fit decreasing pairs every large document with a
+		// small one.
+		String large = "word ".repeat(60).trim();
+		String small = "word ".repeat(40).trim();
+		List<Document> documents = IntStream.range(0, 12)
+			.mapToObj(i -> new Document((i % 4 < 2) ? large : small))
+			.toList();
+
+		List<List<Document>> nextFit = new TokenCountBatchingStrategy(EncodingType.CL100K_BASE, 110, 0,
+				Document.DEFAULT_CONTENT_FORMATTER, MetadataMode.NONE, Integer.MAX_VALUE, BinPacking.NEXT_FIT)
+			.batch(documents);
+		List<List<Document>> firstFitDecreasing = new TokenCountBatchingStrategy(EncodingType.CL100K_BASE, 110, 0,
+				Document.DEFAULT_CONTENT_FORMATTER, MetadataMode.NONE, Integer.MAX_VALUE,
+				BinPacking.FIRST_FIT_DECREASING)
+			.batch(documents);
+
+		assertThat(firstFitDecreasing).hasSizeLessThan(nextFit.size());
+		assertThat(firstFitDecreasing.stream().flatMap(List::stream)).containsExactlyInAnyOrderElementsOf(documents);
+		TokenCountEstimator estimator = new JTokkitTokenCountEstimator();
+		for (List<Document> batch : firstFitDecreasing) {
+			assertThat(batch.stream().mapToInt(document -> estimator.estimate(document.getContent())).sum())
+				.isLessThanOrEqualTo(110);
+			assertThat(batch).isSortedAccordingTo((a, b) -> documents.indexOf(a) - documents.indexOf(b));
+		}
+	}
+
+	@Test
+	void tokenCountIsCachedByTheStrategy() {
+		int[] estimations = new int[1];
+		TokenCountEstimator estimator = new JTokkitTokenCountEstimator() {
+			@Override
+			public int estimate(String text) {
+				estimations[0]++;
+				return super.estimate(text);
+			}
+		};
+		TokenCountBatchingStrategy tokenCountBatchingStrategy = new TokenCountBatchingStrategy(estimator, 8191, 0.1,
+				Document.DEFAULT_CONTENT_FORMATTER, MetadataMode.NONE, Integer.MAX_VALUE, BinPacking.NEXT_FIT);
+		Document document = new Document("Hello Spring AI");
+
+		tokenCountBatchingStrategy.batch(List.of(document));
+		tokenCountBatchingStrategy.batch(List.of(document));
+		assertThat(estimations[0]).isEqualTo(1);
+
+		document.getMetadata().put("key", "value");
+		tokenCountBatchingStrategy.batch(List.of(document));
+		assertThat(estimations[0]).isEqualTo(2);
+	}
+
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding.cache;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.embedding.observation.EmbeddingCacheMeterObservationHandler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CachingEmbeddingModelTests {
+
+	@Test
+	void onlyCacheMissesAreSentToTheDelegate() {
+		RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+		CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder()
+			.withEmbeddingModel(delegate)
+			.withModel("test-model")
+			.build();
+
+		embeddingModel.embed(List.of("a", "b"));
+		List<float[]> embeddings = embeddingModel.embed(List.of("b", "c", "a", "c"));
+
+		assertThat(delegate.requests).containsExactly(List.of("a", "b"), List.of("c"));
+		assertThat(embeddings).hasSize(4);
+		assertThat(embeddings.get(0)).containsExactly(1f);
+		assertThat(embeddings.get(1)).containsExactly(1f);
+		assertThat(embeddings.get(2)).containsExactly(1f);
+		assertThat(embeddings.get(3)).containsExactly(1f);
+		assertThat(embeddingModel.getHitCount()).isEqualTo(3);
+		assertThat(embeddingModel.getMissCount()).isEqualTo(3);
+	}
+
+	@Test
+	void embeddingsOfEveryPositionAreReturnedInOrder() {
+		RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+		CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder()
+			.withEmbeddingModel(delegate)
+			.withModel("test-model")
+			.build();
+
+		embeddingModel.embed(List.of("xx"));
+		EmbeddingResponse response = embeddingModel.embedForResponse(List.of("yyy", "xx", "z"));
+
+		assertThat(response.getResults()).extracting(Embedding::getIndex).containsExactly(0, 1, 2);
+		assertThat(response.getResults()).extracting(Embedding::getOutput)
+			.containsExactly(new float[] { 3f }, new float[] { 2f }, new float[] { 1f });
+	}
+
+	@Test
+	void optionsAndModelArePartOfTheKey() {
+		RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+		InMemoryEmbeddingCache cache = new InMemoryEmbeddingCache(100);
+		CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder()
+			.withEmbeddingModel(delegate)
+			.withModel("test-model")
+			.withCache(cache)
+			.build();
+		CachingEmbeddingModel otherModel = CachingEmbeddingModel.builder()
+			.withEmbeddingModel(delegate)
+			.withModel("other-model")
+			.withCache(cache)
+			.build();
+
+		embeddingModel.call(new EmbeddingRequest(List.of("a"), EmbeddingOptionsBuilder.builder().build()));
+		embeddingModel.call(new EmbeddingRequest(List.of("a"), EmbeddingOptionsBuilder.builder().build()));
+		embeddingModel
+			.call(new EmbeddingRequest(List.of("a"), EmbeddingOptionsBuilder.builder().withDimensions(256).build()));
+		otherModel.call(new EmbeddingRequest(List.of("a"), EmbeddingOptionsBuilder.builder().build()));
+
+		assertThat(delegate.requests).hasSize(3);
+		assertThat(cache.size()).isEqualTo(3);
+	}
+
+	@Test
+	void inMemoryCacheEvictsTheLeastRecentlyUsedEmbedding() {
+		RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+		CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder()
+			.withEmbeddingModel(delegate)
+			.withModel("test-model")
+			.withCache(new InMemoryEmbeddingCache(2))
+			.build();
+
+		embeddingModel.embed(List.of("a", "b"));
+		embeddingModel.embed("a");
+		embeddingModel.embed("c");
+		embeddingModel.embed(List.of("a", "b"));
+
+		assertThat(delegate.requests).containsExactly(List.of("a", "b"), List.of("c"), List.of("b"));
+	}
+
+	@Test
+	void persistentCacheSurvivesTheInMemoryCache(@TempDir Path directory) throws Exception {
+		RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+		Path file = directory.resolve("embeddings.cache");
+		try (FileEmbeddingCache persistentCache = new FileEmbeddingCache(file)) {
+			CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder()
+				.withEmbeddingModel(delegate)
+				.withModel("test-model")
+				.withPersistentCache(persistentCache)
+				.build();
+			embeddingModel.embed(new Document("1", "some content", Map.of()));
+		}
+
+		try (FileEmbeddingCache persistentCache = new FileEmbeddingCache(file)) {
+			CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder()
+				.withEmbeddingModel(delegate)
+				.withModel("test-model")
+				.withPersistentCache(persistentCache)
+				.build();
+			assertThat(embeddingModel.embed(new Document("2", "some content", Map.of()))).containsExactly(12f);
+			assertThat(embeddingModel.getHitCount()).isEqualTo(1);
+		}
+		assertThat(delegate.documents).isEqualTo(1);
+	}
+
+	@Test
+	void hitsAndMissesAreObserved() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		ObservationRegistry observationRegistry = ObservationRegistry.create();
+		observationRegistry.observationConfig()
+			.observationHandler(new EmbeddingCacheMeterObservationHandler(meterRegistry));
+		CachingEmbeddingModel embeddingModel = CachingEmbeddingModel.builder()
+			.withEmbeddingModel(new RecordingEmbeddingModel())
+			.withModel("test-model")
+			.withObservationRegistry(observationRegistry)
+			.build();
+
+		embeddingModel.embed(List.of("a", "b"));
+		embeddingModel.embed(List.of("a", "b", "c"));
+
+		assertThat(meterRegistry.get(EmbeddingCacheMeterObservationHandler.LOOKUPS_METRIC_NAME)
+			.tag("result", "hit")
+			.tag("gen_ai.request.model", "test-model")
+			.counter()
+			.count()).isEqualTo(2);
+		assertThat(meterRegistry.get(EmbeddingCacheMeterObservationHandler.LOOKUPS_METRIC_NAME)
+			.tag("result", "miss")
+			.counter()
+			.count()).isEqualTo(3);
+	}
+
+	/**
+	 * Embeds every text into a one dimension vector holding the text length.
+	 */
+	private static class RecordingEmbeddingModel implements EmbeddingModel {
+
+		private final List<List<String>> requests = new ArrayList<>();
+
+		private int documents;
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			this.requests.add(request.getInstructions());
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				embeddings.add(new Embedding(new float[] { text.length() }, embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			this.documents++;
+			return new float[] { document.getContent().length() };
+		}
+
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding.cache;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FileEmbeddingCacheTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void embeddingsAreReadBackAfterReopening() throws IOException {
+		Path file = this.directory.resolve("cache/embeddings.cache");
+		try (FileEmbeddingCache cache = new FileEmbeddingCache(file)) {
+			cache.put("a", new float[] { 1f, -2.5f, 3f });
+			cache.put("ключ", new float[] { 0.125f });
+			cache.put("a", new float[] { 9f });
+			assertThat(cache.get("a")).containsExactly(1f, -2.5f, 3f);
+			assertThat(cache.get("missing")).isNull();
+		}
+
+		try (FileEmbeddingCache cache = new FileEmbeddingCache(file)) {
+			assertThat(cache.size()).isEqualTo(2);
+			assertThat(cache.get("a")).containsExactly(1f, -2.5f, 3f);
+			assertThat(cache.get("ключ")).containsExactly(0.125f);
+			cache.put("b", new float[] { 4f, 5f });
+		}
+
+		try (FileEmbeddingCache cache = new FileEmbeddingCache(file)) {
+			assertThat(cache.size()).isEqualTo(3);
+			assertThat(cache.get("b")).containsExactly(4f, 5f);
+		}
+	}
+
+	@Test
+	void truncatedLastRecordIsDropped() throws IOException {
+		Path file = this.directory.resolve("embeddings.cache");
+		try (FileEmbeddingCache cache = new FileEmbeddingCache(file)) {
+			cache.put("a", new float[] { 1f, 2f });
+			cache.put("b", new float[] { 3f, 4f });
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() - 3);
+		}
+
+		try (FileEmbeddingCache cache = new FileEmbeddingCache(file)) {
+			assertThat(cache.size()).isEqualTo(1);
+			assertThat(cache.get("a")).containsExactly(1f, 2f);
+			assertThat(cache.get("b")).isNull();
+			cache.put("b", new float[] { 5f, 6f });
+		}
+
+		try (FileEmbeddingCache cache = new FileEmbeddingCache(file)) {
+			assertThat(cache.get("b")).containsExactly(5f, 6f);
+		}
+	}
+
+	@Test
+	void otherFilesAreRejected() throws IOException {
+		Path file = Files.writeString(this.directory.resolve("other.txt"), "not an embedding cache");
+
+		assertThatThrownBy(() -> new FileEmbeddingCache(file)).isInstanceOf(IllegalStateException.class);
+	}
+
+}
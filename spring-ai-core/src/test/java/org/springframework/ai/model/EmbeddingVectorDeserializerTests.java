@@ -0,0 +1,98 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EmbeddingVectorDeserializerTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	record Embedding(
+			@JsonProperty("embedding") @JsonDeserialize(using = EmbeddingVectorDeserializer.class) float[] embedding) {
+	}
+
+	record EmbeddingList(@JsonProperty("vectors") @JsonDeserialize(
+			contentUsing = EmbeddingVectorDeserializer.class) List<float[]> vectors) {
+	}
+
+	@Test
+	void numberArray() throws Exception {
+		Embedding embedding = this.objectMapper.readValue("{\"embedding\": [0.5, -1.25, 3, 1.0E-3]}", Embedding.class);
+
+		assertThat(embedding.embedding()).containsExactly(0.5f, -1.25f, 3f, 1.0E-3f);
+	}
+
+	@Test
+	void base64() throws Exception {
+		float[] vector = new float[1536];
+		for (int i = 0; i < vector.length; i++) {
+			vector[i] = (float) Math.sin(i) / (i + 1);
+		}
+		vector[7] = Float.MIN_VALUE;
+		vector[8] = -0.0f;
+
+		Embedding embedding = this.objectMapper.readValue("{\"embedding\": \"" + base64(vector) + "\"}",
+				Embedding.class);
+
+		assertThat(embedding.embedding()).containsExactly(vector);
+	}
+
+	@Test
+	void listOfVectorsInBothEncodings() throws Exception {
+		float[] vector = { 1f, 2f, 3f };
+
+		EmbeddingList list = this.objectMapper.readValue("{\"vectors\": [\"" + base64(vector) + "\", [1, 2, 3], []]}",
+				EmbeddingList.class);
+
+		assertThat(list.vectors()).hasSize(3);
+		assertThat(list.vectors().get(0)).containsExactly(vector);
+		assertThat(list.vectors().get(1)).containsExactly(vector);
+		assertThat(list.vectors().get(2)).isEmpty();
+	}
+
+	@Test
+	void nullEmbedding() throws Exception {
+		assertThat(this.objectMapper.readValue("{\"embedding\": null}", Embedding.class).embedding()).isNull();
+	}
+
+	@Test
+	void truncatedBase64IsRejected() {
+		String truncated = Base64.getEncoder().encodeToString(new byte[] { 0, 0, -128, 63, 0, 0 });
+
+		assertThatThrownBy(() -> this.objectMapper.readValue("{\"embedding\": \"" + truncated + "\"}", Embedding.class))
+			.isInstanceOf(InvalidFormatException.class);
+	}
+
+	private static String base64(float[] vector) {
+		ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.asFloatBuffer().put(vector);
+		return Base64.getEncoder().encodeToString(buffer.array());
+	}
+
+}
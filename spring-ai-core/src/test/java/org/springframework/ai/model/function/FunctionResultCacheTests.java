@@ -0,0 +1,339 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.model.function;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Description;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FunctionResultCacheTests {
+
+	@Test
+	void argumentsAreCanonicalized() {
+		assertThat(FunctionResultCache.canonicalize("{ \"b\": [2, 1], \"a\": {\"d\": 1.50, \"c\": null} }"))
+			.isEqualTo("{\"a\":{\"c\":null,\"d\":1.50},\"b\":[2,1]}");
+		assertThat(FunctionResultCache.canonicalize("not json")).isEqualTo("not json");
+	}
+
+	@Test
+	void equivalentArgumentsShareTheirResponse() {
+		FunctionResultCache cache = new FunctionResultCache(Duration.ofMinutes(1), 10);
+		AtomicInteger calls = new AtomicInteger();
+		Function<String, String> function = arguments -> "response " + calls.incrementAndGet();
+
+		assertThat(cache.call("getPrice", "{\"sku\":\"42\",\"store\":1}", function)).isEqualTo("response 1");
+		assertThat(cache.call("getPrice", "{ \"store\": 1, \"sku\": \"42\" }", function)).isEqualTo("response 1");
+		assertThat(cache.call("getPrice", "{\"sku\":\"43\",\"store\":1}", function)).isEqualTo("response 2");
+
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(cache.getMissCount()).isEqualTo(2);
+	}
+
+	@Test
+	void responsesExpireAfterTheirTimeToLive() {
+		MutableClock clock = new MutableClock();
+		FunctionResultCache cache = new FunctionResultCache(Duration.ofSeconds(10), 10, clock);
+		AtomicInteger calls = new AtomicInteger();
+		Function<String, String> function = arguments -> "response " + calls.incrementAndGet();
+
+		cache.call("getPrice", "{}", function);
+		clock.advance(Duration.ofSeconds(9));
+		assertThat(cache.call("getPrice", "{}", function)).isEqualTo("response 1");
+		clock.advance(Duration.ofSeconds(1));
+		assertThat(cache.call("getPrice", "{}", function)).isEqualTo("response 2");
+	}
+
+	@Test
+	void leastRecentlyUsedResponseIsEvicted() {
+		FunctionResultCache cache = new FunctionResultCache(Duration.ofMinutes(1), 2);
+		List<String> calls = new ArrayList<>();
+		Function<String, String> function = arguments -> {
+			calls.add(arguments);
+			return arguments;
+		};
+
+		cache.call("getPrice", "1", function);
+		cache.call("getPrice", "2", function);
+		cache.call("getPrice", "1", function);
+		cache.call("getPrice", "3", function);
+		cache.call("getPrice", "1", function);
+		cache.call("getPrice", "2", function);
+
+		assertThat(calls).containsExactly("1", "2", "3", "2");
+		assertThat(cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	void concurrentCallsWithTheSameArgumentsAreCoalesced() throws Exception {
+		FunctionResultCache cache = new FunctionResultCache(Duration.ofMinutes(1), 10);
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		Function<String, String> function = arguments -> {
+			calls.incrementAndGet();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return "price";
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<CompletableFuture<String>> responses = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				responses.add(CompletableFuture.supplyAsync(() -> cache.call("getPrice", "{\"sku\":\"42\"}", function),
+						executor));
+			}
+			// Wait for the followers to join the call in flight.
+			while (cache.getHitCount() < 3) {
+				Thread.sleep(5);
+			}
+			release.countDown();
+
+			for (CompletableFuture<String> response : responses) {
+				assertThat(response.get(10, TimeUnit.SECONDS)).isEqualTo("price");
+			}
+			assertThat(calls).hasValue(1);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void failuresAreNotCached() {
+		FunctionResultCache cache = new FunctionResultCache(Duration.ofMinutes(1), 10);
+		AtomicInteger calls = new AtomicInteger();
+		Function<String, String> function = arguments -> {
+			if (calls.incrementAndGet() == 1) {
+				throw new IllegalStateException("Unavailable");
+			}
+			return "price";
+		};
+
+		assertThatThrownBy(() -> cache.call("getPrice", "{}", function)).hasMessage("Unavailable");
+		assertThat(cache.call("getPrice", "{}", function)).isEqualTo("price");
+	}
+
+	@Test
+	void functionsSharingTheCacheKeepTheirOwnResponses() {
+		FunctionResultCache cache = new FunctionResultCache(Duration.ofMinutes(1), 10);
+
+		assertThat(cache.call("getPrice", "{\"sku\":\"42\"}", arguments -> "price")).isEqualTo("price");
+		assertThat(cache.call("getStock", "{\"sku\":\"42\"}", arguments -> "stock")).isEqualTo("stock");
+		assertThat(cache.call("getPrice", "{\"sku\":\"42\"}", arguments -> "other")).isEqualTo("price");
+		assertThat(cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	void checkedExceptionsReleaseTheWaitingCallers() throws Exception {
+		FunctionResultCache cache = new FunctionResultCache(Duration.ofMinutes(1), 10);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Function<String, String> function = arguments -> {
+			started.countDown();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return sneakyThrow(new IOException("Unavailable"));
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			CompletableFuture<String> first = CompletableFuture
+				.supplyAsync(() -> cache.call("getPrice", "{}", function), executor);
+			assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+			CompletableFuture<String> waiting = CompletableFuture
+				.supplyAsync(() -> cache.call("getPrice", "{}", function), executor);
+			// Wait for the second caller to join the call in flight.
+			while (cache.getHitCount() < 1) {
+				Thread.sleep(5);
+			}
+			release.countDown();
+
+			assertThatThrownBy(() -> waiting.get(10, TimeUnit.SECONDS)).cause()
+				.isInstanceOf(IllegalStateException.class)
+				.hasCauseInstanceOf(IOException.class);
+			assertThatThrownBy(() -> first.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(IOException.class);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void waitingCallersCanBeInterrupted() throws Exception {
+		FunctionResultCache cache = new FunctionResultCache(Duration.ofMinutes(1), 10);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Function<String, String> function = arguments -> {
+			started.countDown();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return "price";
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			CompletableFuture<String> first = CompletableFuture
+				.supplyAsync(() -> cache.call("getPrice", "{}", function), executor);
+			assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+			AtomicReference<Throwable> waitingFailure = new AtomicReference<>();
+			CountDownLatch waitingDone = new CountDownLatch(1);
+			Future<?> waiting = executor.submit(() -> {
+				try {
+					cache.call("getPrice", "{}", function);
+				}
+				catch (RuntimeException ex) {
+					waitingFailure.set(ex);
+				}
+				finally {
+					waitingDone.countDown();
+				}
+			});
+			while (cache.getHitCount() < 1) {
+				Thread.sleep(5);
+			}
+
+			// Like a tool call timeout, cancelling the task interrupts its thread.
+			waiting.cancel(true);
+
+			assertThat(waitingDone.await(10, TimeUnit.SECONDS)).isTrue();
+			assertThat(first).isNotDone();
+			assertThat(waitingFailure.get()).isInstanceOf(IllegalStateException.class)
+				.hasCauseInstanceOf(InterruptedException.class);
+			release.countDown();
+			assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("price");
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void cacheableFunctionBeansShareTheirCache() {
+		try (var context = new AnnotationConfigApplicationContext(CacheableFunctionConfig.class)) {
+			FunctionCallbackContext functionCallbackContext = context.getBean(FunctionCallbackContext.class);
+
+			FunctionCallback first = functionCallbackContext.getFunctionCallback("inventory", null);
+			FunctionCallback second = functionCallbackContext.getFunctionCallback("inventory", null);
+			first.call("{\"sku\":\"42\"}");
+			second.call("{\"sku\": \"42\"}");
+			functionCallbackContext.getFunctionCallback("uncached", null).call("{\"sku\":\"42\"}");
+			functionCallbackContext.getFunctionCallback("uncached", null).call("{\"sku\":\"42\"}");
+
+			CacheableFunctionConfig config = context.getBean(CacheableFunctionConfig.class);
+			assertThat(config.inventoryCalls).hasValue(1);
+			assertThat(config.uncachedCalls).hasValue(2);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T extends Throwable, R> R sneakyThrow(Throwable ex) throws T {
+		throw (T) ex;
+	}
+
+	record Request(String sku) {
+	}
+
+	record Response(int quantity) {
+	}
+
+	@Configuration
+	static class CacheableFunctionConfig {
+
+		final AtomicInteger inventoryCalls = new AtomicInteger();
+
+		final AtomicInteger uncachedCalls = new AtomicInteger();
+
+		@Bean
+		FunctionCallbackContext functionCallbackContext() {
+			return new FunctionCallbackContext();
+		}
+
+		@Bean
+		@Description("Get the stock of a product")
+		@CacheableFunction(timeToLive = 1, timeUnit = TimeUnit.MINUTES)
+		Function<Request, Response> inventory() {
+			return request -> new Response(this.inventoryCalls.incrementAndGet());
+		}
+
+		@Bean
+		@Description("Get the stock of a product")
+		Function<Request, Response> uncached() {
+			return request -> new Response(this.uncachedCalls.incrementAndGet());
+		}
+
+	}
+
+	static class MutableClock extends Clock {
+
+		private Instant instant = Instant.parse("2024-01-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			this.instant = this.instant.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneId.of("UTC");
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.instant;
+		}
+
+	}
+
+}
@@ -28,15 +28,20 @@ import org.springframework.core.io.Resource;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class PromptTemplateTest {
 
@@ -204,4 +209,65 @@ public class PromptTemplateTest {
 				actual.replaceAll("\\r\\n|\\r|\\n", System.lineSeparator()));
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void templatesOfTheSameTextDoNotShareAttributes() {
+		String template = "Hello, {name}!";
+
+		PromptTemplate alice = new PromptTemplate(template, Map.of("name", "Alice"));
+		PromptTemplate bob = new PromptTemplate(template);
+		bob.add("name", "Bob");
+		bob.add("unused", "value");
+
+		assertEquals("Hello, Alice!", alice.render());
+		assertEquals("Hello, Bob!", bob.render());
+		assertEquals("Hello, Carol!", new PromptTemplate(template).render(Map.of("name", "Carol")));
+		assertEquals("Hello, Alice!", new PromptTemplate(template, Map.of("name", "Alice")).render());
+	}
+
+	@Test
+	public void templatesOfTheSameTextRenderConcurrently() throws Exception {
+		String template = "{greeting}, {name}!";
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int i = 0; i < 1000; i++) {
+				String name = "name-" + i;
+				results.add(executor
+					.submit(() -> new PromptTemplate(template, Map.of("greeting", "Hi", "name", name)).render()
+						.equals("Hi, " + name + "!")));
+			}
+			for (Future<Boolean> result : results) {
+				assertTrue(result.get());
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void templatesWithoutPlaceholdersAreRenderedAsIs() {
+		String template = "No placeholders here: <b>$x$</b>\n";
+		PromptTemplate promptTemplate = new PromptTemplate(template);
+		promptTemplate.add("unused", "value");
+
+		assertTrue(promptTemplate.getInputVariables().isEmpty());
+		assertEquals(template, promptTemplate.render());
+		assertEquals(template, promptTemplate.render(Map.of("other", "value")));
+	}
+
+	@Test
+	public void escapedDelimitersAreStillRenderedByTheTemplateEngine() {
+		assertEquals("{literal} Alice", new PromptTemplate("\\{literal\\} {name}").render(Map.of("name", "Alice")));
+	}
+
+	@Test
+	public void attributesOfNestedTemplatesAreRendered() {
+		PromptTemplate promptTemplate = new PromptTemplate("{items:{item | {item}{suffix} }}");
+
+		String rendered = promptTemplate.render(Map.of("items", List.of("a", "b"), "suffix", "!"));
+
+		assertEquals("a! b! ", rendered);
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.transformer.splitter;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenTextSplitterTests {
+
+	@Test
+	public void chunksDoNotExceedTheChunkSize() throws IOException {
+		String text = textSource();
+		TokenTextSplitter splitter = new TokenTextSplitter(200, 100, 5, 10000, true);
+		TokenCountEstimator estimator = new JTokkitTokenCountEstimator();
+
+		List<String> chunks = splitter.splitText(text);
+
+		assertThat(chunks).hasSizeGreaterThan(100);
+		// Trimming and the cut at the punctuation mark may merge tokens, but never
+		// produce more of them.
+		assertThat(chunks).allSatisfy(chunk -> assertThat(estimator.estimate(chunk)).isLessThanOrEqualTo(200));
+	}
+
+	@Test
+	public void chunkIteratorMatchesSplitText() throws IOException {
+		// Several read windows, with multi-byte characters
+		String text = textSource().repeat(2) + " Ünïcödé façade 日本語のテキスト 😀 end.";
+		for (TokenTextSplitter splitter : List.of(new TokenTextSplitter(),
+				new TokenTextSplitter(100, 50, 5, 10000, false))) {
+			List<String> chunks = new ArrayList<>();
+			splitter.chunkIterator(new StringReader(text)).forEachRemaining(chunks::add);
+
+			assertThat(chunks).containsExactlyElementsOf(splitter.splitText(text));
+		}
+	}
+
+	@Test
+	public void chunkIteratorReturnsTheRemainingTextAfterMaxNumChunksOneWindowAtATime() throws IOException {
+		String text = textSource();
+		TokenTextSplitter splitter = new TokenTextSplitter(100, 50, 5, 3, true);
+
+		Iterator<String> chunks = splitter.chunkIterator(new StringReader(text));
+		for (int i = 0; i < 3; i++) {
+			assertThat(chunks.next()).hasSizeLessThan(1000);
+		}
+		List<String> remaining = new ArrayList<>();
+		chunks.forEachRemaining(remaining::add);
+		assertThat(remaining).hasSizeGreaterThan(1)
+			.allSatisfy(chunk -> assertThat(chunk).hasSizeLessThanOrEqualTo(2 * 64 * 1024));
+		assertThat(remaining.stream().mapToInt(String::length).sum()).isGreaterThan(text.length() * 9 / 10);
+
+		List<String> splitChunks = splitter.splitText(text);
+		assertThat(splitChunks).hasSize(4);
+		assertThat(splitChunks.get(3)).hasSizeGreaterThan(text.length() * 9 / 10);
+	}
+
+	private static String textSource() throws IOException {
+		return new DefaultResourceLoader().getResource("classpath:text_source.txt")
+			.getContentAsString(StandardCharsets.UTF_8);
+	}
+
+}
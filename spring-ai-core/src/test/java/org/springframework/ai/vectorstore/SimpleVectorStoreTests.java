@@ -0,0 +1,559 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.vectorstore.SimpleVectorStore.PersistenceFormat;
+import org.springframework.ai.vectorstore.SimpleVectorStore.SimpleVectorStoreConfig;
+import org.springframework.ai.vectorstore.SimpleVectorStore.StorageMode;
+import org.springframework.ai.vectorstore.filter.FilterExpressionEvaluator;
+import org.springframework.ai.vectorstore.simple.HnswIndex.HnswIndexConfig;
+import org.springframework.ai.vectorstore.simple.QuantizedVectorStorage;
+import org.springframework.ai.vectorstore.simple.QuantizedVectorStorage.QuantizationConfig;
+import org.springframework.ai.vectorstore.simple.QuantizedVectorStorage.QuantizationType;
+import org.springframework.core.io.ByteArrayResource;
+
+public class SimpleVectorStoreTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(SimpleVectorStoreTests.class);
+
+	private static final int DIMENSIONS = 32;
+
+	@Test
+	void addSearchAndDelete() {
+		LookupEmbeddingModel embeddingModel = new LookupEmbeddingModel();
+		embeddingModel.vectors.put("spring", new float[] { 1f, 0f, 0f });
+		embeddingModel.vectors.put("summer", new float[] { 0.9f, 0.1f, 0f });
+		embeddingModel.vectors.put("winter", new float[] { 0f, 0f, 1f });
+
+		SimpleVectorStore vectorStore = new SimpleVectorStore(embeddingModel,
+				SimpleVectorStoreConfig.builder().withHnswIndex().build());
+		vectorStore.add(List.of(new Document("1", "spring", Map.of()), new Document("2", "summer", Map.of()),
+				new Document("3", "winter", Map.of())));
+
+		List<Document> results = vectorStore.similaritySearch(SearchRequest.query("spring").withTopK(2));
+		assertThat(results).extracting(Document::getId).containsExactly("1", "2");
+
+		vectorStore.delete(List.of("1"));
+
+		results = vectorStore.similaritySearch(SearchRequest.query("spring").withTopK(2));
+		assertThat(results).extracting(Document::getId).containsExactly("2", "3");
+
+		results = vectorStore.similaritySearch(SearchRequest.query("spring").withTopK(2).withSimilarityThreshold(0.5));
+		assertThat(results).extracting(Document::getId).containsExactly("2");
+	}
+
+	@Test
+	void thresholdedHnswSearchDoesNotFallBackToTheExactSearch() {
+		LookupEmbeddingModel embeddingModel = new LookupEmbeddingModel();
+		embeddingModel.vectors.put("spring", new float[] { 1f, 0f, 0f });
+		embeddingModel.vectors.put("summer", new float[] { 0.9f, 0.1f, 0f });
+		embeddingModel.vectors.put("winter", new float[] { 0f, 0f, 1f });
+
+		SimpleVectorStore vectorStore = new SimpleVectorStore(embeddingModel,
+				SimpleVectorStoreConfig.builder().withHnswIndex().build());
+		vectorStore.add(List.of(new Document("1", "spring", Map.of("season", "spring")),
+				new Document("2", "summer", Map.of("season", "summer")),
+				new Document("3", "winter", Map.of("season", "winter"))));
+		AtomicInteger scans = new AtomicInteger();
+		vectorStore.store = new ConcurrentHashMap<>(vectorStore.store) {
+
+			@Override
+			public Collection<Document> values() {
+				scans.incrementAndGet();
+				return super.values();
+			}
+
+		};
+
+		SearchRequest request = SearchRequest.query("spring").withTopK(3).withSimilarityThreshold(0.5);
+		assertThat(vectorStore.similaritySearch(request.withFilterExpression("season != 'autumn'")))
+			.extracting(Document::getId)
+			.containsExactly("1", "2");
+		assertThat(scans).hasValue(0);
+
+		assertThat(vectorStore.similaritySearch(request.withFilterExpression("season == 'summer'")))
+			.extracting(Document::getId)
+			.containsExactly("2");
+		assertThat(scans).hasValue(1);
+	}
+
+	@Test
+	void hnswIndexRequiresTheDocumentStorageMode() {
+		assertThatIllegalArgumentException().isThrownBy(
+				() -> SimpleVectorStoreConfig.builder().withStorageMode(StorageMode.PACKED).withHnswIndex().build());
+		assertThatIllegalArgumentException().isThrownBy(() -> SimpleVectorStoreConfig.builder()
+			.withHnswIndex()
+			.withQuantization(QuantizationConfig.defaultConfig())
+			.build());
+	}
+
+	@Test
+	void packedStorageMatchesDocumentStorage(@TempDir Path workingDir) {
+		Random random = new Random(11);
+		LookupEmbeddingModel embeddingModel = new LookupEmbeddingModel();
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			embeddingModel.vectors.put("doc-" + i, randomVector(random, 1f));
+			documents.add(new Document("id-" + i, "doc-" + i, Map.of("index", i)));
+		}
+		embeddingModel.vectors.put("query", randomVector(random, 1f));
+
+		SimpleVectorStore documentStore = new SimpleVectorStore(embeddingModel);
+		SimpleVectorStore packedStore = new SimpleVectorStore(embeddingModel,
+				SimpleVectorStoreConfig.builder().withStorageMode(StorageMode.PACKED).build());
+		documentStore.add(documents);
+		packedStore.add(documents);
+		documentStore.delete(List.of("id-3", "id-250"));
+		packedStore.delete(List.of("id-3", "id-250"));
+
+		SearchRequest request = SearchRequest.query("query").withTopK(20);
+		List<Document> expected = documentStore.similaritySearch(request);
+		List<Document> actual = packedStore.similaritySearch(request);
+		assertThat(actual).extracting(Document::getId)
+			.containsExactlyElementsOf(expected.stream().map(Document::getId).toList());
+		assertThat(actual.get(0).getEmbedding()).containsExactly(expected.get(0).getEmbedding());
+		assertThat(packedStore.store.get(actual.get(0).getId()).getEmbedding()).isEmpty();
+
+		File file = workingDir.resolve("packed.json").toFile();
+		packedStore.save(file);
+		SimpleVectorStore loadedStore = new SimpleVectorStore(embeddingModel,
+				SimpleVectorStoreConfig.builder().withStorageMode(StorageMode.PACKED).build());
+		loadedStore.load(file);
+		assertThat(loadedStore.similaritySearch(request)).extracting(Document::getId)
+			.containsExactlyElementsOf(expected.stream().map(Document::getId).toList());
+	}
+
+	@Test
+	void filteredSearchMatchesAcrossConfigurations() {
+		Random random = new Random(17);
+		List<String> genres = List.of("drama", "comedy", "documentary");
+		LookupEmbeddingModel embeddingModel = new LookupEmbeddingModel();
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			embeddingModel.vectors.put("doc-" + i, randomVector(random, 1f));
+			documents.add(new Document("id-" + i, "doc-" + i,
+					Map.of("year", 2000 + (i % 24), "genre", genres.get(i % genres.size()))));
+		}
+		embeddingModel.vectors.put("query", randomVector(random, 1f));
+
+		List<SimpleVectorStoreConfig> configs = List.of(SimpleVectorStoreConfig.defaultConfig(),
+				SimpleVectorStoreConfig.builder().withIndexedMetadataKeys("year", "genre").build(),
+				SimpleVectorStoreConfig.builder()
+					.withStorageMode(StorageMode.PACKED)
+					.withIndexedMetadataKeys("genre")
+					.build(),
+				SimpleVectorStoreConfig.builder().withHnswIndex().build(),
+				SimpleVectorStoreConfig.builder().withHnswIndex().withIndexedMetadataKeys("year").build());
+
+		for (String filter : List.of("genre == 'drama' && year >= 2020", "year in [2001, 2002] || genre == 'comedy'",
+				"genre != 'drama' && year < 2003", "NOT(year > 2001)")) {
+			SearchRequest request = SearchRequest.query("query").withTopK(10).withFilterExpression(filter);
+			List<String> expected = documents.stream()
+				.filter(document -> new FilterExpressionEvaluator().evaluate(request.getFilterExpression(),
+						document.getMetadata()))
+				.sorted(Comparator
+					.comparingDouble((Document document) -> SimpleVectorStore.EmbeddingMath.cosineSimilarity(
+							embeddingModel.vectors.get("query"), embeddingModel.vectors.get(document.getContent())))
+					.reversed())
+				.limit(10)
+				.map(Document::getId)
+				.toList();
+
+			for (SimpleVectorStoreConfig config : configs) {
+				SimpleVectorStore vectorStore = new SimpleVectorStore(embeddingModel, config);
+				vectorStore.add(documents);
+				assertThat(vectorStore.similaritySearch(request)).extracting(Document::getId)
+					.as("%s with %s", filter, config.getIndexedMetadataKeys())
+					.containsExactlyElementsOf(expected);
+			}
+		}
+	}
+
+	@Test
+	void metadataIndexFollowsUpdatesAndDeletes() {
+		LookupEmbeddingModel embeddingModel = new LookupEmbeddingModel();
+		embeddingModel.vectors.put("spring", new float[] { 1f, 0f });
+		embeddingModel.vectors.put("summer", new float[] { 0.9f, 0.1f });
+
+		SimpleVectorStore vectorStore = new SimpleVectorStore(embeddingModel,
+				SimpleVectorStoreConfig.builder().withIndexedMetadataKeys("season").build());
+		vectorStore.add(List.of(new Document("1", "spring", Map.of("season", "spring")),
+				new Document("2", "summer", Map.of("season", "summer"))));
+
+		SearchRequest request = SearchRequest.query("spring").withFilterExpression("season == 'spring'");
+		assertThat(vectorStore.similaritySearch(request)).extracting(Document::getId).containsExactly("1");
+
+		vectorStore.add(List.of(new Document("1", "spring", Map.of("season", "autumn"))));
+		assertThat(vectorStore.similaritySearch(request)).isEmpty();
+
+		vectorStore.add(List.of(new Document("3", "spring", Map.of("season", "spring"))));
+		vectorStore.delete(List.of("3"));
+		assertThat(vectorStore.similaritySearch(request)).isEmpty();
+	}
+
+	@Test
+	void binarySnapshotRoundTrip(@TempDir Path workingDir) throws IOException {
+		Random random = new Random(13);
+		LookupEmbeddingModel embeddingModel = new LookupEmbeddingModel();
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			embeddingModel.vectors.put("doc-" + i, randomVector(random, 1f));
+			documents.add(new Document("id-" + i, "doc-" + i, Map.of("index", i, "name", "Document " + i)));
+		}
+		embeddingModel.vectors.put("query", randomVector(random, 1f));
+
+		SimpleVectorStore source = new SimpleVectorStore(embeddingModel,
+				SimpleVectorStoreConfig.builder()
+					.withPersistenceFormat(PersistenceFormat.BINARY)
+					.withIndexedMetadataKeys("index")
+					.build());
+		source.add(documents);
+		File file = workingDir.resolve("store.bin").toFile();
+		source.save(file);
+
+		SearchRequest request = SearchRequest.query("query").withTopK(10);
+		List<String> expected = source.similaritySearch(request).stream().map(Document::getId).toList();
+
+		SimpleVectorStore packed = new SimpleVectorStore(embeddingModel,
+				SimpleVectorStoreConfig.builder()
+					.withStorageMode(StorageMode.PACKED)
+					.withIndexedMetadataKeys("index", "name")
+					.build());
+		packed.load(file);
+		List<Document> results = packed.similaritySearch(request);
+		assertThat(results).extracting(Document::getId).containsExactlyElementsOf(expected);
+		SearchRequest filtered = SearchRequest.from(request).withFilterExpression("index < 30 && name != 'Document 7'");
+		assertThat(packed.similaritySearch(filtered)).extracting(Document::getId)
+			.containsExactlyElementsOf(source.similaritySearch(filtered).stream().map(Document::getId).toList());
+
+		assertThat(results.get(0).getMetadata()).containsEntry("name",
+				"Document " + results.get(0).getId().substring(3));
+		assertThat(results.get(0).getEmbedding())
+			.containsExactly(embeddingModel.vectors.get(results.get(0).getContent()));
+
+		SimpleVectorStore document = new SimpleVectorStore(embeddingModel,
+				SimpleVectorStoreConfig.builder().withHnswIndex().build());
+		document.load(new ByteArrayResource(Files.readAllBytes(file.toPath())));
+		assertThat(document.similaritySearch(request)).extracting(Document::getId).containsExactlyElementsOf(expected);
+
+		// mutate the mapped store and overwrite the mapped file
+		packed.delete(List.of(expected.get(0)));
+		embeddingModel.vectors.put("extra", embeddingModel.vectors.get("query"));
+		packed.add(List.of(new Document("extra", "extra", Map.of())));
+		assertThat(packed.similaritySearch(request.withTopK(2))).extracting(Document::getId)
+			.containsExactly("extra", expected.get(1));
+
+		SimpleVectorStore reloaded = new SimpleVectorStore(embeddingModel,
+				SimpleVectorStoreConfig.builder()
+					.withStorageMode(StorageMode.PACKED)
+					.withPersistenceFormat(PersistenceFormat.BINARY)
+					.build());
+		packed.save(file);
+		reloaded.load(file);
+		assertThat(reloaded.store).hasSize(300);
+		assertThat(reloaded.similaritySearch(request.withTopK(2))).extracting(Document::getId)
+			.containsExactly("extra", expected.get(1));
+	}
+
+	@Test
+	void mappedSnapshotFilesAreNotTruncatedNorDeletedWhileInUse(@TempDir Path workingDir) throws IOException {
+		LookupEmbeddingModel embeddingModel = new LookupEmbeddingModel();
+		embeddingModel.vectors.put("spring", new float[] { 1f, 0f, 0f });
+		embeddingModel.vectors.put("summer", new float[] { 0.9f, 0.1f, 0f });
+		embeddingModel.vectors.put("winter", new float[] { 0f, 0f, 1f });
+		List<Document> documents = List.of(new Document("1", "spring", Map.of()), new Document("2", "summer", Map.of()),
+				new Document("3", "winter", Map.of()));
+
+		SimpleVectorStore source = new SimpleVectorStore(embeddingModel,
+				SimpleVectorStoreConfig.builder().withPersistenceFormat(PersistenceFormat.BINARY).build());
+		source.add(documents);
+		File file = workingDir.resolve("store.bin").toFile();
+		source.save(file);
+
+		// a JSON save over the mapped snapshot must not truncate the mapped file
+		SimpleVectorStore packed = new SimpleVectorStore(embeddingModel,
+				SimpleVectorStoreConfig.builder().withStorageMode(StorageMode.PACKED).build());
+		packed.load(file);
+		packed.save(file);
+		SearchRequest request = SearchRequest.query("spring").withTopK(2);
+		assertThat(packed.similaritySearch(request)).extracting(Document::getId).containsExactly("1", "2");
+		SimpleVectorStore reloaded = new SimpleVectorStore(embeddingModel);
+		reloaded.load(file);
+		assertThat(reloaded.similaritySearch(request)).extracting(Document::getId).containsExactly("1", "2");
+
+		// a snapshot read from a stream keeps its temporary file until the store is
+		// closed
+		source.save(file);
+		Path tempDir = Path.of(System.getProperty("java.io.tmpdir"));
+		Set<Path> before = snapshotFiles(tempDir);
+		packed.load(new ByteArrayResource(Files.readAllBytes(file.toPath())));
+		Set<Path> created = new HashSet<>(snapshotFiles(tempDir));
+		created.removeAll(before);
+		assertThat(created).hasSize(1);
+		assertThat(packed.similaritySearch(request)).extracting(Document::getId).containsExactly("1", "2");
+		packed.close();
+		assertThat(created.iterator().next()).doesNotExist();
+	}
+
+	@Test
+	void hnswRecallAndLatencyAgainstExhaustiveSearch() {
+		int documentCount = 5_000;
+		int queryCount = 200;
+		int topK = 10;
+
+		Random random = new Random(42);
+		float[][] centroids = new float[50][];
+		for (int i = 0; i < centroids.length; i++) {
+			centroids[i] = randomVector(random, 1f);
+		}
+
+		LookupEmbeddingModel embeddingModel = new LookupEmbeddingModel();
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < documentCount; i++) {
+			embeddingModel.vectors.put("doc-" + i, noisy(random, centroids[random.nextInt(centroids.length)]));
+			documents.add(new Document("id-" + i, "doc-" + i, Map.of()));
+		}
+		for (int i = 0; i < queryCount; i++) {
+			embeddingModel.vectors.put("query-" + i, noisy(random, centroids[random.nextInt(centroids.length)]));
+		}
+
+		SimpleVectorStore exhaustive = new SimpleVectorStore(embeddingModel);
+		SimpleVectorStore hnsw = new SimpleVectorStore(embeddingModel,
+				SimpleVectorStoreConfig.builder()
+					.withHnswIndex(HnswIndexConfig.builder().withM(16).withEfConstruction(100).withEfSearch(64).build())
+					.build());
+		exhaustive.add(documents);
+		hnsw.add(documents);
+
+		long exhaustiveNanos = 0;
+		long hnswNanos = 0;
+		int found = 0;
+		for (int i = 0; i < queryCount; i++) {
+			SearchRequest request = SearchRequest.query("query-" + i).withTopK(topK);
+
+			long start = System.nanoTime();
+			List<Document> expected = exhaustive.similaritySearch(request);
+			exhaustiveNanos += System.nanoTime() - start;
+
+			start = System.nanoTime();
+			List<Document> actual = hnsw.similaritySearch(request);
+			hnswNanos += System.nanoTime() - start;
+
+			Set<String> expectedIds = new HashSet<>();
+			expected.forEach(document -> expectedIds.add(document.getId()));
+			found += (int) actual.stream().filter(document -> expectedIds.contains(document.getId())).count();
+		}
+
+		double recall = (double) found / (queryCount * topK);
+		logger.info("Recall@{}: {}, exhaustive search: {} us/query, hnsw search: {} us/query", topK, recall,
+				TimeUnit.NANOSECONDS.toMicros(exhaustiveNanos / queryCount),
+				TimeUnit.NANOSECONDS.toMicros(hnswNanos / queryCount));
+
+		assertThat(recall).isGreaterThanOrEqualTo(0.95);
+	}
+
+	@Test
+	void searchEffortScalesTheHnswSearch() {
+		int documentCount = 2_000;
+		int queryCount = 50;
+		int topK = 10;
+
+		Random random = new Random(7);
+		LookupEmbeddingModel embeddingModel = new LookupEmbeddingModel();
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < documentCount; i++) {
+			embeddingModel.vectors.put("doc-" + i, randomVector(random, 1f));
+			documents.add(new Document("id-" + i, "doc-" + i, Map.of()));
+		}
+		for (int i = 0; i < queryCount; i++) {
+			embeddingModel.vectors.put("query-" + i, randomVector(random, 1f));
+		}
+
+		SimpleVectorStore exhaustive = new SimpleVectorStore(embeddingModel);
+		SimpleVectorStore hnsw = new SimpleVectorStore(embeddingModel,
+				SimpleVectorStoreConfig.builder()
+					.withHnswIndex(HnswIndexConfig.builder().withM(4).withEfConstruction(16).withEfSearch(16).build())
+					.build());
+		exhaustive.add(documents);
+		hnsw.add(documents);
+
+		int lowEffortFound = 0;
+		int highEffortFound = 0;
+		for (int i = 0; i < queryCount; i++) {
+			SearchRequest request = SearchRequest.query("query-" + i).withTopK(topK);
+			Set<String> expectedIds = new HashSet<>();
+			exhaustive.similaritySearch(request).forEach(document -> expectedIds.add(document.getId()));
+
+			lowEffortFound += (int) hnsw.similaritySearch(SearchRequest.from(request).withSearchEffort(0.5))
+				.stream()
+				.filter(document -> expectedIds.contains(document.getId()))
+				.count();
+			highEffortFound += (int) hnsw.similaritySearch(SearchRequest.from(request).withSearchEffort(16))
+				.stream()
+				.filter(document -> expectedIds.contains(document.getId()))
+				.count();
+		}
+
+		logger.info("Recall@{} with low search effort: {}, with high search effort: {}", topK,
+				(double) lowEffortFound / (queryCount * topK), (double) highEffortFound / (queryCount * topK));
+		assertThat(highEffortFound).isGreaterThan(lowEffortFound);
+	}
+
+	@Test
+	void quantizedStorageRecallAndMemory(@TempDir Path workingDir) {
+		int documentCount = 5_000;
+		int queryCount = 100;
+		int topK = 10;
+
+		Random random = new Random(42);
+		float[][] centroids = new float[50][];
+		for (int i = 0; i < centroids.length; i++) {
+			centroids[i] = randomVector(random, 1f);
+		}
+		LookupEmbeddingModel embeddingModel = new LookupEmbeddingModel();
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < documentCount; i++) {
+			embeddingModel.vectors.put("doc-" + i, noisy(random, centroids[random.nextInt(centroids.length)]));
+			documents.add(new Document("id-" + i, "doc-" + i, Map.of()));
+		}
+		for (int i = 0; i < queryCount; i++) {
+			embeddingModel.vectors.put("query-" + i, noisy(random, centroids[random.nextInt(centroids.length)]));
+		}
+
+		SimpleVectorStore exhaustive = new SimpleVectorStore(embeddingModel);
+		exhaustive.add(documents);
+
+		Map<QuantizationConfig, Double> minimumRecall = Map.of(
+				QuantizationConfig.builder().withDirectory(workingDir).build(), 0.95,
+				QuantizationConfig.builder()
+					.withType(QuantizationType.PRODUCT)
+					.withSubspaces(DIMENSIONS / 4)
+					.withTrainingSize(1000)
+					.withRerankFactor(10)
+					.withDirectory(workingDir)
+					.build(),
+				0.9);
+		for (Map.Entry<QuantizationConfig, Double> entry : minimumRecall.entrySet()) {
+			SimpleVectorStore quantized = new SimpleVectorStore(embeddingModel,
+					SimpleVectorStoreConfig.builder().withQuantization(entry.getKey()).build());
+			quantized.add(documents);
+
+			int found = 0;
+			for (int i = 0; i < queryCount; i++) {
+				SearchRequest request = SearchRequest.query("query-" + i).withTopK(topK);
+				Set<String> expectedIds = new HashSet<>();
+				exhaustive.similaritySearch(request).forEach(document -> expectedIds.add(document.getId()));
+				List<Document> actual = quantized.similaritySearch(request);
+				found += (int) actual.stream().filter(document -> expectedIds.contains(document.getId())).count();
+				assertThat(actual.get(0).getEmbedding())
+					.containsExactly(embeddingModel.vectors.get(actual.get(0).getContent()));
+			}
+
+			double recall = (double) found / (queryCount * topK);
+			QuantizedVectorStorage storage = new QuantizedVectorStorage(entry.getKey());
+			storage.add("probe", randomVector(random, 1f));
+			logger.info("{} quantization: recall@{}: {}, heap bytes per vector: {} instead of {}",
+					entry.getKey().getType(), topK, recall, storage.getHeapBytesPerVector(), DIMENSIONS * Float.BYTES);
+			storage.close();
+			quantized.close();
+			assertThat(recall).isGreaterThanOrEqualTo(entry.getValue());
+		}
+	}
+
+	private static Set<Path> snapshotFiles(Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(path -> path.getFileName().toString().startsWith("spring-ai-vector-store"))
+				.collect(Collectors.toSet());
+		}
+	}
+
+	private static float[] randomVector(Random random, float scale) {
+		float[] vector = new float[DIMENSIONS];
+		for (int i = 0; i < DIMENSIONS; i++) {
+			vector[i] = (float) random.nextGaussian() * scale;
+		}
+		return vector;
+	}
+
+	private static float[] noisy(Random random, float[] centroid) {
+		float[] noise = randomVector(random, 0.3f);
+		for (int i = 0; i < DIMENSIONS; i++) {
+			noise[i] += centroid[i];
+		}
+		return noise;
+	}
+
+	/**
+	 * Embedding model returning pre-computed vectors for known texts.
+	 */
+	static class LookupEmbeddingModel implements EmbeddingModel {
+
+		final Map<String, float[]> vectors = new HashMap<>();
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				embeddings.add(new Embedding(this.vectors.get(text), embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			return this.vectors.get(document.getContent());
+		}
+
+		@Override
+		public int dimensions() {
+			return this.vectors.values().iterator().next().length;
+		}
+
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.filter;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FilterExpressionEvaluatorTests {
+
+	FilterExpressionTextParser parser = new FilterExpressionTextParser();
+
+	FilterExpressionEvaluator evaluator = new FilterExpressionEvaluator();
+
+	Map<String, Object> metadata = Map.of("country", "BG", "year", 2020L, "rating", 4.5, "isOpen", true, "country 1",
+			"NL");
+
+	@Test
+	public void testComparisons() {
+		assertThat(matches("country == 'BG'")).isTrue();
+		assertThat(matches("country != 'BG'")).isFalse();
+		assertThat(matches("year == 2020")).isTrue();
+		assertThat(matches("year >= 2020 && year <= 2020")).isTrue();
+		assertThat(matches("year > 2020")).isFalse();
+		assertThat(matches("rating > 4")).isTrue();
+		assertThat(matches("rating < 4.5")).isFalse();
+		assertThat(matches("country < 'DE'")).isTrue();
+		assertThat(matches("isOpen == true")).isTrue();
+		assertThat(matches("\"country 1\" == 'NL'")).isTrue();
+	}
+
+	@Test
+	public void testInAndNin() {
+		assertThat(matches("country in ['BG', 'NL']")).isTrue();
+		assertThat(matches("year in [2019, 2021]")).isFalse();
+		assertThat(matches("country nin ['BG', 'NL']")).isFalse();
+		assertThat(matches("year nin [2019, 2021]")).isTrue();
+	}
+
+	@Test
+	public void testLogicalOperators() {
+		assertThat(matches("country == 'BG' && year == 2021")).isFalse();
+		assertThat(matches("country == 'BG' || year == 2021")).isTrue();
+		assertThat(matches("NOT(country == 'BG')")).isFalse();
+		assertThat(matches("(year == 2021 || rating > 4) && isOpen == true")).isTrue();
+	}
+
+	@Test
+	public void testMissingKeysAndMismatchedTypes() {
+		assertThat(matches("city == 'Sofia'")).isFalse();
+		assertThat(matches("city != 'Sofia'")).isTrue();
+		assertThat(matches("city nin ['Sofia']")).isTrue();
+		assertThat(matches("city > 'A'")).isFalse();
+		assertThat(matches("year == '2020'")).isFalse();
+		assertThat(matches("year > 'A'")).isFalse();
+		assertThat(matches("NOT(year > 'A')")).isTrue();
+	}
+
+	private boolean matches(String expression) {
+		return this.evaluator.evaluate(this.parser.parse(expression), this.metadata);
+	}
+
+}
@@ -101,6 +101,45 @@ public class SearchRequestTests {
 
 	}
 
+	@Test()
+	public void withSearchEffort() {
+		var request = SearchRequest.query("Test");
+		assertThat(request.hasSearchEffort()).isFalse();
+		assertThat(request.scaleBySearchEffort(40)).isEqualTo(40);
+
+		request.withSearchEffort(0.5);
+		assertThat(request.getSearchEffort()).isEqualTo(0.5);
+		assertThat(request.hasSearchEffort()).isTrue();
+		assertThat(request.scaleBySearchEffort(40)).isEqualTo(20);
+		assertThat(request.scaleBySearchEffort(1)).isEqualTo(1);
+		assertThat(SearchRequest.from(request).getSearchEffort()).isEqualTo(0.5);
+
+		request.withSearchEffort(4);
+		assertThat(request.scaleBySearchEffort(40)).isEqualTo(160);
+
+		assertThatThrownBy(() -> {
+			request.withSearchEffort(0);
+		}).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Search effort must be positive.");
+	}
+
+	@Test()
+	public void withKeywordWeight() {
+		var request = SearchRequest.query("Test").withTopK(5).withKeywordWeight(0.3);
+		assertThat(request.getKeywordWeight()).isEqualTo(0.3);
+
+		var copy = SearchRequest.from(request);
+		assertThat(copy.getKeywordWeight()).isEqualTo(0.3);
+		assertThat(copy).isEqualTo(request).hasSameHashCodeAs(request);
+
+		copy.withKeywordWeight(0.7);
+		assertThat(copy).isNotEqualTo(request);
+		assertThat(copy.hashCode()).isNotEqualTo(request.hashCode());
+
+		assertThatThrownBy(() -> {
+			request.withKeywordWeight(1.1);
+		}).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Keyword weight must be in [0,1] range.");
+	}
+
 	@Test()
 	public void withFilterExpression() {
 
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.data.Offset.offset;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.vectorstore.simple.HnswIndex.HnswIndexConfig;
+
+public class HnswIndexTests {
+
+	@Test
+	void emptyIndex() {
+		HnswIndex index = new HnswIndex();
+		assertThat(index.search(new float[] { 1f, 0f }, 3, 0.0)).isEmpty();
+		assertThat(index.size()).isZero();
+	}
+
+	@Test
+	void exactMatchesOnSmallIndex() {
+		HnswIndex index = new HnswIndex();
+		index.add("x", new float[] { 1f, 0f, 0f });
+		index.add("y", new float[] { 0f, 1f, 0f });
+		index.add("z", new float[] { 0f, 0f, 1f });
+
+		List<SimilarityMatch> matches = index.search(new float[] { 0.1f, 0.9f, 0f }, 1, 0.0);
+		assertThat(matches).extracting(SimilarityMatch::id).containsExactly("y");
+		assertThat(matches.get(0).score()).isCloseTo(0.9939, offset(0.001));
+	}
+
+	@Test
+	void replaceAndRemove() {
+		HnswIndex index = new HnswIndex();
+		index.add("x", new float[] { 1f, 0f });
+		index.add("y", new float[] { 0f, 1f });
+
+		index.add("x", new float[] { 0f, 2f });
+		assertThat(index.size()).isEqualTo(2);
+		assertThat(index.search(new float[] { 1f, 0f }, 2, 0.5)).isEmpty();
+
+		assertThat(index.remove("y")).isTrue();
+		assertThat(index.remove("y")).isFalse();
+		assertThat(index.search(new float[] { 0f, 1f }, 2, 0.0)).extracting(SimilarityMatch::id).containsExactly("x");
+	}
+
+	@Test
+	void searchSurvivesMassDeletion() {
+		Random random = new Random(7);
+		HnswIndex index = new HnswIndex(HnswIndexConfig.builder().withM(8).withEfConstruction(50).build());
+		float[][] vectors = new float[1_000][];
+		for (int i = 0; i < vectors.length; i++) {
+			vectors[i] = new float[] { (float) random.nextGaussian(), (float) random.nextGaussian(),
+					(float) random.nextGaussian(), (float) random.nextGaussian() };
+			index.add("id-" + i, vectors[i]);
+		}
+		for (int i = 0; i < vectors.length; i++) {
+			if (i % 10 != 0) {
+				index.remove("id-" + i);
+			}
+		}
+
+		assertThat(index.size()).isEqualTo(100);
+		List<SimilarityMatch> matches = index.search(vectors[500], 5, 0.0);
+		assertThat(matches).hasSize(5);
+		assertThat(matches.get(0).id()).isEqualTo("id-500");
+		assertThat(matches).allSatisfy(match -> assertThat(Integer.parseInt(match.id().substring(3)) % 10).isZero());
+	}
+
+	@Test
+	void filteredSearchOnlyReturnsAcceptedIds() {
+		HnswIndex index = new HnswIndex();
+		for (int i = 0; i < 100; i++) {
+			index.add("id-" + i, new float[] { 1f, i });
+		}
+		List<SimilarityMatch> matches = index.search(new float[] { 1f, 0f }, 3, 0.0, 16, id -> id.endsWith("7"));
+		assertThat(matches).extracting(SimilarityMatch::id).containsExactly("id-7", "id-17", "id-27");
+	}
+
+	@Test
+	void rejectsMismatchedDimensions() {
+		HnswIndex index = new HnswIndex();
+		index.add("x", new float[] { 1f, 0f });
+		assertThatThrownBy(() -> index.add("y", new float[] { 1f, 0f, 0f }))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> index.search(new float[] { 1f }, 1, 0.0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> index.add("z", new float[] { 0f, 0f })).isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
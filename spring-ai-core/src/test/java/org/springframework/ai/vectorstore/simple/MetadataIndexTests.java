@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.filter.FilterExpressionTextParser;
+
+public class MetadataIndexTests {
+
+	FilterExpressionTextParser parser = new FilterExpressionTextParser();
+
+	MetadataIndex index;
+
+	@BeforeEach
+	void setUp() {
+		this.index = new MetadataIndex(List.of("country", "year"));
+		this.index.add("1", Map.of("country", "BG", "year", 2020));
+		this.index.add("2", Map.of("country", "NL", "year", 2021L));
+		this.index.add("3", Map.of("country", "BG", "year", 2022.0, "city", "Sofia"));
+		this.index.add("4", Map.of("country", List.of("BG", "NL")));
+	}
+
+	@Test
+	void resolvesEqualityAndIn() {
+		assertThat(candidates("country == 'BG'")).containsExactlyInAnyOrder("1", "3", "4");
+		assertThat(candidates("year == 2021")).containsExactly("2");
+		assertThat(candidates("year in [2020, 2022]")).containsExactlyInAnyOrder("1", "3");
+	}
+
+	@Test
+	void resolvesRanges() {
+		assertThat(candidates("year > 2020")).containsExactlyInAnyOrder("1", "2", "3");
+		assertThat(candidates("year < 2021.5")).containsExactlyInAnyOrder("1", "2");
+		assertThat(candidates("country >= 'C'")).containsExactlyInAnyOrder("2", "4");
+	}
+
+	@Test
+	void resolvesLogicalOperators() {
+		assertThat(candidates("country == 'BG' && year == 2022")).containsExactly("3");
+		assertThat(candidates("country == 'NL' || year == 2020")).containsExactlyInAnyOrder("1", "2", "4");
+		assertThat(candidates("country == 'NL' && city == 'Sofia'")).containsExactlyInAnyOrder("2", "4");
+		assertThat(candidates("country == 'NL' || city == 'Sofia'")).isNull();
+		assertThat(candidates("country != 'NL'")).isNull();
+		assertThat(candidates("NOT(country == 'NL')")).isNull();
+	}
+
+	@Test
+	void removeAndClear() {
+		this.index.remove("1", Map.of("country", "BG", "year", 2020));
+		assertThat(candidates("year == 2020")).isEmpty();
+		assertThat(candidates("country == 'BG'")).containsExactlyInAnyOrder("3", "4");
+
+		this.index.clear();
+		assertThat(candidates("country == 'BG'")).isEmpty();
+	}
+
+	@Test
+	void loadsFromSnapshot(@TempDir Path workingDir) {
+		Map<String, Document> documents = new LinkedHashMap<>();
+		documents.put("1", new Document("1", "one", Map.of("country", "BG", "year", 2020, "active", true)));
+		documents.put("2", new Document("2", "two", Map.of("country", "NL", "year", 2021L, "active", false)));
+		documents.put("3", new Document("3", "three", Map.of("country", "BG", "year", 2022.0, "city", "Sofia")));
+		documents.put("4", new Document("4", "four", Map.of("country", List.of("BG", "NL"))));
+		Path file = workingDir.resolve("snapshot.bin");
+		// only the country and active keys are indexed in the snapshot
+		SimpleVectorStoreSnapshot.write(file, List.copyOf(documents.keySet()), documents::get,
+				id -> new float[] { 1f, 0f }, List.of("country", "active"));
+		SimpleVectorStoreSnapshot snapshot = SimpleVectorStoreSnapshot.open(file);
+		assertThat(snapshot.metadata(2)).containsEntry("city", "Sofia");
+		assertThat(snapshot.document(2).getMetadata()).containsEntry("city", "Sofia");
+		assertThat(snapshot.document(2).getContent()).isEqualTo("three");
+
+		this.index = new MetadataIndex(List.of("country", "year", "active"));
+		this.index.add("5", Map.of("country", "NL"));
+		this.index.load(snapshot);
+		assertThat(candidates("country == 'BG'")).containsExactlyInAnyOrder("1", "3", "4");
+		assertThat(candidates("country >= 'C'")).containsExactlyInAnyOrder("2", "4");
+		assertThat(candidates("year > 2020")).containsExactlyInAnyOrder("1", "2", "3");
+		assertThat(candidates("active == true")).containsExactly("1");
+		assertThat(candidates("country == 'BG' && year == 2022")).containsExactly("3");
+	}
+
+	private Set<String> candidates(String expression) {
+		return this.index.candidates(this.parser.parse(expression));
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class PackedVectorStorageTests {
+
+	@Test
+	void searchOrdersByDescendingSimilarity() {
+		PackedVectorStorage storage = new PackedVectorStorage();
+		storage.add("a", new float[] { 1f, 0f });
+		storage.add("b", new float[] { 1f, 1f });
+		storage.add("c", new float[] { 0f, 1f });
+		storage.add("d", new float[] { -1f, 0f });
+
+		List<SimilarityMatch> matches = storage.search(new float[] { 1f, 0.1f }, 3, 0.0);
+		assertThat(matches).extracting(SimilarityMatch::id).containsExactly("a", "b", "c");
+
+		matches = storage.search(new float[] { 1f, 0.1f }, 10, 0.5);
+		assertThat(matches).extracting(SimilarityMatch::id).containsExactly("a", "b");
+	}
+
+	@Test
+	void removeMovesLastRowIntoHole() {
+		PackedVectorStorage storage = new PackedVectorStorage();
+		storage.add("a", new float[] { 1f, 0f });
+		storage.add("b", new float[] { 0f, 1f });
+		storage.add("c", new float[] { 1f, 1f });
+
+		assertThat(storage.remove("a")).isTrue();
+		assertThat(storage.remove("a")).isFalse();
+		assertThat(storage.size()).isEqualTo(2);
+		assertThat(storage.get("a")).isNull();
+		assertThat(storage.get("c")).containsExactly(1f, 1f);
+		assertThat(storage.search(new float[] { 1f, 1f }, 1, 0.0)).extracting(SimilarityMatch::id).containsExactly("c");
+	}
+
+	@Test
+	void addOverwritesExistingId() {
+		PackedVectorStorage storage = new PackedVectorStorage();
+		storage.add("a", new float[] { 1f, 0f });
+		storage.add("a", new float[] { 0f, 3f });
+
+		assertThat(storage.size()).isEqualTo(1);
+		assertThat(storage.get("a")).containsExactly(0f, 3f);
+		assertThat(storage.search(new float[] { 0f, 1f }, 1, 0.0).get(0).score()).isEqualTo(1.0);
+	}
+
+	@Test
+	void rejectsInvalidVectors() {
+		PackedVectorStorage storage = new PackedVectorStorage();
+		storage.add("a", new float[] { 1f, 0f });
+		assertThatThrownBy(() -> storage.add("b", new float[] { 1f })).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> storage.add("b", new float[] { 0f, 0f })).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> storage.search(new float[] { 1f, 0f, 0f }, 1, 0.0))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
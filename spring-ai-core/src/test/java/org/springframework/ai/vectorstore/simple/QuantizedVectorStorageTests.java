@@ -0,0 +1,176 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.simple.QuantizedVectorStorage.QuantizationConfig;
+import org.springframework.ai.vectorstore.simple.QuantizedVectorStorage.QuantizationType;
+
+public class QuantizedVectorStorageTests {
+
+	@TempDir
+	Path workingDir;
+
+	@Test
+	void scalarQuantizationReranksWithFullPrecision() {
+		QuantizedVectorStorage storage = new QuantizedVectorStorage(
+				QuantizationConfig.builder().withDirectory(this.workingDir).build());
+		storage.add("a", new float[] { 1f, 0f });
+		storage.add("b", new float[] { 1f, 1f });
+		storage.add("c", new float[] { 0f, 1f });
+		storage.add("d", new float[] { -1f, 0f });
+
+		List<SimilarityMatch> matches = storage.search(new float[] { 1f, 0.1f }, 3, 0.0);
+		assertThat(matches).extracting(SimilarityMatch::id).containsExactly("a", "b", "c");
+		assertThat(matches.get(0).score()).isEqualTo(cosine(new float[] { 1f, 0.1f }, new float[] { 1f, 0f }),
+				within(1e-6));
+
+		assertThat(storage.get("b")).containsExactly(1f, 1f);
+		assertThat(storage.getHeapBytesPerVector()).isEqualTo(2 + 4 + 4 + 4);
+	}
+
+	@Test
+	void addRemoveAndOverwrite() {
+		QuantizedVectorStorage storage = new QuantizedVectorStorage(
+				QuantizationConfig.builder().withDirectory(this.workingDir).build());
+		storage.add("a", new float[] { 1f, 0f });
+		storage.add("b", new float[] { 0f, 1f });
+		storage.add("a", new float[] { 0f, 3f });
+
+		assertThat(storage.size()).isEqualTo(2);
+		assertThat(storage.get("a")).containsExactly(0f, 3f);
+		assertThat(storage.remove("b")).isTrue();
+		assertThat(storage.remove("b")).isFalse();
+		assertThat(storage.search(new float[] { 0f, 1f }, 5, 0.0)).extracting(SimilarityMatch::id).containsExactly("a");
+		assertThat(storage.searchCandidates(new float[] { 0f, 1f }, 5, 0.0, List.of("a", "b"), id -> true))
+			.extracting(SimilarityMatch::id)
+			.containsExactly("a");
+
+		assertThatThrownBy(() -> storage.add("c", new float[] { 1f })).isInstanceOf(IllegalArgumentException.class);
+		storage.clear();
+		assertThat(storage.size()).isZero();
+		assertThat(storage.search(new float[] { 0f, 1f }, 5, 0.0)).isEmpty();
+	}
+
+	@Test
+	void compactsTheVectorFileAndReleasesItOnClose() {
+		Random random = new Random(7);
+		QuantizedVectorStorage storage = new QuantizedVectorStorage(
+				QuantizationConfig.builder().withDirectory(this.workingDir).build());
+		Map<String, float[]> vectors = new HashMap<>();
+		for (int round = 0; round < 40; round++) {
+			for (int i = 0; i < 50; i++) {
+				float[] vector = randomVector(random, 8);
+				vectors.put("id-" + i, vector);
+				storage.add("id-" + i, vector);
+			}
+		}
+		assertThat(storage.size()).isEqualTo(50);
+		assertThat(storage.getVectorFileRows()).isLessThanOrEqualTo(50 + 1025);
+		vectors.forEach((id, vector) -> assertThat(storage.get(id)).containsExactly(vector));
+
+		storage.remove("id-0");
+		storage.compact();
+		assertThat(storage.getVectorFileRows()).isEqualTo(49);
+		vectors.remove("id-0");
+		vectors.forEach((id, vector) -> assertThat(storage.get(id)).containsExactly(vector));
+		assertThat(storage.search(vectors.get("id-7"), 1, 0.0)).extracting(SimilarityMatch::id).containsExactly("id-7");
+
+		storage.close();
+		assertThat(storage.size()).isZero();
+		assertThat(storage.getVectorFileRows()).isZero();
+	}
+
+	@Test
+	void productQuantizationIsTrainedOnceEnoughVectorsAreStored() {
+		Random random = new Random(3);
+		QuantizedVectorStorage storage = new QuantizedVectorStorage(QuantizationConfig.builder()
+			.withType(QuantizationType.PRODUCT)
+			.withSubspaces(4)
+			.withTrainingSize(300)
+			.withRerankFactor(10)
+			.withDirectory(this.workingDir)
+			.build());
+		List<float[]> vectors = new ArrayList<>();
+		for (int i = 0; i < 600; i++) {
+			float[] vector = randomVector(random, 16);
+			vectors.add(vector);
+			storage.add("id-" + i, vector);
+			if (i == 100) {
+				// exact search before the quantizer is trained
+				assertThat(storage.search(vector, 1, 0.0)).extracting(SimilarityMatch::id).containsExactly("id-100");
+			}
+		}
+		assertThat(storage.getHeapBytesPerVector()).isEqualTo(4 + 4 + 4);
+		for (int i = 0; i < 600; i += 50) {
+			assertThat(storage.search(vectors.get(i), 1, 0.0)).extracting(SimilarityMatch::id)
+				.containsExactly("id-" + i);
+		}
+	}
+
+	@Test
+	void loadsFullPrecisionVectorsFromSnapshot() {
+		Random random = new Random(5);
+		Map<String, Document> documents = new HashMap<>();
+		Map<String, float[]> embeddings = new HashMap<>();
+		for (int i = 0; i < 100; i++) {
+			documents.put("id-" + i, new Document("id-" + i, "content " + i, Map.of()));
+			embeddings.put("id-" + i, randomVector(random, 8));
+		}
+		Path file = this.workingDir.resolve("snapshot.bin");
+		SimpleVectorStoreSnapshot.write(file, List.copyOf(documents.keySet()), documents::get, embeddings::get);
+
+		QuantizedVectorStorage storage = new QuantizedVectorStorage(
+				QuantizationConfig.builder().withDirectory(this.workingDir).build());
+		storage.load(SimpleVectorStoreSnapshot.open(file));
+		assertThat(storage.size()).isEqualTo(100);
+		assertThat(storage.get("id-7")).containsExactly(embeddings.get("id-7"));
+		assertThat(storage.search(embeddings.get("id-7"), 1, 0.0)).extracting(SimilarityMatch::id)
+			.containsExactly("id-7");
+
+		storage.add("extra", embeddings.get("id-7"));
+		storage.remove("id-7");
+		assertThat(storage.search(embeddings.get("id-7"), 1, 0.0)).extracting(SimilarityMatch::id)
+			.containsExactly("extra");
+	}
+
+	private static float[] randomVector(Random random, int dimensions) {
+		float[] vector = new float[dimensions];
+		for (int i = 0; i < dimensions; i++) {
+			vector[i] = (float) random.nextGaussian();
+		}
+		return vector;
+	}
+
+	private static double cosine(float[] x, float[] y) {
+		return SimilarityKernels.scalar().cosineSimilarity(x, y);
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.simple;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class SimilarityKernelTests {
+
+	private final Random random = new Random(7);
+
+	@Test
+	void vectorApiKernelIsTheDefaultWhenAvailable() {
+		// The module is added to the test JVM by the vector-api profile.
+		assumeTrue(SimilarityKernels.isVectorApiAvailable(), "Requires --add-modules jdk.incubator.vector");
+		assertThat(SimilarityKernels.getDefault()).isInstanceOf(VectorApiSimilarityKernel.class);
+	}
+
+	@Test
+	void scalarKernelIsTheDefaultOtherwise() {
+		assumeFalse(SimilarityKernels.isVectorApiAvailable());
+		assertThat(SimilarityKernels.getDefault()).isSameAs(SimilarityKernels.scalar());
+		assertThatIllegalStateException().isThrownBy(SimilarityKernels::vectorApi)
+			.withMessageContaining("--add-modules jdk.incubator.vector");
+	}
+
+	@Test
+	void kernelsAgreeWithReferenceImplementation() {
+		for (SimilarityKernel kernel : kernels()) {
+			for (int length : new int[] { 0, 1, 3, 7, 8, 15, 16, 17, 100, 384, 1537 }) {
+				float[] x = randomVector(length);
+				float[] y = randomVector(length + 5);
+				double dot = 0;
+				double squaredDistance = 0;
+				for (int i = 0; i < length; i++) {
+					dot += x[i] * y[i + 5];
+					squaredDistance += (x[i] - y[i + 5]) * (x[i] - y[i + 5]);
+				}
+				assertThat(kernel.dotProduct(x, 0, y, 5, length)).as("%s %d", kernel, length)
+					.isCloseTo((float) dot, within(1e-3f));
+				assertThat(kernel.squaredEuclideanDistance(x, 0, y, 5, length)).as("%s %d", kernel, length)
+					.isCloseTo((float) squaredDistance, within(1e-2f));
+
+				ByteBuffer buffer = ByteBuffer.allocate(Float.BYTES * (length + 5)).order(ByteOrder.LITTLE_ENDIAN);
+				for (float value : y) {
+					buffer.putFloat(value);
+				}
+				assertThat(kernel.dotProduct(x, buffer, 5 * Float.BYTES, length)).as("%s %d", kernel, length)
+					.isCloseTo((float) dot, within(1e-3f));
+			}
+		}
+	}
+
+	@Test
+	void metricsOverNormalizedVectors() {
+		for (SimilarityKernel kernel : kernels()) {
+			float[] x = kernel.normalize(new float[] { 3f, 4f });
+			float[] y = kernel.normalize(new float[] { 4f, 3f });
+			assertThat(kernel.norm(x)).isCloseTo(1f, within(1e-6f));
+			assertThat(kernel.dotProduct(x, y)).isCloseTo(0.96f, within(1e-6f));
+			assertThat(kernel.cosineSimilarity(new float[] { 3f, 4f }, new float[] { 4f, 3f })).isCloseTo(0.96,
+					within(1e-6));
+			float squaredDistance = kernel.squaredEuclideanDistance(x, 0, y, 0, 2);
+			assertThat(squaredDistance).isCloseTo(2 - 2 * kernel.dotProduct(x, y), within(1e-6f));
+			assertThat(kernel.euclideanDistance(x, y)).isCloseTo((float) Math.sqrt(squaredDistance), within(1e-6f));
+		}
+	}
+
+	private static List<SimilarityKernel> kernels() {
+		List<SimilarityKernel> kernels = new ArrayList<>();
+		kernels.add(SimilarityKernels.scalar());
+		if (SimilarityKernels.isVectorApiAvailable()) {
+			kernels.add(SimilarityKernels.vectorApi());
+		}
+		return kernels;
+	}
+
+	private float[] randomVector(int length) {
+		float[] vector = new float[length];
+		for (int i = 0; i < length; i++) {
+			vector[i] = this.random.nextFloat() * 2 - 1;
+		}
+		return vector;
+	}
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.writer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentWriter;
+import org.springframework.ai.writer.WriteBehindDocumentWriter.OverflowPolicy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WriteBehindDocumentWriterTests {
+
+	@Test
+	void documentsAreWrittenInBatchesByTheBackgroundThread() throws Exception {
+		RecordingWriter delegate = new RecordingWriter();
+		try (WriteBehindDocumentWriter writer = WriteBehindDocumentWriter.builder(delegate)
+			.withFlushInterval(Duration.ofMillis(50))
+			.build()) {
+
+			writer.write(documents("a", "b"));
+			writer.write(documents("c"));
+
+			delegate.awaitDocuments(3);
+			assertThat(delegate.contents()).containsExactly("a", "b", "c");
+			assertThat(delegate.callers).allMatch(name -> name.startsWith("write-behind-document-writer-"));
+		}
+	}
+
+	@Test
+	void fullBatchesAreWrittenBeforeTheFlushInterval() throws Exception {
+		RecordingWriter delegate = new RecordingWriter();
+		try (WriteBehindDocumentWriter writer = WriteBehindDocumentWriter.builder(delegate)
+			.withFlushInterval(Duration.ofHours(1))
+			.withMaxBatchSize(2)
+			.build()) {
+
+			writer.write(documents("a", "b", "c", "d", "e"));
+
+			delegate.awaitDocuments(4);
+			assertThat(delegate.batches).allMatch(batch -> batch.size() <= 2);
+		}
+	}
+
+	@Test
+	void queuedDocumentsAreWrittenOnClose() {
+		RecordingWriter delegate = new RecordingWriter();
+		WriteBehindDocumentWriter writer = WriteBehindDocumentWriter.builder(delegate)
+			.withFlushInterval(Duration.ofHours(1))
+			.build();
+
+		writer.write(documents("a", "b", "c"));
+		writer.close();
+
+		assertThat(delegate.contents()).containsExactly("a", "b", "c");
+		assertThat(writer.getWrittenCount()).isEqualTo(3);
+		assertThat(writer.getPendingCount()).isZero();
+	}
+
+	@Test
+	void overflowingDocumentsAreDiscardedOrWrittenByTheCaller() {
+		RecordingWriter delegate = new RecordingWriter();
+		try (WriteBehindDocumentWriter writer = WriteBehindDocumentWriter.builder(delegate)
+			.withFlushInterval(Duration.ofHours(1))
+			.withMaxBatchSize(10)
+			.withQueueCapacity(2)
+			.withOverflowPolicy(OverflowPolicy.DISCARD)
+			.build()) {
+
+			writer.write(documents("a", "b", "c"));
+
+			assertThat(writer.getDiscardedCount()).isEqualTo(1);
+			assertThat(writer.getPendingCount()).isEqualTo(2);
+		}
+
+		RecordingWriter callerRunsDelegate = new RecordingWriter();
+		try (WriteBehindDocumentWriter writer = WriteBehindDocumentWriter.builder(callerRunsDelegate)
+			.withFlushInterval(Duration.ofHours(1))
+			.withMaxBatchSize(10)
+			.withQueueCapacity(2)
+			.withOverflowPolicy(OverflowPolicy.CALLER_RUNS)
+			.build()) {
+
+			writer.write(documents("a", "b", "c"));
+
+			assertThat(callerRunsDelegate.contents()).containsExactly("c");
+			assertThat(callerRunsDelegate.callers).containsExactly(Thread.currentThread().getName());
+		}
+		assertThat(callerRunsDelegate.contents()).containsExactly("c", "a", "b");
+	}
+
+	@Test
+	void failedBatchesDoNotStopTheWriter() throws Exception {
+		RecordingWriter delegate = new RecordingWriter();
+		CountDownLatch firstAttempt = new CountDownLatch(1);
+		DocumentWriter failingOnce = documents -> {
+			if (firstAttempt.getCount() > 0) {
+				firstAttempt.countDown();
+				throw new IllegalStateException("Unavailable");
+			}
+			delegate.accept(documents);
+		};
+		try (WriteBehindDocumentWriter writer = WriteBehindDocumentWriter.builder(failingOnce)
+			.withFlushInterval(Duration.ofMillis(20))
+			.build()) {
+
+			writer.write(documents("a"));
+			assertThat(firstAttempt.await(10, TimeUnit.SECONDS)).isTrue();
+			writer.write(documents("b"));
+
+			delegate.awaitDocuments(1);
+			assertThat(delegate.contents()).containsExactly("b");
+			assertThat(writer.getFailedCount()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void errorsDoNotStopTheScheduledFlushes() throws Exception {
+		RecordingWriter delegate = new RecordingWriter();
+		CountDownLatch firstAttempt = new CountDownLatch(1);
+		DocumentWriter failingOnce = documents -> {
+			if (firstAttempt.getCount() > 0) {
+				firstAttempt.countDown();
+				throw new AssertionError("Unexpected");
+			}
+			delegate.accept(documents);
+		};
+		try (WriteBehindDocumentWriter writer = WriteBehindDocumentWriter.builder(failingOnce)
+			.withFlushInterval(Duration.ofMillis(20))
+			.build()) {
+
+			writer.write(documents("a"));
+			assertThat(firstAttempt.await(10, TimeUnit.SECONDS)).isTrue();
+			writer.write(documents("b"));
+
+			delegate.awaitDocuments(1);
+			assertThat(delegate.contents()).containsExactly("b");
+			assertThat(writer.getFailedCount()).isEqualTo(1);
+		}
+	}
+
+	private static List<Document> documents(String... contents) {
+		List<Document> documents = new ArrayList<>();
+		for (String content : contents) {
+			documents.add(new Document(content));
+		}
+		return documents;
+	}
+
+	private static class RecordingWriter implements DocumentWriter {
+
+		private final List<List<Document>> batches = new CopyOnWriteArrayList<>();
+
+		private final List<String> callers = new CopyOnWriteArrayList<>();
+
+		@Override
+		public synchronized void accept(List<Document> documents) {
+			this.batches.add(List.copyOf(documents));
+			this.callers.add(Thread.currentThread().getName());
+			notifyAll();
+		}
+
+		List<String> contents() {
+			return this.batches.stream().flatMap(List::stream).map(Document::getContent).toList();
+		}
+
+		synchronized void awaitDocuments(int count) throws InterruptedException {
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			long remaining;
+			while (contents().size() < count && (remaining = deadline - System.nanoTime()) > 0) {
+				TimeUnit.NANOSECONDS.timedWait(this, remaining);
+			}
+			assertThat(contents()).hasSizeGreaterThanOrEqualTo(count);
+		}
+
+	}
+
+}
@@ -46,6 +46,12 @@ public class BedrockTitanEmbeddingProperties {
 	 */
 	private InputType inputType = InputType.IMAGE;
 
+	/**
+	 * Maximum number of embedding API calls in flight. Titan embeds one input per call.
+	 * Defaults to 1, embedding the inputs one after another.
+	 */
+	private int maxConcurrency = 1;
+
 	public boolean isEnabled() {
 		return enabled;
 	}
@@ -74,4 +80,12 @@ public class BedrockTitanEmbeddingProperties {
 		return inputType;
 	}
 
+	public int getMaxConcurrency() {
+		return this.maxConcurrency;
+	}
+
+	public void setMaxConcurrency(int maxConcurrency) {
+		this.maxConcurrency = maxConcurrency;
+	}
+
 }
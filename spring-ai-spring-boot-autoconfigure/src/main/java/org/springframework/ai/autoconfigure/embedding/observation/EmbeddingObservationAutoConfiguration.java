@@ -17,6 +17,7 @@ package org.springframework.ai.autoconfigure.embedding.observation;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.observation.EmbeddingCacheMeterObservationHandler;
 import org.springframework.ai.embedding.observation.EmbeddingModelMeterObservationHandler;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
@@ -44,4 +45,12 @@ public class EmbeddingObservationAutoConfiguration {
 		return new EmbeddingModelMeterObservationHandler(meterRegistry.getObject());
 	}
 
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnBean(MeterRegistry.class)
+	EmbeddingCacheMeterObservationHandler embeddingCacheMeterObservationHandler(
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		return new EmbeddingCacheMeterObservationHandler(meterRegistry.getObject());
+	}
+
 }
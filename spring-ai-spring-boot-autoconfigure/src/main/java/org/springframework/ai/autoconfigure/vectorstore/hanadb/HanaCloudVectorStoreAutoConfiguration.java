@@ -17,7 +17,9 @@ package org.springframework.ai.autoconfigure.vectorstore.hanadb;
 
 import javax.sql.DataSource;
 
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
 import org.springframework.ai.vectorstore.HanaCloudVectorStore;
 import org.springframework.ai.vectorstore.HanaCloudVectorStoreConfig;
 import org.springframework.ai.vectorstore.HanaVectorEntity;
@@ -43,12 +45,19 @@ import io.micrometer.observation.ObservationRegistry;
 @EnableConfigurationProperties(HanaCloudVectorStoreProperties.class)
 public class HanaCloudVectorStoreAutoConfiguration {
 
+	@Bean
+	@ConditionalOnMissingBean(BatchingStrategy.class)
+	BatchingStrategy hanaCloudBatchingStrategy() {
+		return new TokenCountBatchingStrategy();
+	}
+
 	@Bean
 	@ConditionalOnMissingBean
 	public HanaCloudVectorStore vectorStore(HanaVectorRepository<? extends HanaVectorEntity> repository,
 			EmbeddingModel embeddingModel, HanaCloudVectorStoreProperties properties,
 			ObjectProvider<ObservationRegistry> observationRegistry,
-			ObjectProvider<VectorStoreObservationConvention> customObservationConvention) {
+			ObjectProvider<VectorStoreObservationConvention> customObservationConvention,
+			BatchingStrategy batchingStrategy) {
 
 		return new HanaCloudVectorStore(repository, embeddingModel,
 				HanaCloudVectorStoreConfig.builder()
@@ -56,7 +65,8 @@ public class HanaCloudVectorStoreAutoConfiguration {
 					.topK(properties.getTopK())
 					.build(),
 				observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP),
-				customObservationConvention.getIfAvailable(() -> null));
+				customObservationConvention.getIfAvailable(() -> null), batchingStrategy);
+
 	}
 
 }
\ No newline at end of file
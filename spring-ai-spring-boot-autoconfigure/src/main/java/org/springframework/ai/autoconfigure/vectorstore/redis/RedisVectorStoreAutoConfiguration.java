@@ -62,6 +62,7 @@ public class RedisVectorStoreAutoConfiguration {
 		var config = RedisVectorStoreConfig.builder()
 			.withIndexName(properties.getIndex())
 			.withPrefix(properties.getPrefix())
+			.withStorageType(properties.getStorageType())
 			.build();
 
 		return new RedisVectorStore(config, embeddingModel,
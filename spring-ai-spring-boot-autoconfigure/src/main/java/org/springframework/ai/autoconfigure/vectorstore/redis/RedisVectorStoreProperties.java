@@ -16,6 +16,8 @@
 package org.springframework.ai.autoconfigure.vectorstore.redis;
 
 import org.springframework.ai.autoconfigure.vectorstore.CommonVectorStoreProperties;
+import org.springframework.ai.vectorstore.RedisVectorStore;
+import org.springframework.ai.vectorstore.RedisVectorStore.StorageType;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -31,6 +33,8 @@ public class RedisVectorStoreProperties extends CommonVectorStoreProperties {
 
 	private String prefix = "default:";
 
+	private StorageType storageType = RedisVectorStore.DEFAULT_STORAGE_TYPE;
+
 	public String getIndex() {
 		return this.index;
 	}
@@ -47,4 +51,12 @@ public class RedisVectorStoreProperties extends CommonVectorStoreProperties {
 		this.prefix = prefix;
 	}
 
+	public StorageType getStorageType() {
+		return this.storageType;
+	}
+
+	public void setStorageType(StorageType storageType) {
+		this.storageType = storageType;
+	}
+
 }
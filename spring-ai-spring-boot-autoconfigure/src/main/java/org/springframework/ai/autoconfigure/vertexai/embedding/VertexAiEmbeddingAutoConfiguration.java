@@ -18,6 +18,7 @@ package org.springframework.ai.autoconfigure.vertexai.embedding;
 import java.io.IOException;
 
 import org.springframework.ai.vertexai.embedding.VertexAiEmbeddigConnectionDetails;
+import org.springframework.ai.embedding.EmbeddingConcurrency;
 import org.springframework.ai.vertexai.embedding.multimodal.VertexAiMultimodalEmbeddingModel;
 import org.springframework.ai.vertexai.embedding.text.VertexAiTextEmbeddingModel;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -78,7 +79,11 @@ public class VertexAiEmbeddingAutoConfiguration {
 	public VertexAiMultimodalEmbeddingModel multimodalEmbedding(VertexAiEmbeddigConnectionDetails connectionDetails,
 			VertexAiMultimodalEmbeddingProperties multimodalEmbeddingProperties) throws IOException {
 
-		return new VertexAiMultimodalEmbeddingModel(connectionDetails, multimodalEmbeddingProperties.getOptions());
+		var embeddingModel = new VertexAiMultimodalEmbeddingModel(connectionDetails,
+				multimodalEmbeddingProperties.getOptions());
+		embeddingModel
+			.setEmbeddingConcurrency(EmbeddingConcurrency.of(multimodalEmbeddingProperties.getMaxConcurrency()));
+		return embeddingModel;
 	}
 
 }
@@ -31,6 +31,12 @@ public class VertexAiMultimodalEmbeddingProperties {
 
 	private boolean enabled = true;
 
+	/**
+	 * Maximum number of prediction calls in flight. The multimodal model embeds one
+	 * document per call. Defaults to 1, embedding the documents one after another.
+	 */
+	private int maxConcurrency = 1;
+
 	/**
 	 * Vertex AI Text Embedding API options.
 	 */
@@ -54,4 +60,12 @@ public class VertexAiMultimodalEmbeddingProperties {
 		this.enabled = enabled;
 	}
 
+	public int getMaxConcurrency() {
+		return this.maxConcurrency;
+	}
+
+	public void setMaxConcurrency(int maxConcurrency) {
+		this.maxConcurrency = maxConcurrency;
+	}
+
 }
@@ -86,7 +86,8 @@ public class BedrockTitanEmbeddingAutoConfigurationIT {
 		new ApplicationContextRunner().withPropertyValues("spring.ai.bedrock.titan.embedding.enabled=true",
 				"spring.ai.bedrock.aws.access-key=ACCESS_KEY", "spring.ai.bedrock.aws.secret-key=SECRET_KEY",
 				"spring.ai.bedrock.aws.region=" + Region.EU_CENTRAL_1.id(),
-				"spring.ai.bedrock.titan.embedding.model=MODEL_XYZ", "spring.ai.bedrock.titan.embedding.inputType=TEXT")
+				"spring.ai.bedrock.titan.embedding.model=MODEL_XYZ", "spring.ai.bedrock.titan.embedding.inputType=TEXT",
+				"spring.ai.bedrock.titan.embedding.max-concurrency=8")
 			.withConfiguration(AutoConfigurations.of(BedrockTitanEmbeddingAutoConfiguration.class))
 			.run(context -> {
 				var properties = context.getBean(BedrockTitanEmbeddingProperties.class);
@@ -97,6 +98,10 @@ public class BedrockTitanEmbeddingAutoConfigurationIT {
 				assertThat(properties.getModel()).isEqualTo("MODEL_XYZ");
 
 				assertThat(properties.getInputType()).isEqualTo(InputType.TEXT);
+				assertThat(properties.getMaxConcurrency()).isEqualTo(8);
+				assertThat(
+						context.getBean(BedrockTitanEmbeddingModel.class).getEmbeddingConcurrency().getMaxConcurrency())
+					.isEqualTo(8);
 
 				assertThat(awsProperties.getAccessKey()).isEqualTo("ACCESS_KEY");
 				assertThat(awsProperties.getSecretKey()).isEqualTo("SECRET_KEY");
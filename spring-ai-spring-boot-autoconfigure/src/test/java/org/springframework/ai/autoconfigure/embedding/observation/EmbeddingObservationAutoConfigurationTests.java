@@ -17,6 +17,7 @@ package org.springframework.ai.autoconfigure.embedding.observation;
 
 import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.ai.embedding.observation.EmbeddingCacheMeterObservationHandler;
 import org.springframework.ai.embedding.observation.EmbeddingModelMeterObservationHandler;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
@@ -37,6 +38,7 @@ class EmbeddingObservationAutoConfigurationTests {
 	void meterObservationHandlerEnabled() {
 		contextRunner.withBean(CompositeMeterRegistry.class).run(context -> {
 			assertThat(context).hasSingleBean(EmbeddingModelMeterObservationHandler.class);
+			assertThat(context).hasSingleBean(EmbeddingCacheMeterObservationHandler.class);
 		});
 	}
 
@@ -44,6 +46,7 @@ class EmbeddingObservationAutoConfigurationTests {
 	void meterObservationHandlerDisabled() {
 		contextRunner.run(context -> {
 			assertThat(context).doesNotHaveBean(EmbeddingModelMeterObservationHandler.class);
+			assertThat(context).doesNotHaveBean(EmbeddingCacheMeterObservationHandler.class);
 		});
 	}
 
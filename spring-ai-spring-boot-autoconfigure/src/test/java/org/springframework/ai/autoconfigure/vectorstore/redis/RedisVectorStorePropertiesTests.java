@@ -18,6 +18,7 @@ package org.springframework.ai.autoconfigure.vectorstore.redis;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.ai.vectorstore.RedisVectorStore.StorageType;
 
 /**
  * @author Julien Ruaux
@@ -30,6 +31,7 @@ class RedisVectorStorePropertiesTests {
 		var props = new RedisVectorStoreProperties();
 		assertThat(props.getIndex()).isEqualTo("default-index");
 		assertThat(props.getPrefix()).isEqualTo("default:");
+		assertThat(props.getStorageType()).isEqualTo(StorageType.JSON);
 	}
 
 	@Test
@@ -37,9 +39,11 @@ class RedisVectorStorePropertiesTests {
 		var props = new RedisVectorStoreProperties();
 		props.setIndex("myIdx");
 		props.setPrefix("doc:");
+		props.setStorageType(StorageType.HASH);
 
 		assertThat(props.getIndex()).isEqualTo("myIdx");
 		assertThat(props.getPrefix()).isEqualTo("doc:");
+		assertThat(props.getStorageType()).isEqualTo(StorageType.HASH);
 	}
 
 }
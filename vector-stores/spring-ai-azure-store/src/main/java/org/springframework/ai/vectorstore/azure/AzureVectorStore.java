@@ -25,7 +25,10 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
 import org.springframework.ai.model.EmbeddingUtils;
 import org.springframework.ai.observation.conventions.VectorStoreProvider;
 import org.springframework.ai.observation.conventions.VectorStoreSimilarityMetric;
@@ -98,6 +101,11 @@ public class AzureVectorStore extends AbstractObservationVectorStore implements
 
 	private static final Double DEFAULT_SIMILARITY_THRESHOLD = 0.0;
 
+	/**
+	 * Maximum number of documents of an Azure AI Search indexing batch.
+	 */
+	private static final int MAX_UPLOAD_BATCH_SIZE = 1000;
+
 	private static final String METADATA_FIELD_PREFIX = "meta_";
 
 	private final SearchIndexClient searchIndexClient;
@@ -116,6 +124,8 @@ public class AzureVectorStore extends AbstractObservationVectorStore implements
 
 	private final boolean initializeSchema;
 
+	private final BatchingStrategy batchingStrategy;
+
 	/**
 	 * List of metadata fields (as field name and type) that can be used in similarity
 	 * search query filter expressions. The {@link Document#getMetadata()} can contain
@@ -192,16 +202,37 @@ public class AzureVectorStore extends AbstractObservationVectorStore implements
 	public AzureVectorStore(SearchIndexClient searchIndexClient, EmbeddingModel embeddingModel,
 			boolean initializeSchema, List<MetadataField> filterMetadataFields, ObservationRegistry observationRegistry,
 			VectorStoreObservationConvention customObservationConvention) {
+		this(searchIndexClient, embeddingModel, initializeSchema, filterMetadataFields, observationRegistry,
+				customObservationConvention, new TokenCountBatchingStrategy());
+	}
+
+	/**
+	 * Constructs a new AzureCognitiveSearchVectorStore.
+	 * @param searchIndexClient A pre-configured Azure {@link SearchIndexClient} that CRUD
+	 * for Azure search indexes and factory for {@link SearchClient}.
+	 * @param embeddingModel The client for embedding operations.
+	 * @param filterMetadataFields List of metadata fields (as field name and type) that
+	 * can be used in similarity search query filter expressions.
+	 * @param observationRegistry The observation registry to use.
+	 * @param customObservationConvention The optional, custom search observation
+	 * convention to use.
+	 * @param batchingStrategy The strategy batching the documents to embed.
+	 */
+	public AzureVectorStore(SearchIndexClient searchIndexClient, EmbeddingModel embeddingModel,
+			boolean initializeSchema, List<MetadataField> filterMetadataFields, ObservationRegistry observationRegistry,
+			VectorStoreObservationConvention customObservationConvention, BatchingStrategy batchingStrategy) {
 
 		super(observationRegistry, customObservationConvention);
 
 		Assert.notNull(embeddingModel, "The embedding model can not be null.");
 		Assert.notNull(searchIndexClient, "The search index client can not be null.");
 		Assert.notNull(filterMetadataFields, "The filterMetadataFields can not be null.");
+		Assert.notNull(batchingStrategy, "The batching strategy can not be null.");
 
 		this.initializeSchema = initializeSchema;
 		this.searchIndexClient = searchIndexClient;
 		this.embeddingModel = embeddingModel;
+		this.batchingStrategy = batchingStrategy;
 		this.filterMetadataFields = filterMetadataFields;
 		this.filterExpressionConverter = new AzureAiSearchFilterExpressionConverter(filterMetadataFields);
 	}
@@ -243,11 +274,12 @@ public class AzureVectorStore extends AbstractObservationVectorStore implements
 			return; // nothing to do;
 		}
 
+		this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), this.batchingStrategy);
+
 		final var searchDocuments = documents.stream().map(document -> {
-			final var embeddings = this.embeddingModel.embed(document);
 			SearchDocument searchDocument = new SearchDocument();
 			searchDocument.put(ID_FIELD_NAME, document.getId());
-			searchDocument.put(EMBEDDING_FIELD_NAME, embeddings);
+			searchDocument.put(EMBEDDING_FIELD_NAME, document.getEmbedding());
 			searchDocument.put(CONTENT_FIELD_NAME, document.getContent());
 			searchDocument.put(METADATA_FIELD_NAME, new JSONObject(document.getMetadata()).toJSONString());
 
@@ -262,11 +294,14 @@ public class AzureVectorStore extends AbstractObservationVectorStore implements
 			return searchDocument;
 		}).toList();
 
-		IndexDocumentsResult result = this.searchClient.uploadDocuments(searchDocuments);
+		for (int from = 0; from < searchDocuments.size(); from += MAX_UPLOAD_BATCH_SIZE) {
+			IndexDocumentsResult result = this.searchClient.uploadDocuments(
+					searchDocuments.subList(from, Math.min(from + MAX_UPLOAD_BATCH_SIZE, searchDocuments.size())));
 
-		for (IndexingResult indexingResult : result.getResults()) {
-			Assert.isTrue(indexingResult.isSucceeded(),
-					String.format("Document with key %s did not upload successfully", indexingResult.getKey()));
+			for (IndexingResult indexingResult : result.getResults()) {
+				Assert.isTrue(indexingResult.isSucceeded(),
+						String.format("Document with key %s did not upload successfully", indexingResult.getKey()));
+			}
 		}
 	}
 
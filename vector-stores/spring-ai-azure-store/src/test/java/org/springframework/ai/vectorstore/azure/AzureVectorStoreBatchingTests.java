@@ -0,0 +1,144 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.azure;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import com.azure.search.documents.SearchClient;
+import com.azure.search.documents.SearchDocument;
+import com.azure.search.documents.indexes.SearchIndexClient;
+import com.azure.search.documents.models.IndexDocumentsResult;
+import com.azure.search.documents.models.IndexingResult;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AzureVectorStoreBatchingTests {
+
+	private final List<List<SearchDocument>> uploads = new ArrayList<>();
+
+	private final CountingEmbeddingModel embeddingModel = new CountingEmbeddingModel();
+
+	private SearchClient searchClient;
+
+	private AzureVectorStore vectorStore;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		SearchIndexClient searchIndexClient = mock(SearchIndexClient.class);
+		this.searchClient = mock(SearchClient.class);
+		when(searchIndexClient.getSearchClient(any())).thenReturn(this.searchClient);
+		this.vectorStore = new AzureVectorStore(searchIndexClient, this.embeddingModel, false, List.of(),
+				ObservationRegistry.NOOP, null, batchesOf(400));
+		this.vectorStore.afterPropertiesSet();
+	}
+
+	@Test
+	public void documentsAreEmbeddedInBatchesAndUploadedInRequestsOfAtMost1000Documents() {
+		when(this.searchClient.uploadDocuments(any())).thenAnswer(invocation -> upload(invocation.getArgument(0), -1));
+
+		this.vectorStore.add(documents(2500));
+
+		assertThat(this.embeddingModel.requests.get()).isEqualTo(7);
+		assertThat(this.uploads).extracting(List::size).containsExactly(1000, 1000, 500);
+		SearchDocument last = this.uploads.get(2).get(499);
+		assertThat(last.get("id")).isEqualTo("id-2499");
+		assertThat((float[]) last.get("embedding")).containsExactly(2499f);
+	}
+
+	@Test
+	public void failedUploadStopsTheRemainingRequests() {
+		when(this.searchClient.uploadDocuments(any())).thenAnswer(invocation -> upload(invocation.getArgument(0), 1200));
+
+		assertThatThrownBy(() -> this.vectorStore.add(documents(2500))).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("id-1200");
+		assertThat(this.uploads).hasSize(2);
+	}
+
+	private IndexDocumentsResult upload(Iterable<?> documents, int failedDocument) {
+		List<SearchDocument> upload = new ArrayList<>();
+		documents.forEach(document -> upload.add((SearchDocument) document));
+		this.uploads.add(upload);
+		return new IndexDocumentsResult(upload.stream().map(document -> {
+			String key = (String) document.get("id");
+			boolean succeeded = !key.equals("id-" + failedDocument);
+			return new IndexingResult(key, succeeded, succeeded ? 201 : 400);
+		}).toList());
+	}
+
+	private static List<Document> documents(int count) {
+		return IntStream.range(0, count)
+			.mapToObj(i -> new Document("id-" + i, String.valueOf(i), new HashMap<>()))
+			.toList();
+	}
+
+	private static BatchingStrategy batchesOf(int size) {
+		return documents -> {
+			List<List<Document>> batches = new ArrayList<>();
+			for (int from = 0; from < documents.size(); from += size) {
+				batches.add(documents.subList(from, Math.min(from + size, documents.size())));
+			}
+			return batches;
+		};
+	}
+
+	/**
+	 * Embeds every text into a one dimension vector holding the text as a number.
+	 */
+	private static class CountingEmbeddingModel implements EmbeddingModel {
+
+		private final AtomicInteger requests = new AtomicInteger();
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			this.requests.incrementAndGet();
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				embeddings.add(new Embedding(new float[] { Float.parseFloat(text) }, embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public int dimensions() {
+			return 1;
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			throw new UnsupportedOperationException("Documents are embedded in batches");
+		}
+
+	}
+
+}
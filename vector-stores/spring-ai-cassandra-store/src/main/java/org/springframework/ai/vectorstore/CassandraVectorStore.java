@@ -35,7 +35,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
 import org.springframework.ai.model.EmbeddingUtils;
 import org.springframework.ai.observation.conventions.VectorStoreProvider;
 import org.springframework.ai.observation.conventions.VectorStoreSimilarityMetric;
@@ -83,15 +86,15 @@ import java.util.concurrent.ConcurrentMap;
  * change the schema server-side you need a new CassandraVectorStore instance.
  *
  * When adding documents with the method {@link #add(List<Document>)} it first calls
- * embeddingModel to create the embeddings. This is slow. Configure
+ * embeddingModel to create the embeddings of the documents without one, in the batches of
+ * the configured {@link BatchingStrategy}. The documents are then added concurrently.
+ * Configure
  * {@link CassandraVectorStoreConfig.Builder#withFixedThreadPoolExecutorSize(int)}
- * accordingly to improve performance so embeddings are created and the documents are
- * added concurrently. The default concurrency is 16
- * ({@link CassandraVectorStoreConfig#DEFAULT_ADD_CONCURRENCY}). Remote transformers
- * probably want higher concurrency, and local transformers may need lower concurrency.
- * This concurrency limit does not need to be higher than the max parallel calls made to
- * the {@link #add(List<Document>)} method multiplied by the list size. This setting can
- * also serve as a protecting throttle against your embedding model.
+ * accordingly to improve performance. The default concurrency is 16
+ * ({@link CassandraVectorStoreConfig#DEFAULT_ADD_CONCURRENCY}). This concurrency limit
+ * does not need to be higher than the max parallel calls made to the
+ * {@link #add(List<Document>)} method multiplied by the list size. This setting can also
+ * serve as a protecting throttle against your cluster.
  *
  * @author Mick Semb Wever
  * @author Christian Tzolov
@@ -137,20 +140,30 @@ public class CassandraVectorStore extends AbstractObservationVectorStore impleme
 
 	private final Similarity similarity;
 
+	private final BatchingStrategy batchingStrategy;
+
 	public CassandraVectorStore(CassandraVectorStoreConfig conf, EmbeddingModel embeddingModel) {
 		this(conf, embeddingModel, ObservationRegistry.NOOP, null);
 	}
 
 	public CassandraVectorStore(CassandraVectorStoreConfig conf, EmbeddingModel embeddingModel,
 			ObservationRegistry observationRegistry, VectorStoreObservationConvention customObservationConvention) {
+		this(conf, embeddingModel, observationRegistry, customObservationConvention, new TokenCountBatchingStrategy());
+	}
+
+	public CassandraVectorStore(CassandraVectorStoreConfig conf, EmbeddingModel embeddingModel,
+			ObservationRegistry observationRegistry, VectorStoreObservationConvention customObservationConvention,
+			BatchingStrategy batchingStrategy) {
 
 		super(observationRegistry, customObservationConvention);
 
 		Preconditions.checkArgument(null != conf, "Config must not be null");
 		Preconditions.checkArgument(null != embeddingModel, "Embedding model must not be null");
+		Preconditions.checkArgument(null != batchingStrategy, "Batching strategy must not be null");
 
 		this.conf = conf;
 		this.embeddingModel = embeddingModel;
+		this.batchingStrategy = batchingStrategy;
 		conf.ensureSchemaExists(embeddingModel.dimensions());
 		prepareAddStatement(Set.of());
 		this.deleteStmt = prepareDeleteStatement();
@@ -170,6 +183,14 @@ public class CassandraVectorStore extends AbstractObservationVectorStore impleme
 
 	@Override
 	public void doAdd(List<Document> documents) {
+		List<Document> documentsToEmbed = documents.stream()
+			.filter(d -> null == d.getEmbedding() || d.getEmbedding().length == 0)
+			.toList();
+		if (!documentsToEmbed.isEmpty()) {
+			this.embeddingModel.embed(documentsToEmbed, EmbeddingOptionsBuilder.builder().build(),
+					this.batchingStrategy);
+		}
+
 		var futures = new CompletableFuture[documents.size()];
 
 		int i = 0;
@@ -177,10 +198,6 @@ public class CassandraVectorStore extends AbstractObservationVectorStore impleme
 			futures[i++] = CompletableFuture.runAsync(() -> {
 				List<Object> primaryKeyValues = this.conf.documentIdTranslator.apply(d.getId());
 
-				if (null == d.getEmbedding() || d.getEmbedding().length == 0) {
-					d.setEmbedding(this.embeddingModel.embed(d));
-				}
-
 				BoundStatementBuilder builder = prepareAddStatement(d.getMetadata().keySet()).boundStatementBuilder();
 				for (int k = 0; k < primaryKeyValues.size(); ++k) {
 					SchemaColumn keyColumn = this.conf.getPrimaryKeyColumn(k);
@@ -26,7 +26,10 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
 import org.springframework.ai.observation.conventions.VectorStoreProvider;
 import org.springframework.ai.vectorstore.observation.AbstractObservationVectorStore;
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationContext;
@@ -75,6 +78,8 @@ public class GemFireVectorStore extends AbstractObservationVectorStore implement
 
 	private final boolean initializeSchema;
 
+	private final BatchingStrategy batchingStrategy;
+
 	/**
 	 * Configures and initializes a GemFireVectorStore instance based on the provided
 	 * configuration.
@@ -100,12 +105,33 @@ public class GemFireVectorStore extends AbstractObservationVectorStore implement
 	 */
 	public GemFireVectorStore(GemFireVectorStoreConfig config, EmbeddingModel embeddingModel, boolean initializeSchema,
 			ObservationRegistry observationRegistry, VectorStoreObservationConvention customObservationConvention) {
+		this(config, embeddingModel, initializeSchema, observationRegistry, customObservationConvention,
+				new TokenCountBatchingStrategy());
+	}
+
+	/**
+	 * Configures and initializes a GemFireVectorStore instance based on the provided
+	 * configuration.
+	 * @param config the configuration for the GemFireVectorStore
+	 * @param embeddingModel the embedding client used for generating embeddings
+	 * @param initializeSchema whether to initialize the schema during initialization
+	 * @param observationRegistry the observation registry to use for recording
+	 * observations
+	 * @param customObservationConvention the custom observation convention to use for
+	 * observing operations
+	 * @param batchingStrategy the strategy batching the documents to embed
+	 */
+	public GemFireVectorStore(GemFireVectorStoreConfig config, EmbeddingModel embeddingModel, boolean initializeSchema,
+			ObservationRegistry observationRegistry, VectorStoreObservationConvention customObservationConvention,
+			BatchingStrategy batchingStrategy) {
 
 		super(observationRegistry, customObservationConvention);
 
 		Assert.notNull(config, "GemFireVectorStoreConfig must not be null");
 		Assert.notNull(embeddingModel, "EmbeddingModel must not be null");
+		Assert.notNull(batchingStrategy, "BatchingStrategy must not be null");
 		this.initializeSchema = initializeSchema;
+		this.batchingStrategy = batchingStrategy;
 		this.indexName = config.indexName;
 		this.embeddingModel = embeddingModel;
 		this.beamWidth = config.beamWidth;
@@ -404,10 +430,12 @@ public class GemFireVectorStore extends AbstractObservationVectorStore implement
 
 	@Override
 	public void doAdd(List<Document> documents) {
+		// Compute and assign an embedding to every document.
+		this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), this.batchingStrategy);
+
 		UploadRequest upload = new UploadRequest(documents.stream().map(document -> {
-			// Compute and assign an embedding to the document.
-			document.setEmbedding(this.embeddingModel.embed(document));
 			float[] floatVector = document.getEmbedding();
+
 			return new UploadRequest.Embedding(document.getId(), floatVector, DOCUMENT_FIELD, document.getContent(),
 					document.getMetadata());
 		}).toList());
@@ -22,7 +22,10 @@ import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
 import org.springframework.ai.model.EmbeddingUtils;
 import org.springframework.ai.observation.conventions.VectorStoreProvider;
 import org.springframework.ai.observation.conventions.VectorStoreSimilarityMetric;
@@ -30,6 +33,7 @@ import org.springframework.ai.vectorstore.observation.AbstractObservationVectorS
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationContext;
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationContext.Builder;
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationConvention;
+import org.springframework.util.Assert;
 
 import java.util.Collections;
 import java.util.List;
@@ -79,6 +83,8 @@ public class HanaCloudVectorStore extends AbstractObservationVectorStore {
 
 	private final HanaCloudVectorStoreConfig config;
 
+	private final BatchingStrategy batchingStrategy;
+
 	public HanaCloudVectorStore(HanaVectorRepository<? extends HanaVectorEntity> repository,
 			EmbeddingModel embeddingModel, HanaCloudVectorStoreConfig config) {
 
@@ -88,25 +94,35 @@ public class HanaCloudVectorStore extends AbstractObservationVectorStore {
 	public HanaCloudVectorStore(HanaVectorRepository<? extends HanaVectorEntity> repository,
 			EmbeddingModel embeddingModel, HanaCloudVectorStoreConfig config, ObservationRegistry observationRegistry,
 			VectorStoreObservationConvention customObservationConvention) {
+		this(repository, embeddingModel, config, observationRegistry, customObservationConvention,
+				new TokenCountBatchingStrategy());
+	}
+
+	public HanaCloudVectorStore(HanaVectorRepository<? extends HanaVectorEntity> repository,
+			EmbeddingModel embeddingModel, HanaCloudVectorStoreConfig config, ObservationRegistry observationRegistry,
+			VectorStoreObservationConvention customObservationConvention, BatchingStrategy batchingStrategy) {
 
 		super(observationRegistry, customObservationConvention);
 
+		Assert.notNull(batchingStrategy, "BatchingStrategy must not be null");
+
 		this.repository = repository;
 		this.embeddingModel = embeddingModel;
 		this.config = config;
+		this.batchingStrategy = batchingStrategy;
 	}
 
 	@Override
 	public void doAdd(List<Document> documents) {
-		int count = 1;
-		for (Document document : documents) {
-			logger.info("[{}/{}] Calling EmbeddingModel for document id = {}", count++, documents.size(),
-					document.getId());
+		logger.info("Calling EmbeddingModel for {} documents", documents.size());
+		List<float[]> embeddings = this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(),
+				this.batchingStrategy);
+		for (int i = 0; i < documents.size(); i++) {
+			Document document = documents.get(i);
 			String content = document.getContent().replaceAll("\\s+", " ");
-			String embedding = getEmbedding(document);
-			repository.save(config.getTableName(), document.getId(), embedding, content);
+			repository.save(config.getTableName(), document.getId(), toVectorString(embeddings.get(i)), content);
 		}
-		logger.info("Embeddings saved in HanaCloudVectorStore for {} documents", count - 1);
+		logger.info("Embeddings saved in HanaCloudVectorStore for {} documents", documents.size());
 	}
 
 	@Override
@@ -157,11 +173,9 @@ public class HanaCloudVectorStore extends AbstractObservationVectorStore {
 			.collect(Collectors.joining(", ")) + "]";
 	}
 
-	private String getEmbedding(Document document) {
-		return "[" + EmbeddingUtils.toList(this.embeddingModel.embed(document))
-			.stream()
-			.map(String::valueOf)
-			.collect(Collectors.joining(", ")) + "]";
+	private String toVectorString(float[] embedding) {
+		return "[" + EmbeddingUtils.toList(embedding).stream().map(String::valueOf).collect(Collectors.joining(", "))
+				+ "]";
 	}
 
 	@Override
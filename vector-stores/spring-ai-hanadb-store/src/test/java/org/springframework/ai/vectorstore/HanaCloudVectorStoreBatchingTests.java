@@ -0,0 +1,123 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class HanaCloudVectorStoreBatchingTests {
+
+	private final HanaCloudVectorStoreConfig config = HanaCloudVectorStoreConfig.builder()
+		.tableName("CRICKET_WORLD_CUP")
+		.topK(1)
+		.build();
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void documentsAreEmbeddedInBatchesBeforeBeingSaved() {
+		HanaVectorRepository<HanaVectorEntity> repository = mock(HanaVectorRepository.class);
+		CountingEmbeddingModel embeddingModel = new CountingEmbeddingModel();
+		List<Integer> embeddingRequestsWhenSaved = new ArrayList<>();
+		doAnswer(invocation -> embeddingRequestsWhenSaved.add(embeddingModel.requests.get())).when(repository)
+			.save(anyString(), anyString(), anyString(), anyString());
+		HanaCloudVectorStore vectorStore = new HanaCloudVectorStore(repository, embeddingModel, this.config,
+				ObservationRegistry.NOOP, null, batchesOf(40));
+
+		vectorStore.add(documents(100));
+
+		assertThat(embeddingModel.requests.get()).isEqualTo(3);
+		assertThat(embeddingRequestsWhenSaved).hasSize(100).containsOnly(3);
+		verify(repository, times(100)).save(eq("CRICKET_WORLD_CUP"), anyString(), anyString(), anyString());
+		verify(repository).save("CRICKET_WORLD_CUP", "id-99", "[99.0]", "99");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void batchingStrategyIsRequired() {
+		assertThatThrownBy(() -> new HanaCloudVectorStore(mock(HanaVectorRepository.class),
+				new CountingEmbeddingModel(), this.config, ObservationRegistry.NOOP, null, null))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("BatchingStrategy must not be null");
+	}
+
+	private static List<Document> documents(int count) {
+		return IntStream.range(0, count)
+			.mapToObj(i -> new Document("id-" + i, String.valueOf(i), new HashMap<>()))
+			.toList();
+	}
+
+	private static BatchingStrategy batchesOf(int size) {
+		return documents -> {
+			List<List<Document>> batches = new ArrayList<>();
+			for (int from = 0; from < documents.size(); from += size) {
+				batches.add(documents.subList(from, Math.min(from + size, documents.size())));
+			}
+			return batches;
+		};
+	}
+
+	/**
+	 * Embeds every text into a one dimension vector holding the text as a number.
+	 */
+	private static class CountingEmbeddingModel implements EmbeddingModel {
+
+		private final AtomicInteger requests = new AtomicInteger();
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			this.requests.incrementAndGet();
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				embeddings.add(new Embedding(new float[] { Float.parseFloat(text) }, embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public int dimensions() {
+			return 1;
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			throw new UnsupportedOperationException("Documents are embedded in batches");
+		}
+
+	}
+
+}
@@ -97,6 +97,16 @@ public class MilvusVectorStore extends AbstractObservationVectorStore implements
 	public static final List<String> SEARCH_OUTPUT_FIELDS = List.of(DOC_ID_FIELD_NAME, CONTENT_FIELD_NAME,
 			METADATA_FIELD_NAME);
 
+	// Search parameters of the default search effort, the nprobe of the IVF indexes
+	// and the ef of the HNSW index, and the upper bounds Milvus accepts.
+	private static final int DEFAULT_NPROBE = 8;
+
+	private static final int MAX_NPROBE = 65536;
+
+	private static final int DEFAULT_HNSW_EF = 64;
+
+	private static final int MAX_HNSW_EF = 32768;
+
 	public final FilterExpressionConverter filterExpressionConverter = new MilvusFilterExpressionConverter();
 
 	private final MilvusServiceClient milvusClient;
@@ -369,6 +379,13 @@ public class MilvusVectorStore extends AbstractObservationVectorStore implements
 			searchParamBuilder.withExpr(nativeFilterExpressions);
 		}
 
+		if (request.hasSearchEffort()) {
+			String searchParams = searchEffortParams(request);
+			if (searchParams != null) {
+				searchParamBuilder.withParams(searchParams);
+			}
+		}
+
 		R<SearchResults> respSearch = milvusClient.search(searchParamBuilder.build());
 
 		if (respSearch.getException() != null) {
@@ -391,6 +408,34 @@ public class MilvusVectorStore extends AbstractObservationVectorStore implements
 			.toList();
 	}
 
+	/**
+	 * Maps the search effort of the request to the search parameters of the configured
+	 * index type: the number of probed clusters of the IVF and SCANN indexes, bounded by
+	 * the number of clusters of the index, or the candidate list size of the HNSW index,
+	 * at least the top K. Returns null for the index types without such parameter.
+	 */
+	String searchEffortParams(SearchRequest request) {
+		JSONObject params = new JSONObject();
+		switch (this.config.indexType) {
+			case IVF_FLAT, IVF_SQ8, IVF_PQ, SCANN, GPU_IVF_FLAT, GPU_IVF_PQ, BIN_IVF_FLAT -> {
+				int maxNprobe = MAX_NPROBE;
+				if (StringUtils.hasText(this.config.indexParameters)) {
+					Integer nlist = JSONObject.parseObject(this.config.indexParameters).getInteger("nlist");
+					if (nlist != null) {
+						maxNprobe = nlist;
+					}
+				}
+				params.put("nprobe", Math.min(maxNprobe, request.scaleBySearchEffort(DEFAULT_NPROBE)));
+			}
+			case HNSW -> params.put("ef",
+					Math.min(MAX_HNSW_EF, Math.max(request.getTopK(), request.scaleBySearchEffort(DEFAULT_HNSW_EF))));
+			default -> {
+				return null;
+			}
+		}
+		return params.toJSONString();
+	}
+
 	private float getResultSimilarity(RowRecord rowRecord) {
 		Float distance = (Float) rowRecord.get(DISTANCE_FIELD_NAME);
 		return (this.config.metricType == MetricType.IP || this.config.metricType == MetricType.COSINE) ? distance
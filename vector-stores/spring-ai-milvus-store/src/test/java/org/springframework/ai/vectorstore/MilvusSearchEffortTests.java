@@ -0,0 +1,100 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore;
+
+import io.milvus.client.MilvusServiceClient;
+import io.milvus.param.IndexType;
+import io.milvus.param.R;
+import io.milvus.param.dml.SearchParam;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.ai.vectorstore.MilvusVectorStore.MilvusVectorStoreConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MilvusSearchEffortTests {
+
+	@Mock
+	private EmbeddingModel embeddingModel;
+
+	@Mock
+	private MilvusServiceClient milvusClient;
+
+	@Test
+	public void searchEffortSetsTheIvfProbes() {
+		MilvusVectorStore vectorStore = vectorStore(
+				MilvusVectorStoreConfig.builder().withIndexParameters("{\"nlist\":16}").build());
+
+		assertThat(vectorStore.searchEffortParams(SearchRequest.query("Spring").withSearchEffort(0.5)))
+			.isEqualTo("{\"nprobe\":4}");
+		assertThat(vectorStore.searchEffortParams(SearchRequest.query("Spring").withSearchEffort(4)))
+			.isEqualTo("{\"nprobe\":16}");
+	}
+
+	@Test
+	public void searchEffortSetsTheHnswEf() {
+		MilvusVectorStore vectorStore = vectorStore(MilvusVectorStoreConfig.builder()
+			.withIndexType(IndexType.HNSW)
+			.withIndexParameters("{\"M\":16,\"efConstruction\":200}")
+			.build());
+
+		assertThat(vectorStore.searchEffortParams(SearchRequest.query("Spring").withSearchEffort(2)))
+			.isEqualTo("{\"ef\":128}");
+		assertThat(vectorStore.searchEffortParams(SearchRequest.query("Spring").withTopK(50).withSearchEffort(0.5)))
+			.isEqualTo("{\"ef\":50}");
+	}
+
+	@Test
+	public void searchEffortIsIgnoredWithoutSearchParameter() {
+		MilvusVectorStore vectorStore = vectorStore(
+				MilvusVectorStoreConfig.builder().withIndexType(IndexType.FLAT).build());
+
+		assertThat(vectorStore.searchEffortParams(SearchRequest.query("Spring").withSearchEffort(2))).isNull();
+	}
+
+	@Test
+	public void searchEffortIsPassedToTheSearch() {
+		when(this.embeddingModel.embed(anyString())).thenReturn(new float[] { 1f, 2f });
+		when(this.milvusClient.search(any(SearchParam.class))).thenReturn(R.failed(new IllegalStateException("unavailable")));
+		MilvusVectorStore vectorStore = vectorStore(MilvusVectorStoreConfig.builder().build());
+
+		assertThatThrownBy(
+				() -> vectorStore.similaritySearch(SearchRequest.query("Spring").withTopK(5).withSearchEffort(2)))
+			.hasMessage("Search failed!");
+
+		ArgumentCaptor<SearchParam> searchParam = ArgumentCaptor.forClass(SearchParam.class);
+		verify(this.milvusClient).search(searchParam.capture());
+		assertThat(searchParam.getValue().getParams()).isEqualTo("{\"nprobe\":16}");
+	}
+
+	private MilvusVectorStore vectorStore(MilvusVectorStoreConfig config) {
+		return new MilvusVectorStore(this.milvusClient, this.embeddingModel, config, false,
+				new TokenCountBatchingStrategy());
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import io.micrometer.observation.ObservationRegistry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MongoDBAtlasVectorStoreBatchingTest {
+
+	@Test
+	void documentsAreEmbeddedInBatchesAndUpsertedInOneUnorderedBulkWrite() {
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		BulkOperations bulkOperations = mock(BulkOperations.class);
+		when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "vector_store")).thenReturn(bulkOperations);
+		CountingEmbeddingModel embeddingModel = new CountingEmbeddingModel();
+		MongoDBAtlasVectorStore vectorStore = new MongoDBAtlasVectorStore(mongoTemplate, embeddingModel,
+				MongoDBAtlasVectorStore.MongoDBVectorStoreConfig.defaultConfig(), false, ObservationRegistry.NOOP, null,
+				batchesOf(40));
+
+		vectorStore.add(documents(100));
+
+		assertThat(embeddingModel.requests.get()).isEqualTo(3);
+		ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Document> replacements = ArgumentCaptor.forClass(Document.class);
+		ArgumentCaptor<FindAndReplaceOptions> options = ArgumentCaptor.forClass(FindAndReplaceOptions.class);
+		verify(bulkOperations, times(100)).replaceOne(queries.capture(), replacements.capture(), options.capture());
+		verify(bulkOperations).execute();
+		verify(mongoTemplate, never()).save(any(), any());
+		verify(mongoTemplate, never()).save(any());
+
+		assertThat(queries.getValue().getQueryObject().get("_id")).isEqualTo("id-99");
+		assertThat(replacements.getValue().getEmbedding()).containsExactly(99f);
+		assertThat(options.getAllValues()).allSatisfy(option -> assertThat(option.isUpsert()).isTrue());
+	}
+
+	@Test
+	void emptyDocumentListSendsNoBulkWrite() {
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		MongoDBAtlasVectorStore vectorStore = new MongoDBAtlasVectorStore(mongoTemplate, new CountingEmbeddingModel(),
+				false);
+
+		vectorStore.add(List.of());
+
+		verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq("vector_store"));
+	}
+
+	private static List<Document> documents(int count) {
+		return IntStream.range(0, count)
+			.mapToObj(i -> new Document("id-" + i, String.valueOf(i), new HashMap<>()))
+			.toList();
+	}
+
+	private static BatchingStrategy batchesOf(int size) {
+		return documents -> {
+			List<List<Document>> batches = new ArrayList<>();
+			for (int from = 0; from < documents.size(); from += size) {
+				batches.add(documents.subList(from, Math.min(from + size, documents.size())));
+			}
+			return batches;
+		};
+	}
+
+	/**
+	 * Embeds every text into a one dimension vector holding the text as a number.
+	 */
+	private static class CountingEmbeddingModel implements EmbeddingModel {
+
+		private final AtomicInteger requests = new AtomicInteger();
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			this.requests.incrementAndGet();
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				embeddings.add(new Embedding(new float[] { Float.parseFloat(text) }, embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public int dimensions() {
+			return 1;
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			throw new UnsupportedOperationException("Documents are embedded in batches");
+		}
+
+	}
+
+}
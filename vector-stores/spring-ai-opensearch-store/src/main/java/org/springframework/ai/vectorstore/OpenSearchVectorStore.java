@@ -30,7 +30,10 @@ import org.opensearch.client.transport.endpoints.BooleanResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
 import org.springframework.ai.observation.conventions.VectorStoreProvider;
 import org.springframework.ai.observation.conventions.VectorStoreSimilarityMetric;
 import org.springframework.ai.vectorstore.filter.Filter;
@@ -91,6 +94,8 @@ public class OpenSearchVectorStore extends AbstractObservationVectorStore implem
 
 	private final boolean initializeSchema;
 
+	private final BatchingStrategy batchingStrategy;
+
 	public OpenSearchVectorStore(OpenSearchClient openSearchClient, EmbeddingModel embeddingModel,
 			boolean initializeSchema) {
 		this(openSearchClient, embeddingModel, DEFAULT_MAPPING_EMBEDDING_TYPE_KNN_VECTOR_DIMENSION_1536,
@@ -110,11 +115,19 @@ public class OpenSearchVectorStore extends AbstractObservationVectorStore implem
 	public OpenSearchVectorStore(String index, OpenSearchClient openSearchClient, EmbeddingModel embeddingModel,
 			String mappingJson, boolean initializeSchema, ObservationRegistry observationRegistry,
 			VectorStoreObservationConvention customObservationConvention) {
+		this(index, openSearchClient, embeddingModel, mappingJson, initializeSchema, observationRegistry,
+				customObservationConvention, new TokenCountBatchingStrategy());
+	}
+
+	public OpenSearchVectorStore(String index, OpenSearchClient openSearchClient, EmbeddingModel embeddingModel,
+			String mappingJson, boolean initializeSchema, ObservationRegistry observationRegistry,
+			VectorStoreObservationConvention customObservationConvention, BatchingStrategy batchingStrategy) {
 
 		super(observationRegistry, customObservationConvention);
 
 		Objects.requireNonNull(embeddingModel, "RestClient must not be null");
 		Objects.requireNonNull(embeddingModel, "EmbeddingModel must not be null");
+		Objects.requireNonNull(batchingStrategy, "BatchingStrategy must not be null");
 		this.openSearchClient = openSearchClient;
 		this.embeddingModel = embeddingModel;
 		this.index = index;
@@ -124,6 +137,7 @@ public class OpenSearchVectorStore extends AbstractObservationVectorStore implem
 		// https://opensearch.org/docs/latest/search-plugins/knn/approximate-knn/#spaces
 		this.similarityFunction = COSINE_SIMILARITY_FUNCTION;
 		this.initializeSchema = initializeSchema;
+		this.batchingStrategy = batchingStrategy;
 	}
 
 	public OpenSearchVectorStore withSimilarityFunction(String similarityFunction) {
@@ -133,12 +147,17 @@ public class OpenSearchVectorStore extends AbstractObservationVectorStore implem
 
 	@Override
 	public void doAdd(List<Document> documents) {
+		List<Document> documentsToEmbed = documents.stream()
+			.filter(document -> Objects.isNull(document.getEmbedding()) || document.getEmbedding().length == 0)
+			.toList();
+		if (!documentsToEmbed.isEmpty()) {
+			logger.debug("Calling EmbeddingModel for {} documents", documentsToEmbed.size());
+			this.embeddingModel.embed(documentsToEmbed, EmbeddingOptionsBuilder.builder().build(),
+					this.batchingStrategy);
+		}
+
 		BulkRequest.Builder bulkRequestBuilder = new BulkRequest.Builder();
 		for (Document document : documents) {
-			if (Objects.isNull(document.getEmbedding()) || document.getEmbedding().length == 0) {
-				logger.debug("Calling EmbeddingModel for document id = " + document.getId());
-				document.setEmbedding(this.embeddingModel.embed(document));
-			}
 			bulkRequestBuilder
 				.operations(op -> op.index(idx -> idx.index(this.index).id(document.getId()).document(document)));
 		}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.BulkResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import io.micrometer.observation.ObservationRegistry;
+
+class OpenSearchVectorStoreBatchingTest {
+
+	@Test
+	void onlyDocumentsWithoutEmbeddingAreEmbeddedInBatchesAndAllAreIndexedInOneBulkRequest() throws Exception {
+		OpenSearchClient openSearchClient = mock(OpenSearchClient.class);
+		when(openSearchClient.bulk(any(BulkRequest.class)))
+			.thenReturn(BulkResponse.of(response -> response.errors(false).items(List.of()).took(1)));
+		RecordingEmbeddingModel embeddingModel = new RecordingEmbeddingModel();
+		OpenSearchVectorStore vectorStore = new OpenSearchVectorStore("test_index", openSearchClient, embeddingModel,
+				OpenSearchVectorStore.DEFAULT_MAPPING_EMBEDDING_TYPE_KNN_VECTOR_DIMENSION_1536, false,
+				ObservationRegistry.NOOP, null, batchesOf(40));
+		List<Document> documents = IntStream.range(0, 100).mapToObj(i -> {
+			Document document = new Document("id-" + i, String.valueOf(i), new HashMap<>());
+			if (i % 2 == 0) {
+				document.setEmbedding(new float[] { -i });
+			}
+			return document;
+		}).toList();
+
+		vectorStore.add(documents);
+
+		// The 50 documents without an embedding, in batches of 40
+		assertThat(embeddingModel.requests).extracting(List::size).containsExactly(40, 10);
+		assertThat(embeddingModel.requests).flatExtracting(texts -> texts)
+			.allSatisfy(text -> assertThat(Integer.parseInt(text) % 2).isEqualTo(1));
+
+		ArgumentCaptor<BulkRequest> bulkRequest = ArgumentCaptor.forClass(BulkRequest.class);
+		verify(openSearchClient).bulk(bulkRequest.capture());
+		List<BulkOperation> operations = bulkRequest.getValue().operations();
+		assertThat(operations).hasSize(100).allSatisfy(operation -> {
+			assertThat(operation.isIndex()).isTrue();
+			assertThat(operation.index().index()).isEqualTo("test_index");
+		});
+		assertThat(operations.get(98).index().id()).isEqualTo("id-98");
+		assertThat(((Document) operations.get(98).index().document()).getEmbedding()).containsExactly(-98f);
+		assertThat(((Document) operations.get(99).index().document()).getEmbedding()).containsExactly(99f);
+	}
+
+	private static BatchingStrategy batchesOf(int size) {
+		return documents -> {
+			List<List<Document>> batches = new ArrayList<>();
+			for (int from = 0; from < documents.size(); from += size) {
+				batches.add(documents.subList(from, Math.min(from + size, documents.size())));
+			}
+			return batches;
+		};
+	}
+
+	/**
+	 * Embeds every text into a one dimension vector holding the text as a number.
+	 */
+	private static class RecordingEmbeddingModel implements EmbeddingModel {
+
+		private final List<List<String>> requests = new ArrayList<>();
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			this.requests.add(request.getInstructions());
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				embeddings.add(new Embedding(new float[] { Float.parseFloat(text) }, embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public int dimensions() {
+			return 1;
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			throw new UnsupportedOperationException("Documents are embedded in batches");
+		}
+
+	}
+
+}
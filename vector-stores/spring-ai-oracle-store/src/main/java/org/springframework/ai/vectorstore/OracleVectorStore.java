@@ -33,7 +33,10 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
 import org.springframework.ai.observation.conventions.VectorStoreProvider;
 import org.springframework.ai.observation.conventions.VectorStoreSimilarityMetric;
 import org.springframework.ai.vectorstore.filter.FilterExpressionConverter;
@@ -45,6 +48,7 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import io.micrometer.observation.ObservationRegistry;
@@ -215,6 +219,8 @@ public class OracleVectorStore extends AbstractObservationVectorStore implements
 
 	private final int searchAccuracy;
 
+	private final BatchingStrategy batchingStrategy;
+
 	public OracleVectorStore(JdbcTemplate jdbcTemplate, EmbeddingModel embeddingModel) {
 		this(jdbcTemplate, embeddingModel, DEFAULT_TABLE_NAME, DEFAULT_INDEX_TYPE, DEFAULT_DISTANCE_TYPE,
 				DEFAULT_DIMENSIONS, DEFAULT_SEARCH_ACCURACY, false, false, false);
@@ -238,9 +244,21 @@ public class OracleVectorStore extends AbstractObservationVectorStore implements
 			int searchAccuracy, boolean initializeSchema, boolean removeExistingVectorStoreTable,
 			boolean forcedNormalization, ObservationRegistry observationRegistry,
 			VectorStoreObservationConvention customObservationConvention) {
+		this(jdbcTemplate, embeddingModel, tableName, indexType, distanceType, dimensions, searchAccuracy,
+				initializeSchema, removeExistingVectorStoreTable, forcedNormalization, observationRegistry,
+				customObservationConvention, new TokenCountBatchingStrategy());
+	}
+
+	public OracleVectorStore(JdbcTemplate jdbcTemplate, EmbeddingModel embeddingModel, String tableName,
+			OracleVectorStoreIndexType indexType, OracleVectorStoreDistanceType distanceType, int dimensions,
+			int searchAccuracy, boolean initializeSchema, boolean removeExistingVectorStoreTable,
+			boolean forcedNormalization, ObservationRegistry observationRegistry,
+			VectorStoreObservationConvention customObservationConvention, BatchingStrategy batchingStrategy) {
 
 		super(observationRegistry, customObservationConvention);
 
+		Assert.notNull(batchingStrategy, "BatchingStrategy must not be null");
+
 		if (dimensions != DEFAULT_DIMENSIONS) {
 			if (dimensions <= 0) {
 				throw new RuntimeException("Number of dimensions must be strictly positive");
@@ -269,17 +287,23 @@ public class OracleVectorStore extends AbstractObservationVectorStore implements
 		this.initializeSchema = initializeSchema;
 		this.removeExistingVectorStoreTable = removeExistingVectorStoreTable;
 		this.forcedNormalization = forcedNormalization;
+		this.batchingStrategy = batchingStrategy;
 	}
 
 	@Override
 	public void doAdd(final List<Document> documents) {
+		// Embed outside of the JDBC batch, so that no round trip to the embedding model
+		// is made while the statement is being bound.
+		final List<float[]> embeddings = this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(),
+				this.batchingStrategy);
+
 		this.jdbcTemplate.batchUpdate(getIngestStatement(), new BatchPreparedStatementSetter() {
 			@Override
 			public void setValues(PreparedStatement ps, int i) throws SQLException {
 				final Document document = documents.get(i);
 				final String content = document.getContent();
 				final byte[] json = toJson(document.getMetadata());
-				final VECTOR embeddingVector = toVECTOR(embeddingModel.embed(document));
+				final VECTOR embeddingVector = toVECTOR(embeddings.get(i));
 
 				setParameterValue(ps, 1, Types.VARCHAR, document.getId());
 				setParameterValue(ps, 2, Types.VARCHAR, content);
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import io.micrometer.observation.ObservationRegistry;
+import oracle.jdbc.OracleType;
+import oracle.sql.VECTOR;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OracleVectorStoreBatchingTests {
+
+	@Test
+	public void documentsAreEmbeddedInBatchesBeforeTheJdbcBatchIsBound() throws Exception {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		CountingEmbeddingModel embeddingModel = new CountingEmbeddingModel();
+		OracleVectorStore vectorStore = new OracleVectorStore(jdbcTemplate, embeddingModel,
+				OracleVectorStore.DEFAULT_TABLE_NAME, OracleVectorStore.DEFAULT_INDEX_TYPE,
+				OracleVectorStore.DEFAULT_DISTANCE_TYPE, OracleVectorStore.DEFAULT_DIMENSIONS,
+				OracleVectorStore.DEFAULT_SEARCH_ACCURACY, false, false, false, ObservationRegistry.NOOP, null,
+				batchesOf(40));
+		PreparedStatement preparedStatement = mock(PreparedStatement.class);
+		List<Integer> embeddingRequestsWhenBound = new ArrayList<>();
+		when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class))).thenAnswer(invocation -> {
+			BatchPreparedStatementSetter setter = invocation.getArgument(1);
+			for (int i = 0; i < setter.getBatchSize(); i++) {
+				setter.setValues(preparedStatement, i);
+				embeddingRequestsWhenBound.add(embeddingModel.requests.get());
+			}
+			return new int[setter.getBatchSize()];
+		});
+
+		vectorStore.add(documents(100));
+
+		assertThat(embeddingModel.requests.get()).isEqualTo(3);
+		assertThat(embeddingRequestsWhenBound).hasSize(100).containsOnly(3);
+		verify(preparedStatement).setString(1, "id-99");
+		verify(preparedStatement, times(100)).setObject(eq(4), any(VECTOR.class),
+				eq(OracleType.VECTOR.getVendorTypeNumber()));
+		verify(preparedStatement).setString(2, "99");
+		verify(preparedStatement, times(100)).setObject(eq(3), any(byte[].class),
+				eq(OracleType.JSON.getVendorTypeNumber()));
+	}
+
+	@Test
+	public void batchingStrategyIsRequired() {
+		assertThatThrownBy(() -> new OracleVectorStore(mock(JdbcTemplate.class), new CountingEmbeddingModel(),
+				OracleVectorStore.DEFAULT_TABLE_NAME, OracleVectorStore.DEFAULT_INDEX_TYPE,
+				OracleVectorStore.DEFAULT_DISTANCE_TYPE, OracleVectorStore.DEFAULT_DIMENSIONS,
+				OracleVectorStore.DEFAULT_SEARCH_ACCURACY, false, false, false, ObservationRegistry.NOOP, null, null))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("BatchingStrategy must not be null");
+	}
+
+	private static List<Document> documents(int count) {
+		return IntStream.range(0, count)
+			.mapToObj(i -> new Document("id-" + i, String.valueOf(i), new HashMap<>()))
+			.toList();
+	}
+
+	private static BatchingStrategy batchesOf(int size) {
+		return documents -> {
+			List<List<Document>> batches = new ArrayList<>();
+			for (int from = 0; from < documents.size(); from += size) {
+				batches.add(documents.subList(from, Math.min(from + size, documents.size())));
+			}
+			return batches;
+		};
+	}
+
+	/**
+	 * Embeds every text into a one dimension vector holding the text as a number.
+	 */
+	private static class CountingEmbeddingModel implements EmbeddingModel {
+
+		private final AtomicInteger requests = new AtomicInteger();
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			this.requests.incrementAndGet();
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				embeddings.add(new Embedding(new float[] { Float.parseFloat(text) }, embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public int dimensions() {
+			return 1;
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			throw new UnsupportedOperationException("Documents are embedded in batches");
+		}
+
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Writes the (id uuid, content text, metadata text, embedding vector) rows of a
+ * {@code COPY ... FROM STDIN (FORMAT BINARY)} stream. The embeddings are written in the
+ * binary representation of the pgvector {@code vector} type: the number of dimensions and
+ * an unused field as 16-bit integers, followed by the 32-bit float values, all big
+ * endian.
+ *
+ * @since 1.0.0
+ * @see <a href="https://www.postgresql.org/docs/current/sql-copy.html">COPY binary
+ * format</a>
+ */
+final class PgVectorCopyWriter {
+
+	private static final byte[] SIGNATURE = { 'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0 };
+
+	private static final short FIELD_COUNT = 4;
+
+	private static final int NULL_LENGTH = -1;
+
+	private final DataOutputStream out;
+
+	PgVectorCopyWriter(OutputStream out) throws IOException {
+		this.out = new DataOutputStream(out);
+		this.out.write(SIGNATURE);
+		// Flags and header extension length.
+		this.out.writeInt(0);
+		this.out.writeInt(0);
+	}
+
+	void writeRow(UUID id, String content, String metadata, float[] embedding) throws IOException {
+		this.out.writeShort(FIELD_COUNT);
+
+		this.out.writeInt(16);
+		this.out.writeLong(id.getMostSignificantBits());
+		this.out.writeLong(id.getLeastSignificantBits());
+
+		writeText(content);
+		writeText(metadata);
+
+		if (embedding == null) {
+			this.out.writeInt(NULL_LENGTH);
+		}
+		else {
+			this.out.writeInt(4 + 4 * embedding.length);
+			this.out.writeShort(embedding.length);
+			this.out.writeShort(0);
+			for (float value : embedding) {
+				this.out.writeFloat(value);
+			}
+		}
+	}
+
+	private void writeText(String text) throws IOException {
+		if (text == null) {
+			this.out.writeInt(NULL_LENGTH);
+			return;
+		}
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		this.out.writeInt(bytes.length);
+		this.out.write(bytes);
+	}
+
+	/**
+	 * Writes the file trailer and flushes the stream, without closing it.
+	 */
+	void finish() throws IOException {
+		this.out.writeShort(-1);
+		this.out.flush();
+	}
+
+}
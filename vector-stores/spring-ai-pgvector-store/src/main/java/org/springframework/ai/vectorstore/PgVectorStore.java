@@ -15,14 +15,21 @@
  */
 package org.springframework.ai.vectorstore;
 
+import java.io.IOException;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
 import org.postgresql.util.PGobject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,12 +45,16 @@ import org.springframework.ai.vectorstore.observation.AbstractObservationVectorS
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationContext;
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationConvention;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
 import org.springframework.jdbc.core.SqlTypeValue;
 import org.springframework.jdbc.core.StatementCreatorUtils;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -56,6 +67,23 @@ import io.micrometer.observation.ObservationRegistry;
  * Uses the "vector_store" table to store the Spring AI vector data. The table and the
  * vector index will be auto-created if not available.
  *
+ * The documents are upserted and deleted in batches of at most
+ * {@link Builder#withMaxDocumentBatchSize(int) maxDocumentBatchSize} rows. With the
+ * {@link Builder#withBulkLoadEnabled(boolean) bulk load} enabled, every batch is streamed
+ * with a binary {@code COPY} into a temporary staging table and merged into the vector
+ * table with a single statement.
+ *
+ * With the {@link Builder#withHybridSearchEnabled(boolean) hybrid search} enabled, the
+ * table has a generated {@code tsvector} column of the content, with a GIN index. The
+ * search requests with a {@link SearchRequest#withKeywordWeight(double) keyword weight}
+ * then match the query keywords alongside the embedding similarity, in the same SQL
+ * statement, and fuse both rankings as configured by the {@link PgHybridFusion}.
+ *
+ * The {@link SearchRequest#withSearchEffort(double) search effort} of a request scales
+ * the {@code hnsw.ef_search} and {@code ivfflat.probes} defaults of pgvector, set with
+ * {@code SET LOCAL} in the transaction of the search and restored afterwards when the
+ * search joins an outer transaction.
+ *
  * @author Christian Tzolov
  * @author Josh Long
  * @author Muthukumaran Navaneethakrishnan
@@ -79,6 +107,27 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 
 	public static final boolean DEFAULT_SCHEMA_VALIDATION = false;
 
+	public static final int DEFAULT_MAX_DOCUMENT_BATCH_SIZE = 10_000;
+
+	public static final String DEFAULT_TEXT_SEARCH_CONFIG = "english";
+
+	public static final String CONTENT_TSVECTOR_COLUMN = "content_tsv";
+
+	// Number of candidates per result retrieved by each search of a hybrid search.
+	private static final int HYBRID_CANDIDATES_PER_RESULT = 4;
+
+	private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+	// pgvector defaults and upper bounds of the hnsw.ef_search and ivfflat.probes
+	// settings.
+	private static final int DEFAULT_HNSW_EF_SEARCH = 40;
+
+	private static final int MAX_HNSW_EF_SEARCH = 1000;
+
+	private static final int DEFAULT_IVFFLAT_PROBES = 1;
+
+	private static final int MAX_IVFFLAT_PROBES = 32768;
+
 	public final FilterExpressionConverter filterExpressionConverter = new PgVectorFilterExpressionConverter();
 
 	private final String vectorTableName;
@@ -109,6 +158,16 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 
 	private final BatchingStrategy batchingStrategy;
 
+	private final int maxDocumentBatchSize;
+
+	private final boolean bulkLoadEnabled;
+
+	private final boolean hybridSearchEnabled;
+
+	private final String textSearchConfig;
+
+	private final PgHybridFusion hybridFusion;
+
 	public PgVectorStore(JdbcTemplate jdbcTemplate, EmbeddingModel embeddingModel) {
 		this(jdbcTemplate, embeddingModel, INVALID_EMBEDDING_DIMENSION, PgDistanceType.COSINE_DISTANCE, false,
 				PgIndexType.NONE, false);
@@ -141,17 +200,26 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 
 		this(schemaName, vectorTableName, vectorTableValidationsEnabled, jdbcTemplate, embeddingModel, dimensions,
 				distanceType, removeExistingVectorStoreTable, createIndexMethod, initializeSchema,
-				ObservationRegistry.NOOP, null, new TokenCountBatchingStrategy());
+				ObservationRegistry.NOOP, null, new TokenCountBatchingStrategy(), DEFAULT_MAX_DOCUMENT_BATCH_SIZE,
+				false, false, DEFAULT_TEXT_SEARCH_CONFIG, PgHybridFusion.RECIPROCAL_RANK);
 	}
 
 	private PgVectorStore(String schemaName, String vectorTableName, boolean vectorTableValidationsEnabled,
 			JdbcTemplate jdbcTemplate, EmbeddingModel embeddingModel, int dimensions, PgDistanceType distanceType,
 			boolean removeExistingVectorStoreTable, PgIndexType createIndexMethod, boolean initializeSchema,
 			ObservationRegistry observationRegistry, VectorStoreObservationConvention customObservationConvention,
-			BatchingStrategy batchingStrategy) {
+			BatchingStrategy batchingStrategy, int maxDocumentBatchSize, boolean bulkLoadEnabled,
+			boolean hybridSearchEnabled, String textSearchConfig, PgHybridFusion hybridFusion) {
 
 		super(observationRegistry, customObservationConvention);
 
+		Assert.isTrue(maxDocumentBatchSize > 0, "maxDocumentBatchSize must be greater than 0");
+		Assert.isTrue(PgVectorSchemaValidator.isValidNameForDatabaseObject(textSearchConfig),
+				"textSearchConfig must be a valid text search configuration name");
+		Assert.notNull(hybridFusion, "hybridFusion must not be null");
+		Assert.isTrue(hybridFusion != PgHybridFusion.WEIGHTED_SCORE || distanceType == PgDistanceType.COSINE_DISTANCE,
+				"The WEIGHTED_SCORE hybrid fusion requires the COSINE_DISTANCE distance type");
+
 		this.vectorTableName = (null == vectorTableName || vectorTableName.isEmpty()) ? DEFAULT_TABLE_NAME
 				: vectorTableName.trim();
 		logger.info("Using the vector table name: {}. Is empty: {}", this.vectorTableName,
@@ -172,6 +240,11 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 		this.initializeSchema = initializeSchema;
 		this.schemaValidator = new PgVectorSchemaValidator(jdbcTemplate);
 		this.batchingStrategy = batchingStrategy;
+		this.maxDocumentBatchSize = maxDocumentBatchSize;
+		this.bulkLoadEnabled = bulkLoadEnabled;
+		this.hybridSearchEnabled = hybridSearchEnabled;
+		this.textSearchConfig = textSearchConfig;
+		this.hybridFusion = hybridFusion;
 	}
 
 	public PgDistanceType getDistanceType() {
@@ -181,19 +254,32 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 	@Override
 	public void doAdd(List<Document> documents) {
 
-		int size = documents.size();
-
 		this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), this.batchingStrategy);
 
-		this.jdbcTemplate.batchUpdate(
-				"INSERT INTO " + getFullyQualifiedTableName()
-						+ " (id, content, metadata, embedding) VALUES (?, ?, ?::jsonb, ?) " + "ON CONFLICT (id) DO "
-						+ "UPDATE SET content = ? , metadata = ?::jsonb , embedding = ? ",
-				new BatchPreparedStatementSetter() {
+		for (int start = 0; start < documents.size(); start += this.maxDocumentBatchSize) {
+			List<Document> batch = documents.subList(start,
+					Math.min(start + this.maxDocumentBatchSize, documents.size()));
+			if (this.bulkLoadEnabled) {
+				copyBatch(batch);
+			}
+			else {
+				upsertBatch(batch);
+			}
+		}
+	}
+
+	private void upsertBatch(List<Document> batch) {
+
+		int size = batch.size();
+
+		this.jdbcTemplate.batchUpdate("INSERT INTO " + getFullyQualifiedTableName()
+				+ " (id, content, metadata, embedding) VALUES (?, ?, ?::jsonb, ?) " + "ON CONFLICT (id) DO "
+				+ "UPDATE SET content = EXCLUDED.content, metadata = EXCLUDED.metadata, "
+				+ "embedding = EXCLUDED.embedding", new BatchPreparedStatementSetter() {
 					@Override
 					public void setValues(PreparedStatement ps, int i) throws SQLException {
 
-						var document = documents.get(i);
+						var document = batch.get(i);
 						var content = document.getContent();
 						var json = toJson(document.getMetadata());
 						var embedding = document.getEmbedding();
@@ -204,9 +290,6 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 						StatementCreatorUtils.setParameterValue(ps, 2, SqlTypeValue.TYPE_UNKNOWN, content);
 						StatementCreatorUtils.setParameterValue(ps, 3, SqlTypeValue.TYPE_UNKNOWN, json);
 						StatementCreatorUtils.setParameterValue(ps, 4, SqlTypeValue.TYPE_UNKNOWN, pGvector);
-						StatementCreatorUtils.setParameterValue(ps, 5, SqlTypeValue.TYPE_UNKNOWN, content);
-						StatementCreatorUtils.setParameterValue(ps, 6, SqlTypeValue.TYPE_UNKNOWN, json);
-						StatementCreatorUtils.setParameterValue(ps, 7, SqlTypeValue.TYPE_UNKNOWN, pGvector);
 					}
 
 					@Override
@@ -216,6 +299,108 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 				});
 	}
 
+	/**
+	 * Streams the batch into a temporary staging table with a binary COPY, then merges
+	 * the staging table into the vector table. The staging table is dropped at the end of
+	 * the transaction, which is committed here unless the connection takes part in an
+	 * outer transaction.
+	 */
+	private void copyBatch(List<Document> batch) {
+
+		// A document id can only be merged once per statement, the last document wins.
+		Map<String, Document> documentsById = new LinkedHashMap<>();
+		for (Document document : batch) {
+			documentsById.put(document.getId(), document);
+		}
+		Collection<Document> documents = documentsById.values();
+
+		String stagingTableName = this.vectorTableName + "_staging";
+
+		this.jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+			boolean autoCommit = connection.getAutoCommit();
+			if (autoCommit) {
+				connection.setAutoCommit(false);
+			}
+			try {
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("CREATE TEMPORARY TABLE IF NOT EXISTS " + stagingTableName
+							+ " (id uuid, content text, metadata text, embedding vector) ON COMMIT DROP");
+					statement.execute("TRUNCATE " + stagingTableName);
+				}
+
+				copyIn(connection,
+						"COPY " + stagingTableName + " (id, content, metadata, embedding) FROM STDIN (FORMAT BINARY)",
+						documents);
+
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("INSERT INTO " + getFullyQualifiedTableName()
+							+ " (id, content, metadata, embedding) SELECT id, content, metadata::jsonb, embedding FROM "
+							+ stagingTableName + " ON CONFLICT (id) DO UPDATE SET content = EXCLUDED.content, "
+							+ "metadata = EXCLUDED.metadata, embedding = EXCLUDED.embedding");
+				}
+
+				if (autoCommit) {
+					connection.commit();
+				}
+			}
+			catch (SQLException | RuntimeException ex) {
+				if (autoCommit) {
+					connection.rollback();
+				}
+				throw ex;
+			}
+			finally {
+				if (autoCommit) {
+					connection.setAutoCommit(true);
+				}
+			}
+			return null;
+		});
+	}
+
+	private void copyIn(Connection connection, String copySql, Collection<Document> documents) throws SQLException {
+		PGCopyOutputStream copyOut = new PGCopyOutputStream(connection.unwrap(PGConnection.class), copySql,
+				COPY_BUFFER_SIZE);
+		try {
+			PgVectorCopyWriter writer = new PgVectorCopyWriter(copyOut);
+			for (Document document : documents) {
+				writer.writeRow(UUID.fromString(document.getId()), document.getContent(),
+						toJson(document.getMetadata()), document.getEmbedding());
+			}
+			writer.finish();
+			copyOut.endCopy();
+		}
+		catch (IOException ex) {
+			throw cancelCopy(copyOut,
+					new SQLException("Failed to stream the documents to " + getFullyQualifiedTableName(), ex));
+		}
+		catch (SQLException ex) {
+			throw cancelCopy(copyOut, ex);
+		}
+		catch (RuntimeException ex) {
+			throw cancelCopy(copyOut, ex);
+		}
+		catch (Error ex) {
+			throw cancelCopy(copyOut, ex);
+		}
+	}
+
+	/**
+	 * Cancels the copy still in progress after a failure, keeping a failure of the
+	 * cancellation as suppressed rather than replacing the original one.
+	 */
+	private static <T extends Throwable> T cancelCopy(PGCopyOutputStream copyOut, T failure) {
+		if (copyOut.isActive()) {
+			try {
+				copyOut.cancelCopy();
+			}
+			catch (SQLException ex) {
+				failure.addSuppressed(ex);
+			}
+		}
+		return failure;
+	}
+
 	private String toJson(Map<String, Object> map) {
 		try {
 			return objectMapper.writeValueAsString(map);
@@ -228,9 +413,17 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 	@Override
 	public Optional<Boolean> doDelete(List<String> idList) {
 		int updateCount = 0;
-		for (String id : idList) {
-			int count = jdbcTemplate.update("DELETE FROM " + getFullyQualifiedTableName() + " WHERE id = ?",
-					UUID.fromString(id));
+		for (int start = 0; start < idList.size(); start += this.maxDocumentBatchSize) {
+			UUID[] ids = idList.subList(start, Math.min(start + this.maxDocumentBatchSize, idList.size()))
+				.stream()
+				.map(UUID::fromString)
+				.toArray(UUID[]::new);
+			int count = this.jdbcTemplate.update(connection -> {
+				PreparedStatement ps = connection
+					.prepareStatement("DELETE FROM " + getFullyQualifiedTableName() + " WHERE id = ANY (?)");
+				ps.setArray(1, connection.createArrayOf("uuid", ids));
+				return ps;
+			});
 			updateCount = updateCount + count;
 		}
 
@@ -253,10 +446,149 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 
 		PGvector queryEmbedding = getQueryEmbedding(request.getQuery());
 
-		return this.jdbcTemplate.query(
-				String.format(this.getDistanceType().similaritySearchSqlTemplate, getFullyQualifiedTableName(),
-						jsonPathFilter),
-				new DocumentRowMapper(this.objectMapper), queryEmbedding, queryEmbedding, distance, request.getTopK());
+		if (this.hybridSearchEnabled && request.getKeywordWeight() > 0) {
+			return doHybridSearch(request, jsonPathFilter, queryEmbedding, distance);
+		}
+
+		return query(
+				request, request.getTopK(), String.format(this.getDistanceType().similaritySearchSqlTemplate,
+						getFullyQualifiedTableName(), jsonPathFilter),
+				queryEmbedding, queryEmbedding, distance, request.getTopK());
+	}
+
+	/**
+	 * Retrieves the nearest neighbors of the query embedding and the best keyword matches
+	 * of the query text, each with their own index, and fuses both rankings in a single
+	 * statement. The similarity threshold only applies to the nearest neighbors.
+	 */
+	private List<Document> doHybridSearch(SearchRequest request, String jsonPathFilter, PGvector queryEmbedding,
+			double distance) {
+
+		String distanceExpression = this.getDistanceType().distanceExpression;
+		int candidates = request.getTopK() * HYBRID_CANDIDATES_PER_RESULT;
+		double keywordWeight = request.getKeywordWeight();
+
+		String sql = String.format("""
+				WITH semantic AS (
+					SELECT id, ROW_NUMBER() OVER (ORDER BY distance) AS rank FROM (
+						SELECT id, %1$s AS distance FROM %2$s WHERE %1$s < ? %3$s
+						ORDER BY distance LIMIT ?) candidates
+				), keyword AS (
+					SELECT id, score, ROW_NUMBER() OVER (ORDER BY score DESC) AS rank FROM (
+						SELECT id, ts_rank_cd(%4$s, keywords, 32) AS score
+						FROM %2$s, websearch_to_tsquery('%5$s', ?) keywords WHERE %4$s @@ keywords %3$s
+						ORDER BY score DESC LIMIT ?) candidates
+				)
+				SELECT * FROM (
+					SELECT v.id, v.content, v.metadata, v.embedding, %1$s AS distance, semantic.rank AS semantic_rank,
+						keyword.rank AS keyword_rank, keyword.score AS keyword_score
+					FROM semantic FULL OUTER JOIN keyword ON semantic.id = keyword.id
+					JOIN %2$s v ON v.id = COALESCE(semantic.id, keyword.id)) fused
+				ORDER BY %6$s DESC LIMIT ?
+				""", distanceExpression, getFullyQualifiedTableName(), jsonPathFilter, CONTENT_TSVECTOR_COLUMN,
+				this.textSearchConfig, this.hybridFusion.scoreExpression);
+
+		return query(request, candidates, sql, queryEmbedding, queryEmbedding, distance, candidates, request.getQuery(),
+				candidates, queryEmbedding, keywordWeight, keywordWeight, request.getTopK());
+	}
+
+	/**
+	 * Runs the search query. With a search effort, the index search parameters are set
+	 * for the transaction of the query only. If the connection takes part in an outer
+	 * transaction, the previous values are restored once the query completes, so the rest
+	 * of that transaction is not affected. The HNSW search candidate list is kept at
+	 * least as large as the query limit, below which the index scan returns fewer rows
+	 * than requested.
+	 */
+	private List<Document> query(SearchRequest request, int limit, String sql, Object... args) {
+		DocumentRowMapper rowMapper = new DocumentRowMapper(this.objectMapper);
+		if (!request.hasSearchEffort()) {
+			return this.jdbcTemplate.query(sql, rowMapper, args);
+		}
+
+		int efSearch = Math.min(MAX_HNSW_EF_SEARCH,
+				Math.max(limit, request.scaleBySearchEffort(DEFAULT_HNSW_EF_SEARCH)));
+		int probes = Math.min(MAX_IVFFLAT_PROBES, request.scaleBySearchEffort(DEFAULT_IVFFLAT_PROBES));
+
+		return this.jdbcTemplate.execute((ConnectionCallback<List<Document>>) connection -> {
+			boolean autoCommit = connection.getAutoCommit();
+			if (!autoCommit) {
+				return queryInOuterTransaction(connection, efSearch, probes, sql, rowMapper, args);
+			}
+			connection.setAutoCommit(false);
+			try {
+				setSearchParameters(connection, efSearch, probes);
+				List<Document> documents = executeQuery(connection, sql, rowMapper, args);
+				connection.commit();
+				return documents;
+			}
+			catch (SQLException | RuntimeException ex) {
+				connection.rollback();
+				throw ex;
+			}
+			finally {
+				connection.setAutoCommit(true);
+			}
+		});
+	}
+
+	private List<Document> queryInOuterTransaction(Connection connection, int efSearch, int probes, String sql,
+			DocumentRowMapper rowMapper, Object... args) throws SQLException {
+		int[] previous = currentSearchParameters(connection);
+		setSearchParameters(connection, efSearch, probes);
+		List<Document> documents;
+		try {
+			documents = executeQuery(connection, sql, rowMapper, args);
+		}
+		catch (SQLException | RuntimeException ex) {
+			// A failed statement aborts the transaction, which fails the restore as well.
+			try {
+				setSearchParameters(connection, previous[0], previous[1]);
+			}
+			catch (SQLException restoreEx) {
+				ex.addSuppressed(restoreEx);
+			}
+			throw ex;
+		}
+		setSearchParameters(connection, previous[0], previous[1]);
+		return documents;
+	}
+
+	private static int[] currentSearchParameters(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery(
+						"SELECT current_setting('hnsw.ef_search', true), current_setting('ivfflat.probes', true)")) {
+			// The settings are unknown until pgvector is loaded in the session.
+			boolean found = resultSet.next();
+			return new int[] { toSearchParameter(found ? resultSet.getString(1) : null, DEFAULT_HNSW_EF_SEARCH),
+					toSearchParameter(found ? resultSet.getString(2) : null, DEFAULT_IVFFLAT_PROBES) };
+		}
+	}
+
+	private static int toSearchParameter(@Nullable String value, int defaultValue) {
+		try {
+			return (value != null) ? Integer.parseInt(value) : defaultValue;
+		}
+		catch (NumberFormatException ex) {
+			return defaultValue;
+		}
+	}
+
+	private static void setSearchParameters(Connection connection, int efSearch, int probes) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("SET LOCAL hnsw.ef_search = " + efSearch);
+			statement.execute("SET LOCAL ivfflat.probes = " + probes);
+		}
+	}
+
+	private static List<Document> executeQuery(Connection connection, String sql, DocumentRowMapper rowMapper,
+			Object... args) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			new ArgumentPreparedStatementSetter(args).setValues(statement);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return new RowMapperResultSetExtractor<>(rowMapper).extractData(resultSet);
+			}
+		}
 	}
 
 	public List<Double> embeddingDistance(String query) {
@@ -328,6 +660,17 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 					""", this.getVectorIndexName(), this.getFullyQualifiedTableName(), this.createIndexMethod,
 					this.getDistanceType().index));
 		}
+
+		if (this.hybridSearchEnabled) {
+			this.jdbcTemplate.execute(String.format("""
+					ALTER TABLE %s ADD COLUMN IF NOT EXISTS %s tsvector
+					GENERATED ALWAYS AS (to_tsvector('%s', coalesce(content, ''))) STORED
+					""", this.getFullyQualifiedTableName(), CONTENT_TSVECTOR_COLUMN, this.textSearchConfig));
+			this.jdbcTemplate.execute(String.format("""
+					CREATE INDEX IF NOT EXISTS %s ON %s USING GIN (%s)
+					""", this.getVectorTableName() + "_" + CONTENT_TSVECTOR_COLUMN + "_index",
+					this.getFullyQualifiedTableName(), CONTENT_TSVECTOR_COLUMN));
+		}
 	}
 
 	private String getFullyQualifiedTableName() {
@@ -405,17 +748,20 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 		// The Sentence transformers are NOT normalized:
 		// https://github.com/UKPLab/sentence-transformers/issues/233
 		EUCLIDEAN_DISTANCE("<->", "vector_l2_ops",
-				"SELECT *, embedding <-> ? AS distance FROM %s WHERE embedding <-> ? < ? %s ORDER BY distance LIMIT ? "),
+				"SELECT id, content, metadata, embedding, embedding <-> ? AS distance FROM %s WHERE embedding <-> ? < ? %s ORDER BY distance LIMIT ? ",
+				"embedding <-> ?"),
 
 		// NOTE: works only if If vectors are normalized to length 1 (like OpenAI
 		// embeddings), use inner product for best performance.
 		// The Sentence transformers are NOT normalized:
 		// https://github.com/UKPLab/sentence-transformers/issues/233
 		NEGATIVE_INNER_PRODUCT("<#>", "vector_ip_ops",
-				"SELECT *, (1 + (embedding <#> ?)) AS distance FROM %s WHERE (1 + (embedding <#> ?)) < ? %s ORDER BY distance LIMIT ? "),
+				"SELECT id, content, metadata, embedding, (1 + (embedding <#> ?)) AS distance FROM %s WHERE (1 + (embedding <#> ?)) < ? %s ORDER BY distance LIMIT ? ",
+				"(1 + (embedding <#> ?))"),
 
 		COSINE_DISTANCE("<=>", "vector_cosine_ops",
-				"SELECT *, embedding <=> ? AS distance FROM %s WHERE embedding <=> ? < ? %s ORDER BY distance LIMIT ? ");
+				"SELECT id, content, metadata, embedding, embedding <=> ? AS distance FROM %s WHERE embedding <=> ? < ? %s ORDER BY distance LIMIT ? ",
+				"embedding <=> ?");
 
 		public final String operator;
 
@@ -423,10 +769,46 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 
 		public final String similaritySearchSqlTemplate;
 
-		PgDistanceType(String operator, String index, String sqlTemplate) {
+		/**
+		 * Distance between the embedding column and the query embedding parameter.
+		 */
+		public final String distanceExpression;
+
+		PgDistanceType(String operator, String index, String sqlTemplate, String distanceExpression) {
 			this.operator = operator;
 			this.index = index;
 			this.similaritySearchSqlTemplate = sqlTemplate;
+			this.distanceExpression = distanceExpression;
+		}
+
+	}
+
+	/**
+	 * Fusion of the embedding similarity and keyword matching rankings of a hybrid
+	 * search, both weighted by the {@link SearchRequest#getKeywordWeight() keyword
+	 * weight} of the search request.
+	 */
+	public enum PgHybridFusion {
+
+		/**
+		 * Reciprocal rank fusion: sums the weighted 1 / (60 + rank) of each ranking. Only
+		 * the ranks matter, so the similarity and keyword scores need not be comparable.
+		 */
+		RECIPROCAL_RANK(
+				"(1 - ?) * COALESCE(1.0 / (60 + semantic_rank), 0) + ? * COALESCE(1.0 / (60 + keyword_rank), 0)"),
+
+		/**
+		 * Sums the weighted similarity, 1 - distance, and the keyword match score,
+		 * normalized in the [0,1) range. Only available with the
+		 * {@link PgDistanceType#COSINE_DISTANCE cosine distance}, the only distance type
+		 * for which 1 - distance is a similarity score comparable to the keyword score.
+		 */
+		WEIGHTED_SCORE("(1 - ?) * (1 - distance) + ? * COALESCE(keyword_score, 0)");
+
+		public final String scoreExpression;
+
+		PgHybridFusion(String scoreExpression) {
+			this.scoreExpression = scoreExpression;
 		}
 
 	}
@@ -509,6 +891,16 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 
 		private BatchingStrategy batchingStrategy = new TokenCountBatchingStrategy();
 
+		private int maxDocumentBatchSize = PgVectorStore.DEFAULT_MAX_DOCUMENT_BATCH_SIZE;
+
+		private boolean bulkLoadEnabled = false;
+
+		private boolean hybridSearchEnabled = false;
+
+		private String textSearchConfig = PgVectorStore.DEFAULT_TEXT_SEARCH_CONFIG;
+
+		private PgHybridFusion hybridFusion = PgHybridFusion.RECIPROCAL_RANK;
+
 		@Nullable
 		private VectorStoreObservationConvention searchObservationConvention;
 
@@ -576,11 +968,71 @@ public class PgVectorStore extends AbstractObservationVectorStore implements Ini
 			return this;
 		}
 
+		/**
+		 * @param maxDocumentBatchSize the maximum number of documents written or deleted
+		 * with one statement. Defaults to
+		 * {@value PgVectorStore#DEFAULT_MAX_DOCUMENT_BATCH_SIZE}.
+		 * @return this builder.
+		 */
+		public Builder withMaxDocumentBatchSize(int maxDocumentBatchSize) {
+			this.maxDocumentBatchSize = maxDocumentBatchSize;
+			return this;
+		}
+
+		/**
+		 * @param bulkLoadEnabled whether the documents are written with a binary COPY
+		 * into a staging table merged into the vector table, instead of batched upserts.
+		 * Meant for large loads, it requires the JDBC connections to unwrap to the
+		 * PostgreSQL driver connection. Defaults to false.
+		 * @return this builder.
+		 */
+		public Builder withBulkLoadEnabled(boolean bulkLoadEnabled) {
+			this.bulkLoadEnabled = bulkLoadEnabled;
+			return this;
+		}
+
+		/**
+		 * @param hybridSearchEnabled whether the search requests with a keyword weight
+		 * also match the query keywords, with the full-text index of the
+		 * {@value PgVectorStore#CONTENT_TSVECTOR_COLUMN} column. The column and its index
+		 * are created with the schema. Defaults to false.
+		 * @return this builder.
+		 */
+		public Builder withHybridSearchEnabled(boolean hybridSearchEnabled) {
+			this.hybridSearchEnabled = hybridSearchEnabled;
+			return this;
+		}
+
+		/**
+		 * @param textSearchConfig the PostgreSQL text search configuration of the
+		 * full-text index, such as "english" or "simple". Defaults to
+		 * {@value PgVectorStore#DEFAULT_TEXT_SEARCH_CONFIG}.
+		 * @return this builder.
+		 */
+		public Builder withTextSearchConfig(String textSearchConfig) {
+			this.textSearchConfig = textSearchConfig;
+			return this;
+		}
+
+		/**
+		 * @param hybridFusion the fusion of the similarity and keyword rankings. Defaults
+		 * to {@link PgHybridFusion#RECIPROCAL_RANK}. The
+		 * {@link PgHybridFusion#WEIGHTED_SCORE} fusion requires the
+		 * {@link PgDistanceType#COSINE_DISTANCE} distance type.
+		 * @return this builder.
+		 */
+		public Builder withHybridFusion(PgHybridFusion hybridFusion) {
+			this.hybridFusion = hybridFusion;
+			return this;
+		}
+
 		public PgVectorStore build() {
 			return new PgVectorStore(this.schemaName, this.vectorTableName, this.vectorTableValidationsEnabled,
 					this.jdbcTemplate, this.embeddingModel, this.dimensions, this.distanceType,
 					this.removeExistingVectorStoreTable, this.indexType, this.initializeSchema,
-					this.observationRegistry, this.searchObservationConvention, this.batchingStrategy);
+					this.observationRegistry, this.searchObservationConvention, this.batchingStrategy,
+					this.maxDocumentBatchSize, this.bulkLoadEnabled, this.hybridSearchEnabled, this.textSearchConfig,
+					this.hybridFusion);
 		}
 
 	}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PgVectorBulkLoadTests {
+
+	@Mock
+	private EmbeddingModel embeddingModel;
+
+	@Mock
+	private DataSource dataSource;
+
+	@Mock
+	private Connection connection;
+
+	@Mock
+	private Statement statement;
+
+	@Mock
+	private PGConnection pgConnection;
+
+	@Mock
+	private CopyManager copyManager;
+
+	@Mock
+	private CopyIn copyIn;
+
+	@Test
+	public void failedCancellationIsSuppressedByTheCopyFailure() throws Exception {
+		when(this.dataSource.getConnection()).thenReturn(this.connection);
+		when(this.connection.getAutoCommit()).thenReturn(true);
+		when(this.connection.createStatement()).thenReturn(this.statement);
+		when(this.connection.unwrap(PGConnection.class)).thenReturn(this.pgConnection);
+		when(this.pgConnection.getCopyAPI()).thenReturn(this.copyManager);
+		when(this.copyManager.copyIn(anyString())).thenReturn(this.copyIn);
+		SQLException copyFailure = new SQLException("Connection reset");
+		doThrow(copyFailure).when(this.copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+		when(this.copyIn.isActive()).thenReturn(true);
+		SQLException cancelFailure = new SQLException("Cannot cancel the copy");
+		doThrow(cancelFailure).when(this.copyIn).cancelCopy();
+		PgVectorStore vectorStore = new PgVectorStore.Builder(new JdbcTemplate(this.dataSource), this.embeddingModel)
+			.withBulkLoadEnabled(true)
+			.build();
+		Document document = new Document(UUID.randomUUID().toString(), "content", Map.of());
+		document.setEmbedding(new float[] { 1f, 2f });
+
+		assertThatThrownBy(() -> vectorStore.add(List.of(document))).hasRootCause(copyFailure)
+			.cause()
+			.hasMessageStartingWith("Failed to stream the documents")
+			.satisfies(ex -> assertThat(ex.getSuppressed()).containsExactly(cancelFailure));
+		verify(this.connection).rollback();
+		verify(this.connection).setAutoCommit(true);
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PgVectorCopyWriterTests {
+
+	@Test
+	public void rowsAreWrittenInTheBinaryCopyFormat() throws Exception {
+		UUID id = UUID.fromString("6e8bc430-9c3a-11d9-9669-0800200c9a66");
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		PgVectorCopyWriter writer = new PgVectorCopyWriter(out);
+		writer.writeRow(id, "Spring", "{\"a\":1}", new float[] { 1.5f, -2f });
+		writer.writeRow(id, null, "{}", null);
+		writer.finish();
+
+		ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+
+		byte[] signature = new byte[11];
+		buffer.get(signature);
+		assertThat(signature).isEqualTo(new byte[] { 'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0 });
+		assertThat(buffer.getInt()).isZero();
+		assertThat(buffer.getInt()).isZero();
+
+		// First row.
+		assertThat(buffer.getShort()).isEqualTo((short) 4);
+		assertThat(buffer.getInt()).isEqualTo(16);
+		assertThat(new UUID(buffer.getLong(), buffer.getLong())).isEqualTo(id);
+		assertThat(readText(buffer)).isEqualTo("Spring");
+		assertThat(readText(buffer)).isEqualTo("{\"a\":1}");
+		assertThat(buffer.getInt()).isEqualTo(12);
+		assertThat(buffer.getShort()).isEqualTo((short) 2);
+		assertThat(buffer.getShort()).isZero();
+		assertThat(buffer.getFloat()).isEqualTo(1.5f);
+		assertThat(buffer.getFloat()).isEqualTo(-2f);
+
+		// Second row, with null content and embedding.
+		assertThat(buffer.getShort()).isEqualTo((short) 4);
+		assertThat(buffer.getInt()).isEqualTo(16);
+		assertThat(new UUID(buffer.getLong(), buffer.getLong())).isEqualTo(id);
+		assertThat(buffer.getInt()).isEqualTo(-1);
+		assertThat(readText(buffer)).isEqualTo("{}");
+		assertThat(buffer.getInt()).isEqualTo(-1);
+
+		// Trailer.
+		assertThat(buffer.getShort()).isEqualTo((short) -1);
+		assertThat(buffer.hasRemaining()).isFalse();
+	}
+
+	private static String readText(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
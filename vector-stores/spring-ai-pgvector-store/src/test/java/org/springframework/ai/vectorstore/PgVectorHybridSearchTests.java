@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore;
+
+import java.util.List;
+
+import com.pgvector.PGvector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.PgVectorStore.PgDistanceType;
+import org.springframework.ai.vectorstore.PgVectorStore.PgHybridFusion;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+public class PgVectorHybridSearchTests {
+
+	@Mock
+	private EmbeddingModel embeddingModel;
+
+	private final RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+
+	@BeforeEach
+	void setUp() {
+		lenient().when(this.embeddingModel.embed(anyString())).thenReturn(new float[] { 1f, 2f });
+	}
+
+	@Test
+	public void keywordWeightRunsAHybridSearch() {
+		PgVectorStore vectorStore = new PgVectorStore.Builder(this.jdbcTemplate, this.embeddingModel)
+			.withHybridSearchEnabled(true)
+			.withTextSearchConfig("simple")
+			.build();
+
+		vectorStore.similaritySearch(
+				SearchRequest.query("error E-1234").withTopK(5).withSimilarityThreshold(0.2).withKeywordWeight(0.3));
+
+		assertThat(this.jdbcTemplate.sql).contains("websearch_to_tsquery('simple', ?)")
+			.contains("content_tsv @@ keywords")
+			.contains(PgHybridFusion.RECIPROCAL_RANK.scoreExpression);
+		PGvector queryEmbedding = new PGvector(new float[] { 1f, 2f });
+		assertThat(this.jdbcTemplate.args).containsExactly(queryEmbedding, queryEmbedding, 0.8, 20, "error E-1234", 20,
+				queryEmbedding, 0.3, 0.3, 5);
+	}
+
+	@Test
+	public void weightedScoreFusion() {
+		PgVectorStore vectorStore = new PgVectorStore.Builder(this.jdbcTemplate, this.embeddingModel)
+			.withHybridSearchEnabled(true)
+			.withHybridFusion(PgHybridFusion.WEIGHTED_SCORE)
+			.build();
+
+		vectorStore.similaritySearch(SearchRequest.query("error E-1234").withKeywordWeight(0.5));
+
+		assertThat(this.jdbcTemplate.sql).contains("websearch_to_tsquery('english', ?)")
+			.contains(PgHybridFusion.WEIGHTED_SCORE.scoreExpression);
+	}
+
+	@Test
+	public void weightedScoreFusionRequiresTheCosineDistance() {
+		for (PgDistanceType distanceType : List.of(PgDistanceType.EUCLIDEAN_DISTANCE,
+				PgDistanceType.NEGATIVE_INNER_PRODUCT)) {
+			PgVectorStore.Builder builder = new PgVectorStore.Builder(this.jdbcTemplate, this.embeddingModel)
+				.withHybridSearchEnabled(true)
+				.withDistanceType(distanceType)
+				.withHybridFusion(PgHybridFusion.WEIGHTED_SCORE);
+
+			assertThatThrownBy(builder::build).isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("COSINE_DISTANCE");
+		}
+		new PgVectorStore.Builder(this.jdbcTemplate, this.embeddingModel)
+			.withDistanceType(PgDistanceType.EUCLIDEAN_DISTANCE)
+			.withHybridFusion(PgHybridFusion.RECIPROCAL_RANK)
+			.build();
+	}
+
+	@Test
+	public void similaritySearchWithoutKeywordWeightOrHybridSearch() {
+		PgVectorStore hybridVectorStore = new PgVectorStore.Builder(this.jdbcTemplate, this.embeddingModel)
+			.withHybridSearchEnabled(true)
+			.build();
+
+		hybridVectorStore.similaritySearch(SearchRequest.query("error E-1234"));
+		assertThat(this.jdbcTemplate.sql).doesNotContain("tsquery");
+		assertThat(this.jdbcTemplate.args).hasSize(4);
+
+		PgVectorStore vectorStore = new PgVectorStore.Builder(this.jdbcTemplate, this.embeddingModel).build();
+
+		vectorStore.similaritySearch(SearchRequest.query("error E-1234").withKeywordWeight(0.5));
+		assertThat(this.jdbcTemplate.sql).doesNotContain("tsquery");
+	}
+
+	private static class RecordingJdbcTemplate extends JdbcTemplate {
+
+		private String sql;
+
+		private List<Object> args;
+
+		@Override
+		public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+			this.sql = sql;
+			this.args = List.of(args);
+			return List.of();
+		}
+
+	}
+
+}
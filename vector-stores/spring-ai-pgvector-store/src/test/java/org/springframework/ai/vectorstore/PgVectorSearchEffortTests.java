@@ -0,0 +1,182 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PgVectorSearchEffortTests {
+
+	@Mock
+	private EmbeddingModel embeddingModel;
+
+	@Mock
+	private DataSource dataSource;
+
+	@Mock
+	private Connection connection;
+
+	@Mock
+	private Statement statement;
+
+	@Mock
+	private PreparedStatement preparedStatement;
+
+	@Mock
+	private ResultSet resultSet;
+
+	@Mock
+	private ResultSet settings;
+
+	private PgVectorStore vectorStore;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		when(this.embeddingModel.embed(anyString())).thenReturn(new float[] { 1f, 2f });
+		when(this.dataSource.getConnection()).thenReturn(this.connection);
+		this.vectorStore = new PgVectorStore.Builder(new JdbcTemplate(this.dataSource), this.embeddingModel).build();
+	}
+
+	@Test
+	public void searchEffortIsSetInTheSearchTransaction() throws Exception {
+		when(this.connection.getAutoCommit()).thenReturn(true);
+		when(this.connection.createStatement()).thenReturn(this.statement);
+		when(this.connection.prepareStatement(anyString())).thenReturn(this.preparedStatement);
+		when(this.preparedStatement.executeQuery()).thenReturn(this.resultSet);
+
+		assertThat(this.vectorStore.similaritySearch(SearchRequest.query("Spring").withTopK(5).withSearchEffort(4)))
+			.isEmpty();
+
+		InOrder inOrder = inOrder(this.connection, this.statement, this.preparedStatement);
+		inOrder.verify(this.connection).setAutoCommit(false);
+		inOrder.verify(this.statement).execute("SET LOCAL hnsw.ef_search = 160");
+		inOrder.verify(this.statement).execute("SET LOCAL ivfflat.probes = 4");
+		inOrder.verify(this.preparedStatement).setObject(4, 5);
+		inOrder.verify(this.preparedStatement).executeQuery();
+		inOrder.verify(this.connection).commit();
+		inOrder.verify(this.connection).setAutoCommit(true);
+	}
+
+	@Test
+	public void efSearchIsNotBelowTheQueryLimit() throws Exception {
+		when(this.connection.getAutoCommit()).thenReturn(true);
+		when(this.connection.createStatement()).thenReturn(this.statement);
+		when(this.connection.prepareStatement(anyString())).thenReturn(this.preparedStatement);
+		when(this.preparedStatement.executeQuery()).thenReturn(this.resultSet);
+
+		this.vectorStore.similaritySearch(SearchRequest.query("Spring").withTopK(100).withSearchEffort(0.5));
+
+		verify(this.statement).execute("SET LOCAL hnsw.ef_search = 100");
+		verify(this.statement).execute("SET LOCAL ivfflat.probes = 1");
+	}
+
+	@Test
+	public void outerTransactionGetsThePreviousSearchParametersBack() throws Exception {
+		when(this.connection.getAutoCommit()).thenReturn(false);
+		when(this.connection.createStatement()).thenReturn(this.statement);
+		when(this.statement.executeQuery(anyString())).thenReturn(this.settings);
+		when(this.settings.next()).thenReturn(true);
+		when(this.settings.getString(1)).thenReturn("64");
+		when(this.settings.getString(2)).thenReturn("3");
+		when(this.connection.prepareStatement(anyString())).thenReturn(this.preparedStatement);
+		when(this.preparedStatement.executeQuery()).thenReturn(this.resultSet);
+
+		this.vectorStore.similaritySearch(SearchRequest.query("Spring").withTopK(5).withSearchEffort(4));
+
+		InOrder inOrder = inOrder(this.statement, this.preparedStatement);
+		inOrder.verify(this.statement).executeQuery(
+				"SELECT current_setting('hnsw.ef_search', true), current_setting('ivfflat.probes', true)");
+		inOrder.verify(this.statement).execute("SET LOCAL hnsw.ef_search = 160");
+		inOrder.verify(this.statement).execute("SET LOCAL ivfflat.probes = 4");
+		inOrder.verify(this.preparedStatement).executeQuery();
+		inOrder.verify(this.statement).execute("SET LOCAL hnsw.ef_search = 64");
+		inOrder.verify(this.statement).execute("SET LOCAL ivfflat.probes = 3");
+		verify(this.connection, never()).setAutoCommit(false);
+		verify(this.connection, never()).commit();
+	}
+
+	@Test
+	public void outerTransactionFallsBackToThePgvectorDefaults() throws Exception {
+		when(this.connection.getAutoCommit()).thenReturn(false);
+		when(this.connection.createStatement()).thenReturn(this.statement);
+		when(this.statement.executeQuery(anyString())).thenReturn(this.settings);
+		when(this.settings.next()).thenReturn(true);
+		when(this.connection.prepareStatement(anyString())).thenReturn(this.preparedStatement);
+		when(this.preparedStatement.executeQuery()).thenReturn(this.resultSet);
+
+		this.vectorStore.similaritySearch(SearchRequest.query("Spring").withTopK(5).withSearchEffort(4));
+
+		verify(this.statement).execute("SET LOCAL hnsw.ef_search = 40");
+		verify(this.statement).execute("SET LOCAL ivfflat.probes = 1");
+	}
+
+	@Test
+	public void failedQueryInOuterTransactionKeepsItsException() throws Exception {
+		when(this.connection.getAutoCommit()).thenReturn(false);
+		when(this.connection.createStatement()).thenReturn(this.statement);
+		when(this.statement.executeQuery(anyString())).thenReturn(this.settings);
+		when(this.settings.next()).thenReturn(true);
+		when(this.settings.getString(1)).thenReturn("64");
+		when(this.settings.getString(2)).thenReturn("3");
+		when(this.connection.prepareStatement(anyString())).thenReturn(this.preparedStatement);
+		SQLException queryFailure = new SQLException("query failed");
+		when(this.preparedStatement.executeQuery()).thenThrow(queryFailure);
+		SQLException restoreFailure = new SQLException("current transaction is aborted");
+		lenient().when(this.statement.execute("SET LOCAL hnsw.ef_search = 64")).thenThrow(restoreFailure);
+
+		assertThatThrownBy(() -> this.vectorStore
+			.similaritySearch(SearchRequest.query("Spring").withTopK(5).withSearchEffort(4)))
+			.hasRootCause(queryFailure)
+			.satisfies(ex -> assertThat(queryFailure.getSuppressed()).containsExactly(restoreFailure));
+	}
+
+	@Test
+	public void defaultSearchEffortSetsNothing() throws Exception {
+		when(this.connection.prepareStatement(anyString())).thenReturn(this.preparedStatement);
+		when(this.preparedStatement.executeQuery()).thenReturn(this.resultSet);
+
+		this.vectorStore.similaritySearch(SearchRequest.query("Spring"));
+
+		verify(this.connection, never()).createStatement();
+		verify(this.connection, never()).setAutoCommit(false);
+	}
+
+}
@@ -29,6 +29,7 @@ import java.util.stream.Stream;
 import javax.sql.DataSource;
 
 import org.junit.Assert;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -91,6 +92,8 @@ public class PgVectorStoreIT {
 	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
 		.withUserConfiguration(TestApplication.class)
 		.withPropertyValues("test.spring.ai.vectorstore.pgvector.distanceType=COSINE_DISTANCE",
+				"test.spring.ai.vectorstore.pgvector.bulkLoadEnabled=false",
+				"test.spring.ai.vectorstore.pgvector.hybridSearchEnabled=false",
 
 				// JdbcTemplate configuration
 				String.format("app.datasource.url=jdbc:postgresql://%s:%d/%s", postgresContainer.getHost(),
@@ -132,6 +135,64 @@ public class PgVectorStoreIT {
 			});
 	}
 
+	@Test
+	public void bulkLoadAddUpdateAndDelete() {
+		contextRunner.withPropertyValues("test.spring.ai.vectorstore.pgvector.bulkLoadEnabled=true").run(context -> {
+
+			VectorStore vectorStore = context.getBean(VectorStore.class);
+
+			vectorStore.add(documents);
+
+			List<Document> results = vectorStore
+				.similaritySearch(SearchRequest.query("What is Great Depression").withTopK(1));
+
+			assertThat(results).hasSize(1);
+			assertThat(results.get(0).getId()).isEqualTo(documents.get(2).getId());
+			assertThat(results.get(0).getMetadata()).containsKeys("meta2", "distance");
+
+			Document sameIdDocument = new Document(documents.get(2).getId(), "Spring AI rocks!!",
+					Collections.singletonMap("meta3", "meta3"));
+			vectorStore.add(List.of(sameIdDocument));
+
+			results = vectorStore.similaritySearch(SearchRequest.query("Spring AI rocks!!").withTopK(3));
+			assertThat(results).hasSize(3);
+			assertThat(results.get(0).getContent()).isEqualTo("Spring AI rocks!!");
+			assertThat(results.get(0).getMetadata()).containsKeys("meta3", "distance");
+
+			assertThat(vectorStore.delete(documents.stream().map(Document::getId).toList())).contains(true);
+
+			results = vectorStore.similaritySearch(SearchRequest.query("Great Depression").withTopK(1));
+			assertThat(results).isEmpty();
+
+			dropTable(context);
+		});
+	}
+
+	@ParameterizedTest(name = "{0} : {displayName} ")
+	@ValueSource(strings = { "RECIPROCAL_RANK", "WEIGHTED_SCORE" })
+	public void hybridSearch(String hybridFusion) {
+		contextRunner
+			.withPropertyValues("test.spring.ai.vectorstore.pgvector.hybridSearchEnabled=true",
+					"test.spring.ai.vectorstore.pgvector.hybridFusion=" + hybridFusion)
+			.run(context -> {
+
+				VectorStore vectorStore = context.getBean(VectorStore.class);
+
+				Document errorCodeDocument = new Document("The pump stops and reports the E-4711 code.",
+						Map.of("meta1", "meta1"));
+				vectorStore.add(List.of(documents.get(0), documents.get(1), documents.get(2), errorCodeDocument));
+
+				List<Document> results = vectorStore
+					.similaritySearch(SearchRequest.query("E-4711").withTopK(1).withKeywordWeight(0.8));
+
+				assertThat(results).hasSize(1);
+				assertThat(results.get(0).getId()).isEqualTo(errorCodeDocument.getId());
+				assertThat(results.get(0).getMetadata()).containsKeys("meta1", "distance");
+
+				dropTable(context);
+			});
+	}
+
 	static Stream<Arguments> provideFilters() {
 		return Stream.of(Arguments.of("country in ['BG','NL']", 3), // String Filters In
 				Arguments.of("year in [2020]", 1), // Numeric Filters In
@@ -349,10 +410,26 @@ public class PgVectorStoreIT {
 		@Value("${test.spring.ai.vectorstore.pgvector.distanceType}")
 		PgVectorStore.PgDistanceType distanceType;
 
+		@Value("${test.spring.ai.vectorstore.pgvector.bulkLoadEnabled}")
+		boolean bulkLoadEnabled;
+
+		@Value("${test.spring.ai.vectorstore.pgvector.hybridSearchEnabled}")
+		boolean hybridSearchEnabled;
+
+		@Value("${test.spring.ai.vectorstore.pgvector.hybridFusion:RECIPROCAL_RANK}")
+		PgVectorStore.PgHybridFusion hybridFusion;
+
 		@Bean
 		public VectorStore vectorStore(JdbcTemplate jdbcTemplate, EmbeddingModel embeddingModel) {
-			return new PgVectorStore(jdbcTemplate, embeddingModel, PgVectorStore.INVALID_EMBEDDING_DIMENSION,
-					distanceType, true, PgIndexType.HNSW, true);
+			return new PgVectorStore.Builder(jdbcTemplate, embeddingModel).withDistanceType(distanceType)
+				.withRemoveExistingVectorStoreTable(true)
+				.withIndexType(PgIndexType.HNSW)
+				.withInitializeSchema(true)
+				.withMaxDocumentBatchSize(2)
+				.withBulkLoadEnabled(bulkLoadEnabled)
+				.withHybridSearchEnabled(hybridSearchEnabled)
+				.withHybridFusion(hybridFusion)
+				.build();
 		}
 
 		@Bean
@@ -22,7 +22,10 @@ import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
 import org.springframework.ai.model.EmbeddingUtils;
 import org.springframework.ai.observation.conventions.VectorStoreProvider;
 import org.springframework.ai.vectorstore.filter.FilterExpressionConverter;
@@ -64,6 +67,12 @@ public class PineconeVectorStore extends AbstractObservationVectorStore {
 
 	public static final String DISTANCE_METADATA_FIELD_NAME = "distance";
 
+	/**
+	 * Maximum number of vectors per upsert request, as recommended by Pinecone to stay
+	 * under the request size limit.
+	 */
+	private static final int MAX_UPSERT_BATCH_SIZE = 100;
+
 	public final FilterExpressionConverter filterExpressionConverter = new PineconeFilterExpressionConverter();
 
 	private final EmbeddingModel embeddingModel;
@@ -80,6 +89,8 @@ public class PineconeVectorStore extends AbstractObservationVectorStore {
 
 	private final ObjectMapper objectMapper;
 
+	private final BatchingStrategy batchingStrategy;
+
 	/**
 	 * Configuration class for the PineconeVectorStore.
 	 */
@@ -272,11 +283,28 @@ public class PineconeVectorStore extends AbstractObservationVectorStore {
 	 */
 	public PineconeVectorStore(PineconeVectorStoreConfig config, EmbeddingModel embeddingModel,
 			ObservationRegistry observationRegistry, VectorStoreObservationConvention customObservationConvention) {
+		this(config, embeddingModel, observationRegistry, customObservationConvention,
+				new TokenCountBatchingStrategy());
+	}
+
+	/**
+	 * Constructs a new PineconeVectorStore.
+	 * @param config The configuration for the store.
+	 * @param embeddingModel The client for embedding operations.
+	 * @param observationRegistry The registry for observations.
+	 * @param customObservationConvention The custom observation convention.
+	 * @param batchingStrategy The strategy batching the documents to embed.
+	 */
+	public PineconeVectorStore(PineconeVectorStoreConfig config, EmbeddingModel embeddingModel,
+			ObservationRegistry observationRegistry, VectorStoreObservationConvention customObservationConvention,
+			BatchingStrategy batchingStrategy) {
 		super(observationRegistry, customObservationConvention);
 		Assert.notNull(config, "PineconeVectorStoreConfig must not be null");
 		Assert.notNull(embeddingModel, "EmbeddingModel must not be null");
+		Assert.notNull(batchingStrategy, "BatchingStrategy must not be null");
 
 		this.embeddingModel = embeddingModel;
+		this.batchingStrategy = batchingStrategy;
 		this.pineconeNamespace = config.namespace;
 		this.pineconeIndexName = config.connectionConfig.getIndexName();
 		this.pineconeContentFieldName = config.contentFieldName;
@@ -286,29 +314,35 @@ public class PineconeVectorStore extends AbstractObservationVectorStore {
 	}
 
 	/**
-	 * Adds a list of documents to the vector store based on the namespace.
+	 * Adds a list of documents to the vector store based on the namespace. The documents
+	 * are embedded in the batches of the configured {@link BatchingStrategy} and upserted
+	 * in requests of up to 100 vectors.
 	 * @param documents The list of documents to be added.
 	 * @param namespace The namespace to add the documents to
 	 */
 	public void add(List<Document> documents, String namespace) {
 
-		List<Vector> upsertVectors = documents.stream().map(document -> {
-			// Compute and assign an embedding to the document.
-			document.setEmbedding(this.embeddingModel.embed(document));
-
-			return Vector.newBuilder()
-				.setId(document.getId())
-				.addAllValues(EmbeddingUtils.toList(document.getEmbedding()))
-				.setMetadata(metadataToStruct(document))
+		// Compute and assign an embedding to every document.
+		this.embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), this.batchingStrategy);
+
+		for (int from = 0; from < documents.size(); from += MAX_UPSERT_BATCH_SIZE) {
+			List<Vector> upsertVectors = documents
+				.subList(from, Math.min(from + MAX_UPSERT_BATCH_SIZE, documents.size()))
+				.stream()
+				.map(document -> Vector.newBuilder()
+					.setId(document.getId())
+					.addAllValues(EmbeddingUtils.toList(document.getEmbedding()))
+					.setMetadata(metadataToStruct(document))
+					.build())
+				.toList();
+
+			UpsertRequest upsertRequest = UpsertRequest.newBuilder()
+				.addAllVectors(upsertVectors)
+				.setNamespace(namespace)
 				.build();
-		}).toList();
-
-		UpsertRequest upsertRequest = UpsertRequest.newBuilder()
-			.addAllVectors(upsertVectors)
-			.setNamespace(namespace)
-			.build();
 
-		this.pineconeConnection.getBlockingStub().upsert(upsertRequest);
+			this.pineconeConnection.getBlockingStub().upsert(upsertRequest);
+		}
 	}
 
 	/**
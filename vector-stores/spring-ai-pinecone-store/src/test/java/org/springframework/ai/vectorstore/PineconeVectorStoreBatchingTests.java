@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.pinecone.PineconeClient;
+import io.pinecone.PineconeConnection;
+import io.pinecone.PineconeConnectionConfig;
+import io.pinecone.proto.UpsertRequest;
+import io.pinecone.proto.VectorServiceGrpc.VectorServiceBlockingStub;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedConstruction;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.vectorstore.PineconeVectorStore.PineconeVectorStoreConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PineconeVectorStoreBatchingTests {
+
+	@Test
+	public void documentsAreEmbeddedInBatchesAndUpsertedInRequestsOfAtMost100Vectors() {
+		VectorServiceBlockingStub blockingStub = mock(VectorServiceBlockingStub.class);
+		PineconeConnection connection = mock(PineconeConnection.class);
+		when(connection.getBlockingStub()).thenReturn(blockingStub);
+		CountingEmbeddingModel embeddingModel = new CountingEmbeddingModel();
+		PineconeVectorStoreConfig config = PineconeVectorStoreConfig.builder()
+			.withApiKey("key")
+			.withEnvironment("environment")
+			.withProjectId("project")
+			.withIndexName("index")
+			.withNamespace("namespace")
+			.build();
+
+		try (MockedConstruction<PineconeClient> clients = mockConstruction(PineconeClient.class, (client,
+				context) -> when(client.connect(any(PineconeConnectionConfig.class))).thenReturn(connection))) {
+			PineconeVectorStore vectorStore = new PineconeVectorStore(config, embeddingModel, ObservationRegistry.NOOP,
+					null, batchesOf(40));
+
+			vectorStore.add(documents(250));
+		}
+
+		assertThat(embeddingModel.requests.get()).isEqualTo(7);
+		ArgumentCaptor<UpsertRequest> upsertRequests = ArgumentCaptor.forClass(UpsertRequest.class);
+		verify(blockingStub, times(3)).upsert(upsertRequests.capture());
+		assertThat(upsertRequests.getAllValues()).extracting(UpsertRequest::getVectorsCount)
+			.containsExactly(100, 100, 50);
+		assertThat(upsertRequests.getAllValues()).extracting(UpsertRequest::getNamespace).containsOnly("namespace");
+		UpsertRequest last = upsertRequests.getAllValues().get(2);
+		assertThat(last.getVectors(49).getId()).isEqualTo("id-249");
+		assertThat(last.getVectors(49).getValuesList()).containsExactly(249f);
+	}
+
+	private static List<Document> documents(int count) {
+		return IntStream.range(0, count)
+			.mapToObj(i -> new Document("id-" + i, String.valueOf(i), new HashMap<>()))
+			.toList();
+	}
+
+	private static BatchingStrategy batchesOf(int size) {
+		return documents -> {
+			List<List<Document>> batches = new ArrayList<>();
+			for (int from = 0; from < documents.size(); from += size) {
+				batches.add(documents.subList(from, Math.min(from + size, documents.size())));
+			}
+			return batches;
+		};
+	}
+
+	/**
+	 * Embeds every text into a one dimension vector holding the text as a number.
+	 */
+	private static class CountingEmbeddingModel implements EmbeddingModel {
+
+		private final AtomicInteger requests = new AtomicInteger();
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			this.requests.incrementAndGet();
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				embeddings.add(new Embedding(new float[] { Float.parseFloat(text) }, embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public int dimensions() {
+			return 1;
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			throw new UnsupportedOperationException("Documents are embedded in batches");
+		}
+
+	}
+
+}
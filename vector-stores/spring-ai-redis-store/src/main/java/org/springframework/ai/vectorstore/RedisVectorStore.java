@@ -19,6 +19,7 @@ package org.springframework.ai.vectorstore;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -46,6 +47,7 @@ import org.springframework.util.CollectionUtils;
 import io.micrometer.observation.ObservationRegistry;
 import redis.clients.jedis.JedisPooled;
 import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.exceptions.JedisDataException;
 import redis.clients.jedis.json.Path2;
 import redis.clients.jedis.search.FTCreateParams;
 import redis.clients.jedis.search.IndexDataType;
@@ -59,6 +61,7 @@ import redis.clients.jedis.search.schemafields.TagField;
 import redis.clients.jedis.search.schemafields.TextField;
 import redis.clients.jedis.search.schemafields.VectorField;
 import redis.clients.jedis.search.schemafields.VectorField.VectorAlgorithm;
+import redis.clients.jedis.util.SafeEncoder;
 
 /**
  * The RedisVectorStore is for managing and querying vector data in a Redis database. It
@@ -70,6 +73,11 @@ import redis.clients.jedis.search.schemafields.VectorField.VectorAlgorithm;
  * efficient similarity searches. Additionally, it allows for custom metadata fields in
  * the documents to be stored alongside the vector and content data.
  *
+ * With the {@link StorageType#HASH} storage type, the documents are stored as Redis
+ * hashes instead, the embedding as a little-endian FLOAT32 blob and the content and
+ * metadata as string fields, which takes less memory and serialization than the JSON
+ * number arrays.
+ *
  * This class requires a RedisVectorStoreConfig configuration object for initialization,
  * which includes settings like Redis URI, index name, field names, and vector algorithms.
  * It also requires an EmbeddingModel to convert documents into embeddings before storing
@@ -92,6 +100,25 @@ public class RedisVectorStore extends AbstractObservationVectorStore implements
 
 	}
 
+	/**
+	 * The Redis data type the documents are stored and indexed as.
+	 */
+	public enum StorageType {
+
+		/**
+		 * RedisJSON documents, the embedding stored as a JSON array of numbers.
+		 */
+		JSON,
+
+		/**
+		 * Redis hashes, the embedding stored as a blob of little-endian FLOAT32 values
+		 * and the metadata values as strings, collections joined with commas. The
+		 * similarity search returns these metadata values as the joined strings.
+		 */
+		HASH
+
+	}
+
 	public record MetadataField(String name, FieldType fieldType) {
 
 		public static MetadataField text(String name) {
@@ -125,6 +152,8 @@ public class RedisVectorStore extends AbstractObservationVectorStore implements
 
 		private final List<MetadataField> metadataFields;
 
+		private final StorageType storageType;
+
 		private RedisVectorStoreConfig() {
 			this(builder());
 		}
@@ -136,6 +165,7 @@ public class RedisVectorStore extends AbstractObservationVectorStore implements
 			this.embeddingFieldName = builder.embeddingFieldName;
 			this.vectorAlgorithm = builder.vectorAlgorithm;
 			this.metadataFields = builder.metadataFields;
+			this.storageType = builder.storageType;
 		}
 
 		/**
@@ -169,6 +199,8 @@ public class RedisVectorStore extends AbstractObservationVectorStore implements
 
 			private List<MetadataField> metadataFields = new ArrayList<>();
 
+			private StorageType storageType = DEFAULT_STORAGE_TYPE;
+
 			private Builder() {
 			}
 
@@ -231,6 +263,19 @@ public class RedisVectorStore extends AbstractObservationVectorStore implements
 				return this;
 			}
 
+			/**
+			 * Configures the Redis data type to store the documents as (default: JSON).
+			 * Changing it requires a new index, as the index is created for one data
+			 * type.
+			 * @param storageType the storage type to use
+			 * @return this builder
+			 */
+			public Builder withStorageType(StorageType storageType) {
+				Assert.notNull(storageType, "Storage type must not be null");
+				this.storageType = storageType;
+				return this;
+			}
+
 			/**
 			 * {@return the immutable configuration}
 			 */
@@ -255,6 +300,8 @@ public class RedisVectorStore extends AbstractObservationVectorStore implements
 
 	public static final Algorithm DEFAULT_VECTOR_ALGORITHM = Algorithm.HSNW;
 
+	public static final StorageType DEFAULT_STORAGE_TYPE = StorageType.JSON;
+
 	private static final String QUERY_FORMAT = "%s=>[KNN %s @%s $%s AS %s]";
 
 	private static final Path2 JSON_SET_PATH = Path2.of("$");
@@ -267,6 +314,10 @@ public class RedisVectorStore extends AbstractObservationVectorStore implements
 
 	private static final Predicate<Object> RESPONSE_DEL_OK = Predicate.isEqual(1l);
 
+	private static final Predicate<Object> RESPONSE_ERROR = JedisDataException.class::isInstance;
+
+	private static final String HASH_VALUE_SEPARATOR = ",";
+
 	private static final String VECTOR_TYPE_FLOAT32 = "FLOAT32";
 
 	private static final String EMBEDDING_PARAM_NAME = "BLOB";
@@ -321,6 +372,13 @@ public class RedisVectorStore extends AbstractObservationVectorStore implements
 
 			for (Document document : documents) {
 				document.setEmbedding(document.getEmbedding());
+				if (this.config.storageType == StorageType.HASH) {
+					// Replaces the whole document, like the JSON root path set.
+					byte[] key = SafeEncoder.encode(key(document.getId()));
+					pipeline.del(key);
+					pipeline.hset(key, hashFields(document));
+					continue;
+				}
 				var fields = new HashMap<String, Object>();
 				fields.put(this.config.embeddingFieldName, document.getEmbedding());
 				fields.put(this.config.contentFieldName, document.getContent());
@@ -328,7 +386,9 @@ public class RedisVectorStore extends AbstractObservationVectorStore implements
 				pipeline.jsonSetWithEscape(key(document.getId()), JSON_SET_PATH, fields);
 			}
 			List<Object> responses = pipeline.syncAndReturnAll();
-			Optional<Object> errResponse = responses.stream().filter(Predicate.not(RESPONSE_OK)).findAny();
+			Predicate<Object> failed = (this.config.storageType == StorageType.HASH) ? RESPONSE_ERROR
+					: Predicate.not(RESPONSE_OK);
+			Optional<Object> errResponse = responses.stream().filter(failed).findAny();
 			if (errResponse.isPresent()) {
 				String message = MessageFormat.format("Could not add document: {0}", errResponse.get());
 				if (logger.isErrorEnabled()) {
@@ -339,6 +399,31 @@ public class RedisVectorStore extends AbstractObservationVectorStore implements
 		}
 	}
 
+	/**
+	 * {@return the hash fields of the document, with the embedding as a FLOAT32 blob}
+	 */
+	Map<byte[], byte[]> hashFields(Document document) {
+		Map<byte[], byte[]> fields = new HashMap<>();
+		document.getMetadata().forEach((name, value) -> {
+			if (value != null) {
+				fields.put(SafeEncoder.encode(name), SafeEncoder.encode(hashValue(value)));
+			}
+		});
+		if (document.getContent() != null) {
+			fields.put(SafeEncoder.encode(this.config.contentFieldName), SafeEncoder.encode(document.getContent()));
+		}
+		fields.put(SafeEncoder.encode(this.config.embeddingFieldName),
+				RediSearchUtil.toByteArray(document.getEmbedding()));
+		return fields;
+	}
+
+	private static String hashValue(Object value) {
+		if (value instanceof Collection<?> values) {
+			return values.stream().map(String::valueOf).collect(Collectors.joining(HASH_VALUE_SEPARATOR));
+		}
+		return String.valueOf(value);
+	}
+
 	private String key(String id) {
 		return this.config.prefix + id;
 	}
@@ -347,7 +432,12 @@ public class RedisVectorStore extends AbstractObservationVectorStore implements
 	public Optional<Boolean> doDelete(List<String> idList) {
 		try (Pipeline pipeline = this.jedis.pipelined()) {
 			for (String id : idList) {
-				pipeline.jsonDel(key(id));
+				if (this.config.storageType == StorageType.HASH) {
+					pipeline.del(key(id));
+				}
+				else {
+					pipeline.jsonDel(key(id));
+				}
 			}
 			List<Object> responses = pipeline.syncAndReturnAll();
 			Optional<Object> errResponse = responses.stream().filter(Predicate.not(RESPONSE_DEL_OK)).findAny();
@@ -375,7 +465,10 @@ public class RedisVectorStore extends AbstractObservationVectorStore implements
 
 		List<String> returnFields = new ArrayList<>();
 		this.config.metadataFields.stream().map(MetadataField::name).forEach(returnFields::add);
-		returnFields.add(this.config.embeddingFieldName);
+		if (this.config.storageType == StorageType.JSON) {
+			// The search results are decoded as strings, which would corrupt the blob.
+			returnFields.add(this.config.embeddingFieldName);
+		}
 		returnFields.add(this.config.contentFieldName);
 		returnFields.add(DISTANCE_FIELD_NAME);
 		var embedding = this.embeddingModel.embed(request.getQuery());
@@ -427,23 +520,25 @@ public class RedisVectorStore extends AbstractObservationVectorStore implements
 			return;
 		}
 
+		IndexDataType indexDataType = (this.config.storageType == StorageType.HASH) ? IndexDataType.HASH
+				: IndexDataType.JSON;
 		String response = this.jedis.ftCreate(this.config.indexName,
-				FTCreateParams.createParams().on(IndexDataType.JSON).addPrefix(this.config.prefix), schemaFields());
+				FTCreateParams.createParams().on(indexDataType).addPrefix(this.config.prefix), schemaFields());
 		if (!RESPONSE_OK.test(response)) {
 			String message = MessageFormat.format("Could not create index: {0}", response);
 			throw new RuntimeException(message);
 		}
 	}
 
-	private Iterable<SchemaField> schemaFields() {
+	Iterable<SchemaField> schemaFields() {
 		Map<String, Object> vectorAttrs = new HashMap<>();
 		vectorAttrs.put("DIM", this.embeddingModel.dimensions());
 		vectorAttrs.put("DISTANCE_METRIC", DEFAULT_DISTANCE_METRIC);
 		vectorAttrs.put("TYPE", VECTOR_TYPE_FLOAT32);
 		List<SchemaField> fields = new ArrayList<>();
-		fields.add(TextField.of(jsonPath(this.config.contentFieldName)).as(this.config.contentFieldName).weight(1.0));
+		fields.add(TextField.of(fieldPath(this.config.contentFieldName)).as(this.config.contentFieldName).weight(1.0));
 		fields.add(VectorField.builder()
-			.fieldName(jsonPath(this.config.embeddingFieldName))
+			.fieldName(fieldPath(this.config.embeddingFieldName))
 			.algorithm(vectorAlgorithm())
 			.attributes(vectorAttrs)
 			.as(this.config.embeddingFieldName)
@@ -458,7 +553,7 @@ public class RedisVectorStore extends AbstractObservationVectorStore implements
 	}
 
 	private SchemaField schemaField(MetadataField field) {
-		String fieldName = jsonPath(field.name);
+		String fieldName = fieldPath(field.name);
 		switch (field.fieldType) {
 			case NUMERIC:
 				return NumericField.of(fieldName).as(field.name);
@@ -479,8 +574,11 @@ public class RedisVectorStore extends AbstractObservationVectorStore implements
 		return VectorAlgorithm.FLAT;
 	}
 
-	private String jsonPath(String field) {
-		return JSON_PATH_PREFIX + field;
+	/**
+	 * {@return the JSON path of the field, or the hash field name itself}
+	 */
+	private String fieldPath(String field) {
+		return (this.config.storageType == StorageType.HASH) ? field : JSON_PATH_PREFIX + field;
 	}
 
 	@Override
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.vectorstore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.RedisVectorStore.MetadataField;
+import org.springframework.ai.vectorstore.RedisVectorStore.RedisVectorStoreConfig;
+import org.springframework.ai.vectorstore.RedisVectorStore.StorageType;
+
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.search.schemafields.SchemaField;
+import redis.clients.jedis.util.SafeEncoder;
+
+@ExtendWith(MockitoExtension.class)
+class RedisVectorStoreHashStorageTests {
+
+	@Mock
+	private EmbeddingModel embeddingModel;
+
+	@Mock
+	private JedisPooled jedis;
+
+	@Test
+	void hashFieldsStoreTheEmbeddingAsFloat32Blob() {
+		RedisVectorStore vectorStore = vectorStore(StorageType.HASH);
+
+		Map<String, Object> metadata = new HashMap<>();
+		metadata.put("country", "NL");
+		metadata.put("year", 2024);
+		metadata.put("tags", List.of("a", "b"));
+		metadata.put("missing", null);
+		Document document = new Document("1", "Spring AI", metadata);
+		document.setEmbedding(new float[] { 1.5f, -2f });
+
+		Map<String, String> fields = new HashMap<>();
+		byte[] embedding = null;
+		for (Map.Entry<byte[], byte[]> field : vectorStore.hashFields(document).entrySet()) {
+			String name = SafeEncoder.encode(field.getKey());
+			if (name.equals(RedisVectorStore.DEFAULT_EMBEDDING_FIELD_NAME)) {
+				embedding = field.getValue();
+			}
+			else {
+				fields.put(name, SafeEncoder.encode(field.getValue()));
+			}
+		}
+
+		assertThat(fields).containsOnly(Map.entry("country", "NL"), Map.entry("year", "2024"), Map.entry("tags", "a,b"),
+				Map.entry(RedisVectorStore.DEFAULT_CONTENT_FIELD_NAME, "Spring AI"));
+		assertThat(embedding).hasSize(8);
+		ByteBuffer buffer = ByteBuffer.wrap(embedding).order(ByteOrder.LITTLE_ENDIAN);
+		assertThat(buffer.getFloat()).isEqualTo(1.5f);
+		assertThat(buffer.getFloat()).isEqualTo(-2f);
+	}
+
+	@Test
+	void schemaFieldsUseTheHashFieldNames() {
+		when(this.embeddingModel.dimensions()).thenReturn(2);
+
+		assertThat(fieldNames(vectorStore(StorageType.HASH))).containsExactly("content", "embedding", "country");
+		assertThat(fieldNames(vectorStore(StorageType.JSON))).containsExactly("$.content", "$.embedding",
+				"$.country");
+	}
+
+	private List<String> fieldNames(RedisVectorStore vectorStore) {
+		return StreamSupport.stream(vectorStore.schemaFields().spliterator(), false).map(SchemaField::getName).toList();
+	}
+
+	private RedisVectorStore vectorStore(StorageType storageType) {
+		return new RedisVectorStore(RedisVectorStoreConfig.builder()
+			.withMetadataFields(MetadataField.tag("country"))
+			.withStorageType(storageType)
+			.build(), this.embeddingModel, this.jedis, false);
+	}
+
+}
@@ -20,17 +20,22 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.transformers.TransformersEmbeddingModel;
 import org.springframework.ai.vectorstore.RedisVectorStore.MetadataField;
 import org.springframework.ai.vectorstore.RedisVectorStore.RedisVectorStoreConfig;
+import org.springframework.ai.vectorstore.RedisVectorStore.StorageType;
 import org.springframework.boot.SpringBootConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
@@ -53,6 +58,8 @@ import redis.clients.jedis.JedisPooled;
 @Testcontainers
 class RedisVectorStoreIT {
 
+	private static final Logger logger = LoggerFactory.getLogger(RedisVectorStoreIT.class);
+
 	@Container
 	static RedisStackContainer redisContainer = new RedisStackContainer(
 			RedisStackContainer.DEFAULT_IMAGE_NAME.withTag(RedisStackContainer.DEFAULT_TAG));
@@ -245,6 +252,48 @@ class RedisVectorStoreIT {
 		});
 	}
 
+	@Test
+	void hashStorageTakesLessMemoryThanJson() {
+
+		contextRunner.run(context -> {
+
+			EmbeddingModel embeddingModel = context.getBean(EmbeddingModel.class);
+			JedisPooled jedis = context.getBean(RedisVectorStore.class).getJedis();
+
+			Map<StorageType, Long> memory = new EnumMap<>(StorageType.class);
+			for (StorageType storageType : StorageType.values()) {
+				String prefix = storageType.name().toLowerCase() + ":";
+				RedisVectorStore vectorStore = new RedisVectorStore(RedisVectorStoreConfig.builder()
+					.withIndexName(storageType.name().toLowerCase() + "-index")
+					.withPrefix(prefix)
+					.withMetadataFields(MetadataField.tag("meta1"), MetadataField.tag("meta2"))
+					.withStorageType(storageType)
+					.build(), embeddingModel, jedis, true);
+				vectorStore.afterPropertiesSet();
+
+				long start = System.nanoTime();
+				vectorStore.add(documents);
+				long ingestNanos = System.nanoTime() - start;
+
+				memory.put(storageType,
+						documents.stream().mapToLong(document -> jedis.memoryUsage(prefix + document.getId())).sum());
+				logger.info("{} storage: {} bytes for {} documents, added in {} ms", storageType,
+						memory.get(storageType), documents.size(), TimeUnit.NANOSECONDS.toMillis(ingestNanos));
+
+				List<Document> results = vectorStore.similaritySearch(
+						SearchRequest.query("Spring").withTopK(1).withFilterExpression("meta1 == 'meta1'"));
+				assertThat(results).hasSize(1);
+				assertThat(results.get(0).getId()).isEqualTo(documents.get(0).getId());
+				assertThat(results.get(0).getMetadata()).containsKeys("meta1", RedisVectorStore.DISTANCE_FIELD_NAME);
+
+				vectorStore.delete(documents.stream().map(Document::getId).toList());
+				assertThat(vectorStore.similaritySearch(SearchRequest.query("Spring").withTopK(1))).isEmpty();
+			}
+
+			assertThat(memory.get(StorageType.HASH)).isLessThan(memory.get(StorageType.JSON));
+		});
+	}
+
 	@SpringBootConfiguration
 	@EnableAutoConfiguration(exclude = { DataSourceAutoConfiguration.class })
 	public static class TestApplication {